@@ -0,0 +1,103 @@
+package com.flockinger.groschn.benchmarks;
+
+import com.flockinger.groschn.blockchain.consensus.model.ConsensusType;
+import com.flockinger.groschn.blockchain.consensus.model.Consent;
+import com.flockinger.groschn.blockchain.model.Block;
+import com.flockinger.groschn.blockchain.model.Transaction;
+import com.flockinger.groschn.blockchain.model.TransactionInput;
+import com.flockinger.groschn.blockchain.model.TransactionOutput;
+import com.flockinger.groschn.commons.hash.Base58;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.bouncycastle.util.encoders.Hex;
+
+/**
+ * Random entities shaped like real ones: Base58 encoded keys and signatures <br>
+ * and hex hashes with the lengths the node produces.
+ *
+ */
+class BenchmarkData {
+
+  private final static int PUBLIC_KEY_BYTES = 88;
+  private final static int SIGNATURE_BYTES = 71;
+  private final static int HASH_BYTES = 64;
+  private final static int MAX_STATEMENTS = 3;
+
+  private final Random random;
+
+  BenchmarkData(long seed) {
+    random = new Random(seed);
+  }
+
+  Block block(long position, int transactionCount) {
+    var consent = new Consent();
+    consent.setType(ConsensusType.PROOF_OF_WORK);
+    consent.setDifficulty(4);
+    consent.setNonce(random.nextLong());
+    consent.setTimestamp(System.currentTimeMillis());
+    consent.setMilliSecondsSpentMining(60000l);
+
+    var block = new Block();
+    block.setPosition(position);
+    block.setHash(hash());
+    block.setLastHash(hash());
+    block.setTransactionMerkleRoot(hash());
+    block.setTimestamp(System.currentTimeMillis());
+    block.setVersion(Block.versionAt(position));
+    block.setConsent(consent);
+    block.setTransactions(transactions(transactionCount, position));
+    return block;
+  }
+
+  List<Transaction> transactions(int count, long blockPosition) {
+    var transactions = new ArrayList<Transaction>(count);
+    for (int i = 0; i < count; i++) {
+      transactions.add(transaction(blockPosition));
+    }
+    return transactions;
+  }
+
+  Transaction transaction(long blockPosition) {
+    var transaction = new Transaction();
+    transaction.setVersion(Transaction.versionAt(blockPosition));
+    transaction.setLockTime(System.currentTimeMillis());
+    var inputs = new ArrayList<TransactionInput>();
+    var outputs = new ArrayList<TransactionOutput>();
+    int inputCount = 1 + random.nextInt(MAX_STATEMENTS);
+    for (int i = 0; i < inputCount; i++) {
+      var input = new TransactionInput();
+      fill(input, i);
+      input.setSignature(Base58.encode(bytes(SIGNATURE_BYTES)));
+      inputs.add(input);
+    }
+    int outputCount = 1 + random.nextInt(MAX_STATEMENTS);
+    for (int i = 0; i < outputCount; i++) {
+      var output = new TransactionOutput();
+      fill(output, i);
+      outputs.add(output);
+    }
+    transaction.setInputs(inputs);
+    transaction.setOutputs(outputs);
+    transaction.setTransactionHash(hash());
+    return transaction;
+  }
+
+  String hash() {
+    return Hex.toHexString(bytes(HASH_BYTES));
+  }
+
+  byte[] bytes(int count) {
+    var bytes = new byte[count];
+    random.nextBytes(bytes);
+    return bytes;
+  }
+
+  private void fill(TransactionOutput statement, long sequenceNumber) {
+    statement.setAmount(BigDecimal.valueOf(random.nextInt(1000000), 4));
+    statement.setPublicKey(Base58.encode(bytes(PUBLIC_KEY_BYTES)));
+    statement.setTimestamp(System.currentTimeMillis());
+    statement.setSequenceNumber(sequenceNumber + 1);
+  }
+}
@@ -0,0 +1,72 @@
+package com.flockinger.groschn.benchmarks;
+
+import com.flockinger.groschn.commons.hash.DifficultyTarget;
+import java.util.concurrent.TimeUnit;
+import org.apache.commons.lang3.StringUtils;
+import org.bouncycastle.util.encoders.Hex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares checking the difficulty on the raw digest bytes with the <br>
+ * former hex encoding and zero prefix comparison of every mining attempt.
+ *
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class DifficultyTargetBenchmark {
+
+  private final static int HASHES = 1024;
+  private final static int HASH_BYTES = 64;
+
+  @Param({"4", "7"})
+  private int difficulty;
+
+  private DifficultyTarget target;
+  private byte[][] hashes = new byte[HASHES][];
+  private int attempt = 0;
+
+  @Setup(Level.Trial)
+  public void setup() {
+    target = new DifficultyTarget(difficulty);
+    var data = new BenchmarkData(42);
+    for (int i = 0; i < HASHES; i++) {
+      hashes[i] = data.bytes(HASH_BYTES);
+      // every other hash meets the target, so both check all zero nibbles
+      if (i % 2 == 0) {
+        for (int nibble = 0; nibble < difficulty; nibble++) {
+          hashes[i][nibble / 2] &= nibble % 2 == 0 ? 0x0F : 0xF0;
+        }
+      }
+    }
+  }
+
+  @Benchmark
+  public boolean checkRawBytes() {
+    return target.isMetBy(nextHash());
+  }
+
+  @Benchmark
+  public boolean checkHexPrefix() {
+    return Hex.toHexString(nextHash()).startsWith(StringUtils.repeat("0", difficulty));
+  }
+
+  private byte[] nextHash() {
+    attempt = (attempt + 1) % HASHES;
+    return hashes[attempt];
+  }
+}
@@ -0,0 +1,69 @@
+package com.flockinger.groschn.benchmarks;
+
+import com.flockinger.groschn.blockchain.model.Block;
+import com.flockinger.groschn.blockchain.model.Transaction;
+import com.flockinger.groschn.commons.hash.HashGenerator;
+import com.flockinger.groschn.commons.hash.MerkleRootCalculator;
+import com.flockinger.groschn.commons.hash.MultiHashGenerator;
+import java.security.Security;
+import java.util.concurrent.TimeUnit;
+import org.bouncycastle.jce.provider.BouncyCastleProvider;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares hashing the toString() of blocks and transactions with hashing <br>
+ * their binary encoding. The entities are modified before every hash, like <br>
+ * a miner changes the nonce, so their memoized hashes are never re-used.
+ *
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class HashingBenchmark {
+
+  @Param({"string", "binary"})
+  private String hashing;
+
+  @Param({"10", "100"})
+  private int transactionCount;
+
+  private HashGenerator hasher;
+  private Block block;
+  private Transaction transaction;
+  private long nonce = 0;
+
+  @Setup(Level.Trial)
+  public void setup() {
+    Security.addProvider(new BouncyCastleProvider());
+    hasher = new MultiHashGenerator(new MerkleRootCalculator());
+    long position = "binary".equals(hashing) ? Block.BINARY_HASHING_POSITION : 1l;
+    block = new BenchmarkData(42).block(position, transactionCount);
+    transaction = block.getTransactions().get(0);
+  }
+
+  @Benchmark
+  public String hashBlock() {
+    block.getConsent().setNonce(nonce++);
+    return hasher.generateHash(block);
+  }
+
+  @Benchmark
+  public String hashTransaction() {
+    transaction.setLockTime(nonce++);
+    return hasher.generateHash(transaction);
+  }
+}
@@ -0,0 +1,90 @@
+package com.flockinger.groschn.benchmarks;
+
+import com.flockinger.groschn.blockchain.model.Block;
+import com.flockinger.groschn.blockchain.model.Transaction;
+import com.flockinger.groschn.commons.hash.HashGenerator;
+import com.flockinger.groschn.commons.hash.MerkleRootCalculator;
+import com.flockinger.groschn.commons.hash.MultiHashGenerator;
+import java.security.Security;
+import java.util.concurrent.TimeUnit;
+import org.bouncycastle.jce.provider.BouncyCastleProvider;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Hashes transactions with one hash generator shared by a growing amount <br>
+ * of threads, like the messaging threads do while syncing. Without a global <br>
+ * lock the total throughput should grow linear with the threads up to the cores.
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class LockContentionBenchmark {
+
+  private HashGenerator hasher;
+
+  @Setup(Level.Trial)
+  public void setup() {
+    Security.addProvider(new BouncyCastleProvider());
+    hasher = new MultiHashGenerator(new MerkleRootCalculator());
+  }
+
+  /**
+   * Transaction of one thread, modified before every hash so it's <br>
+   * memoized hash is never re-used.
+   */
+  @State(Scope.Thread)
+  public static class ThreadTransaction {
+    private Transaction transaction;
+    private long lockTime = 0;
+
+    @Setup(Level.Trial)
+    public void setup() {
+      transaction = new BenchmarkData(Thread.currentThread().getId())
+          .transaction(Block.BINARY_HASHING_POSITION);
+    }
+
+    Transaction next() {
+      transaction.setLockTime(lockTime++);
+      return transaction;
+    }
+  }
+
+  @Benchmark
+  @Threads(1)
+  public String hashWithOneThread(ThreadTransaction transaction) {
+    return hasher.generateHash(transaction.next());
+  }
+
+  @Benchmark
+  @Threads(2)
+  public String hashWithTwoThreads(ThreadTransaction transaction) {
+    return hasher.generateHash(transaction.next());
+  }
+
+  @Benchmark
+  @Threads(4)
+  public String hashWithFourThreads(ThreadTransaction transaction) {
+    return hasher.generateHash(transaction.next());
+  }
+
+  @Benchmark
+  @Threads(Threads.MAX)
+  public String hashWithThreadPerCore(ThreadTransaction transaction) {
+    return hasher.generateHash(transaction.next());
+  }
+}
@@ -0,0 +1,97 @@
+package com.flockinger.groschn.benchmarks;
+
+import com.flockinger.groschn.blockchain.consensus.model.ConsensusType;
+import com.flockinger.groschn.blockchain.consensus.model.Consent;
+import com.flockinger.groschn.blockchain.messaging.serialize.BlockchainSchemas;
+import com.flockinger.groschn.blockchain.model.Block;
+import com.flockinger.groschn.blockchain.model.Transaction;
+import com.flockinger.groschn.blockchain.model.TransactionInput;
+import com.flockinger.groschn.blockchain.model.TransactionOutput;
+import com.flockinger.groschn.commons.compress.CompressedEntity;
+import com.flockinger.groschn.commons.compress.Compressor;
+import com.flockinger.groschn.commons.serialize.BlockSerializer;
+import com.flockinger.groschn.commons.serialize.EntitySchema;
+import com.flockinger.groschn.commons.serialize.FstSerializer;
+import com.flockinger.groschn.commons.serialize.SchemaSerializer;
+import com.flockinger.groschn.messaging.serialize.MessagingSchemas;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the FST and the schema serialization format of a block: <br>
+ * serialize and deserialize throughput and the compressed block the <br>
+ * messaging sends. The bytes on wire of both formats are printed on setup.
+ *
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class SerializerBenchmark {
+
+  @Param({"fst", "schema"})
+  private String format;
+
+  @Param({"100", "1000"})
+  private int transactionCount;
+
+  private BlockSerializer serializer;
+  private Compressor compressor;
+  private Block block;
+  private byte[] serializedBlock;
+  private CompressedEntity compressedBlock;
+
+  @Setup(Level.Trial)
+  public void setup() {
+    var registered = List.<Class<?>>of(Block.class, Transaction.class, TransactionInput.class,
+        TransactionOutput.class, Consent.class, ConsensusType.class);
+    var schemas = new ArrayList<EntitySchema<?>>(MessagingSchemas.schemas());
+    schemas.addAll(BlockchainSchemas.schemas());
+    var fstSerializer = new FstSerializer(registered);
+    serializer = "schema".equals(format) ? new SchemaSerializer(schemas, fstSerializer, true)
+        : fstSerializer;
+    compressor = new Compressor(serializer);
+    block = new BenchmarkData(42).block(Block.BINARY_HASHING_POSITION, transactionCount);
+    serializedBlock = serializer.serialize(block);
+    compressedBlock = compressor.compress(block);
+    System.out.println(String.format("%n%s block with %d transactions: %d serialized bytes, "
+        + "%d compressed bytes", format, transactionCount, serializedBlock.length,
+        compressedBlock.getEntity().length));
+  }
+
+  @Benchmark
+  public byte[] serialize() {
+    return serializer.serialize(block);
+  }
+
+  @Benchmark
+  public Block deserialize() {
+    return serializer.deserialize(serializedBlock, Block.class);
+  }
+
+  @Benchmark
+  public CompressedEntity compress() {
+    return compressor.compress(block);
+  }
+
+  @Benchmark
+  public Block decompress() {
+    return compressor.decompress(compressedBlock.getEntity(), compressedBlock.getOriginalSize(),
+        Block.class).orElseThrow();
+  }
+}
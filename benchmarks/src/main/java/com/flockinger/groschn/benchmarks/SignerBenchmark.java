@@ -0,0 +1,83 @@
+package com.flockinger.groschn.benchmarks;
+
+import com.flockinger.groschn.commons.hash.Base58;
+import com.flockinger.groschn.commons.sign.EcdsaSecpSigner;
+import com.flockinger.groschn.commons.sign.Secp256k1Signer;
+import com.flockinger.groschn.commons.sign.Signer;
+import java.security.Provider;
+import java.security.Security;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.bouncycastle.jce.provider.BouncyCastleProvider;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares sign and verify throughput of the signers. Verifies signatures <br>
+ * of a limited amount of senders, like syncing a transaction pool does.
+ *
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class SignerBenchmark {
+
+  private final static int SENDERS = 100;
+
+  @Param({"jca", "secp256k1"})
+  private String signerType;
+
+  private Signer signer;
+  private byte[][] privateKeys = new byte[SENDERS][];
+  private String[] publicKeys = new String[SENDERS];
+  private byte[][] hashes = new byte[SENDERS][];
+  private String[] signatures = new String[SENDERS];
+  private int sender = 0;
+
+  @Setup(Level.Trial)
+  public void setup() {
+    Provider provider = new BouncyCastleProvider();
+    Security.addProvider(provider);
+    signer = "secp256k1".equals(signerType) ? new Secp256k1Signer(provider)
+        : new EcdsaSecpSigner(provider);
+    var random = new Random(42);
+    for (int i = 0; i < SENDERS; i++) {
+      var pair = signer.generateKeyPair();
+      privateKeys[i] = pair.getPrivate().getEncoded();
+      publicKeys[i] = Base58.encode(pair.getPublic().getEncoded());
+      hashes[i] = new byte[64];
+      random.nextBytes(hashes[i]);
+      signatures[i] = signer.sign(hashes[i], privateKeys[i]);
+    }
+  }
+
+  @Benchmark
+  public String sign() {
+    int current = nextSender();
+    return signer.sign(hashes[current], privateKeys[current]);
+  }
+
+  @Benchmark
+  public boolean verify() {
+    int current = nextSender();
+    return signer.isSignatureValid(hashes[current], publicKeys[current], signatures[current]);
+  }
+
+  private int nextSender() {
+    sender = (sender + 1) % SENDERS;
+    return sender;
+  }
+}
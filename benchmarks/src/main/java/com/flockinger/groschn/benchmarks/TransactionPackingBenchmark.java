@@ -0,0 +1,102 @@
+package com.flockinger.groschn.benchmarks;
+
+import com.flockinger.groschn.blockchain.consensus.model.ConsensusType;
+import com.flockinger.groschn.blockchain.consensus.model.Consent;
+import com.flockinger.groschn.blockchain.messaging.serialize.BlockchainSchemas;
+import com.flockinger.groschn.blockchain.model.Block;
+import com.flockinger.groschn.blockchain.model.Transaction;
+import com.flockinger.groschn.blockchain.model.TransactionInput;
+import com.flockinger.groschn.blockchain.model.TransactionOutput;
+import com.flockinger.groschn.blockchain.transaction.impl.TransactionPacker;
+import com.flockinger.groschn.commons.BlockchainUtilsFactory;
+import com.flockinger.groschn.commons.TransactionUtils;
+import com.flockinger.groschn.commons.serialize.SerializationFormat;
+import com.google.common.collect.ImmutableList;
+import java.security.Security;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import org.bouncycastle.jce.provider.BouncyCastleProvider;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+/**
+ * Selects the transactions of a block out of a pool of 100k raw transactions, <br>
+ * with the packer using the pre-calculated sizes stored in the pool and with <br>
+ * the former summing up of every transaction compressed on it's own.
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class TransactionPackingBenchmark {
+
+  private final static int POOL_SIZE = 100000;
+
+  @Param({"FST", "SCHEMA"})
+  private SerializationFormat format;
+
+  private TransactionUtils transactionUtils;
+  private TransactionPacker packer;
+  private List<Transaction> pool;
+  private long[] storedByteSizes;
+
+  @Setup(Level.Trial)
+  public void setup() {
+    var provider = new BouncyCastleProvider();
+    Security.addProvider(provider);
+    var registered = List.<Class<?>>of(Block.class, Transaction.class, TransactionInput.class,
+        TransactionOutput.class, Consent.class, ConsensusType.class);
+    var compressor = BlockchainUtilsFactory.createCompressor(registered,
+        BlockchainSchemas.schemas(), false);
+    transactionUtils = BlockchainUtilsFactory.buildTransactionUtils(
+        BlockchainUtilsFactory.createSigner(provider),
+        BlockchainUtilsFactory.createHashGenerator(provider), compressor);
+
+    var context = new AnnotationConfigApplicationContext();
+    context.registerBean(TransactionUtils.class, () -> transactionUtils);
+    context.register(TransactionPacker.class);
+    context.refresh();
+    packer = context.getBean(TransactionPacker.class);
+
+    pool = new BenchmarkData(42).transactions(POOL_SIZE, Block.BINARY_HASHING_POSITION);
+    storedByteSizes = pool.stream().mapToLong(packer::estimateByteSize).toArray();
+  }
+
+  @Benchmark
+  public List<Transaction> packWithStoredSizes() {
+    return packer.pack(IntStream.range(0, POOL_SIZE).iterator(), pool::get,
+        index -> storedByteSizes[index], Block.MAX_TRANSACTION_BYTE_SIZE, format);
+  }
+
+  @Benchmark
+  public List<Transaction> sumSingleCompressedSizes() {
+    var transactions = new ArrayList<Transaction>();
+    long compressedTransactionsSize = 0;
+    for (int index = 0; index < POOL_SIZE
+        && compressedTransactionsSize < Block.MAX_TRANSACTION_BYTE_SIZE; index++) {
+      var transaction = pool.get(index);
+      compressedTransactionsSize += transactionUtils.compressedByteSize(
+          ImmutableList.of(transaction), format);
+      if (compressedTransactionsSize < Block.MAX_TRANSACTION_BYTE_SIZE) {
+        transactions.add(transaction);
+      }
+    }
+    return transactions;
+  }
+}
@@ -7,10 +7,14 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import com.flockinger.groschn.blockchain.api.dto.CreateTransactionDto;
+import com.flockinger.groschn.blockchain.api.dto.MerkleProofDto;
 import com.flockinger.groschn.blockchain.api.dto.TransactionIdDto;
 import com.flockinger.groschn.blockchain.api.dto.TransactionStatusDto;
 import com.flockinger.groschn.blockchain.api.dto.ViewTransactionDto;
+import com.flockinger.groschn.blockchain.api.dto.ViewTransactionPageDto;
 import io.swagger.annotations.ApiOperation;
 import io.swagger.annotations.ApiParam;
 import io.swagger.annotations.ApiResponse;
@@ -38,9 +42,29 @@ public interface TransactionController {
           required = true) @PathVariable("transaction-id") String transactionId);
 
 
-  @ApiOperation(value = "Get all transactions from public key.",
+  @ApiOperation(value = "Get Merkle proof of the Transaction.", nickname = "getTransactionMerkleProof",
+      notes = "Fetches the Merkle proof of a Transaction stored in the blockchain, to verify it's part "
+          + "of a block without downloading the whole block.", response = MerkleProofDto.class,
+      tags = {"Transaction",})
+  @ApiResponses(value = {
+      @ApiResponse(code = 200, message = "MerkleProof.", response = MerkleProofDto.class),
+      @ApiResponse(code = 400, message = "Bad request (validation failed).",
+          response = Error.class),
+      @ApiResponse(code = 401, message = "Unauthorized (need to log in / get token)."),
+      @ApiResponse(code = 403, message = "Forbidden (no rights to access resource)."),
+      @ApiResponse(code = 404, message = "Entity not found.", response = Error.class),
+      @ApiResponse(code = 409, message = "Request results in a conflict.", response = Error.class),
+      @ApiResponse(code = 500, message = "Internal Server Error.")})
+  @RequestMapping(value = "/api/v1/groschn/transaction/proof/{transaction-id}",
+      produces = {"application/json"}, method = RequestMethod.GET)
+  ResponseEntity<MerkleProofDto> getTransactionMerkleProof(
+      @ApiParam(value = "Unique identifier of the transaction.",
+          required = true) @PathVariable("transaction-id") String transactionId);
+
+
+  @ApiOperation(value = "Get transactions from public key.",
       nickname = "getTransactionsFromPublicKey",
-      notes = "Fetches all transactions from a specific public key.",
+      notes = "Fetches one page of the transactions from a specific public key, newest first.",
       response = ViewTransactionDto.class, responseContainer = "List", tags = {"Transaction",})
   @ApiResponses(value = {
       @ApiResponse(code = 200, message = "Transactions.", response = ViewTransactionDto.class,
@@ -55,6 +79,55 @@ public interface TransactionController {
   @RequestMapping(value = "/api/v1/groschn/transaction/{pub-key}", produces = {"application/json"},
       method = RequestMethod.GET)
   ResponseEntity<List<ViewTransactionDto>> getTransactionsFromPublicKey(
+      @ApiParam(value = "Public key.", required = true) @PathVariable("pub-key") String pubKey,
+      @ApiParam(value = "Zero based page number.")
+      @RequestParam(value = "page", defaultValue = "0") int page,
+      @ApiParam(value = "Page size (limited to the maximum history page size).")
+      @RequestParam(value = "size", defaultValue = "50") int size);
+
+
+  @ApiOperation(value = "Get cursor paged transactions from public key.",
+      nickname = "getTransactionPageFromPublicKey",
+      notes = "Fetches the page of transactions from a specific public key following the cursor, "
+          + "newest first. Each page costs the same no matter how old the transactions are.",
+      response = ViewTransactionPageDto.class, tags = {"Transaction",})
+  @ApiResponses(value = {
+      @ApiResponse(code = 200, message = "ViewTransactionPage.", response = ViewTransactionPageDto.class),
+      @ApiResponse(code = 400, message = "Bad request (validation failed).",
+          response = Error.class),
+      @ApiResponse(code = 401, message = "Unauthorized (need to log in / get token)."),
+      @ApiResponse(code = 403, message = "Forbidden (no rights to access resource)."),
+      @ApiResponse(code = 404, message = "Entity not found.", response = Error.class),
+      @ApiResponse(code = 409, message = "Request results in a conflict.", response = Error.class),
+      @ApiResponse(code = 500, message = "Internal Server Error.")})
+  @RequestMapping(value = "/api/v1/groschn/transaction/history/{pub-key}",
+      produces = {"application/json"}, method = RequestMethod.GET)
+  ResponseEntity<ViewTransactionPageDto> getTransactionPageFromPublicKey(
+      @ApiParam(value = "Public key.", required = true) @PathVariable("pub-key") String pubKey,
+      @ApiParam(value = "Next cursor of the previous page, empty for the first page.")
+      @RequestParam(value = "cursor", required = false) String cursor,
+      @ApiParam(value = "Page size (limited to the maximum history page size).")
+      @RequestParam(value = "size", defaultValue = "50") int size);
+
+
+  @ApiOperation(value = "Stream all transactions from public key.",
+      nickname = "streamTransactionsFromPublicKey",
+      notes = "Streams all transactions from a specific public key, newest first, "
+          + "as newline delimited JSON (one ViewTransaction per line).",
+      response = ViewTransactionDto.class, responseContainer = "List", tags = {"Transaction",})
+  @ApiResponses(value = {
+      @ApiResponse(code = 200, message = "Transactions.", response = ViewTransactionDto.class,
+          responseContainer = "List"),
+      @ApiResponse(code = 400, message = "Bad request (validation failed).",
+          response = Error.class),
+      @ApiResponse(code = 401, message = "Unauthorized (need to log in / get token)."),
+      @ApiResponse(code = 403, message = "Forbidden (no rights to access resource)."),
+      @ApiResponse(code = 404, message = "Entity not found.", response = Error.class),
+      @ApiResponse(code = 409, message = "Request results in a conflict.", response = Error.class),
+      @ApiResponse(code = 500, message = "Internal Server Error.")})
+  @RequestMapping(value = "/api/v1/groschn/transaction/history/{pub-key}/stream",
+      produces = {"application/x-ndjson"}, method = RequestMethod.GET)
+  ResponseEntity<StreamingResponseBody> streamTransactionsFromPublicKey(
       @ApiParam(value = "Public key.", required = true) @PathVariable("pub-key") String pubKey);
 
 
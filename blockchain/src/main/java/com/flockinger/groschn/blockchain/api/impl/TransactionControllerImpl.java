@@ -2,34 +2,48 @@ package com.flockinger.groschn.blockchain.api.impl;
 
 import com.flockinger.groschn.blockchain.api.TransactionController;
 import com.flockinger.groschn.blockchain.api.dto.CreateTransactionDto;
+import com.flockinger.groschn.blockchain.api.dto.MerkleProofDto;
 import com.flockinger.groschn.blockchain.api.dto.TransactionIdDto;
 import com.flockinger.groschn.blockchain.api.dto.TransactionStatusDto;
 import com.flockinger.groschn.blockchain.api.dto.ViewTransactionDto;
+import com.flockinger.groschn.blockchain.api.dto.ViewTransactionPageDto;
 import com.flockinger.groschn.blockchain.model.Transaction;
 import com.flockinger.groschn.blockchain.transaction.TransactionManager;
 import com.flockinger.groschn.messaging.config.MainTopics;
 import com.flockinger.groschn.messaging.outbound.Broadcaster;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.annotations.ApiParam;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.util.List;
 import javax.validation.Valid;
 import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 public class TransactionControllerImpl implements TransactionController {
   
+  private final static MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+  private final static int LINE_SEPARATOR = '\n';
+  
   @Autowired
   private TransactionManager manager;
   @Autowired
   private Broadcaster broadcaster;
   @Autowired
   private ModelMapper mapper;
+  @Autowired
+  private ObjectMapper jsonMapper;
   
   @Value("${atomix.node-id}")
   private String nodeId;
@@ -42,13 +56,53 @@ public class TransactionControllerImpl implements TransactionController {
     return new ResponseEntity<TransactionStatusDto>(status, HttpStatus.OK);
   }
 
+  public ResponseEntity<MerkleProofDto> getTransactionMerkleProof(
+      @ApiParam(value = "Unique identifier of the transaction.",
+          required = true) @PathVariable("transaction-id") String transactionId) {
+
+    var proof = manager.getMerkleProofOfTransaction(transactionId);
+    return new ResponseEntity<MerkleProofDto>(proof, HttpStatus.OK);
+  }
+
   public ResponseEntity<List<ViewTransactionDto>> getTransactionsFromPublicKey(
-      @ApiParam(value = "Public key.", required = true) @PathVariable("pub-key") String pubKey) {
+      @ApiParam(value = "Public key.", required = true) @PathVariable("pub-key") String pubKey,
+      @ApiParam(value = "Zero based page number.")
+      @RequestParam(value = "page", defaultValue = "0") int page,
+      @ApiParam(value = "Page size (limited to the maximum history page size).")
+      @RequestParam(value = "size", defaultValue = "50") int size) {
 
-    var views = manager.getTransactionsFromPublicKey(pubKey);
+    var views = manager.getTransactionsFromPublicKey(pubKey, page, size);
     return new ResponseEntity<List<ViewTransactionDto>>(views, HttpStatus.OK);
   }
 
+  public ResponseEntity<ViewTransactionPageDto> getTransactionPageFromPublicKey(
+      @ApiParam(value = "Public key.", required = true) @PathVariable("pub-key") String pubKey,
+      @ApiParam(value = "Next cursor of the previous page, empty for the first page.")
+      @RequestParam(value = "cursor", required = false) String cursor,
+      @ApiParam(value = "Page size (limited to the maximum history page size).")
+      @RequestParam(value = "size", defaultValue = "50") int size) {
+
+    var page = manager.getTransactionsFromPublicKeyAfter(pubKey, cursor, size);
+    return new ResponseEntity<ViewTransactionPageDto>(page, HttpStatus.OK);
+  }
+
+  public ResponseEntity<StreamingResponseBody> streamTransactionsFromPublicKey(
+      @ApiParam(value = "Public key.", required = true) @PathVariable("pub-key") String pubKey) {
+
+    StreamingResponseBody body = outputStream -> manager
+        .streamTransactionsFromPublicKey(pubKey, view -> writeLine(outputStream, view));
+    return ResponseEntity.ok().contentType(NDJSON).body(body);
+  }
+
+  private void writeLine(OutputStream outputStream, ViewTransactionDto view) {
+    try {
+      outputStream.write(jsonMapper.writeValueAsBytes(view));
+      outputStream.write(LINE_SEPARATOR);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
   public ResponseEntity<TransactionIdDto> publishTransaction(@ApiParam(value = "Transaction data",
       required = true) @Valid @RequestBody CreateTransactionDto createTransaction) {
     
@@ -13,6 +13,7 @@ import com.flockinger.groschn.commons.exception.BlockchainException;
 import com.flockinger.groschn.messaging.config.MainTopics;
 import com.flockinger.groschn.messaging.outbound.Broadcaster;
 import java.util.List;
+import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -66,13 +67,22 @@ public class BlockMakerImpl implements BlockMaker {
   private void restart() {
     stop();
 
-    List<Transaction> transactions =
-        transactionManager.fetchTransactionsBySize(Block.MAX_TRANSACTION_BYTE_SIZE);
+    List<Transaction> transactions = onlyAllowedForNextBlock(
+        transactionManager.fetchTransactionsBySize(Block.MAX_TRANSACTION_BYTE_SIZE));
     transactions = rewardGenerator.generateRewardTransaction(transactions);
     LOG.info("Restarting Block generation");;
     broadcastAndStore(transactions);
   }
 
+  private List<Transaction> onlyAllowedForNextBlock(List<Transaction> transactions) {
+    var nextBlockVersion = Block.versionAt(storageService.getLatestBlock().getPosition() + 1);
+    if (nextBlockVersion >= Block.BINARY_HASHING_VERSION) {
+      return transactions;
+    }
+    return transactions.stream().filter(transaction -> !transaction.isBinaryHashed())
+        .collect(Collectors.toList());
+  }
+
   private void broadcastAndStore(List<Transaction> transactions) {
     try {
       var block = consensusFactory.reachConsensus(transactions);
@@ -9,8 +9,10 @@ import com.flockinger.groschn.blockchain.repository.BlockchainRepository;
 import com.flockinger.groschn.blockchain.repository.model.StoredBlock;
 import com.flockinger.groschn.blockchain.repository.model.TransactionStatus;
 import com.flockinger.groschn.blockchain.transaction.TransactionManager;
+import com.flockinger.groschn.blockchain.transaction.impl.AddressTransactionIndex;
 import com.flockinger.groschn.blockchain.validation.Assessment;
 import com.flockinger.groschn.blockchain.validation.impl.InnerBlockValidator;
+import com.flockinger.groschn.blockchain.wallet.BalanceLedger;
 import java.util.List;
 import java.util.Objects;
 import java.util.stream.Collectors;
@@ -34,6 +36,10 @@ public class BlockStorageServiceImpl implements BlockStorageService {
   private ModelMapper mapper;
   @Autowired
   private TransactionManager transactionManager;
+  @Autowired
+  private BalanceLedger balanceLedger;
+  @Autowired
+  private AddressTransactionIndex transactionIndex;
 
   private final static Logger LOG = LoggerFactory.getLogger(BlockStorageServiceImpl.class);
 
@@ -75,6 +81,8 @@ public class BlockStorageServiceImpl implements BlockStorageService {
       storedBlock.setId(possiblyExistingBlock.get().getId());
     }
     storedBlock = dao.save(storedBlock);
+    balanceLedger.blockStored(storedBlock, possiblyExistingBlock);
+    transactionIndex.blockStored(storedBlock);
     LOG.info("Block successfully stored with position {}", block.getPosition());
     return storedBlock;
   }
@@ -124,8 +132,11 @@ public class BlockStorageServiceImpl implements BlockStorageService {
 
   @Override
   public void removeBlock(long position) {
-    if (dao.findByPosition(position).isPresent() && position > 1) {
+    var block = dao.findByPosition(position);
+    if (block.isPresent() && position > 1) {
       dao.removeByPosition(position);
+      balanceLedger.blockRemoved(block.get());
+      transactionIndex.blockRemoved(block.get());
     }
   }
 }
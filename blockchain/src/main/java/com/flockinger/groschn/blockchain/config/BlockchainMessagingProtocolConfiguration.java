@@ -2,13 +2,16 @@ package com.flockinger.groschn.blockchain.config;
 
 import com.flockinger.groschn.blockchain.consensus.model.ConsensusType;
 import com.flockinger.groschn.blockchain.consensus.model.Consent;
+import com.flockinger.groschn.blockchain.messaging.serialize.BlockchainSchemas;
 import com.flockinger.groschn.blockchain.model.Block;
 import com.flockinger.groschn.blockchain.model.Transaction;
 import com.flockinger.groschn.blockchain.model.TransactionInput;
 import com.flockinger.groschn.blockchain.model.TransactionOutput;
 import com.flockinger.groschn.commons.BlockchainUtilsFactory;
 import com.flockinger.groschn.commons.compress.Compressor;
+import com.flockinger.groschn.commons.serialize.EntitySchema;
 import com.flockinger.groschn.messaging.config.MessagingProtocolConfiguration;
+import com.flockinger.groschn.messaging.serialize.MessagingSchemas;
 import java.util.ArrayList;
 import java.util.concurrent.Executor;
 import java.util.concurrent.Executors;
@@ -20,6 +23,8 @@ public class BlockchainMessagingProtocolConfiguration extends MessagingProtocolC
 
   @Value("${blockchain.messaging.thread-pool.size}")
   private Integer threadPoolSize;
+  @Value("${blockchain.messaging.schema-serialization}")
+  private Boolean schemaSerialization;
 
   @Override
   protected Compressor messageCompressor() {
@@ -31,7 +36,10 @@ public class BlockchainMessagingProtocolConfiguration extends MessagingProtocolC
     registered.add(Consent.class);
     registered.add(ConsensusType.class);
 
-    return BlockchainUtilsFactory.createCompressor(registered);
+    var schemas = new ArrayList<EntitySchema<?>>(MessagingSchemas.schemas());
+    schemas.addAll(BlockchainSchemas.schemas());
+
+    return BlockchainUtilsFactory.createCompressor(registered, schemas, schemaSerialization);
   }
 
   @Override
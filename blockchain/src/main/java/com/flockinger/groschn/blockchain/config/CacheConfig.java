@@ -62,4 +62,13 @@ public class CacheConfig {
         .build();
   }
   
+  @Bean("SyncTransactionHashId_Cache")
+  public Cache<String, String> getSyncTransactionHashIdCache() {
+    return Caffeine.newBuilder()
+        .expireAfterWrite(Duration.ofMillis(expireAfterMilliseconds))
+        .initialCapacity(initCapacity)
+        .maximumSize(maxCapacity)
+        .build();
+  }
+  
 }
@@ -5,8 +5,12 @@ import com.flockinger.groschn.commons.TransactionUtils;
 import com.flockinger.groschn.commons.ValidationUtils;
 import com.flockinger.groschn.commons.compress.Compressor;
 import com.flockinger.groschn.commons.crypto.KeyCipher;
+import com.flockinger.groschn.commons.hash.HashCacheStatistics;
 import com.flockinger.groschn.commons.hash.HashGenerator;
 import com.flockinger.groschn.commons.sign.Signer;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
 import java.security.Provider;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -24,9 +28,22 @@ public class CommonsConfig {
     return BlockchainUtilsFactory.createHashGenerator(provider);
   }
 
+  /**
+   * Exposes the hit rate of the memoized block/transaction hashes as metrics.
+   */
   @Bean
-  public Signer ecdsaSecpSigner(Provider provider) {
-    return BlockchainUtilsFactory.createSigner(provider);
+  public MeterBinder hashCacheMetrics(HashGenerator hasher) {
+    return registry -> {
+      HashCacheStatistics statistics = hasher.getCacheStatistics();
+      FunctionCounter.builder("groschn.hash.cache.hits", statistics, HashCacheStatistics::hits)
+        .description("Hashes re-used from the memo of unmodified blocks/transactions")
+        .register(registry);
+      FunctionCounter.builder("groschn.hash.cache.misses", statistics, HashCacheStatistics::misses)
+        .description("Hashes of blocks/transactions that had to be generated")
+        .register(registry);
+      Gauge.builder("groschn.hash.cache.hit-rate", statistics, HashCacheStatistics::hitRate)
+        .register(registry);
+    };
   }
 
   @Bean
@@ -1,8 +1,12 @@
 package com.flockinger.groschn.blockchain.config;
 
+import com.flockinger.groschn.commons.BlockchainUtilsFactory;
+import com.flockinger.groschn.commons.exception.crypto.CantConfigureSigningAlgorithmException;
+import com.flockinger.groschn.commons.sign.Signer;
 import java.security.Provider;
 import java.security.Security;
 import org.bouncycastle.jce.provider.BouncyCastleProvider;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -11,10 +15,32 @@ public class CryptoConfig {
   
   public final static String DEFAULT_PROVIDER_NAME = BouncyCastleProvider.PROVIDER_NAME;
   
+  /**
+   * Generic EC implementation of the JCA provider.
+   */
+  public final static String JCA_SIGNER = "jca";
+  /**
+   * Optimized secp256k1 arithmetic, accepts exactly the same keys and signatures.
+   */
+  public final static String SECP256K1_SIGNER = "secp256k1";
+  
   @Bean
   public Provider getDefaultProvider() {
     Provider bouncyCastle = new BouncyCastleProvider();
     Security.addProvider(bouncyCastle);
     return bouncyCastle;
   }
+  
+  @Bean
+  public Signer signer(Provider provider,
+      @Value("${blockchain.crypto.signer:" + JCA_SIGNER + "}") String signerType,
+      @Value("${blockchain.validation.signatures.public-key-cache-size:10000}") long publicKeyCacheSize) {
+    if (SECP256K1_SIGNER.equalsIgnoreCase(signerType)) {
+      return BlockchainUtilsFactory.createSecp256k1Signer(provider, publicKeyCacheSize);
+    } else if (JCA_SIGNER.equalsIgnoreCase(signerType)) {
+      return BlockchainUtilsFactory.createSigner(provider, publicKeyCacheSize);
+    }
+    throw new CantConfigureSigningAlgorithmException("Unknown blockchain.crypto.signer '" + signerType 
+        + "', must be either " + JCA_SIGNER + " or " + SECP256K1_SIGNER + "!");
+  }
 }
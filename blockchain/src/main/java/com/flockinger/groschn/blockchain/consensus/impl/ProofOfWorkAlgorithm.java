@@ -1,21 +1,39 @@
 package com.flockinger.groschn.blockchain.consensus.impl;
 
-import com.flockinger.groschn.blockchain.blockworks.BlockMaker;
 import com.flockinger.groschn.blockchain.blockworks.BlockStorageService;
 import com.flockinger.groschn.blockchain.consensus.ConsensusAlgorithm;
 import com.flockinger.groschn.blockchain.consensus.model.ConsensusType;
 import com.flockinger.groschn.blockchain.consensus.model.Consent;
 import com.flockinger.groschn.blockchain.model.Block;
 import com.flockinger.groschn.blockchain.model.Transaction;
+import com.flockinger.groschn.commons.hash.DifficultyTarget;
+import com.flockinger.groschn.commons.hash.HashEncoder;
 import com.flockinger.groschn.commons.hash.HashGenerator;
+import com.flockinger.groschn.commons.hash.MidstateHasher;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
-import org.apache.commons.lang3.StringUtils;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
 import org.apache.commons.lang3.time.StopWatch;
+import org.bouncycastle.util.encoders.Hex;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 @Component(value = "POW")
@@ -33,7 +51,7 @@ public class ProofOfWorkAlgorithm implements ConsensusAlgorithm {
   
   /**
    * Every PoW proven hash must start with a certain amount of those
-   * characters (depending on the difficulty).
+   * characters (depending on the difficulty), see {@link DifficultyTarget}.
    */
   public final static String LEADING_ZERO = "0";
   
@@ -42,10 +60,45 @@ public class ProofOfWorkAlgorithm implements ConsensusAlgorithm {
   @Autowired
   private HashGenerator hashGenerator;
   
+  /**
+   * Amount of threads searching the nonce in parallel, <br>
+   * zero or less means one per available processor.
+   */
+  @Value("${blockchain.consensus.pow.mining-threads:1}")
+  private Integer miningThreads;
+  
   private final Long STARTING_NONCE = 1l;
   
   private AtomicBoolean cancel = new AtomicBoolean(false);
   
+  private ExecutorService miningPool;
+  
+  private final static Logger LOG = LoggerFactory.getLogger(ProofOfWorkAlgorithm.class);
+  
+  @PostConstruct
+  public void setupMiningPool() {
+    if(miningThreads <= 0) {
+      miningThreads = Runtime.getRuntime().availableProcessors();
+    }
+    if(miningThreads > 1) {
+      var threadCount = new AtomicInteger();
+      miningPool = Executors.newFixedThreadPool(miningThreads, runnable -> {
+        var thread = new Thread(runnable, "pow-miner-" + threadCount.incrementAndGet());
+        thread.setDaemon(true);
+        return thread;
+      });
+    }
+  }
+  
+  @PreDestroy
+  public void shutdownMiningPool() {
+    if(miningPool != null) {
+      cancel.set(true);
+      miningPool.shutdownNow();
+      miningPool = null;
+    }
+  }
+  
   @Override
   public Optional<Block> reachConsensus(List<Transaction> transactions) {      
     cancel.set(false);
@@ -61,8 +114,9 @@ public class ProofOfWorkAlgorithm implements ConsensusAlgorithm {
     freshBlock.setTransactions(transactions);
     freshBlock.setLastHash(lastBlock.getHash());
     freshBlock.setTimestamp(new Date().getTime());
-    freshBlock.setVersion(BlockMaker.CURRENT_BLOCK_VERSION);
-    freshBlock.setTransactionMerkleRoot(hashGenerator.calculateMerkleRootHash(transactions));
+    freshBlock.setVersion(Block.versionAt(freshBlock.getPosition()));
+    freshBlock.setTransactionMerkleRoot(
+        hashGenerator.calculateMerkleRootHash(transactions, freshBlock.merkleRootAlgorithm()));
     
     Consent consent = new Consent();
     consent.setType(ConsensusType.PROOF_OF_WORK);
@@ -85,42 +139,152 @@ public class ProofOfWorkAlgorithm implements ConsensusAlgorithm {
   private Optional<Block> forgeBlock(Block freshBlock) {
     StopWatch miningTimer = StopWatch.createStarted();
     Consent consent = freshBlock.getConsent();
-    String blockHash = "";
     consent.setTimestamp(new Date().getTime());
-    Long nonceCount=STARTING_NONCE;
-    while(!didWorkSucceed(blockHash, consent)) {
-      if(cancel.get()) {
-        return Optional.empty();
+    MiningRun run = createMiningRun(freshBlock, miningTimer);
+    
+    List<Long> hashCounts = (miningThreads > 1) ? mineInParallel(run) : List.of(mine(0, 1, run));
+    miningTimer.stop();
+    logHashRates(hashCounts, miningTimer.getTime(TimeUnit.MILLISECONDS));
+    
+    MinedConsent winner = run.winner.get();
+    if(winner == null) {
+      return Optional.empty();
+    }
+    freshBlock.setConsent(winner.consent);
+    freshBlock.setHash(winner.hash);
+    return Optional.of(freshBlock);
+  }
+  
+  private List<Long> mineInParallel(MiningRun run) {
+    var workers = IntStream.range(0, miningThreads)
+        .mapToObj(worker -> (Callable<Long>) () -> mine(worker, miningThreads, run))
+        .collect(Collectors.toList());
+    var hashCounts = new ArrayList<Long>();
+    try {
+      for(Future<Long> hashCount : miningPool.invokeAll(workers)) {
+        hashCounts.add(hashCount.get());
       }
-      if(nonceCount == Long.MAX_VALUE) {
+    } catch (InterruptedException e) {
+      cancel.set(true);
+      Thread.currentThread().interrupt();
+    } catch (ExecutionException e) {
+      cancel.set(true);
+      LOG.error("Mining thread failed!", e.getCause());
+    }
+    return hashCounts;
+  }
+  
+  /**
+   * Searches every n-th nonce (n = amount of workers) starting with the workers <br>
+   * index, until one of the workers succeeded or the mining got cancelled.
+   * 
+   * @return amount of computed hashes
+   */
+  private Long mine(int worker, int workerCount, MiningRun run) {
+    Consent consent = copyConsent(run.consent);
+    MidstateHasher miningHasher = hashGenerator.createMidstateHasher(run.prefix, run.suffix);
+    HashEncoder consentEncoder = new HashEncoder();
+    DifficultyTarget target = new DifficultyTarget(Math.max(0, consent.getDifficulty()));
+    long hashCount = 0;
+    Long nonceCount = firstNonce(worker);
+    while(!cancel.get() && run.winner.get() == null) {
+      consent.setNonce(nonceCount);
+      consent.setMilliSecondsSpentMining(run.miningTimer.getTime(TimeUnit.MILLISECONDS));
+      byte[] blockHash = hashWithChangedConsent(run.binaryHashed, consent, miningHasher, consentEncoder);
+      hashCount++;
+      if(target.isMetBy(blockHash)) {
+        run.winner.compareAndSet(null, new MinedConsent(consent, Hex.toHexString(blockHash)));
+      } else if(nonceCount > Long.MAX_VALUE - workerCount) {
         consent.setTimestamp(new Date().getTime());
-        nonceCount = STARTING_NONCE;
+        nonceCount = firstNonce(worker);
       } else {
-        nonceCount++;
+        nonceCount += workerCount;
       }
-      consent.setNonce(nonceCount);
-      consent.setMilliSecondsSpentMining(miningTimer.getTime(TimeUnit.MILLISECONDS));
-      blockHash = hashGenerator.generateHash(freshBlock);
     }
-    miningTimer.stop();
-    freshBlock.setHash(blockHash);
-    return Optional.of(freshBlock);
+    return hashCount;
+  }
+  
+  private Long firstNonce(int worker) {
+    return (STARTING_NONCE <= Long.MAX_VALUE - worker) ? STARTING_NONCE + worker : STARTING_NONCE;
+  }
+  
+  private Consent copyConsent(Consent consent) {
+    Consent copy = new Consent();
+    copy.setType(consent.getType());
+    copy.setDifficulty(consent.getDifficulty());
+    copy.setTimestamp(consent.getTimestamp());
+    return copy;
+  }
+  
+  private void logHashRates(List<Long> hashCounts, long millisSpent) {
+    long seconds = Math.max(1l, TimeUnit.MILLISECONDS.toSeconds(millisSpent));
+    LOG.info("Mining took {} ms with hash rates per thread (hashes/s): {}", millisSpent, 
+        hashCounts.stream().map(count -> count / seconds).collect(Collectors.toList()));
   }
   
   /**
-   * Returns true if the hash contains at least the amount of leading <BR>
-   * zeros as specified in the PowerConsents difficulty value.
+   * Everything but the consent stays the same while mining, so the hashing <br>
+   * input is split up into a constant part before and after the consent, <br>
+   * which results in the same hash as {@link HashGenerator#generateHash}. <br>
+   * <br>
+   * Only the part before the consent can be pre-digested: binary hashed blocks <br>
+   * encode the consent last, so each attempt just hashes the consent. toString() <br>
+   * hashed blocks list the transactions after the consent, so those are still <br>
+   * hashed on every attempt, it only saves re-serializing the block.
    * 
-   * @param blockHash
-   * @param consent
+   * @param freshBlock
+   * @param miningTimer
    * @return
    */
-  private boolean didWorkSucceed(String blockHash, Consent consent) {
-    return StringUtils.startsWith(blockHash, StringUtils.repeat(LEADING_ZERO, consent.getDifficulty()));
+  private MiningRun createMiningRun(Block freshBlock, StopWatch miningTimer) {
+    if(freshBlock.isBinaryHashed()) {
+      var headerEncoder = new HashEncoder();
+      freshBlock.encodeWithoutConsent(headerEncoder);
+      return new MiningRun(freshBlock, headerEncoder.toByteArray(), new byte[0], miningTimer);
+    }
+    return new MiningRun(freshBlock, 
+        freshBlock.toStringBeforeConsent().getBytes(StandardCharsets.UTF_8), 
+        freshBlock.toStringAfterConsent().getBytes(StandardCharsets.UTF_8), miningTimer);
   }
-
+  
+  private byte[] hashWithChangedConsent(boolean binaryHashed, Consent consent, 
+      MidstateHasher miningHasher, HashEncoder consentEncoder) {
+    if(binaryHashed) {
+      consentEncoder.reset().write(consent);
+      return miningHasher.hash(consentEncoder.buffer(), 0, consentEncoder.length());
+    }
+    return miningHasher.hash(consent.toString().getBytes(StandardCharsets.UTF_8));
+  }
+  
   @Override
   public void stopFindingConsensus() {
     cancel.set(true);
   }
+  
+  private final static class MiningRun {
+    private final boolean binaryHashed;
+    private final Consent consent;
+    private final byte[] prefix;
+    private final byte[] suffix;
+    private final StopWatch miningTimer;
+    private final AtomicReference<MinedConsent> winner = new AtomicReference<>();
+    
+    private MiningRun(Block freshBlock, byte[] prefix, byte[] suffix, StopWatch miningTimer) {
+      this.binaryHashed = freshBlock.isBinaryHashed();
+      this.consent = freshBlock.getConsent();
+      this.prefix = prefix;
+      this.suffix = suffix;
+      this.miningTimer = miningTimer;
+    }
+  }
+  
+  private final static class MinedConsent {
+    private final Consent consent;
+    private final String hash;
+    
+    private MinedConsent(Consent consent, String hash) {
+      this.consent = consent;
+      this.hash = hash;
+    }
+  }
 }
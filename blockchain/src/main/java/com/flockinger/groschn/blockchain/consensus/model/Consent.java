@@ -1,8 +1,11 @@
 package com.flockinger.groschn.blockchain.consensus.model;
 
 import com.flockinger.groschn.blockchain.model.Hashable;
+import com.flockinger.groschn.commons.hash.HashEncodable;
+import com.flockinger.groschn.commons.hash.HashEncoder;
+import com.flockinger.groschn.commons.hash.HashMemo;
 
-public class Consent implements Hashable<Consent> {
+public class Consent implements Hashable<Consent>, HashEncodable {
   /**
    * 
    */
@@ -14,12 +17,15 @@ public class Consent implements Hashable<Consent> {
   private Long milliSecondsSpentMining = null;
   private ConsensusType type = null;
 
+  private transient long modificationStamp = 0;
+
   public ConsensusType getType() {
     return type;
   }
 
   public void setType(ConsensusType type) {
     this.type = type;
+    modified();
   }
 
   public Long getMilliSecondsSpentMining() {
@@ -28,6 +34,7 @@ public class Consent implements Hashable<Consent> {
 
   public void setMilliSecondsSpentMining(Long milliSecondsSpentMining) {
     this.milliSecondsSpentMining = milliSecondsSpentMining;
+    modified();
   }
 
   public Integer getDifficulty() {
@@ -36,6 +43,7 @@ public class Consent implements Hashable<Consent> {
 
   public void setDifficulty(Integer difficulty) {
     this.difficulty = difficulty;
+    modified();
   }
 
   public Long getNonce() {
@@ -44,6 +52,7 @@ public class Consent implements Hashable<Consent> {
 
   public void setNonce(Long nonce) {
     this.nonce = nonce;
+    modified();
   }
 
   public Long getTimestamp() {
@@ -52,6 +61,21 @@ public class Consent implements Hashable<Consent> {
 
   public void setTimestamp(Long timestamp) {
     this.timestamp = timestamp;
+    modified();
+  }
+
+  /**
+   * @return stamp that changes with every modification of this consent
+   */
+  public long modificationStamp() {
+    if(modificationStamp == 0) {
+      modified();
+    }
+    return modificationStamp;
+  }
+
+  private void modified() {
+    modificationStamp = HashMemo.nextModificationStamp();
   }
 
   @Override
@@ -66,6 +90,18 @@ public class Consent implements Hashable<Consent> {
     return this.getTimestamp().compareTo(o.getTimestamp());
   }
 
+  /**
+   * Encodes the fixed values first and the ones changing while mining last.
+   */
+  @Override
+  public void encode(HashEncoder encoder) {
+    encoder.writeEnum(type)
+      .writeInt(difficulty)
+      .writeLong(timestamp)
+      .writeLong(milliSecondsSpentMining)
+      .writeLong(nonce);
+  }
+
   @Override
   public String toString() {
     return "Consent [nonce=" + nonce + ", timestamp=" + timestamp + ", difficulty=" + difficulty
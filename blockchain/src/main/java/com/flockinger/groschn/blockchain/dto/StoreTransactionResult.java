@@ -0,0 +1,52 @@
+package com.flockinger.groschn.blockchain.dto;
+
+/**
+ * Outcome of storing one transaction of a bulk store.
+ */
+public class StoreTransactionResult {
+  
+  public enum Outcome {
+    STORED, ALREADY_EXISTING, INVALID;
+  }
+
+  private String transactionHash;
+
+  private Outcome outcome;
+
+  private String reason;
+
+  public StoreTransactionResult() {}
+
+  public StoreTransactionResult(String transactionHash, Outcome outcome, String reason) {
+    this.transactionHash = transactionHash;
+    this.outcome = outcome;
+    this.reason = reason;
+  }
+
+  public String getTransactionHash() {
+    return transactionHash;
+  }
+
+  public void setTransactionHash(String transactionHash) {
+    this.transactionHash = transactionHash;
+  }
+
+  public Outcome getOutcome() {
+    return outcome;
+  }
+
+  public void setOutcome(Outcome outcome) {
+    this.outcome = outcome;
+  }
+
+  /**
+   * @return why the transaction wasn't stored, null if it was
+   */
+  public String getReason() {
+    return reason;
+  }
+
+  public void setReason(String reason) {
+    this.reason = reason;
+  }
+}
@@ -0,0 +1,37 @@
+package com.flockinger.groschn.blockchain.dto;
+
+import java.util.List;
+
+/**
+ * One cursor paged batch of pool transaction hashes.
+ */
+public class TransactionHashPage {
+
+  private List<String> transactionHashes;
+
+  private String nextCursor;
+
+  public TransactionHashPage(List<String> transactionHashes, String nextCursor) {
+    this.transactionHashes = transactionHashes;
+    this.nextCursor = nextCursor;
+  }
+
+  public List<String> getTransactionHashes() {
+    return transactionHashes;
+  }
+
+  public void setTransactionHashes(List<String> transactionHashes) {
+    this.transactionHashes = transactionHashes;
+  }
+
+  /**
+   * @return cursor to fetch the following page with, null if the page is empty
+   */
+  public String getNextCursor() {
+    return nextCursor;
+  }
+
+  public void setNextCursor(String nextCursor) {
+    this.nextCursor = nextCursor;
+  }
+}
@@ -0,0 +1,38 @@
+package com.flockinger.groschn.blockchain.dto;
+
+import com.flockinger.groschn.blockchain.model.Transaction;
+import java.util.List;
+
+/**
+ * One cursor paged batch of pool transactions.
+ */
+public class TransactionPoolPage {
+
+  private List<Transaction> transactions;
+
+  private String nextCursor;
+
+  public TransactionPoolPage(List<Transaction> transactions, String nextCursor) {
+    this.transactions = transactions;
+    this.nextCursor = nextCursor;
+  }
+
+  public List<Transaction> getTransactions() {
+    return transactions;
+  }
+
+  public void setTransactions(List<Transaction> transactions) {
+    this.transactions = transactions;
+  }
+
+  /**
+   * @return cursor to fetch the following page with, null if the page is empty
+   */
+  public String getNextCursor() {
+    return nextCursor;
+  }
+
+  public void setNextCursor(String nextCursor) {
+    this.nextCursor = nextCursor;
+  }
+}
@@ -0,0 +1,72 @@
+package com.flockinger.groschn.blockchain.messaging.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import org.apache.commons.collections4.ListUtils;
+import org.apache.commons.lang3.StringUtils;
+import com.flockinger.groschn.blockchain.model.Hashable;
+
+/**
+ * Compact summary of a page of pool transactions: only contains <br>
+ * the short ids (first 8 bytes of the hex transaction hash) of them, <br>
+ * so a peer can find out which transactions it misses without <br>
+ * transferring the transactions themselves.
+ */
+public class TransactionHashSummary implements Hashable<TransactionHashSummary> {
+  /**
+   * 
+   */
+  private static final long serialVersionUID = 4409184920386574321L;
+  
+  public final static int SHORT_ID_LENGTH = 16;
+  
+  private List<String> shortIds = new ArrayList<>();
+  
+  public static TransactionHashSummary of(List<String> transactionHashes) {
+    var summary = new TransactionHashSummary();
+    for (String transactionHash : ListUtils.emptyIfNull(transactionHashes)) {
+      summary.getShortIds().add(shortIdOf(transactionHash));
+    }
+    return summary;
+  }
+  
+  public static String shortIdOf(String transactionHash) {
+    return StringUtils.left(transactionHash, SHORT_ID_LENGTH);
+  }
+
+  public List<String> getShortIds() {
+    return shortIds;
+  }
+
+  public void setShortIds(List<String> shortIds) {
+    this.shortIds = shortIds;
+  }
+  
+  @Override
+  public int compareTo(TransactionHashSummary o) {
+    return Integer.compare(ListUtils.emptyIfNull(this.getShortIds()).size(), 
+        ListUtils.emptyIfNull(o.getShortIds()).size());
+  }
+  
+  @Override
+  public boolean equals(Object obj) {
+    if(obj == null) {
+      return false;
+    }
+    if(!(obj instanceof TransactionHashSummary)) {
+      return false;
+    }
+    return Objects.equals(this.getShortIds(),((TransactionHashSummary)obj).getShortIds());
+  }
+  
+  @Override
+  public int hashCode() {
+    return Objects.hash(shortIds);
+  }
+  
+  @Override
+  public String toString() {
+    return "TransactionHashSummary [shortIds=" + shortIds + "]";
+  }
+}
@@ -1,5 +1,6 @@
 package com.flockinger.groschn.blockchain.messaging.respond;
 
+import com.flockinger.groschn.blockchain.messaging.dto.TransactionHashSummary;
 import com.flockinger.groschn.blockchain.model.Transaction;
 import com.flockinger.groschn.blockchain.transaction.TransactionManager;
 import com.flockinger.groschn.messaging.config.MainTopics;
@@ -7,10 +8,12 @@ import com.flockinger.groschn.messaging.inbound.MessagePackageHelper;
 import com.flockinger.groschn.messaging.inbound.MessageResponder;
 import com.flockinger.groschn.messaging.model.Message;
 import com.flockinger.groschn.messaging.model.MessagePayload;
+import com.flockinger.groschn.messaging.model.RequestHeader;
 import com.flockinger.groschn.messaging.model.SyncRequest;
 import com.flockinger.groschn.messaging.model.SyncResponse;
 import com.github.benmanes.caffeine.cache.Cache;
 import java.util.List;
+import java.util.stream.Collectors;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
@@ -42,16 +45,44 @@ public class TransactionFullSyncResponder implements MessageResponder<MessagePay
   }
 
   protected SyncResponse<Transaction> createResponse(SyncRequest request) {
-    int page = request.getStartingPosition().intValue() - 1;
-    int size = request.getStartingPosition().intValue() * request.getRequestPackageSize().intValue();
-    List<Transaction> transactions = transactionManager.fetchTransactionsPaginated(page, size);
+    int size = request.getRequestPackageSize().intValue();
     SyncResponse<Transaction> response = new SyncResponse<>();
-    response.setEntities(transactions);
-    response.setLastPositionReached(transactions.size() < request.getRequestPackageSize());
+    if (isOffsetPagedRequest(request)) {
+      int page = request.getStartingPosition().intValue() - 1;
+      response.setEntities(transactionManager.fetchTransactionsPaginated(page, size));
+      response.setLastPositionReached(response.getEntities().size() < size);
+    } else {
+      var transactionPage = transactionManager.fetchTransactionsAfter(request.getCursor(), size);
+      response.setEntities(onlyWanted(transactionPage.getTransactions(), request.getWantedHeaders()));
+      response.setNextCursor(transactionPage.getNextCursor());
+      response.setLastPositionReached(transactionPage.getTransactions().size() < size);
+    }
     response.setStartingPosition(request.getStartingPosition());
+    response.setNodeId(nodeId);
     
     return response;
   }
+  
+  /**
+   * Reconciling requesters only want the transactions of the page whose short ids <br>
+   * they're missing (see {@link TransactionHashSummary}), all others are skipped.
+   */
+  private List<Transaction> onlyWanted(List<Transaction> transactions, List<RequestHeader> wantedHeaders) {
+    if (wantedHeaders == null || wantedHeaders.isEmpty()) {
+      return transactions;
+    }
+    var wantedShortIds = wantedHeaders.stream().map(RequestHeader::getHash).collect(Collectors.toSet());
+    return transactions.stream()
+        .filter(transaction -> wantedShortIds.contains(TransactionHashSummary.shortIdOf(transaction.getTransactionHash())))
+        .collect(Collectors.toList());
+  }
+  
+  /**
+   * Requesters not knowing cursors yet still ask for later positions without one.
+   */
+  private boolean isOffsetPagedRequest(SyncRequest request) {
+    return request.getCursor() == null && request.getStartingPosition() > 1;
+  }
 
   @Override
   public MainTopics getSubscribedTopic() {
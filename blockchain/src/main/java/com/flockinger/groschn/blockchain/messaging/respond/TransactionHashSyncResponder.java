@@ -0,0 +1,65 @@
+package com.flockinger.groschn.blockchain.messaging.respond;
+
+import com.flockinger.groschn.blockchain.messaging.dto.TransactionHashSummary;
+import com.flockinger.groschn.blockchain.transaction.TransactionManager;
+import com.flockinger.groschn.messaging.config.MainTopics;
+import com.flockinger.groschn.messaging.inbound.MessagePackageHelper;
+import com.flockinger.groschn.messaging.inbound.MessageResponder;
+import com.flockinger.groschn.messaging.model.Message;
+import com.flockinger.groschn.messaging.model.MessagePayload;
+import com.flockinger.groschn.messaging.model.SyncRequest;
+import com.flockinger.groschn.messaging.model.SyncResponse;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.google.common.collect.Lists;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+/**
+ * Responds a {@link TransactionHashSummary} of the next page of RAW pool <br>
+ * transactions, the requester then only fetches the ones it's missing.
+ */
+@Service
+public class TransactionHashSyncResponder implements MessageResponder<MessagePayload> {
+
+  @Autowired
+  private TransactionManager transactionManager;
+  @Autowired
+  @Qualifier("SyncTransactionHashId_Cache")
+  private Cache<String, String> syncTransactionHashIdCache;
+  @Autowired
+  private MessagePackageHelper helper;
+  
+  @Value("${atomix.node-id}")
+  private String nodeId;
+
+  @Override
+  public Message<MessagePayload> respond(Message<MessagePayload> request) {
+    Message<MessagePayload> responseMessage = new Message<>();
+    var syncRequest = helper.verifyAndUnpackRequest(request, syncTransactionHashIdCache);
+    if(syncRequest.isPresent()) {
+      var syncResponse = createResponse(syncRequest.get());
+      responseMessage = helper.packageResponse(syncResponse, nodeId);
+    }
+    return responseMessage;
+  }
+
+  private SyncResponse<TransactionHashSummary> createResponse(SyncRequest request) {
+    int size = request.getRequestPackageSize().intValue();
+    var hashPage = transactionManager.fetchTransactionHashesAfter(request.getCursor(), size);
+    SyncResponse<TransactionHashSummary> response = new SyncResponse<>();
+    response.setEntities(Lists.newArrayList(TransactionHashSummary.of(hashPage.getTransactionHashes())));
+    response.setNextCursor(hashPage.getNextCursor());
+    response.setLastPositionReached(hashPage.getTransactionHashes().size() < size);
+    response.setStartingPosition(request.getStartingPosition());
+    response.setNodeId(nodeId);
+    
+    return response;
+  }
+
+  @Override
+  public MainTopics getSubscribedTopic() {
+    return MainTopics.SYNC_TRANSACTION_HASHES;
+  }
+}
@@ -0,0 +1,247 @@
+package com.flockinger.groschn.blockchain.messaging.serialize;
+
+import com.flockinger.groschn.blockchain.consensus.model.ConsensusType;
+import com.flockinger.groschn.blockchain.consensus.model.Consent;
+import com.flockinger.groschn.blockchain.messaging.dto.BlockInfo;
+import com.flockinger.groschn.blockchain.messaging.dto.TransactionHashSummary;
+import com.flockinger.groschn.blockchain.model.Block;
+import com.flockinger.groschn.blockchain.model.Transaction;
+import com.flockinger.groschn.blockchain.model.TransactionInput;
+import com.flockinger.groschn.blockchain.model.TransactionOutput;
+import com.flockinger.groschn.commons.serialize.EntitySchema;
+import com.flockinger.groschn.commons.serialize.SchemaReader;
+import com.flockinger.groschn.commons.serialize.SchemaWriter;
+import java.util.List;
+
+/**
+ * Compact wire schemas of the blockchain entities (type ids 64-127). <br>
+ * Hashes are written as raw bytes, public keys and signatures as their <br>
+ * decoded Base58 bytes and amounts with their exact scale, so every <br>
+ * entity is restored exactly as it was hashed.
+ *
+ */
+public class BlockchainSchemas {
+
+  private BlockchainSchemas() {}
+
+  public static List<EntitySchema<?>> schemas() {
+    return List.of(new BlockSchema(), new ConsentSchema(), new TransactionSchema(),
+        new TransactionInputSchema(), new TransactionOutputSchema(), new BlockInfoSchema(),
+        new TransactionHashSummarySchema());
+  }
+
+  private static class BlockSchema implements EntitySchema<Block> {
+    @Override
+    public int typeId() {
+      return 64;
+    }
+
+    @Override
+    public Class<Block> type() {
+      return Block.class;
+    }
+
+    @Override
+    public void write(Block block, SchemaWriter writer) {
+      writer.writeLong(block.getPosition()).writeHex(block.getHash())
+          .writeHex(block.getLastHash()).writeHex(block.getTransactionMerkleRoot())
+          .writeLong(block.getTimestamp()).writeInt(block.getVersion())
+          .writeEntity(block.getConsent()).writeList(block.getTransactions());
+    }
+
+    @Override
+    public Block read(SchemaReader reader) {
+      var block = new Block();
+      block.setPosition(reader.readLong());
+      block.setHash(reader.readHex());
+      block.setLastHash(reader.readHex());
+      block.setTransactionMerkleRoot(reader.readHex());
+      block.setTimestamp(reader.readLong());
+      block.setVersion(reader.readInt());
+      block.setConsent(reader.readEntity(Consent.class));
+      block.setTransactions(reader.readList(Transaction.class));
+      return block;
+    }
+  }
+
+  private static class ConsentSchema implements EntitySchema<Consent> {
+    @Override
+    public int typeId() {
+      return 65;
+    }
+
+    @Override
+    public Class<Consent> type() {
+      return Consent.class;
+    }
+
+    @Override
+    public void write(Consent consent, SchemaWriter writer) {
+      writer.writeLong(consent.getNonce()).writeLong(consent.getTimestamp())
+          .writeInt(consent.getDifficulty()).writeLong(consent.getMilliSecondsSpentMining())
+          .writeEnum(consent.getType());
+    }
+
+    @Override
+    public Consent read(SchemaReader reader) {
+      var consent = new Consent();
+      consent.setNonce(reader.readLong());
+      consent.setTimestamp(reader.readLong());
+      consent.setDifficulty(reader.readInt());
+      consent.setMilliSecondsSpentMining(reader.readLong());
+      consent.setType(reader.readEnum(ConsensusType.class));
+      return consent;
+    }
+  }
+
+  private static class TransactionSchema implements EntitySchema<Transaction> {
+    @Override
+    public int typeId() {
+      return 66;
+    }
+
+    @Override
+    public Class<Transaction> type() {
+      return Transaction.class;
+    }
+
+    @Override
+    public void write(Transaction transaction, SchemaWriter writer) {
+      writer.writeInt(transaction.getVersion()).writeLong(transaction.getLockTime())
+          .writeList(transaction.getInputs()).writeList(transaction.getOutputs())
+          .writeHex(transaction.getTransactionHash());
+    }
+
+    @Override
+    public Transaction read(SchemaReader reader) {
+      var transaction = new Transaction();
+      transaction.setVersion(reader.readInt());
+      transaction.setLockTime(reader.readLong());
+      transaction.setInputs(reader.readList(TransactionInput.class));
+      transaction.setOutputs(reader.readList(TransactionOutput.class));
+      transaction.setTransactionHash(reader.readHex());
+      return transaction;
+    }
+  }
+
+  private static class TransactionInputSchema implements EntitySchema<TransactionInput> {
+    @Override
+    public int typeId() {
+      return 67;
+    }
+
+    @Override
+    public Class<TransactionInput> type() {
+      return TransactionInput.class;
+    }
+
+    @Override
+    public void write(TransactionInput input, SchemaWriter writer) {
+      writeStatement(input, writer);
+      writer.writeBase58(input.getSignature());
+    }
+
+    @Override
+    public TransactionInput read(SchemaReader reader) {
+      var input = new TransactionInput();
+      readStatement(input, reader);
+      input.setSignature(reader.readBase58());
+      return input;
+    }
+  }
+
+  private static class TransactionOutputSchema implements EntitySchema<TransactionOutput> {
+    @Override
+    public int typeId() {
+      return 68;
+    }
+
+    @Override
+    public Class<TransactionOutput> type() {
+      return TransactionOutput.class;
+    }
+
+    @Override
+    public void write(TransactionOutput output, SchemaWriter writer) {
+      writeStatement(output, writer);
+    }
+
+    @Override
+    public TransactionOutput read(SchemaReader reader) {
+      var output = new TransactionOutput();
+      readStatement(output, reader);
+      return output;
+    }
+  }
+
+  private static void writeStatement(TransactionOutput statement, SchemaWriter writer) {
+    writer.writeDecimal(statement.getAmount()).writeBase58(statement.getPublicKey())
+        .writeLong(statement.getTimestamp()).writeLong(statement.getSequenceNumber());
+  }
+
+  private static void readStatement(TransactionOutput statement, SchemaReader reader) {
+    statement.setAmount(reader.readDecimal());
+    statement.setPublicKey(reader.readBase58());
+    statement.setTimestamp(reader.readLong());
+    statement.setSequenceNumber(reader.readLong());
+  }
+
+  private static class BlockInfoSchema implements EntitySchema<BlockInfo> {
+    @Override
+    public int typeId() {
+      return 69;
+    }
+
+    @Override
+    public Class<BlockInfo> type() {
+      return BlockInfo.class;
+    }
+
+    @Override
+    public void write(BlockInfo info, SchemaWriter writer) {
+      writer.writeHex(info.getBlockHash()).writeLong(info.getPosition());
+    }
+
+    @Override
+    public BlockInfo read(SchemaReader reader) {
+      var info = new BlockInfo();
+      info.setBlockHash(reader.readHex());
+      info.setPosition(reader.readLong());
+      return info;
+    }
+  }
+
+  private static class TransactionHashSummarySchema implements EntitySchema<TransactionHashSummary> {
+    @Override
+    public int typeId() {
+      return 70;
+    }
+
+    @Override
+    public Class<TransactionHashSummary> type() {
+      return TransactionHashSummary.class;
+    }
+
+    @Override
+    public void write(TransactionHashSummary summary, SchemaWriter writer) {
+      var shortIds = summary.getShortIds();
+      writer.writeInt(shortIds != null ? shortIds.size() : null);
+      for (int index = 0; shortIds != null && index < shortIds.size(); index++) {
+        writer.writeHex(shortIds.get(index));
+      }
+    }
+
+    @Override
+    public TransactionHashSummary read(SchemaReader reader) {
+      var summary = new TransactionHashSummary();
+      Integer size = reader.readInt();
+      if (size == null) {
+        summary.setShortIds(null);
+      }
+      for (int index = 0; size != null && index < size; index++) {
+        summary.getShortIds().add(reader.readHex());
+      }
+      return summary;
+    }
+  }
+}
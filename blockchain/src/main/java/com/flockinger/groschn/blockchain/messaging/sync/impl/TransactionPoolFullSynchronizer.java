@@ -1,8 +1,10 @@
 package com.flockinger.groschn.blockchain.messaging.sync.impl;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.stream.Collectors;
 import org.apache.commons.collections4.ListUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -11,13 +13,16 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.retry.annotation.Backoff;
 import org.springframework.retry.annotation.Retryable;
 import org.springframework.stereotype.Service;
-import com.flockinger.groschn.blockchain.exception.TransactionAlreadyClearedException;
-import com.flockinger.groschn.blockchain.exception.validation.AssessmentFailedException;
+import com.flockinger.groschn.blockchain.dto.StoreTransactionResult;
+import com.flockinger.groschn.blockchain.dto.StoreTransactionResult.Outcome;
+import com.flockinger.groschn.blockchain.messaging.dto.TransactionHashSummary;
 import com.flockinger.groschn.blockchain.messaging.sync.FullSyncKeeper;
 import com.flockinger.groschn.blockchain.model.Hashable;
 import com.flockinger.groschn.blockchain.model.Transaction;
 import com.flockinger.groschn.blockchain.transaction.TransactionManager;
+import com.flockinger.groschn.blockchain.transaction.impl.TransactionPoolReaper;
 import com.flockinger.groschn.messaging.config.MainTopics;
+import com.flockinger.groschn.messaging.model.RequestHeader;
 import com.flockinger.groschn.messaging.model.SyncBatchRequest;
 import com.flockinger.groschn.messaging.model.SyncResponse;
 import com.flockinger.groschn.messaging.sync.SyncInquirer;
@@ -29,44 +34,139 @@ public class TransactionPoolFullSynchronizer implements FullSyncKeeper {
   private TransactionManager transactionManager;
   @Autowired
   private SyncInquirer inquirer;
+  @Autowired
+  private TransactionPoolReaper poolReaper;
 
   @Value("${atomix.node-id}")
   private String nodeId;
 
+  @Value("${blockchain.transaction-pool.sync.reconciliation-enabled}")
+  private boolean reconciliationEnabled;
+
   private final static int TRANSACTION_POOL_PACKAGE_SIZE = 100;
+  private final static int TRANSACTION_HASH_PACKAGE_SIZE = 1000;
 
   private final static Logger LOG = LoggerFactory.getLogger(BlockSynchronizer.class);
   private final SyncBatchRequest batchRequest =
       SyncBatchRequest.build().batchSize(TRANSACTION_POOL_PACKAGE_SIZE).idealReceiveNodeCount(3)
           .maxFetchRetries(2).topic(MainTopics.SYNC_TRANSACTIONS);
+  private final SyncBatchRequest hashBatchRequest =
+      SyncBatchRequest.build().batchSize(TRANSACTION_HASH_PACKAGE_SIZE).idealReceiveNodeCount(3)
+          .maxFetchRetries(2).topic(MainTopics.SYNC_TRANSACTION_HASHES);
 
 
-  //TODO maybe add clearing old raw transactions in pool before full sync!
   @Retryable(maxAttempts=3,backoff=@Backoff(delay=1000, multiplier=2))
   @Override
   public void fullSynchronization() {
     LOG.debug("Started full Transaction-Pool synchronization.");
+    poolReaper.reap();
+    if (reconciliationEnabled && reconcile()) {
+      LOG.debug("Completed Transaction-Pool reconciliation.");
+      return;
+    }
+    var request = SyncBatchRequest.build(batchRequest);
+    String cursor = null;
     boolean hasFinishedSync = false;
     for (long packageNumber = 1l; !hasFinishedSync
         && packageNumber < (Long.MAX_VALUE / TRANSACTION_POOL_PACKAGE_SIZE); packageNumber++) {
-      hasFinishedSync = storeBatchReturnHasFinished(
-          SyncBatchRequest.build(batchRequest).fromPosition(packageNumber));
+      var response = fetchLongestResponse(
+          SyncBatchRequest.build(request).fromPosition(packageNumber).cursor(cursor));
+      response.map(SyncResponse::getEntities).filter(Objects::nonNull)
+          .ifPresent(this::storeGoodTransaction);
+      hasFinishedSync = hasFinished(response);
+      if (!hasFinishedSync) {
+        cursor = response.get().getNextCursor();
+        request = stickToRespondingNode(request, response.get());
+      }
       LOG.debug("Successfully synced and stored %d Transactions.",
           packageNumber * TRANSACTION_POOL_PACKAGE_SIZE);
     }
     LOG.debug("Completed full Transaction-Pool synchronization.");
   }
+  
+  /**
+   * Pages through the short transaction ids of a peers pool and only fetches <br>
+   * the transactions of each page that are not in the own pool yet.
+   * 
+   * @return false if no peer answered with hash summaries, so it must be fully synced
+   */
+  private boolean reconcile() {
+    var knownShortIds = transactionManager.fetchPoolTransactionHashes().stream()
+        .map(TransactionHashSummary::shortIdOf).collect(Collectors.toSet());
+    var request = SyncBatchRequest.build(hashBatchRequest);
+    String cursor = null;
+    boolean hasFinishedSync = false;
+    long missingCount = 0;
+    for (long packageNumber = 1l; !hasFinishedSync
+        && packageNumber < (Long.MAX_VALUE / TRANSACTION_HASH_PACKAGE_SIZE); packageNumber++) {
+      var response = fetchBiggestSummary(
+          SyncBatchRequest.build(request).fromPosition(packageNumber).cursor(cursor));
+      if (response.isEmpty() && packageNumber == 1l) {
+        return false;
+      } else if (response.isEmpty()) {
+        LOG.warn("Reconciliation partner stopped responding, remaining Transactions will arrive by broadcast.");
+        break;
+      }
+      var missingShortIds = response.get().getEntities().get(0).getShortIds().stream()
+          .filter(shortId -> !knownShortIds.contains(shortId)).collect(Collectors.toList());
+      if (!missingShortIds.isEmpty() && response.get().getNodeId() != null) {
+        fetchMissingTransactions(missingShortIds, cursor, response.get().getNodeId());
+        missingCount += missingShortIds.size();
+      }
+      hasFinishedSync = response.get().isLastPositionReached() || response.get().getNextCursor() == null;
+      cursor = response.get().getNextCursor();
+      request = stickToRespondingNode(request, response.get());
+    }
+    LOG.info("Reconciled Transaction-Pool, fetched {} missing Transactions.", missingCount);
+    return true;
+  }
+  
+  private Optional<SyncResponse<TransactionHashSummary>> fetchBiggestSummary(SyncBatchRequest request) {
+    return inquirer.fetchNextBatch(request, TransactionHashSummary.class).stream()
+        .filter(response -> response.getEntities() != null && response.getEntities().size() == 1
+            && response.getEntities().get(0).getShortIds() != null)
+        .reduce((summaryOne, summaryTwo) -> 
+          summaryOne.getEntities().get(0).compareTo(summaryTwo.getEntities().get(0)) >= 0 ? summaryOne : summaryTwo);
+  }
+  
+  /**
+   * Missing transactions are requested from the same page (same cursor) <br>
+   * of the same node that summarized them.
+   */
+  private void fetchMissingTransactions(List<String> missingShortIds, String cursor, String summaryNodeId) {
+    var request = SyncBatchRequest.build(batchRequest).batchSize(TRANSACTION_HASH_PACKAGE_SIZE)
+        .idealReceiveNodeCount(1).selectedNodeIds(new ArrayList<>(List.of(summaryNodeId)))
+        .cursor(cursor).headers(missingShortIds.stream().map(this::toHeader).collect(Collectors.toList()));
+    fetchLongestResponse(request.fromPosition(1l)).map(SyncResponse::getEntities)
+        .filter(Objects::nonNull).ifPresent(this::storeGoodTransaction);
+  }
+  
+  private RequestHeader toHeader(String shortId) {
+    var header = new RequestHeader();
+    header.setHash(shortId);
+    return header;
+  }
 
-  private boolean storeBatchReturnHasFinished(SyncBatchRequest request) {
-    Optional<SyncResponse<Transaction>> response = fetchLongestResponse(request);
-    response.stream().map(SyncResponse::getEntities).filter(Objects::nonNull)
-        .forEach(this::storeGoodTransaction);
+  private boolean hasFinished(Optional<SyncResponse<Transaction>> response) {
     return response.stream()
         .map(existingResponse -> existingResponse.isLastPositionReached()
             || ListUtils.emptyIfNull(existingResponse.getEntities()).isEmpty())
         .findFirst().orElse(true);
   }
   
+  /**
+   * Cursors are only meaningful for the node that created them, <br>
+   * so all following batches are fetched from that same node.
+   */
+  private SyncBatchRequest stickToRespondingNode(SyncBatchRequest request, 
+      SyncResponse<?> response) {
+    if (response.getNextCursor() == null || response.getNodeId() == null) {
+      return request;
+    }
+    return SyncBatchRequest.build(request).idealReceiveNodeCount(1)
+        .selectedNodeIds(new ArrayList<>(List.of(response.getNodeId())));
+  }
+  
   private Optional<SyncResponse<Transaction>> fetchLongestResponse(SyncBatchRequest request) {
     return inquirer.fetchNextBatch(request, Transaction.class).stream()
         .reduce(this::getBiggerBatch);
@@ -77,14 +177,16 @@ public class TransactionPoolFullSynchronizer implements FullSyncKeeper {
   }
 
   private void storeGoodTransaction(List<Transaction> transactions) {
-    for (Transaction transaction : transactions) {
-      try {
-        transactionManager.storeTransaction(transaction);
-      } catch (AssessmentFailedException e) {
-        LOG.warn("Skipping invalid Transaction during Full-Transaction-Synchronization!", e);
-      } catch (TransactionAlreadyClearedException e) {
-        LOG.info("Skip storing again already cleared Transaction!");
-      }
+    if (transactions.isEmpty()) {
+      return;
+    }
+    var outcomes = transactionManager.storeTransactions(transactions).stream()
+        .collect(Collectors.groupingBy(StoreTransactionResult::getOutcome, Collectors.counting()));
+    if (outcomes.containsKey(Outcome.INVALID)) {
+      LOG.warn("Skipped {} invalid Transactions during Full-Transaction-Synchronization!",
+          outcomes.get(Outcome.INVALID));
     }
+    LOG.debug("Stored {} Transactions, skipped {} already existing ones.",
+        outcomes.getOrDefault(Outcome.STORED, 0l), outcomes.getOrDefault(Outcome.ALREADY_EXISTING, 0l));
   }
 }
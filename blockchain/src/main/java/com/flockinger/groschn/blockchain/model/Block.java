@@ -3,11 +3,17 @@ package com.flockinger.groschn.blockchain.model;
 import com.flockinger.groschn.blockchain.consensus.impl.ProofOfWorkAlgorithm;
 import com.flockinger.groschn.blockchain.consensus.model.ConsensusType;
 import com.flockinger.groschn.blockchain.consensus.model.Consent;
+import com.flockinger.groschn.commons.hash.BinaryHashable;
+import com.flockinger.groschn.commons.hash.HashEncoder;
+import com.flockinger.groschn.commons.hash.HashMemo;
+import com.flockinger.groschn.commons.hash.MemoizedHashable;
+import com.flockinger.groschn.commons.hash.MerkleRootAlgorithm;
+import com.flockinger.groschn.commons.serialize.SerializationFormat;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 
-public class Block implements Hashable<Block> {
+public class Block implements Hashable<Block>, BinaryHashable, MemoizedHashable {
   /**
   * 
   */
@@ -24,6 +30,9 @@ public class Block implements Hashable<Block> {
 
   private List<Transaction> transactions = null;
 
+  private transient long modificationStamp = 0;
+  private transient HashMemo hashMemo = null;
+
 
   /**
    * Currently max transaction byte size is set to 100 kilobytes (compressed).
@@ -36,6 +45,27 @@ public class Block implements Hashable<Block> {
    */
   public final static Long MAX_AMOUNT_MINED_GROSCHN = 650000000l;
 
+  /**
+   * Blocks starting with this version are hashed by their binary encoding instead of toString().
+   */
+  public final static Integer BINARY_HASHING_VERSION = 2;
+
+  /**
+   * Blocks before the binary hashing fork are hashed by toString().
+   */
+  public final static Integer TO_STRING_HASHING_VERSION = 1;
+
+  /**
+   * Position of the first block that must be of version BINARY_HASHING_VERSION (fork height).
+   */
+  public final static Long BINARY_HASHING_POSITION = 100000l;
+
+  /**
+   * Position of the first block that's transaction size limit is measured in the schema <br>
+   * serialization format instead of FST (fork height).
+   */
+  public final static Long SCHEMA_SIZE_LIMIT_POSITION = 100000l;
+
 
   public final static Block GENESIS_BLOCK() {
     Block genesisBlock = new Block();
@@ -44,7 +74,7 @@ public class Block implements Hashable<Block> {
     genesisBlock.setTimestamp(484696800000L);
     genesisBlock.setTransactions(new ArrayList<>());
     genesisBlock.setPosition(1l);
-    genesisBlock.setVersion(1);
+    genesisBlock.setVersion(TO_STRING_HASHING_VERSION);
     Consent powConsent = new Consent();
     powConsent.setType(ConsensusType.PROOF_OF_WORK);
     powConsent.setDifficulty(ProofOfWorkAlgorithm.DEFAULT_DIFFICULTY);
@@ -61,6 +91,7 @@ public class Block implements Hashable<Block> {
 
   public void setTransactionMerkleRoot(String transactionMerkleRoot) {
     this.transactionMerkleRoot = transactionMerkleRoot;
+    modified();
   }
 
   public Long getPosition() {
@@ -69,6 +100,7 @@ public class Block implements Hashable<Block> {
 
   public void setPosition(Long position) {
     this.position = position;
+    modified();
   }
 
   public String getHash() {
@@ -85,6 +117,7 @@ public class Block implements Hashable<Block> {
 
   public void setLastHash(String lastHash) {
     this.lastHash = lastHash;
+    modified();
   }
 
   public Long getTimestamp() {
@@ -93,6 +126,7 @@ public class Block implements Hashable<Block> {
 
   public void setTimestamp(Long timestamp) {
     this.timestamp = timestamp;
+    modified();
   }
 
   public Integer getVersion() {
@@ -101,6 +135,7 @@ public class Block implements Hashable<Block> {
 
   public void setVersion(Integer version) {
     this.version = version;
+    modified();
   }
 
   public List<Transaction> getTransactions() {
@@ -109,6 +144,7 @@ public class Block implements Hashable<Block> {
 
   public void setTransactions(List<Transaction> transactions) {
     this.transactions = transactions;
+    modified();
   }
 
   public Consent getConsent() {
@@ -117,6 +153,44 @@ public class Block implements Hashable<Block> {
 
   public void setConsent(Consent consent) {
     this.consent = consent;
+    modified();
+  }
+
+  /**
+   * @return stamp that changes with every modification of the block (except it's hash), <br>
+   * it's consent or transactions, also when the transactions are reordered
+   */
+  @Override
+  public long modificationStamp() {
+    if(modificationStamp == 0) {
+      modified();
+    }
+    long stamp = 31 * modificationStamp + (consent != null ? consent.modificationStamp() : 0);
+    if(transactions != null) {
+      stamp = 31 * stamp + System.identityHashCode(transactions);
+      stamp = 31 * stamp + transactions.size();
+      for(Transaction transaction : transactions) {
+        stamp = 31 * stamp + (transaction != null ? transaction.modificationStampWithHash() : 0);
+      }
+    }
+    return stamp;
+  }
+
+  private void modified() {
+    modificationStamp = HashMemo.nextModificationStamp();
+  }
+
+  @Override
+  public HashMemo hashMemo() {
+    if(hashMemo == null) {
+      hashMemo = new HashMemo();
+    }
+    return hashMemo;
+  }
+
+  @Override
+  public String ownHash() {
+    return hash;
   }
 
   @Override
@@ -132,12 +206,88 @@ public class Block implements Hashable<Block> {
   }
 
   @Override
-  public String toString() {
+  public boolean isBinaryHashed() {
+    return version != null && version >= BINARY_HASHING_VERSION;
+  }
+
+  /**
+   * Returns the block version that is required by consensus for a block on that position.
+   * 
+   * @param position position of the block
+   * @return required version
+   */
+  public static Integer versionAt(Long position) {
+    return position != null && position >= BINARY_HASHING_POSITION ? BINARY_HASHING_VERSION
+        : TO_STRING_HASHING_VERSION;
+  }
+
+  /**
+   * Returns the serialization format the transaction size limit of a block on that position <br>
+   * is measured with.
+   * 
+   * @param position position of the block
+   * @return required format
+   */
+  public static SerializationFormat sizeFormatAt(Long position) {
+    return position != null && position >= SCHEMA_SIZE_LIMIT_POSITION ? SerializationFormat.SCHEMA
+        : SerializationFormat.FST;
+  }
+
+  /**
+   * @return Merkle root algorithm of the transactions, binary hashed blocks use the binary one
+   */
+  public MerkleRootAlgorithm merkleRootAlgorithm() {
+    return isBinaryHashed() ? MerkleRootAlgorithm.BINARY : MerkleRootAlgorithm.LEGACY;
+  }
+
+  /**
+   * Encodes the consent last, so everything before it stays the same while mining.
+   */
+  @Override
+  public void encode(HashEncoder encoder) {
+    encodeWithoutConsent(encoder);
+    encoder.write(consent);
+  }
+
+  /**
+   * Encodes everything except the consent, which is always encoded last.
+   * 
+   * @param encoder
+   */
+  public void encodeWithoutConsent(HashEncoder encoder) {
     if(transactions != null) {
       Collections.sort(transactions);
     }
+    encoder.writeInt(version)
+      .writeLong(position)
+      .writeString(hash)
+      .writeString(lastHash)
+      .writeString(transactionMerkleRoot)
+      .writeLong(timestamp)
+      .writeList(transactions);
+  }
+
+  @Override
+  public String toString() {
+    return toStringBeforeConsent() + consent + toStringAfterConsent();
+  }
+
+  /**
+   * @return the part of {@link #toString()} in front of the consent
+   */
+  public String toStringBeforeConsent() {
     return "Block [position=" + position + ", hash=" + hash + ", lastHash=" + lastHash
         + ", transactionMerkleRoot=" + transactionMerkleRoot + ", timestamp=" + timestamp
-        + ", version=" + version + ", consent=" + consent + ", transactions=" + transactions + "]";
+        + ", version=" + version + ", consent=";
+  }
+
+  /**
+   * @return the part of {@link #toString()} after the consent
+   */
+  public String toStringAfterConsent() {
+    if(transactions != null) {
+      Collections.sort(transactions);
+    }
+    return ", transactions=" + transactions + "]";
   }
 }
@@ -3,15 +3,29 @@ package com.flockinger.groschn.blockchain.model;
 import java.util.Collections;
 import java.util.List;
 import javax.validation.constraints.NotEmpty;
+import com.flockinger.groschn.commons.hash.BinaryHashable;
+import com.flockinger.groschn.commons.hash.HashEncoder;
+import com.flockinger.groschn.commons.hash.HashMemo;
+import com.flockinger.groschn.commons.hash.MemoizedHashable;
 import org.apache.commons.lang3.StringUtils;
 import com.esotericsoftware.kryo.NotNull;
 
-public class Transaction implements Hashable<Transaction> {
+public class Transaction implements Hashable<Transaction>, BinaryHashable, MemoizedHashable {
   /**
   * 
   */
   private static final long serialVersionUID = -3848087917482658536L;
 
+  /**
+   * Transactions starting with this version are hashed by their binary encoding instead of toString().
+   */
+  public final static Integer BINARY_HASHING_VERSION = 2;
+
+  /**
+   * Hashing version, not set on transactions hashed by toString().
+   */
+  private Integer version = null;
+
   /**
    * Timestamp when the transaction is done
    */
@@ -25,12 +39,17 @@ public class Transaction implements Hashable<Transaction> {
   @NotEmpty
   private String transactionHash = null;
 
+  private transient long modificationStamp = 0;
+  private transient long transactionHashStamp = 0;
+  private transient HashMemo hashMemo = null;
+
   public String getTransactionHash() {
     return transactionHash;
   }
 
   public void setTransactionHash(String transactionHash) {
     this.transactionHash = transactionHash;
+    transactionHashStamp = HashMemo.nextModificationStamp();
   }
 
   public List<TransactionInput> getInputs() {
@@ -39,6 +58,7 @@ public class Transaction implements Hashable<Transaction> {
 
   public void setInputs(List<TransactionInput> inputs) {
     this.inputs = inputs;
+    modified();
   }
 
   public List<TransactionOutput> getOutputs() {
@@ -47,6 +67,7 @@ public class Transaction implements Hashable<Transaction> {
 
   public void setOutputs(List<TransactionOutput> outputs) {
     this.outputs = outputs;
+    modified();
   }
 
   public Long getLockTime() {
@@ -55,6 +76,66 @@ public class Transaction implements Hashable<Transaction> {
 
   public void setLockTime(Long lockTime) {
     this.lockTime = lockTime;
+    modified();
+  }
+
+  public Integer getVersion() {
+    return version;
+  }
+
+  public void setVersion(Integer version) {
+    this.version = version;
+    modified();
+  }
+
+  /**
+   * @return stamp that changes with every modification of the transaction (except it's hash) <br>
+   * or it's statements, also when the statements are reordered
+   */
+  @Override
+  public long modificationStamp() {
+    if(modificationStamp == 0) {
+      modified();
+    }
+    long stamp = statementStamps(modificationStamp, inputs);
+    return statementStamps(stamp, outputs);
+  }
+
+  /**
+   * @return stamp that also changes with the transaction hash, for the block containing it
+   */
+  public long modificationStampWithHash() {
+    return 31 * modificationStamp() + transactionHashStamp;
+  }
+
+  private static long statementStamps(long stamp, List<? extends TransactionOutput> statements) {
+    stamp = 31 * stamp;
+    if(statements == null) {
+      return stamp;
+    }
+    stamp = 31 * stamp + System.identityHashCode(statements);
+    stamp = 31 * stamp + statements.size();
+    for(TransactionOutput statement : statements) {
+      stamp = 31 * stamp + (statement != null ? statement.modificationStamp() : 0);
+    }
+    return stamp;
+  }
+
+  private void modified() {
+    modificationStamp = HashMemo.nextModificationStamp();
+  }
+
+  @Override
+  public HashMemo hashMemo() {
+    if(hashMemo == null) {
+      hashMemo = new HashMemo();
+    }
+    return hashMemo;
+  }
+
+  @Override
+  public String ownHash() {
+    return transactionHash;
   }
 
   @Override
@@ -72,6 +153,38 @@ public class Transaction implements Hashable<Transaction> {
     return StringUtils.compare(this.getTransactionHash(), o.getTransactionHash());
   }
 
+  @Override
+  public boolean isBinaryHashed() {
+    return version != null && version >= BINARY_HASHING_VERSION;
+  }
+
+  /**
+   * Returns the version of transactions created for a block on that position,<br>
+   * binary hashed transactions are only accepted in binary hashed blocks.
+   * 
+   * @param blockPosition position of the block the transaction is created for
+   * @return transaction version or null for toString() hashed transactions
+   */
+  public static Integer versionAt(Long blockPosition) {
+    return Block.versionAt(blockPosition) >= Block.BINARY_HASHING_VERSION ? BINARY_HASHING_VERSION
+        : null;
+  }
+
+  @Override
+  public void encode(HashEncoder encoder) {
+    if(inputs != null) {
+      Collections.sort(inputs);
+    }
+    if(outputs != null) {
+      Collections.sort(outputs);
+    }
+    encoder.writeInt(version)
+      .writeLong(lockTime)
+      .writeList(inputs)
+      .writeList(outputs)
+      .writeString(transactionHash);
+  }
+
   @Override
   public String toString() {
     if(inputs != null) {
@@ -1,5 +1,7 @@
 package com.flockinger.groschn.blockchain.model;
 
+import com.flockinger.groschn.commons.hash.HashEncoder;
+
 public class TransactionInput extends TransactionOutput {
   /**
   * 
@@ -15,6 +17,13 @@ public class TransactionInput extends TransactionOutput {
 
   public void setSignature(String signature) {
     this.signature = signature;
+    modified();
+  }
+
+  @Override
+  public void encode(HashEncoder encoder) {
+    encoder.writeString(signature);
+    super.encode(encoder);
   }
 
   @Override
@@ -2,8 +2,11 @@ package com.flockinger.groschn.blockchain.model;
 
 import java.io.Serializable;
 import java.math.BigDecimal;
+import com.flockinger.groschn.commons.hash.HashEncodable;
+import com.flockinger.groschn.commons.hash.HashEncoder;
+import com.flockinger.groschn.commons.hash.HashMemo;
 
-public class TransactionOutput implements Serializable, Sequential {
+public class TransactionOutput implements Serializable, Sequential, HashEncodable {
   /**
   * 
   */
@@ -17,12 +20,15 @@ public class TransactionOutput implements Serializable, Sequential {
 
   private Long sequenceNumber = null;
 
+  private transient long modificationStamp = 0;
+
   public BigDecimal getAmount() {
     return amount;
   }
 
   public void setAmount(BigDecimal amount) {
     this.amount = amount;
+    modified();
   }
 
   public String getPublicKey() {
@@ -31,6 +37,7 @@ public class TransactionOutput implements Serializable, Sequential {
 
   public void setPublicKey(String publicKey) {
     this.publicKey = publicKey;
+    modified();
   }
 
   public Long getTimestamp() {
@@ -39,6 +46,7 @@ public class TransactionOutput implements Serializable, Sequential {
 
   public void setTimestamp(Long timestamp) {
     this.timestamp = timestamp;
+    modified();
   }
 
   public Long getSequenceNumber() {
@@ -47,6 +55,29 @@ public class TransactionOutput implements Serializable, Sequential {
 
   public void setSequenceNumber(Long sequenceNumber) {
     this.sequenceNumber = sequenceNumber;
+    modified();
+  }
+
+  /**
+   * @return stamp that changes with every modification of this statement
+   */
+  public long modificationStamp() {
+    if(modificationStamp == 0) {
+      modified();
+    }
+    return modificationStamp;
+  }
+
+  protected void modified() {
+    modificationStamp = HashMemo.nextModificationStamp();
+  }
+
+  @Override
+  public void encode(HashEncoder encoder) {
+    encoder.writeDecimal(amount)
+      .writeString(publicKey)
+      .writeLong(timestamp)
+      .writeLong(sequenceNumber);
   }
 
   @Override
@@ -0,0 +1,32 @@
+package com.flockinger.groschn.blockchain.repository;
+
+import com.flockinger.groschn.blockchain.repository.model.StoredAddressTransaction;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
+
+public interface AddressTransactionRepository extends MongoRepository<StoredAddressTransaction, String> {
+
+  List<StoredAddressTransaction> findByPublicKey(String publicKey, Pageable page);
+
+  /**
+   * Keyset paging (newest first): returns the entries ordered before the given <br>
+   * timestamp and transactionHash, with a constant cost range scan on the <br>
+   * publicKey/timestamp/transactionHash index.
+   */
+  @Query("{ 'publicKey': ?0, '$or': [ { 'timestamp': { '$lt': ?1 } }, "
+      + "{ 'timestamp': ?1, 'transactionHash': { '$lt': ?2 } } ] }")
+  List<StoredAddressTransaction> findByPublicKeyBeforeCursor(String publicKey, Long timestamp,
+      String transactionHash, Pageable page);
+
+  /**
+   * Must be closed after use, since it's backed by an open cursor.
+   */
+  Stream<StoredAddressTransaction> streamByPublicKey(String publicKey, Sort sort);
+
+  Optional<StoredAddressTransaction> findFirstByPositionNotNullOrderByPositionDesc();
+}
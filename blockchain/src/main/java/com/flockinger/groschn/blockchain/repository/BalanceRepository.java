@@ -0,0 +1,14 @@
+package com.flockinger.groschn.blockchain.repository;
+
+import com.flockinger.groschn.blockchain.repository.model.StoredBalance;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+public interface BalanceRepository extends MongoRepository<StoredBalance, String> {
+  
+  Optional<StoredBalance> findByPublicKey(String publicKey);
+  
+  List<StoredBalance> findByPublicKeyIn(Collection<String> publicKeys);
+}
@@ -8,7 +8,8 @@ import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.data.mongodb.repository.Query;
 import org.springframework.transaction.annotation.Transactional;
 
-public interface BlockchainRepository extends MongoRepository<StoredBlock, String>{
+public interface BlockchainRepository extends MongoRepository<StoredBlock, String>,
+    BlockchainStatementRepository {
   
   Optional<StoredBlock> findByPosition(Long position);
   Optional<StoredBlock> findByHash(String hash);
@@ -23,14 +24,6 @@ public interface BlockchainRepository extends MongoRepository<StoredBlock, Strin
   
   Optional<StoredBlock> findFirstByTransactionsOutputsPublicKeyOrderByPositionDesc(String publicKey);
   
-  Optional<StoredBlock> findFirstByTransactionsInputsPublicKeyOrderByPositionDesc(String publicKey);
-  
-  List<StoredBlock> findByPositionGreaterThanEqualAndTransactionsOutputsPublicKey(Long position, String publicKey);
-  
-  List<StoredBlock> findByTransactionsOutputsPublicKey(String publicKey);
-  
-  List<StoredBlock> findByTransactionsInputsPublicKey(String publicKey);
-
   @Query("{\"position\" : {\"$gte\" : ?0, \"$lte\" : ?1}}")
   List<StoredBlock> findByPositionBetweenInclusive(Long startingPosition, Long endPosition);
 
@@ -0,0 +1,26 @@
+package com.flockinger.groschn.blockchain.repository;
+
+import com.flockinger.groschn.blockchain.repository.model.StoredTransactionStatement;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Queries of single transactions of a public key, without loading <br>
+ * the whole blocks (with all their other transactions).
+ */
+public interface BlockchainStatementRepository {
+
+  /**
+   * Transactions with outputs to the public key, in no particular order. <br>
+   * Only the transaction hash and the outputs to the public key are loaded.
+   *
+   * @param publicKey receiving public key
+   * @param fromPosition first block position (inclusive)
+   */
+  List<StoredTransactionStatement> findOutputStatements(String publicKey, Long fromPosition);
+
+  /**
+   * @return position of the latest block where the public key spent funds
+   */
+  Optional<Long> findLastExpensePosition(String publicKey);
+}
@@ -0,0 +1,75 @@
+package com.flockinger.groschn.blockchain.repository;
+
+import static org.springframework.data.mongodb.core.aggregation.Aggregation.match;
+import static org.springframework.data.mongodb.core.aggregation.Aggregation.newAggregation;
+import static org.springframework.data.mongodb.core.aggregation.Aggregation.unwind;
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+
+import com.flockinger.groschn.blockchain.repository.model.StoredBlock;
+import com.flockinger.groschn.blockchain.repository.model.StoredTransactionStatement;
+import java.util.List;
+import java.util.Optional;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Sort.Direction;
+import org.springframework.data.mongodb.MongoDbFactory;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOperation;
+import org.springframework.data.mongodb.core.query.Query;
+
+/**
+ * Aggregations matching the blocks on the public key indexes, unwinding <br>
+ * their transactions and only returning the ones of the public key.
+ */
+public class BlockchainStatementRepositoryImpl implements BlockchainStatementRepository {
+
+  private final static String TRANSACTIONS_NAME = "transactions";
+  private final static String POSITION_NAME = "position";
+  private final static String TIMESTAMP_NAME = "timestamp";
+  private final static String INPUTS_PUBLIC_KEY_NAME = "transactions.inputs.publicKey";
+  private final static String OUTPUTS_PUBLIC_KEY_NAME = "transactions.outputs.publicKey";
+
+  private final MongoTemplate template;
+
+  @Autowired
+  public BlockchainStatementRepositoryImpl(MongoDbFactory factory) {
+    template = new MongoTemplate(factory);
+  }
+
+  @Override
+  public List<StoredTransactionStatement> findOutputStatements(String publicKey, Long fromPosition) {
+    var outputsOfPublicKey = new Document("$filter", new Document("input", "$transactions.outputs")
+        .append("as", "output")
+        .append("cond", new Document("$eq", List.of("$$output.publicKey",
+            new Document("$literal", publicKey)))));
+    return aggregate(newAggregation(
+        match(where(OUTPUTS_PUBLIC_KEY_NAME).is(publicKey).and(POSITION_NAME).gte(fromPosition)),
+        unwind(TRANSACTIONS_NAME),
+        match(where(OUTPUTS_PUBLIC_KEY_NAME).is(publicKey)),
+        projectStatement(new Document("transactionHash", "$transactions.transactionHash")
+            .append("outputs", outputsOfPublicKey))));
+  }
+
+  @Override
+  public Optional<Long> findLastExpensePosition(String publicKey) {
+    var latestExpense = Query.query(where(INPUTS_PUBLIC_KEY_NAME).is(publicKey))
+        .with(Sort.by(Direction.DESC, POSITION_NAME)).limit(1);
+    latestExpense.fields().include(POSITION_NAME);
+    return Optional.ofNullable(template.findOne(latestExpense, StoredBlock.class))
+        .map(StoredBlock::getPosition);
+  }
+
+  private AggregationOperation projectStatement(Object transaction) {
+    return context -> new Document("$project", new Document("_id", 0)
+        .append(POSITION_NAME, 1)
+        .append(TIMESTAMP_NAME, 1)
+        .append("transaction", transaction));
+  }
+
+  private List<StoredTransactionStatement> aggregate(Aggregation aggregation) {
+    return template.aggregate(aggregation, template.getCollectionName(StoredBlock.class),
+        StoredTransactionStatement.class).getMappedResults();
+  }
+}
@@ -1,9 +1,14 @@
 package com.flockinger.groschn.blockchain.repository;
 
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
 import com.flockinger.groschn.blockchain.repository.model.StoredPoolTransaction;
 import com.flockinger.groschn.blockchain.repository.model.TransactionStatus;
 
@@ -15,4 +20,37 @@ public interface TransactionPoolRepository extends MongoRepository<StoredPoolTra
   Optional<StoredPoolTransaction> findByTransactionHash(String transactionHash);
     
   Page<StoredPoolTransaction> findByStatusOrderByCreatedAtAsc(TransactionStatus status, Pageable page);
+  
+  List<StoredPoolTransaction> findByStatus(TransactionStatus status, Pageable page);
+  
+  /**
+   * Keyset paging: returns the transactions ordered after the given createdAt <br>
+   * and transactionHash, with a constant cost range scan on the status index.
+   */
+  @Query("{ 'status': ?0, '$or': [ { 'createdAt': { '$gt': ?1 } }, "
+      + "{ 'createdAt': ?1, 'transactionHash': { '$gt': ?2 } } ] }")
+  List<StoredPoolTransaction> findByStatusAfterCursor(TransactionStatus status, Date createdAt, 
+      String transactionHash, Pageable page);
+  
+  @Query(value = "{ 'status': ?0 }", fields = "{ 'transactionHash': 1, 'createdAt': 1 }")
+  List<StoredPoolTransaction> findHashesByStatus(TransactionStatus status, Pageable page);
+  
+  /**
+   * Same as {@link #findByStatusAfterCursor(TransactionStatus, Date, String, Pageable)} <br>
+   * but only loads the fields needed for paging.
+   */
+  @Query(value = "{ 'status': ?0, '$or': [ { 'createdAt': { '$gt': ?1 } }, "
+      + "{ 'createdAt': ?1, 'transactionHash': { '$gt': ?2 } } ] }", 
+      fields = "{ 'transactionHash': 1, 'createdAt': 1 }")
+  List<StoredPoolTransaction> findHashesByStatusAfterCursor(TransactionStatus status, Date createdAt, 
+      String transactionHash, Pageable page);
+  
+  List<StoredPoolTransaction> findByTransactionHashIn(Collection<String> transactionHashes);
+  
+  Long deleteByTransactionHashIn(Collection<String> transactionHashes);
+  
+  /**
+   * Must be closed after use, since it's backed by an open cursor.
+   */
+  Stream<StoredPoolTransaction> streamByStatus(TransactionStatus status);
 }
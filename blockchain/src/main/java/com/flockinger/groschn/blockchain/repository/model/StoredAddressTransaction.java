@@ -0,0 +1,99 @@
+package com.flockinger.groschn.blockchain.repository.model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.Field;
+
+/**
+ * Copy of a transaction for each public key in it's inputs or outputs, <br>
+ * so the transaction history of a public key is an indexed range scan.
+ */
+@CompoundIndexes({
+  @CompoundIndex(name="idx_address_unique_transaction", def= "{'publicKey': 1, 'transactionHash': 1}", unique=true, background=true),
+  @CompoundIndex(name="idx_address_timestamp_hash", def= "{'publicKey': 1, 'timestamp': -1, 'transactionHash': -1}", background=true),
+  @CompoundIndex(name="idx_address_transaction_hash", def= "{'transactionHash': 1}", background=true),
+  @CompoundIndex(name="idx_address_position", def= "{'position': 1}", background=true)
+})
+@Document(collection = "addressTransaction")
+public class StoredAddressTransaction {
+
+  public final static String PUBLIC_KEY_NAME = "publicKey";
+  public final static String TX_HASH_NAME = "transactionHash";
+  public final static String POSITION_NAME = "position";
+  public final static String TIMESTAMP_NAME = "timestamp";
+  public final static String TRANSACTION_NAME = "transaction";
+
+  @Id
+  private String id;
+
+  @Field(PUBLIC_KEY_NAME)
+  private String publicKey;
+
+  @Field(TX_HASH_NAME)
+  private String transactionHash;
+
+  /**
+   * Position of the block containing the transaction, null while it's only in the pool.
+   */
+  @Field(POSITION_NAME)
+  private Long position;
+
+  /**
+   * Block timestamp or when the transaction entered the pool (in milliseconds).
+   */
+  @Field(TIMESTAMP_NAME)
+  private Long timestamp;
+
+  @Field(TRANSACTION_NAME)
+  private StoredTransaction transaction;
+
+  public String getId() {
+    return id;
+  }
+
+  public void setId(String id) {
+    this.id = id;
+  }
+
+  public String getPublicKey() {
+    return publicKey;
+  }
+
+  public void setPublicKey(String publicKey) {
+    this.publicKey = publicKey;
+  }
+
+  public String getTransactionHash() {
+    return transactionHash;
+  }
+
+  public void setTransactionHash(String transactionHash) {
+    this.transactionHash = transactionHash;
+  }
+
+  public Long getPosition() {
+    return position;
+  }
+
+  public void setPosition(Long position) {
+    this.position = position;
+  }
+
+  public Long getTimestamp() {
+    return timestamp;
+  }
+
+  public void setTimestamp(Long timestamp) {
+    this.timestamp = timestamp;
+  }
+
+  public StoredTransaction getTransaction() {
+    return transaction;
+  }
+
+  public void setTransaction(StoredTransaction transaction) {
+    this.transaction = transaction;
+  }
+}
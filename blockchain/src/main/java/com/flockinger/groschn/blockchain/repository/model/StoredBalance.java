@@ -0,0 +1,77 @@
+package com.flockinger.groschn.blockchain.repository.model;
+
+import java.math.BigDecimal;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+/**
+ * Materialized balance of one public key, maintained block by block.
+ */
+@Document(collection = "balance")
+public class StoredBalance {
+
+  @Id
+  private String id;
+  
+  @Indexed(unique=true)
+  private String publicKey;
+  
+  private BigDecimal balance = BigDecimal.ZERO;
+  
+  /**
+   * Position of the last block spending funds of the public key (zero if never).
+   */
+  private Long lastExpensePosition = 0l;
+  
+  /**
+   * Position of the last block that changed the balance.
+   */
+  private Long lastChangePosition = 0l;
+  
+  public StoredBalance() {}
+  
+  public StoredBalance(String publicKey) {
+    this.publicKey = publicKey;
+  }
+
+  public String getId() {
+    return id;
+  }
+
+  public void setId(String id) {
+    this.id = id;
+  }
+
+  public String getPublicKey() {
+    return publicKey;
+  }
+
+  public void setPublicKey(String publicKey) {
+    this.publicKey = publicKey;
+  }
+
+  public BigDecimal getBalance() {
+    return balance;
+  }
+
+  public void setBalance(BigDecimal balance) {
+    this.balance = balance;
+  }
+
+  public Long getLastExpensePosition() {
+    return lastExpensePosition;
+  }
+
+  public void setLastExpensePosition(Long lastExpensePosition) {
+    this.lastExpensePosition = lastExpensePosition;
+  }
+
+  public Long getLastChangePosition() {
+    return lastChangePosition;
+  }
+
+  public void setLastChangePosition(Long lastChangePosition) {
+    this.lastChangePosition = lastChangePosition;
+  }
+}
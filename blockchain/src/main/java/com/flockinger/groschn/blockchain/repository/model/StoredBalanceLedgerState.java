@@ -0,0 +1,56 @@
+package com.flockinger.groschn.blockchain.repository.model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+/**
+ * Up to which block the balance ledger is maintained. <br>
+ * Not consistent while the ledger is updated, so an interrupted <br>
+ * update is detected (and rebuilt) on the next startup.
+ */
+@Document(collection = "balanceLedgerState")
+public class StoredBalanceLedgerState {
+
+  public final static String LEDGER_ID = "ledger";
+  
+  @Id
+  private String id = LEDGER_ID;
+  
+  private Long position = 0l;
+  
+  private String blockHash;
+  
+  private boolean consistent = false;
+
+  public String getId() {
+    return id;
+  }
+
+  public void setId(String id) {
+    this.id = id;
+  }
+
+  public Long getPosition() {
+    return position;
+  }
+
+  public void setPosition(Long position) {
+    this.position = position;
+  }
+
+  public String getBlockHash() {
+    return blockHash;
+  }
+
+  public void setBlockHash(String blockHash) {
+    this.blockHash = blockHash;
+  }
+
+  public boolean isConsistent() {
+    return consistent;
+  }
+
+  public void setConsistent(boolean consistent) {
+    this.consistent = consistent;
+  }
+}
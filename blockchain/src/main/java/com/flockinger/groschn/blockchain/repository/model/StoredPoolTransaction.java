@@ -3,14 +3,22 @@ package com.flockinger.groschn.blockchain.repository.model;
 import java.util.Date;
 import java.util.List;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
 import org.springframework.data.mongodb.core.mapping.Document;
 import org.springframework.data.mongodb.core.mapping.Field;
 
+@CompoundIndexes({
+  @CompoundIndex(name="idx_pool_status_changed_at", def= "{'status': 1, 'statusChangedAt': 1}", background=true),
+  @CompoundIndex(name="idx_pool_status_created_at_hash", def= "{'status': 1, 'createdAt': 1, 'transactionHash': 1}", background=true)
+})
 @Document(collection="transactionPool")
 public class StoredPoolTransaction {
   
   public final static String TX_HASH_NAME = "transactionHash";
   public final static String STATUS_NAME = "status";
+  public final static String CREATED_AT_NAME = "createdAt";
+  public final static String STATUS_CHANGED_AT_NAME = "statusChangedAt";
   
   @Id
   private String id;
@@ -20,14 +28,28 @@ public class StoredPoolTransaction {
   
   private Date lockTime;
   
+  private Integer version;
+  
+  @Field(CREATED_AT_NAME)
   private Date createdAt;
   
   @Field(STATUS_NAME)
   private TransactionStatus status;
+  
+  /**
+   * When the status was set the last time, used to expire old pool entries.
+   */
+  @Field(STATUS_CHANGED_AT_NAME)
+  private Date statusChangedAt;
 
   private List<StoredTransactionInput> inputs;
   private List<StoredTransactionOutput> outputs;
   
+  /**
+   * Compressed size of the transaction on it's own, calculated when it's stored.
+   */
+  private Integer byteSize;
+  
   
   public Date getCreatedAt() {
     return createdAt;
@@ -35,6 +57,12 @@ public class StoredPoolTransaction {
   public void setCreatedAt(Date createdAt) {
     this.createdAt = createdAt;
   }
+  public Date getStatusChangedAt() {
+    return statusChangedAt;
+  }
+  public void setStatusChangedAt(Date statusChangedAt) {
+    this.statusChangedAt = statusChangedAt;
+  }
   public String getId() {
     return id;
   }
@@ -47,6 +75,12 @@ public class StoredPoolTransaction {
   public void setTransactionHash(String transactionHash) {
     this.transactionHash = transactionHash;
   }
+  public Integer getVersion() {
+    return version;
+  }
+  public void setVersion(Integer version) {
+    this.version = version;
+  }
   public Date getLockTime() {
     return lockTime;
   }
@@ -71,4 +105,10 @@ public class StoredPoolTransaction {
   public void setOutputs(List<StoredTransactionOutput> outputs) {
     this.outputs = outputs;
   }
+  public Integer getByteSize() {
+    return byteSize;
+  }
+  public void setByteSize(Integer byteSize) {
+    this.byteSize = byteSize;
+  }
 }
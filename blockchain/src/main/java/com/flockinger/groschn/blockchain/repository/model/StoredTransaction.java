@@ -11,6 +11,8 @@ public class StoredTransaction {
   private List<StoredTransactionOutput> outputs = null;
   
   private String transactionHash = null;
+  
+  private Integer version = null;
 
   public String getTransactionHash() {
     return transactionHash;
@@ -20,6 +22,14 @@ public class StoredTransaction {
     this.transactionHash = transactionHash;
   }
   
+  public Integer getVersion() {
+    return version;
+  }
+
+  public void setVersion(Integer version) {
+    this.version = version;
+  }
+  
   public Date getLockTime() {
     return lockTime;
   }
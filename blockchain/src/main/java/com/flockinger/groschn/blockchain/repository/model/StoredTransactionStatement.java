@@ -0,0 +1,38 @@
+package com.flockinger.groschn.blockchain.repository.model;
+
+/**
+ * Projection of a single block transaction together with the <br>
+ * position and timestamp of the block it's stored in.
+ */
+public class StoredTransactionStatement {
+
+  private Long position;
+
+  private Long timestamp;
+
+  private StoredTransaction transaction;
+
+  public Long getPosition() {
+    return position;
+  }
+
+  public void setPosition(Long position) {
+    this.position = position;
+  }
+
+  public Long getTimestamp() {
+    return timestamp;
+  }
+
+  public void setTimestamp(Long timestamp) {
+    this.timestamp = timestamp;
+  }
+
+  public StoredTransaction getTransaction() {
+    return transaction;
+  }
+
+  public void setTransaction(StoredTransaction transaction) {
+    this.transaction = transaction;
+  }
+}
@@ -1,10 +1,17 @@
 package com.flockinger.groschn.blockchain.transaction;
 
 import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+import com.flockinger.groschn.blockchain.api.dto.MerkleProofDto;
 import com.flockinger.groschn.blockchain.api.dto.TransactionIdDto;
 import com.flockinger.groschn.blockchain.api.dto.TransactionStatusDto;
 import com.flockinger.groschn.blockchain.api.dto.ViewTransactionDto;
+import com.flockinger.groschn.blockchain.api.dto.ViewTransactionPageDto;
+import com.flockinger.groschn.blockchain.dto.StoreTransactionResult;
 import com.flockinger.groschn.blockchain.dto.TransactionDto;
+import com.flockinger.groschn.blockchain.dto.TransactionHashPage;
+import com.flockinger.groschn.blockchain.dto.TransactionPoolPage;
 import com.flockinger.groschn.blockchain.exception.TransactionNotFoundException;
 import com.flockinger.groschn.blockchain.model.Transaction;
 import com.flockinger.groschn.blockchain.repository.model.TransactionStatus;
@@ -15,13 +22,90 @@ public interface TransactionManager {
   
   List<Transaction> fetchTransactionsPaginated(int page, int size);
   
+  /**
+   * Pages through the RAW pool transactions (oldest first) by cursor, <br>
+   * so each page costs the same no matter how deep into the pool it is.
+   * 
+   * @param cursor next cursor of the previous page, null or empty for the first page
+   * @param size maximum amount of transactions in the page
+   * @return page of transactions with the cursor of the next page
+   */
+  TransactionPoolPage fetchTransactionsAfter(String cursor, int size);
+  
+  /**
+   * Same paging as {@link #fetchTransactionsAfter(String, int)} but only loads <br>
+   * the transaction hashes, so peers can find out which ones they miss.
+   * 
+   * @param cursor next cursor of the previous page, null or empty for the first page
+   * @param size maximum amount of hashes in the page
+   * @return page of transaction hashes with the cursor of the next page
+   */
+  TransactionHashPage fetchTransactionHashesAfter(String cursor, int size);
+  
+  /**
+   * @return hashes of all transactions in the pool, regardless of their status
+   */
+  Set<String> fetchPoolTransactionHashes();
+  
   Transaction createSignedTransaction(TransactionDto transactionSigningRequest); 
   
   TransactionIdDto storeTransaction(Transaction transaction);
   
+  /**
+   * Stores many transactions at once: duplicates are dropped, the existing ones <br>
+   * are found with one query, the rest is validated in parallel and the valid ones <br>
+   * are inserted with one unordered bulk insert. <br>
+   * Invalid and already existing transactions are skipped instead of failing the rest.
+   * 
+   * @param transactions transactions to store in the pool
+   * @return one result per given transaction, in the same order
+   */
+  List<StoreTransactionResult> storeTransactions(List<Transaction> transactions);
+  
   void updateTransactionStatuses(List<Transaction> transactions, TransactionStatus status);
   
-  List<ViewTransactionDto> getTransactionsFromPublicKey(String publicKey);
+  /**
+   * Fetches one page of the transactions (in the pool or the blockchain) <br>
+   * with the public key in their inputs or outputs, newest first.
+   * 
+   * @param publicKey public key of the transactions
+   * @param page zero based page number
+   * @param size page size, limited to the configured maximum history page size
+   * @return transactions of the page
+   */
+  List<ViewTransactionDto> getTransactionsFromPublicKey(String publicKey, int page, int size);
+  
+  /**
+   * Pages through the transactions of the public key (newest first) by cursor, <br>
+   * so each page costs the same no matter how old the transactions are.
+   * 
+   * @param publicKey public key of the transactions
+   * @param cursor next cursor of the previous page, null or empty for the first page
+   * @param size page size, limited to the configured maximum history page size
+   * @return page of transactions with the cursor of the next page
+   */
+  ViewTransactionPageDto getTransactionsFromPublicKeyAfter(String publicKey, String cursor, int size);
+  
+  /**
+   * Hands all transactions of the public key (newest first) one by one <br>
+   * to the consumer, while reading them from an open database cursor, <br>
+   * so the whole history is never held in memory.
+   * 
+   * @param publicKey public key of the transactions
+   * @param consumer receives each transaction
+   */
+  void streamTransactionsFromPublicKey(String publicKey, Consumer<ViewTransactionDto> consumer);
   
   TransactionStatusDto getStatusOfTransaction(String transactionHash) throws TransactionNotFoundException;
+  
+  /**
+   * Creates a Merkle proof that the transaction is part of a block, <br>
+   * so it can be verified against the blocks Merkle root <br>
+   * without having to fetch the whole block.
+   * 
+   * @param transactionHash hash of a transaction stored in the blockchain
+   * @return Merkle proof of the transaction
+   * @throws TransactionNotFoundException if no block contains the transaction
+   */
+  MerkleProofDto getMerkleProofOfTransaction(String transactionHash) throws TransactionNotFoundException;
 }
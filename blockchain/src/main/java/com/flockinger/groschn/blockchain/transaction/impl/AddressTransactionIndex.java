@@ -0,0 +1,242 @@
+package com.flockinger.groschn.blockchain.transaction.impl;
+
+import static com.flockinger.groschn.blockchain.repository.model.TransactionStatus.RAW;
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+
+import com.flockinger.groschn.blockchain.repository.AddressTransactionRepository;
+import com.flockinger.groschn.blockchain.repository.TransactionPoolRepository;
+import com.flockinger.groschn.blockchain.repository.model.StoredAddressTransaction;
+import com.flockinger.groschn.blockchain.repository.model.StoredBlock;
+import com.flockinger.groschn.blockchain.repository.model.StoredPoolTransaction;
+import com.flockinger.groschn.blockchain.repository.model.StoredTransaction;
+import com.flockinger.groschn.blockchain.repository.model.StoredTransactionInput;
+import com.flockinger.groschn.blockchain.repository.model.StoredTransactionOutput;
+import com.google.common.collect.Iterators;
+import com.mongodb.bulk.BulkWriteError;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Stream;
+import org.modelmapper.ModelMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Sort.Direction;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.MongoDbFactory;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.BulkOperations.BulkMode;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+/**
+ * Denormalized index of the transactions of each public key (address), <br>
+ * written when blocks are stored or removed and when transactions enter <br>
+ * or leave the pool. <br>
+ * <br>
+ * Pool transactions are indexed without a block position, once they are <br>
+ * stored in a block their entries are updated with the block's position <br>
+ * and timestamp. Pages are sorted by timestamp and transaction hash, <br>
+ * newest first.
+ */
+@Component
+public class AddressTransactionIndex {
+
+  private final static int WRITE_BATCH_SIZE = 1000;
+  private final static int DUPLICATE_KEY_ERROR_CODE = 11000;
+  private final static String BLOCK_POSITION_NAME = "position";
+  private final static Sort NEWEST_FIRST = Sort.by(Direction.DESC,
+      StoredAddressTransaction.TIMESTAMP_NAME, StoredAddressTransaction.TX_HASH_NAME);
+
+  @Autowired
+  private AddressTransactionRepository addressDao;
+  @Autowired
+  private TransactionPoolRepository transactionDao;
+  @Autowired
+  private ModelMapper mapper;
+  private final MongoTemplate template;
+
+  private final static Logger LOG = LoggerFactory.getLogger(AddressTransactionIndex.class);
+
+  @Autowired
+  public AddressTransactionIndex(MongoDbFactory factory) {
+    template = new MongoTemplate(factory);
+  }
+
+  public List<StoredAddressTransaction> findTransactions(String publicKey, int page, int size) {
+    return addressDao.findByPublicKey(publicKey, PageRequest.of(page, size, NEWEST_FIRST));
+  }
+
+  /**
+   * @param timestamp timestamp of the last entry of the previous page, null for the first page
+   * @param transactionHash transaction hash of the last entry of the previous page
+   */
+  public List<StoredAddressTransaction> findTransactionsBefore(String publicKey, Long timestamp,
+      String transactionHash, int size) {
+    var firstPage = PageRequest.of(0, size, NEWEST_FIRST);
+    if (timestamp == null) {
+      return addressDao.findByPublicKey(publicKey, firstPage);
+    }
+    return addressDao.findByPublicKeyBeforeCursor(publicKey, timestamp, transactionHash, firstPage);
+  }
+
+  /**
+   * Streams all transactions of the public key (newest first) from an open cursor, <br>
+   * must be closed after use.
+   */
+  public Stream<StoredAddressTransaction> streamTransactions(String publicKey) {
+    return addressDao.streamByPublicKey(publicKey, NEWEST_FIRST);
+  }
+
+  /**
+   * Indexes the transactions of a stored block, replacing the entries <br>
+   * of a block previously stored at the same position.
+   */
+  public void blockStored(StoredBlock block) {
+    removeEntriesOf(block);
+    boolean racedWithPool = upsertBlockEntries(block);
+    if (racedWithPool) {
+      upsertBlockEntries(block);
+    }
+  }
+
+  private boolean upsertBlockEntries(StoredBlock block) {
+    var operations = template.bulkOps(BulkMode.UNORDERED, StoredAddressTransaction.class);
+    int entries = 0;
+    for (StoredTransaction transaction : nullSafe(block.getTransactions())) {
+      var blockEntry = Update.update(StoredAddressTransaction.POSITION_NAME, block.getPosition())
+          .set(StoredAddressTransaction.TIMESTAMP_NAME, block.getTimestamp())
+          .set(StoredAddressTransaction.TRANSACTION_NAME, transaction);
+      for (String publicKey : publicKeysOf(transaction)) {
+        operations.upsert(whereEntry(publicKey, transaction.getTransactionHash()), blockEntry);
+        entries++;
+      }
+    }
+    return execute(operations, entries);
+  }
+
+  public void blockRemoved(StoredBlock block) {
+    removeEntriesOf(block);
+  }
+
+  private void removeEntriesOf(StoredBlock block) {
+    template.remove(Query.query(where(StoredAddressTransaction.POSITION_NAME).is(block.getPosition())),
+        StoredAddressTransaction.class);
+  }
+
+  /**
+   * Indexes fresh pool transactions, entries of transactions that are <br>
+   * already stored in a block are kept as they are.
+   */
+  public void poolTransactionsStored(List<StoredPoolTransaction> poolTransactions) {
+    var operations = template.bulkOps(BulkMode.UNORDERED, StoredAddressTransaction.class);
+    int entries = 0;
+    for (StoredPoolTransaction poolTransaction : poolTransactions) {
+      var transaction = mapper.map(poolTransaction, StoredTransaction.class);
+      var poolEntry = new Update()
+          .setOnInsert(StoredAddressTransaction.TIMESTAMP_NAME, poolTransaction.getCreatedAt().getTime())
+          .setOnInsert(StoredAddressTransaction.TRANSACTION_NAME, transaction);
+      for (String publicKey : publicKeysOf(transaction)) {
+        operations.upsert(whereEntry(publicKey, transaction.getTransactionHash()), poolEntry);
+        entries++;
+      }
+    }
+    execute(operations, entries);
+  }
+
+  /**
+   * Removes the entries of transactions deleted from the pool <br>
+   * that are not stored in a block.
+   */
+  public void poolTransactionsRemoved(Collection<String> transactionHashes) {
+    template.remove(Query.query(where(StoredAddressTransaction.TX_HASH_NAME).in(transactionHashes)
+        .and(StoredAddressTransaction.POSITION_NAME).is(null)), StoredAddressTransaction.class);
+  }
+
+  /**
+   * Indexes the blocks stored after the last indexed one (and that one again), <br>
+   * or rebuilds the whole index if it's empty.
+   */
+  public synchronized void catchUp() {
+    var lastIndexed = addressDao.findFirstByPositionNotNullOrderByPositionDesc();
+    if (lastIndexed.isEmpty()) {
+      rebuild();
+      return;
+    }
+    long indexedBlocks = indexBlocksFrom(lastIndexed.get().getPosition());
+    LOG.info("Address transaction index caught up with {} blocks.", indexedBlocks);
+  }
+
+  /**
+   * Replaces the whole index with the transactions of the blockchain <br>
+   * and the RAW transactions of the pool.
+   */
+  public synchronized void rebuild() {
+    addressDao.deleteAll();
+    long indexedBlocks = indexBlocksFrom(0l);
+    try (Stream<StoredPoolTransaction> rawTransactions = transactionDao.streamByStatus(RAW)) {
+      Iterators.partition(rawTransactions.iterator(), WRITE_BATCH_SIZE)
+          .forEachRemaining(this::poolTransactionsStored);
+    }
+    LOG.info("Rebuilt address transaction index from {} blocks.", indexedBlocks);
+  }
+
+  private long indexBlocksFrom(Long position) {
+    var blocksFrom = Query.query(where(BLOCK_POSITION_NAME).gte(position))
+        .with(Sort.by(Direction.ASC, BLOCK_POSITION_NAME));
+    long indexedBlocks = 0;
+    try (var blocks = template.stream(blocksFrom, StoredBlock.class)) {
+      while (blocks.hasNext()) {
+        blockStored(blocks.next());
+        indexedBlocks++;
+      }
+    }
+    return indexedBlocks;
+  }
+
+  private Query whereEntry(String publicKey, String transactionHash) {
+    return Query.query(where(StoredAddressTransaction.PUBLIC_KEY_NAME).is(publicKey)
+        .and(StoredAddressTransaction.TX_HASH_NAME).is(transactionHash));
+  }
+
+  private Set<String> publicKeysOf(StoredTransaction transaction) {
+    var publicKeys = new LinkedHashSet<String>();
+    nullSafe(transaction.getInputs()).stream().map(StoredTransactionInput::getPublicKey)
+        .filter(Objects::nonNull).forEach(publicKeys::add);
+    nullSafe(transaction.getOutputs()).stream().map(StoredTransactionOutput::getPublicKey)
+        .filter(Objects::nonNull).forEach(publicKeys::add);
+    return publicKeys;
+  }
+
+  /**
+   * Concurrent upserts of the same entry can fail with a duplicate key, <br>
+   * the entry exists anyway then.
+   *
+   * @return true if some upserts failed because of a duplicate key
+   */
+  private boolean execute(BulkOperations operations, int entries) {
+    if (entries == 0) {
+      return false;
+    }
+    try {
+      operations.execute();
+      return false;
+    } catch (BulkOperationException e) {
+      if (e.getErrors().stream().map(BulkWriteError::getCode)
+          .anyMatch(code -> code != DUPLICATE_KEY_ERROR_CODE)) {
+        throw e;
+      }
+      return true;
+    }
+  }
+
+  private static <T> List<T> nullSafe(List<T> values) {
+    return values != null ? values : List.of();
+  }
+}
@@ -0,0 +1,31 @@
+package com.flockinger.groschn.blockchain.transaction.impl;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+/**
+ * Indexes the blocks the address transaction index missed once the node <br>
+ * is started, start the node with --blockchain.transaction-history.rebuild-index-on-startup=true <br>
+ * to force re-indexing the whole blockchain and pool.
+ */
+@Component
+public class AddressTransactionIndexInitializer implements ApplicationRunner {
+
+  @Autowired
+  private AddressTransactionIndex transactionIndex;
+
+  @Value("${blockchain.transaction-history.rebuild-index-on-startup:false}")
+  private boolean rebuildOnStartup;
+
+  @Override
+  public void run(ApplicationArguments args) {
+    if (rebuildOnStartup) {
+      transactionIndex.rebuild();
+    } else {
+      transactionIndex.catchUp();
+    }
+  }
+}
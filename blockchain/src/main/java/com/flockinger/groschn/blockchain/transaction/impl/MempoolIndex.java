@@ -0,0 +1,192 @@
+package com.flockinger.groschn.blockchain.transaction.impl;
+
+import static com.flockinger.groschn.blockchain.repository.model.TransactionStatus.RAW;
+
+import com.flockinger.groschn.blockchain.model.Transaction;
+import com.flockinger.groschn.blockchain.repository.TransactionPoolRepository;
+import com.flockinger.groschn.blockchain.repository.model.StoredPoolTransaction;
+import com.flockinger.groschn.blockchain.repository.model.StoredTransactionInput;
+import com.flockinger.groschn.blockchain.repository.model.StoredTransactionOutput;
+import com.google.common.collect.Iterators;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import org.apache.commons.collections4.ListUtils;
+import org.modelmapper.ModelMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * In memory priority index of the RAW transactions in the pool, ordered by <br>
+ * fee (input minus output amount, which the miner receives) per compressed byte, <br>
+ * then by age. <br>
+ * <br>
+ * Only hashes and priorities are kept in memory, the transactions themselves <br>
+ * stay in the {@link TransactionPoolRepository}. The index is rebuilt from it <br>
+ * on startup and kept up to date when transactions are stored or change status. <br>
+ * Iterating in priority order is lock free and weakly consistent, so the most <br>
+ * valuable k transactions are found in O(log n + k).
+ *
+ */
+@Component
+public class MempoolIndex implements InitializingBean {
+
+  private final static int FEE_PER_BYTE_SCALE = 12;
+
+  @Autowired
+  private TransactionPoolRepository transactionDao;
+  @Autowired
+  private TransactionPacker packer;
+  @Autowired
+  private ModelMapper mapper;
+
+  private final Map<String, MempoolEntry> entries = new ConcurrentHashMap<>();
+  private final ConcurrentSkipListSet<MempoolEntry> priorities = new ConcurrentSkipListSet<>();
+  private final AtomicLong totalByteSize = new AtomicLong();
+
+  private final static Logger LOG = LoggerFactory.getLogger(MempoolIndex.class);
+
+  @Override
+  public void afterPropertiesSet() {
+    rebuild();
+  }
+
+  /**
+   * Replaces the whole index with the current RAW transactions of the pool.
+   */
+  public synchronized void rebuild() {
+    entries.clear();
+    priorities.clear();
+    totalByteSize.set(0);
+    try (var rawTransactions = transactionDao.streamByStatus(RAW)) {
+      rawTransactions.forEach(this::add);
+    }
+    LOG.info("Rebuilt mempool index with {} raw transactions.", entries.size());
+  }
+
+  /**
+   * Adds or updates a pool transaction, non RAW ones are removed instead.
+   */
+  public synchronized void add(StoredPoolTransaction poolTransaction) {
+    if (poolTransaction.getTransactionHash() == null) {
+      return;
+    }
+    if (!RAW.equals(poolTransaction.getStatus())) {
+      remove(poolTransaction.getTransactionHash());
+      return;
+    }
+    long byteSize = byteSize(poolTransaction);
+    var entry = new MempoolEntry(poolTransaction.getTransactionHash(),
+        feePerByte(poolTransaction, byteSize), createdAt(poolTransaction), byteSize);
+    var replacedEntry = entries.put(entry.transactionHash, entry);
+    if (replacedEntry != null) {
+      priorities.remove(replacedEntry);
+      totalByteSize.addAndGet(-replacedEntry.byteSize);
+    }
+    priorities.add(entry);
+    totalByteSize.addAndGet(entry.byteSize);
+  }
+
+  public synchronized void remove(String transactionHash) {
+    var removedEntry = entries.remove(transactionHash);
+    if (removedEntry != null) {
+      priorities.remove(removedEntry);
+      totalByteSize.addAndGet(-removedEntry.byteSize);
+    }
+  }
+
+  /**
+   * @return hashes of all indexed transactions, most valuable first
+   */
+  public Iterator<String> hashesByPriority() {
+    return Iterators.transform(priorities.iterator(), entry -> entry.transactionHash);
+  }
+
+  /**
+   * @return hashes of all indexed transactions, least valuable first
+   */
+  public Iterator<String> hashesByLowestPriority() {
+    return Iterators.transform(priorities.descendingIterator(), entry -> entry.transactionHash);
+  }
+
+  public boolean contains(String transactionHash) {
+    return entries.containsKey(transactionHash);
+  }
+
+  public int size() {
+    return entries.size();
+  }
+
+  /**
+   * @return compressed size of the indexed transaction or zero if it's not indexed
+   */
+  public long byteSizeOf(String transactionHash) {
+    var entry = entries.get(transactionHash);
+    return (entry != null) ? entry.byteSize : 0;
+  }
+
+  /**
+   * @return summed up compressed size of all indexed transactions
+   */
+  public long byteSize() {
+    return totalByteSize.get();
+  }
+
+  private long byteSize(StoredPoolTransaction poolTransaction) {
+    long byteSize = (poolTransaction.getByteSize() != null) ? poolTransaction.getByteSize()
+        : packer.estimateByteSize(mapper.map(poolTransaction, Transaction.class));
+    return Math.max(1, byteSize);
+  }
+
+  private BigDecimal feePerByte(StoredPoolTransaction poolTransaction, long byteSize) {
+    BigDecimal fee = sum(poolTransaction.getInputs(), StoredTransactionInput::getAmount)
+        .subtract(sum(poolTransaction.getOutputs(), StoredTransactionOutput::getAmount));
+    return fee.divide(BigDecimal.valueOf(byteSize), FEE_PER_BYTE_SCALE, RoundingMode.HALF_EVEN);
+  }
+
+  private <T> BigDecimal sum(List<T> statements, Function<T, BigDecimal> amount) {
+    return ListUtils.emptyIfNull(statements).stream().map(amount)
+        .filter(Objects::nonNull).reduce(BigDecimal.ZERO, BigDecimal::add);
+  }
+
+  private long createdAt(StoredPoolTransaction poolTransaction) {
+    return (poolTransaction.getCreatedAt() != null) ? poolTransaction.getCreatedAt().getTime()
+        : Long.MAX_VALUE;
+  }
+
+  private final static class MempoolEntry implements Comparable<MempoolEntry> {
+    private final static Comparator<MempoolEntry> PRIORITY =
+        Comparator.comparing((MempoolEntry entry) -> entry.feePerByte).reversed()
+            .thenComparingLong(entry -> entry.createdAt)
+            .thenComparing(entry -> entry.transactionHash);
+
+    private final String transactionHash;
+    private final BigDecimal feePerByte;
+    private final long createdAt;
+    private final long byteSize;
+
+    private MempoolEntry(String transactionHash, BigDecimal feePerByte, long createdAt,
+        long byteSize) {
+      this.transactionHash = transactionHash;
+      this.feePerByte = feePerByte;
+      this.createdAt = createdAt;
+      this.byteSize = byteSize;
+    }
+
+    @Override
+    public int compareTo(MempoolEntry other) {
+      return PRIORITY.compare(this, other);
+    }
+  }
+}
@@ -0,0 +1,115 @@
+package com.flockinger.groschn.blockchain.transaction.impl;
+
+import com.flockinger.groschn.blockchain.dto.StoreTransactionResult.Outcome;
+import com.flockinger.groschn.blockchain.model.Transaction;
+import com.flockinger.groschn.blockchain.transaction.TransactionManager;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Micro-batching stage between incoming fresh transactions and the pool. <br>
+ * <br>
+ * Received transactions are queued and a single worker collects them <br>
+ * for a few milliseconds (or until a batch is full), then stores the <br>
+ * whole batch at once with {@link TransactionManager#storeTransactions(List)}. <br>
+ * If the queue is full, submitting blocks for a short time and then <br>
+ * rejects the transaction, so a flood can't exhaust the memory.
+ *
+ */
+@Component
+public class TransactionIngestor {
+
+  @Autowired
+  private TransactionManager transactionManager;
+
+  @Value("${blockchain.transaction-pool.ingestion.queue-capacity}")
+  private Integer queueCapacity;
+  @Value("${blockchain.transaction-pool.ingestion.max-batch-size}")
+  private Integer maxBatchSize;
+  @Value("${blockchain.transaction-pool.ingestion.linger-milliseconds}")
+  private Long lingerMilliseconds;
+  @Value("${blockchain.transaction-pool.ingestion.offer-timeout-milliseconds}")
+  private Long offerTimeoutMilliseconds;
+
+  private BlockingQueue<Transaction> queue;
+  private ExecutorService worker;
+
+  private final static Logger LOG = LoggerFactory.getLogger(TransactionIngestor.class);
+
+  @PostConstruct
+  public void startWorker() {
+    queue = new ArrayBlockingQueue<>(queueCapacity);
+    worker = Executors.newSingleThreadExecutor(runnable -> {
+      var thread = new Thread(runnable, "transaction-ingestor");
+      thread.setDaemon(true);
+      return thread;
+    });
+    worker.execute(this::ingest);
+  }
+
+  @PreDestroy
+  public void stopWorker() {
+    worker.shutdownNow();
+  }
+
+  /**
+   * Queues a transaction for storing in the pool.
+   * 
+   * @param transaction fresh transaction
+   * @return false if the queue stayed full and the transaction was rejected
+   */
+  public boolean submit(Transaction transaction) {
+    try {
+      return queue.offer(transaction, offerTimeoutMilliseconds, TimeUnit.MILLISECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return false;
+    }
+  }
+
+  private void ingest() {
+    while (!Thread.currentThread().isInterrupted()) {
+      try {
+        var batch = nextBatch();
+        long storedCount = transactionManager.storeTransactions(batch).stream()
+            .filter(result -> Outcome.STORED.equals(result.getOutcome())).count();
+        LOG.debug("Stored {} of {} received Transactions.", storedCount, batch.size());
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      } catch (RuntimeException e) {
+        LOG.error("Something unexpected happened while storing received Transactions!", e);
+      }
+    }
+  }
+
+  private List<Transaction> nextBatch() throws InterruptedException {
+    var batch = new ArrayList<Transaction>(maxBatchSize);
+    batch.add(queue.take());
+    long lingerUntil = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(lingerMilliseconds);
+    while (batch.size() < maxBatchSize) {
+      queue.drainTo(batch, maxBatchSize - batch.size());
+      long lingerLeft = lingerUntil - System.nanoTime();
+      if (batch.size() >= maxBatchSize || lingerLeft <= 0) {
+        break;
+      }
+      var next = queue.poll(lingerLeft, TimeUnit.NANOSECONDS);
+      if (next == null) {
+        break;
+      }
+      batch.add(next);
+    }
+    return batch;
+  }
+}
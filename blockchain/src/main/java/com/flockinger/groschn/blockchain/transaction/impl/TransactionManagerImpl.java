@@ -4,19 +4,29 @@ import static com.flockinger.groschn.blockchain.repository.model.TransactionStat
 import static com.flockinger.groschn.blockchain.repository.model.TransactionStatus.SIX_BLOCKS_UNDER;
 import static java.lang.Math.abs;
 import static java.lang.Math.max;
+import static java.lang.Math.min;
 
+import com.flockinger.groschn.blockchain.api.dto.MerkleProofDto;
+import com.flockinger.groschn.blockchain.api.dto.MerkleProofStepDto;
 import com.flockinger.groschn.blockchain.api.dto.TransactionIdDto;
 import com.flockinger.groschn.blockchain.api.dto.TransactionStatusDto;
 import com.flockinger.groschn.blockchain.api.dto.ViewTransactionDto;
+import com.flockinger.groschn.blockchain.api.dto.ViewTransactionPageDto;
+import com.flockinger.groschn.blockchain.dto.StoreTransactionResult;
+import com.flockinger.groschn.blockchain.dto.StoreTransactionResult.Outcome;
 import com.flockinger.groschn.blockchain.dto.TransactionDto;
+import com.flockinger.groschn.blockchain.dto.TransactionHashPage;
+import com.flockinger.groschn.blockchain.dto.TransactionPoolPage;
 import com.flockinger.groschn.blockchain.exception.TransactionAlreadyClearedException;
 import com.flockinger.groschn.blockchain.exception.TransactionNotFoundException;
 import com.flockinger.groschn.blockchain.exception.validation.AssessmentFailedException;
+import com.flockinger.groschn.blockchain.model.Block;
 import com.flockinger.groschn.blockchain.model.Transaction;
 import com.flockinger.groschn.blockchain.model.TransactionInput;
 import com.flockinger.groschn.blockchain.model.TransactionOutput;
 import com.flockinger.groschn.blockchain.repository.BlockchainRepository;
 import com.flockinger.groschn.blockchain.repository.TransactionPoolRepository;
+import com.flockinger.groschn.blockchain.repository.model.StoredAddressTransaction;
 import com.flockinger.groschn.blockchain.repository.model.StoredBlock;
 import com.flockinger.groschn.blockchain.repository.model.StoredPoolTransaction;
 import com.flockinger.groschn.blockchain.repository.model.StoredTransaction;
@@ -26,26 +36,48 @@ import com.flockinger.groschn.blockchain.validation.Assessment;
 import com.flockinger.groschn.blockchain.validation.Validator;
 import com.flockinger.groschn.blockchain.wallet.WalletService;
 import com.flockinger.groschn.commons.TransactionUtils;
+import com.flockinger.groschn.commons.exception.BlockchainException;
+import com.flockinger.groschn.commons.hash.HashGenerator;
+import com.flockinger.groschn.commons.hash.MerkleProof;
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Iterators;
+import com.mongodb.bulk.BulkWriteError;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.Comparator;
 import java.util.Date;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
-import java.util.TreeSet;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
-import java.util.stream.StreamSupport;
+import java.util.stream.Stream;
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
 import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.math.NumberUtils;
 import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.BulkOperationException;
 import org.springframework.data.mongodb.MongoDbFactory;
+import org.springframework.data.mongodb.core.BulkOperations.BulkMode;
 import org.springframework.data.mongodb.core.MongoTemplate;
 import org.springframework.data.mongodb.core.query.Criteria;
 import org.springframework.data.mongodb.core.query.Query;
@@ -55,6 +87,11 @@ import org.springframework.stereotype.Service;
 @Service
 public class TransactionManagerImpl implements TransactionManager {
 
+  private final static int LOAD_BATCH_SIZE = 100;
+  private final static int DUPLICATE_KEY_ERROR_CODE = 11000;
+  private final static String CURSOR_SEPARATOR = ":";
+  private final static int MAX_CURSOR_TIME_DIGITS = 18;
+
   @Autowired
   private TransactionPoolRepository transactionDao;
   @Autowired
@@ -69,28 +106,90 @@ public class TransactionManagerImpl implements TransactionManager {
   private Validator<Transaction> validator;
   @Autowired
   private TransactionUtils transactionUtils;
+  @Autowired
+  private HashGenerator hasher;
+  @Autowired
+  private TransactionPacker packer;
+  @Autowired
+  private MempoolIndex mempool;
+  @Autowired
+  private TransactionPoolReaper poolReaper;
+  @Autowired
+  private AddressTransactionIndex transactionIndex;
+  
+  @Value("${blockchain.transaction-history.max-page-size:100}")
+  private int maxHistoryPageSize;
+  /**
+   * Amount of threads validating a batch of fresh transactions in parallel, <br>
+   * zero or less means one per available processor, one validates them sequentially.
+   */
+  @Value("${blockchain.transaction-pool.validation-threads:1}")
+  private Integer validationThreads;
+  
+  private ExecutorService validationPool;
 
   @Autowired
   public TransactionManagerImpl(MongoDbFactory factory) {
     template = new MongoTemplate(factory);
   }
+  
+  @PostConstruct
+  public void setupValidationPool() {
+    if (validationThreads <= 0) {
+      validationThreads = Runtime.getRuntime().availableProcessors();
+    }
+    if (validationThreads > 1) {
+      var threadCount = new AtomicInteger();
+      validationPool = Executors.newFixedThreadPool(validationThreads, runnable -> {
+        var thread = new Thread(runnable, "pool-transaction-validator-" + threadCount.incrementAndGet());
+        thread.setDaemon(true);
+        return thread;
+      });
+    }
+  }
+  
+  @PreDestroy
+  public void shutdownValidationPool() {
+    if (validationPool != null) {
+      validationPool.shutdownNow();
+      validationPool = null;
+    }
+  }
 
   @Override
   public List<Transaction> fetchTransactionsBySize(long maxByteSize) {
-    var transactionIterator =
-        transactionDao.findByStatusOrderByCreatedAtAsc(RAW).iterator();
-    var transactions = new ArrayList<Transaction>();
-    var compressedTransactionsSize = 0l;
-
-    while (compressedTransactionsSize < maxByteSize && transactionIterator.hasNext()) {
-      var freshTransaction = mapToRegularTransaction(transactionIterator.next());
-      compressedTransactionsSize +=
-          transactionUtils.compressedByteSize(ImmutableList.of(freshTransaction));
-      if (compressedTransactionsSize < maxByteSize) {
-        transactions.add(freshTransaction);
+    var transactionIterator = Iterators.concat(Iterators.transform(
+        Iterators.partition(mempool.hashesByPriority(), LOAD_BATCH_SIZE),
+        this::loadRawTransactions));
+    return packer.pack(transactionIterator, this::mapToRegularTransaction, 
+        this::estimateByteSize, maxByteSize, Block.sizeFormatAt(nextBlockPosition()));
+  }
+  
+  /**
+   * Loads the pool transactions in the given order, the ones that are gone <br>
+   * or not RAW anymore are skipped and dropped from the mempool index.
+   */
+  private Iterator<StoredPoolTransaction> loadRawTransactions(List<String> transactionHashes) {
+    var transactions = transactionDao.findByTransactionHashIn(transactionHashes).stream()
+        .collect(Collectors.toMap(StoredPoolTransaction::getTransactionHash, 
+            Function.identity(), (first, second) -> first));
+    var rawTransactions = new ArrayList<StoredPoolTransaction>();
+    for (String transactionHash : transactionHashes) {
+      var transaction = transactions.get(transactionHash);
+      if (transaction != null && RAW.equals(transaction.getStatus())) {
+        rawTransactions.add(transaction);
+      } else {
+        mempool.remove(transactionHash);
       }
     }
-    return transactions;
+    return rawTransactions.iterator();
+  }
+  
+  private long estimateByteSize(StoredPoolTransaction poolTransaction) {
+    if (poolTransaction.getByteSize() != null) {
+      return poolTransaction.getByteSize();
+    }
+    return packer.estimateByteSize(mapToRegularTransaction(poolTransaction));
   }
 
   private Transaction mapToRegularTransaction(StoredPoolTransaction poolTransaction) {
@@ -101,6 +200,7 @@ public class TransactionManagerImpl implements TransactionManager {
   @Override
   public Transaction createSignedTransaction(TransactionDto transactionSigningRequest) {
     var transaction = mapper.map(transactionSigningRequest, Transaction.class);
+    transaction.setVersion(Transaction.versionAt(nextBlockPosition()));
     var walletPrivateKey = wallet.getPrivateKey(transactionSigningRequest.getPublicKey(),
         transactionSigningRequest.getSecretWalletKey());
     for (TransactionInput input : transaction.getInputs()) {
@@ -111,6 +211,11 @@ public class TransactionManagerImpl implements TransactionManager {
     return transaction;
   }
 
+  private Long nextBlockPosition() {
+    return blockchainDao.findFirstByOrderByPositionDesc()
+        .map(latestBlock -> latestBlock.getPosition() + 1).orElse(null);
+  }
+
   private void signTransactionInput(TransactionInput input, List<TransactionOutput> outputs,
       byte[] privateKey) {
     Collections.sort(outputs);
@@ -129,15 +234,159 @@ public class TransactionManagerImpl implements TransactionManager {
     if (transactionDao.existsByTransactionHash(transaction.getTransactionHash())) {
       throw new TransactionAlreadyClearedException("Transaction already exists in pool!");
     }
-    StoredPoolTransaction toStoreTransaction = mapToStoredPoolTransaction(transaction);
-    toStoreTransaction.setCreatedAt(new Date());
-    toStoreTransaction.setStatus(RAW);
-    transactionDao.save(toStoreTransaction);
+    StoredPoolTransaction toStoreTransaction = mapToFreshPoolTransaction(transaction, new Date());
+    try {
+      var storedTransaction = transactionDao.save(toStoreTransaction);
+      mempool.add(storedTransaction);
+      transactionIndex.poolTransactionsStored(ImmutableList.of(storedTransaction));
+    } catch (DuplicateKeyException e) {
+      throw new TransactionAlreadyClearedException("Transaction already exists in pool!");
+    }
+    poolReaper.evictOverflow();
     return new TransactionIdDto().id(transaction.getTransactionHash());
   }
-
-  private StoredPoolTransaction mapToStoredPoolTransaction(Transaction transaction) {
-    return mapper.map(transaction, StoredPoolTransaction.class);
+  
+  @Override
+  public List<StoreTransactionResult> storeTransactions(List<Transaction> transactions) {
+    var results = new StoreTransactionResult[transactions.size()];
+    var existingHashes = findExistingHashes(transactions.stream()
+        .map(Transaction::getTransactionHash).filter(Objects::nonNull).collect(Collectors.toSet()));
+    var seenHashes = new HashSet<String>();
+    var candidates = new ArrayList<Integer>();
+    for (int index = 0; index < transactions.size(); index++) {
+      String transactionHash = transactions.get(index).getTransactionHash();
+      if (transactionHash == null) {
+        results[index] = new StoreTransactionResult(null, Outcome.INVALID, "Transaction hash is missing!");
+      } else if (existingHashes.contains(transactionHash) || !seenHashes.add(transactionHash)) {
+        results[index] = new StoreTransactionResult(transactionHash, Outcome.ALREADY_EXISTING, 
+            "Transaction already exists in pool!");
+      } else {
+        candidates.add(index);
+      }
+    }
+    var assessments = processAll(candidates, index -> assess(transactions.get(index)));
+    var validCandidates = new ArrayList<Integer>();
+    for (int position = 0; position < candidates.size(); position++) {
+      int index = candidates.get(position);
+      var assessment = assessments.get(position);
+      if (assessment.isValid()) {
+        validCandidates.add(index);
+      } else {
+        results[index] = new StoreTransactionResult(transactions.get(index).getTransactionHash(), 
+            Outcome.INVALID, assessment.getReasonOfFailure());
+      }
+    }
+    storeValidTransactions(transactions, validCandidates, results);
+    return Arrays.asList(results);
+  }
+  
+  /**
+   * Runs the task for all indexes on the validation pool, or sequentially <br>
+   * if there's none, so the database reads of the validations never block <br>
+   * the common fork join pool.
+   * 
+   * @return task results in index order
+   */
+  private <T> List<T> processAll(List<Integer> indexes, Function<Integer, T> task) {
+    if (validationPool == null || indexes.size() < 2) {
+      return indexes.stream().map(task).collect(Collectors.toList());
+    }
+    var tasks = new ArrayList<Future<T>>();
+    try {
+      for (Integer index : indexes) {
+        tasks.add(validationPool.submit(() -> task.apply(index)));
+      }
+      var results = new ArrayList<T>();
+      for (Future<T> processing : tasks) {
+        results.add(processing.get());
+      }
+      return results;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new AssessmentFailedException("Transaction validation was interrupted!");
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) e.getCause();
+      }
+      throw new AssessmentFailedException("Transaction validation failed: " + e.getCause());
+    } finally {
+      tasks.forEach(processing -> processing.cancel(false));
+    }
+  }
+  
+  private Assessment assess(Transaction transaction) {
+    try {
+      return validator.validate(transaction);
+    } catch (BlockchainException e) {
+      return Assessment.build().valid(false).reason(e.getMessage());
+    }
+  }
+  
+  private void storeValidTransactions(List<Transaction> transactions, List<Integer> validCandidates,
+      StoreTransactionResult[] results) {
+    if (validCandidates.isEmpty()) {
+      return;
+    }
+    var createdAt = new Date();
+    var toStoreTransactions = processAll(validCandidates, 
+        index -> mapToFreshPoolTransaction(transactions.get(index), createdAt));
+    var duplicatePositions = insertUnordered(toStoreTransactions);
+    var storedTransactions = new ArrayList<StoredPoolTransaction>();
+    for (int position = 0; position < validCandidates.size(); position++) {
+      var storedTransaction = toStoreTransactions.get(position);
+      if (duplicatePositions.contains(position)) {
+        results[validCandidates.get(position)] = new StoreTransactionResult(
+            storedTransaction.getTransactionHash(), Outcome.ALREADY_EXISTING, 
+            "Transaction already exists in pool!");
+      } else {
+        mempool.add(storedTransaction);
+        storedTransactions.add(storedTransaction);
+        results[validCandidates.get(position)] = new StoreTransactionResult(
+            storedTransaction.getTransactionHash(), Outcome.STORED, null);
+      }
+    }
+    transactionIndex.poolTransactionsStored(storedTransactions);
+    poolReaper.evictOverflow();
+  }
+  
+  /**
+   * Inserts all transactions, an insert failing because another thread <br>
+   * stored the same transaction in the meantime doesn't stop the others.
+   * 
+   * @return positions of the transactions that already existed
+   */
+  private Set<Integer> insertUnordered(List<StoredPoolTransaction> poolTransactions) {
+    try {
+      template.bulkOps(BulkMode.UNORDERED, StoredPoolTransaction.class)
+          .insert(poolTransactions).execute();
+      return new HashSet<>();
+    } catch (BulkOperationException e) {
+      if (e.getErrors().stream().anyMatch(error -> error.getCode() != DUPLICATE_KEY_ERROR_CODE)) {
+        throw e;
+      }
+      return e.getErrors().stream().map(BulkWriteError::getIndex).collect(Collectors.toSet());
+    }
+  }
+  
+  private Set<String> findExistingHashes(Collection<String> transactionHashes) {
+    if (transactionHashes.isEmpty()) {
+      return new HashSet<>();
+    }
+    var whereTransactionHashesIn = Query.query(
+        Criteria.where(StoredPoolTransaction.TX_HASH_NAME).in(transactionHashes));
+    whereTransactionHashesIn.fields().include(StoredPoolTransaction.TX_HASH_NAME);
+    return template.find(whereTransactionHashesIn, StoredPoolTransaction.class).stream()
+        .map(StoredPoolTransaction::getTransactionHash).collect(Collectors.toSet());
+  }
+  
+  private StoredPoolTransaction mapToFreshPoolTransaction(Transaction transaction, Date createdAt) {
+    StoredPoolTransaction poolTransaction = mapper.map(transaction, StoredPoolTransaction.class);
+    poolTransaction.setCreatedAt(createdAt);
+    poolTransaction.setStatus(RAW);
+    poolTransaction.setStatusChangedAt(createdAt);
+    poolTransaction.setByteSize(
+        transactionUtils.compressedByteSize(ImmutableList.of(transaction)));
+    return poolTransaction;
   }
   
   @Override
@@ -147,8 +396,14 @@ public class TransactionManagerImpl implements TransactionManager {
     Query whereTransactionHashesIn = new Query();
     whereTransactionHashesIn
         .addCriteria(Criteria.where(StoredPoolTransaction.TX_HASH_NAME).in(transactionHashes));
-    Update updatedStatus = Update.update(StoredPoolTransaction.STATUS_NAME, status);
+    Update updatedStatus = Update.update(StoredPoolTransaction.STATUS_NAME, status)
+        .set(StoredPoolTransaction.STATUS_CHANGED_AT_NAME, new Date());
     template.updateMulti(whereTransactionHashesIn, updatedStatus, StoredPoolTransaction.class);
+    if (RAW.equals(status)) {
+      transactionDao.findByTransactionHashIn(transactionHashes).forEach(mempool::add);
+    } else {
+      transactionHashes.forEach(mempool::remove);
+    }
   }
 
   @Override
@@ -160,48 +415,104 @@ public class TransactionManagerImpl implements TransactionManager {
   }
 
   
-  //TODO improve that, more efficient queries, one query instead of 2?
   @Override
-  public List<ViewTransactionDto> getTransactionsFromPublicKey(String publicKey) {
-    List<ViewTransactionDto> transactions = StreamSupport
-                 .stream(transactionDao.findByStatusOrderByCreatedAtAsc(RAW).spliterator(), false)
-                 .filter(transaction -> doesTransactionContainPubKey(publicKey, transaction))
-                 .map(this::mapPoolTransactionToView)
-                 .collect(Collectors.toList());
-    transactions.addAll(blockchainDao.findByTransactionsOutputsPublicKey(publicKey)
-                 .stream().map(StoredBlock::getTransactions).flatMap(Collection::stream)
-                 .filter(transaction -> doesBlockTransactionContainPubKey(publicKey, transaction))
-                 .map(this::mapTransactionToView)
-                 .collect(Collectors.toList()));
-    transactions.addAll(blockchainDao.findByTransactionsInputsPublicKey(publicKey)
-                 .stream().map(StoredBlock::getTransactions).flatMap(Collection::stream)
-                 .filter(transaction -> doesBlockTransactionContainPubKey(publicKey, transaction))
-                 .map(this::mapTransactionToView)
-                 .collect(Collectors.toList()));
-    return transactions.stream()
-        .collect(Collectors.toCollection(() 
-            -> new TreeSet<>(Comparator.comparing(ViewTransactionDto::getId))))
-        .stream().collect(Collectors.toList());
-  }
-  
-  private boolean doesTransactionContainPubKey(String publicKey, StoredPoolTransaction transaction) {
-    return transaction.getOutputs().stream()
-              .anyMatch(output -> StringUtils.equals(output.getPublicKey(), publicKey))
-        || transaction.getInputs().stream()
-              .anyMatch(input -> StringUtils.equals(input.getPublicKey(), publicKey));
-  }
-  
-  private boolean doesBlockTransactionContainPubKey(String publicKey, StoredTransaction transaction) {
-    return transaction.getOutputs().stream()
-              .anyMatch(output -> StringUtils.equals(output.getPublicKey(), publicKey))
-        || transaction.getInputs().stream()
-              .anyMatch(input -> StringUtils.equals(input.getPublicKey(), publicKey));
-  }
-  
-  private ViewTransactionDto mapPoolTransactionToView(StoredPoolTransaction poolTransaction) {
-    ViewTransactionDto viewTransaction = mapper.map(poolTransaction, ViewTransactionDto.class);
-    viewTransaction.setId(poolTransaction.getTransactionHash());
-    return viewTransaction;
+  public TransactionPoolPage fetchTransactionsAfter(String cursor, int size) {
+    var transactions = findRawPageAfter(cursor, size, false);
+    return new TransactionPoolPage(transactions.stream().map(this::mapToRegularTransaction)
+        .collect(Collectors.toList()), nextCursorOf(transactions));
+  }
+  
+  @Override
+  public TransactionHashPage fetchTransactionHashesAfter(String cursor, int size) {
+    var transactions = findRawPageAfter(cursor, size, true);
+    return new TransactionHashPage(transactions.stream().map(StoredPoolTransaction::getTransactionHash)
+        .collect(Collectors.toList()), nextCursorOf(transactions));
+  }
+  
+  private List<StoredPoolTransaction> findRawPageAfter(String cursor, int size, boolean onlyHashes) {
+    var firstPage = PageRequest.of(0, max(1, abs(size)), 
+        Sort.by(StoredPoolTransaction.CREATED_AT_NAME, StoredPoolTransaction.TX_HASH_NAME));
+    List<StoredPoolTransaction> transactions = new ArrayList<>();
+    if (StringUtils.isEmpty(cursor)) {
+      transactions = onlyHashes ? transactionDao.findHashesByStatus(RAW, firstPage) 
+          : transactionDao.findByStatus(RAW, firstPage);
+    } else if (isValidCursor(cursor)) {
+      int separator = cursor.indexOf(CURSOR_SEPARATOR);
+      var createdAt = new Date(Long.parseLong(cursor.substring(0, separator)));
+      String transactionHash = cursor.substring(separator + 1);
+      transactions = onlyHashes 
+          ? transactionDao.findHashesByStatusAfterCursor(RAW, createdAt, transactionHash, firstPage)
+          : transactionDao.findByStatusAfterCursor(RAW, createdAt, transactionHash, firstPage);
+    }
+    return transactions;
+  }
+  
+  private String nextCursorOf(List<StoredPoolTransaction> transactions) {
+    return transactions.isEmpty() ? null : createCursor(transactions.get(transactions.size() - 1));
+  }
+  
+  @Override
+  public Set<String> fetchPoolTransactionHashes() {
+    var allTransactions = new Query();
+    allTransactions.fields().include(StoredPoolTransaction.TX_HASH_NAME);
+    var transactionHashes = new HashSet<String>();
+    try (var transactions = template.stream(allTransactions, StoredPoolTransaction.class)) {
+      transactions.forEachRemaining(transaction -> transactionHashes.add(transaction.getTransactionHash()));
+    }
+    return transactionHashes;
+  }
+  
+  private String createCursor(StoredPoolTransaction transaction) {
+    return transaction.getCreatedAt().getTime() + CURSOR_SEPARATOR + transaction.getTransactionHash();
+  }
+  
+  private boolean isValidCursor(String cursor) {
+    int separator = cursor.indexOf(CURSOR_SEPARATOR);
+    if (separator <= 0 || separator >= cursor.length() - 1) {
+      return false;
+    }
+    String createdAt = cursor.substring(0, separator);
+    return createdAt.length() <= MAX_CURSOR_TIME_DIGITS && NumberUtils.isDigits(createdAt);
+  }
+
+  @Override
+  public List<ViewTransactionDto> getTransactionsFromPublicKey(String publicKey, int page, int size) {
+    int perfectSize = max(1, min(abs(size), maxHistoryPageSize));
+    return transactionIndex.findTransactions(publicKey, abs(page), perfectSize).stream()
+        .map(StoredAddressTransaction::getTransaction)
+        .map(this::mapTransactionToView)
+        .collect(Collectors.toList());
+  }
+  
+  @Override
+  public ViewTransactionPageDto getTransactionsFromPublicKeyAfter(String publicKey, String cursor, int size) {
+    int perfectSize = max(1, min(abs(size), maxHistoryPageSize));
+    List<StoredAddressTransaction> entries = new ArrayList<>();
+    if (StringUtils.isEmpty(cursor)) {
+      entries = transactionIndex.findTransactionsBefore(publicKey, null, null, perfectSize);
+    } else if (isValidCursor(cursor)) {
+      int separator = cursor.indexOf(CURSOR_SEPARATOR);
+      entries = transactionIndex.findTransactionsBefore(publicKey,
+          Long.parseLong(cursor.substring(0, separator)), cursor.substring(separator + 1), perfectSize);
+    }
+    String nextCursor = entries.isEmpty() ? null : createCursor(entries.get(entries.size() - 1));
+    return new ViewTransactionPageDto().nextCursor(nextCursor).transactions(entries.stream()
+        .map(StoredAddressTransaction::getTransaction)
+        .map(this::mapTransactionToView)
+        .collect(Collectors.toList()));
+  }
+  
+  private String createCursor(StoredAddressTransaction entry) {
+    return entry.getTimestamp() + CURSOR_SEPARATOR + entry.getTransactionHash();
+  }
+  
+  @Override
+  public void streamTransactionsFromPublicKey(String publicKey, Consumer<ViewTransactionDto> consumer) {
+    try (Stream<StoredAddressTransaction> entries = transactionIndex.streamTransactions(publicKey)) {
+      entries.map(StoredAddressTransaction::getTransaction)
+          .map(this::mapTransactionToView)
+          .forEachOrdered(consumer);
+    }
   }
   
   private ViewTransactionDto mapTransactionToView(StoredTransaction transaction) {
@@ -232,6 +543,38 @@ public class TransactionManagerImpl implements TransactionManager {
     return status;
   }
   
+  @Override
+  public MerkleProofDto getMerkleProofOfTransaction(String transactionHash)
+      throws TransactionNotFoundException {
+    Block block = blockchainDao.findByTransactionsTransactionHash(transactionHash)
+        .map(storedBlock -> mapper.map(storedBlock, Block.class))
+        .orElseThrow(() -> new TransactionNotFoundException(
+            "Couldn't find transaction in blockchain with hash: " + transactionHash));
+    Transaction transaction = block.getTransactions().stream()
+        .filter(blockTransaction -> StringUtils.equals(blockTransaction.getTransactionHash(), transactionHash))
+        .findFirst()
+        .orElseThrow(() -> new TransactionNotFoundException(
+            "Couldn't find transaction in blockchain with hash: " + transactionHash));
+    MerkleProof proof = hasher.createMerkleProof(block.getTransactions(), transaction, 
+        block.merkleRootAlgorithm());
+    return mapToProofDto(proof, block, transactionHash);
+  }
+  
+  private MerkleProofDto mapToProofDto(MerkleProof proof, Block block, String transactionHash) {
+    var proofDto = new MerkleProofDto()
+        .transactionHash(transactionHash)
+        .blockHash(block.getHash())
+        .blockPosition(block.getPosition())
+        .merkleRoot(block.getTransactionMerkleRoot())
+        .algorithm(proof.getAlgorithm().name())
+        .leafHash(proof.getLeafHash())
+        .steps(new ArrayList<>());
+    proof.getSteps().forEach(step -> proofDto.addStepsItem(new MerkleProofStepDto()
+        .siblingHash(step.getSiblingHash())
+        .siblingOnLeft(step.isSiblingOnLeft())));
+    return proofDto;
+  }
+  
   private Optional<StoredTransaction> filterTransaction(Optional<StoredBlock> block, String transactionHash) {
     return block.stream()
         .map(StoredBlock::getTransactions)
@@ -0,0 +1,97 @@
+package com.flockinger.groschn.blockchain.transaction.impl;
+
+import com.flockinger.groschn.blockchain.model.Transaction;
+import com.flockinger.groschn.commons.TransactionUtils;
+import com.flockinger.groschn.commons.serialize.SerializationFormat;
+import com.google.common.collect.ImmutableList;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Selects as many transactions as fit into the compressed transaction size <br>
+ * of a block, measured the same way the block validation does. <br>
+ * <br>
+ * Instead of compressing every candidate on it's own, candidates are added <br>
+ * by their estimated (e.g. pre-calculated, stand-alone compressed) size and <br>
+ * the real compressed size of the selection is only measured once per round. <br>
+ * Since compressing them together is smaller than the sum of the single ones, <br>
+ * every round fills up the remaining space until nothing more fits. <br>
+ * In the rare case the estimate was too low, the selection is trimmed with a <br>
+ * binary search.
+ *
+ */
+@Component
+public class TransactionPacker {
+
+  private final static int MAX_PACKING_ROUNDS = 16;
+
+  @Autowired
+  private TransactionUtils transactionUtils;
+
+  /**
+   * @param candidates candidates in the order they should be selected
+   * @param toTransaction maps a candidate to it's transaction
+   * @param estimatedByteSize estimated compressed size of a candidate
+   * @param maxByteSize compressed size of the selection must stay below that
+   * @param format serialization format the compressed size is measured with
+   * @return selected transactions in candidate order
+   */
+  public <T> List<Transaction> pack(Iterator<T> candidates, Function<T, Transaction> toTransaction,
+      ToLongFunction<T> estimatedByteSize, long maxByteSize, SerializationFormat format) {
+    var selected = new ArrayList<Transaction>();
+    long confirmedByteSize = 0;
+    T pending = null;
+
+    for (int round = 0; round < MAX_PACKING_ROUNDS; round++) {
+      int confirmedCount = selected.size();
+      long estimatedByteSizeSum = confirmedByteSize;
+      while (pending != null || candidates.hasNext()) {
+        T candidate = (pending != null) ? pending : candidates.next();
+        long candidateSize = estimatedByteSize.applyAsLong(candidate);
+        if (estimatedByteSizeSum + candidateSize >= maxByteSize) {
+          pending = candidate;
+          break;
+        }
+        pending = null;
+        selected.add(toTransaction.apply(candidate));
+        estimatedByteSizeSum += candidateSize;
+      }
+      if (selected.size() == confirmedCount) {
+        break;
+      }
+      long realByteSize = transactionUtils.compressedByteSize(selected, format);
+      if (realByteSize >= maxByteSize) {
+        return trimToFit(selected, confirmedCount, maxByteSize, format);
+      }
+      confirmedByteSize = realByteSize;
+    }
+    return selected;
+  }
+
+  /**
+   * @return compressed (FST) size of the transaction on it's own, it's larger <br>
+   * than in the schema format, so it's a conservative estimate for both
+   */
+  public long estimateByteSize(Transaction transaction) {
+    return transactionUtils.compressedByteSize(ImmutableList.of(transaction));
+  }
+
+  private List<Transaction> trimToFit(List<Transaction> selected, int fittingCount,
+      long maxByteSize, SerializationFormat format) {
+    int notFittingCount = selected.size();
+    while (notFittingCount - fittingCount > 1) {
+      int count = (fittingCount + notFittingCount) >>> 1;
+      if (transactionUtils.compressedByteSize(selected.subList(0, count), format) < maxByteSize) {
+        fittingCount = count;
+      } else {
+        notFittingCount = count;
+      }
+    }
+    return new ArrayList<>(selected.subList(0, fittingCount));
+  }
+}
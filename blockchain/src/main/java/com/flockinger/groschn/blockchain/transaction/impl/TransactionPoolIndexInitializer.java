@@ -0,0 +1,24 @@
+package com.flockinger.groschn.blockchain.transaction.impl;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.data.mongodb.MongoDbFactory;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Migrates the transaction pool to the unique transaction hash index <br>
+ * once the node is started, does nothing if the pool already has it.
+ */
+@Component
+public class TransactionPoolIndexInitializer implements ApplicationRunner {
+
+  @Autowired
+  private MongoDbFactory factory;
+
+  @Override
+  public void run(ApplicationArguments args) {
+    new TransactionPoolIndexMigration(new MongoTemplate(factory)).migrate();
+  }
+}
@@ -0,0 +1,90 @@
+package com.flockinger.groschn.blockchain.transaction.impl;
+
+import static org.springframework.data.mongodb.core.aggregation.Aggregation.group;
+import static org.springframework.data.mongodb.core.aggregation.Aggregation.match;
+import static org.springframework.data.mongodb.core.aggregation.Aggregation.newAggregation;
+import static org.springframework.data.mongodb.core.aggregation.Aggregation.sort;
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+
+import com.flockinger.groschn.blockchain.repository.model.StoredPoolTransaction;
+import java.util.List;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Sort.Direction;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOptions;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.index.IndexInfo;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.query.Query;
+
+/**
+ * Migrates the transaction pool from the plain transaction hash index <br>
+ * to the unique one, that's why the unique index is not declared on the entity: <br>
+ * creating it there fails on pools that still have the old index or duplicates.
+ */
+public class TransactionPoolIndexMigration {
+
+  public final static String OLD_INDEX_NAME = "idx_pool_transaction_hash";
+  public final static String UNIQUE_INDEX_NAME = "idx_pool_unique_transaction_hash";
+
+  private final static String ID_NAME = "_id";
+  private final static String IDS_NAME = "ids";
+  private final static String COUNT_NAME = "count";
+
+  private final MongoTemplate template;
+
+  private final static Logger LOG = LoggerFactory.getLogger(TransactionPoolIndexMigration.class);
+
+  public TransactionPoolIndexMigration(MongoTemplate template) {
+    this.template = template;
+  }
+
+  /**
+   * Removes duplicated pool transactions (keeping the first stored one), <br>
+   * drops the old transaction hash index and creates the unique one. <br>
+   * Does nothing if the unique index already exists.
+   */
+  public void migrate() {
+    var indexOps = template.indexOps(StoredPoolTransaction.class);
+    if (hasIndex(indexOps, UNIQUE_INDEX_NAME)) {
+      return;
+    }
+    removeDuplicates();
+    if (hasIndex(indexOps, OLD_INDEX_NAME)) {
+      LOG.info("Dropping old transaction pool index {}", OLD_INDEX_NAME);
+      indexOps.dropIndex(OLD_INDEX_NAME);
+    }
+    indexOps.ensureIndex(new Index().on(StoredPoolTransaction.TX_HASH_NAME, Direction.ASC)
+        .named(UNIQUE_INDEX_NAME).unique().sparse().background());
+  }
+
+  private void removeDuplicates() {
+    var duplicates = newAggregation(
+        match(where(StoredPoolTransaction.TX_HASH_NAME).exists(true)),
+        sort(Direction.ASC, ID_NAME),
+        group(StoredPoolTransaction.TX_HASH_NAME).push(ID_NAME).as(IDS_NAME).count().as(COUNT_NAME),
+        match(where(COUNT_NAME).gt(1)))
+        .withOptions(AggregationOptions.builder().allowDiskUse(true).build());
+    long removed = 0;
+    for (Document duplicate : aggregate(duplicates)) {
+      List<?> ids = duplicate.get(IDS_NAME, List.class);
+      var toRemove = Query.query(where(ID_NAME).in(ids.subList(1, ids.size())));
+      removed += template.remove(toRemove, StoredPoolTransaction.class).getDeletedCount();
+    }
+    if (removed > 0) {
+      LOG.warn("Removed {} duplicated transactions from the pool", removed);
+    }
+  }
+
+  private List<Document> aggregate(Aggregation aggregation) {
+    return template.aggregate(aggregation, template.getCollectionName(StoredPoolTransaction.class),
+        Document.class).getMappedResults();
+  }
+
+  private boolean hasIndex(IndexOperations indexOps, String name) {
+    return indexOps.getIndexInfo().stream().map(IndexInfo::getName).anyMatch(name::equals);
+  }
+}
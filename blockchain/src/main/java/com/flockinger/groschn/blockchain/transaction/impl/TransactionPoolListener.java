@@ -1,8 +1,6 @@
 package com.flockinger.groschn.blockchain.transaction.impl;
 
 import com.flockinger.groschn.blockchain.model.Transaction;
-import com.flockinger.groschn.blockchain.transaction.TransactionManager;
-import com.flockinger.groschn.commons.exception.BlockchainException;
 import com.flockinger.groschn.messaging.config.MainTopics;
 import com.flockinger.groschn.messaging.inbound.MessageListener;
 import com.flockinger.groschn.messaging.inbound.MessagePackageHelper;
@@ -19,7 +17,7 @@ import org.springframework.stereotype.Component;
 public class TransactionPoolListener implements MessageListener<MessagePayload> {
   
   @Autowired
-  private TransactionManager transactionManager;
+  private TransactionIngestor ingestor;
   @Autowired
   @Qualifier("TransactionId_Cache")
   private Cache<String, String> transactionIdCache;
@@ -33,12 +31,8 @@ public class TransactionPoolListener implements MessageListener<MessagePayload>
   public void receiveMessage(Message<MessagePayload> message) {
     var unpackedTransaction = helper.verifyAndUnpackMessage(message, transactionIdCache, Transaction.class);
 
-    if(unpackedTransaction.isPresent()) {
-      try {
-        transactionManager.storeTransaction(unpackedTransaction.get());
-      } catch (BlockchainException e) {
-        LOG.error("Invalid Transaction-Message received: " + e.getMessage(), e);
-      }
+    if(unpackedTransaction.isPresent() && !ingestor.submit(unpackedTransaction.get())) {
+      LOG.warn("Dropped received Transaction, ingestion queue is full!");
     }
   }
 
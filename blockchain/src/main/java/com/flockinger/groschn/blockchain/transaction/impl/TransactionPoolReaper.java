@@ -0,0 +1,131 @@
+package com.flockinger.groschn.blockchain.transaction.impl;
+
+import static com.flockinger.groschn.blockchain.repository.model.TransactionStatus.EMBEDDED_IN_BLOCK;
+import static com.flockinger.groschn.blockchain.repository.model.TransactionStatus.RAW;
+
+import com.flockinger.groschn.blockchain.repository.TransactionPoolRepository;
+import com.flockinger.groschn.blockchain.repository.model.StoredPoolTransaction;
+import com.flockinger.groschn.blockchain.repository.model.TransactionStatus;
+import com.google.common.collect.Lists;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.MongoDbFactory;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps the transaction pool bounded: <br>
+ * - RAW and EMBEDDED_IN_BLOCK transactions expire after their configured time to live <br>
+ * (counted from their last status change), <br>
+ * - if there are still more RAW transactions (or bytes of them) than allowed, <br>
+ * the ones with the lowest fee per byte are evicted. <br>
+ * <br>
+ * Runs periodically in the background and can also be triggered directly.
+ *
+ */
+@Component
+public class TransactionPoolReaper {
+
+  @Autowired
+  private TransactionPoolRepository transactionDao;
+  @Autowired
+  private MempoolIndex mempool;
+  @Autowired
+  private AddressTransactionIndex transactionIndex;
+  private final MongoTemplate template;
+
+  @Value("${blockchain.transaction-pool.max-entries}")
+  private Integer maxEntries;
+  @Value("${blockchain.transaction-pool.max-byte-size}")
+  private Long maxByteSize;
+  @Value("${blockchain.transaction-pool.raw-ttl-minutes}")
+  private Long rawTtlMinutes;
+  @Value("${blockchain.transaction-pool.embedded-ttl-minutes}")
+  private Long embeddedTtlMinutes;
+
+  private final static int DELETE_BATCH_SIZE = 500;
+  private final static Logger LOG = LoggerFactory.getLogger(TransactionPoolReaper.class);
+
+  @Autowired
+  public TransactionPoolReaper(MongoDbFactory factory) {
+    template = new MongoTemplate(factory);
+  }
+
+  @Scheduled(initialDelayString = "${blockchain.transaction-pool.reaper.initial-delay}",
+      fixedRateString = "${blockchain.transaction-pool.reaper.rate}")
+  public void reap() {
+    try {
+      expireOldTransactions();
+      evictOverflow();
+    } catch (RuntimeException e) {
+      LOG.error("Something unexpected happened while cleaning up the transaction pool!", e);
+    }
+  }
+
+  /**
+   * Deletes all RAW and EMBEDDED_IN_BLOCK transactions that had their status <br>
+   * for longer than their time to live.
+   */
+  public synchronized void expireOldTransactions() {
+    var expiredRawQuery = whereExpired(RAW, rawTtlMinutes);
+    expiredRawQuery.fields().include(StoredPoolTransaction.TX_HASH_NAME);
+    var expiredRawHashes = template.find(expiredRawQuery, StoredPoolTransaction.class).stream()
+        .map(StoredPoolTransaction::getTransactionHash).collect(Collectors.toList());
+    long expiredRaw = delete(expiredRawHashes);
+    long expiredEmbedded = template.remove(whereExpired(EMBEDDED_IN_BLOCK, embeddedTtlMinutes),
+        StoredPoolTransaction.class).getDeletedCount();
+    if (expiredRaw + expiredEmbedded > 0) {
+      LOG.info("Expired {} raw and {} embedded transactions from the pool.", expiredRaw,
+          expiredEmbedded);
+    }
+  }
+
+  private Query whereExpired(TransactionStatus status, long ttlMinutes) {
+    var expiredBefore = new Date(System.currentTimeMillis() - TimeUnit.MINUTES.toMillis(ttlMinutes));
+    return Query.query(Criteria.where(StoredPoolTransaction.STATUS_NAME).is(status)
+        .orOperator(Criteria.where(StoredPoolTransaction.STATUS_CHANGED_AT_NAME).lt(expiredBefore),
+            Criteria.where(StoredPoolTransaction.STATUS_CHANGED_AT_NAME).exists(false)
+                .and(StoredPoolTransaction.CREATED_AT_NAME).lt(expiredBefore)));
+  }
+
+  /**
+   * Evicts the RAW transactions with the lowest fee per byte until the pool <br>
+   * is within it's maximum entry count and byte size again.
+   */
+  public synchronized void evictOverflow() {
+    long entries = mempool.size();
+    long byteSize = mempool.byteSize();
+    var leastValuable = mempool.hashesByLowestPriority();
+    var toEvict = new ArrayList<String>();
+    while ((entries > maxEntries || byteSize > maxByteSize) && leastValuable.hasNext()) {
+      String transactionHash = leastValuable.next();
+      toEvict.add(transactionHash);
+      entries--;
+      byteSize -= mempool.byteSizeOf(transactionHash);
+    }
+    if (!toEvict.isEmpty()) {
+      LOG.info("Evicted {} lowest fee transactions from the full pool.", delete(toEvict));
+    }
+  }
+
+  private long delete(List<String> transactionHashes) {
+    long deleted = 0;
+    for (List<String> batch : Lists.partition(transactionHashes, DELETE_BATCH_SIZE)) {
+      Long deletedInBatch = transactionDao.deleteByTransactionHashIn(batch);
+      batch.forEach(mempool::remove);
+      transactionIndex.poolTransactionsRemoved(batch);
+      deleted += (deletedInBatch != null) ? deletedInBatch : 0;
+    }
+    return deleted;
+  }
+}
@@ -4,10 +4,22 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
 import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 import com.flockinger.groschn.blockchain.exception.validation.AssessmentFailedException;
 import com.flockinger.groschn.blockchain.model.Transaction;
@@ -15,9 +27,12 @@ import com.flockinger.groschn.blockchain.model.TransactionInput;
 import com.flockinger.groschn.blockchain.validation.Assessment;
 import com.flockinger.groschn.blockchain.validation.Validator;
 import com.flockinger.groschn.commons.exception.BlockchainException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
 
 @Component("BlockTransaction_Validator")
-public class BlockTransactionsValidator implements Validator<List<Transaction>>{
+public class BlockTransactionsValidator implements Validator<List<Transaction>>, MeterBinder {
   /*
    Overall checks (regarding all Transactions):
    ********************************************
@@ -38,12 +53,60 @@ public class BlockTransactionsValidator implements Validator<List<Transaction>>{
   @Autowired
   private TransactionValidationHelper helper;
   
+  /**
+   * Amount of threads validating the normal transactions of a block in parallel, <br>
+   * zero or less means one per available processor, one validates them sequentially.
+   */
+  @Value("${blockchain.validation.transactions.threads:1}")
+  private Integer validationThreads;
+  /**
+   * Blocks with less normal transactions are validated sequentially, <br>
+   * since handing them over to the pool would cost more than it saves.
+   */
+  @Value("${blockchain.validation.transactions.parallel-threshold:8}")
+  private Integer parallelThreshold;
+  
+  private ExecutorService validationPool;
+  /**
+   * Latency timers by mode (sequential, parallel) and validity (invalid, valid), <br>
+   * registered once the meter registry is bound.
+   */
+  private volatile Timer[][] latencyTimers;
+  
   private final static Boolean NORMAL = false;
   private final static Boolean REWARD = true;
+  private final static String LATENCY_METRIC = "blockchain.validation.block-transactions";
+  
+  private final static Logger LOG = LoggerFactory.getLogger(BlockTransactionsValidator.class);
+  
+  @PostConstruct
+  public void setupValidationPool() {
+    if(validationThreads <= 0) {
+      validationThreads = Runtime.getRuntime().availableProcessors();
+    }
+    if(validationThreads > 1) {
+      var threadCount = new AtomicInteger();
+      validationPool = Executors.newFixedThreadPool(validationThreads, runnable -> {
+        var thread = new Thread(runnable, "transaction-validator-" + threadCount.incrementAndGet());
+        thread.setDaemon(true);
+        return thread;
+      });
+    }
+  }
+  
+  @PreDestroy
+  public void shutdownValidationPool() {
+    if(validationPool != null) {
+      validationPool.shutdownNow();
+      validationPool = null;
+    }
+  }
   
   @Override
   public Assessment validate(List<Transaction> transactions) {
+    long startTime = System.nanoTime();
     Assessment isBlockValid = new Assessment();
+    List<Transaction> normalTransactions = new ArrayList<>();
     // Validations for a new BlockTransactions:
     try {
       //1. verify correct double-bookkeeping (input amounts must equal output amounts)
@@ -53,19 +116,99 @@ public class BlockTransactionsValidator implements Validator<List<Transaction>>{
       //3. verify that a input publicKey transaction-unique in one block 
       checkDoubleSpendInputs(extract);
       //4. verify reward transaction
-      rewardTransactionValidator.validate(extract.get(REWARD).get(0));
+      verifyTransactionAssessment(rewardTransactionValidator.validate(extract.get(REWARD).get(0)));
       //5. verify normal transactions
-      for(Transaction normalTransaction: extract.get(NORMAL)) {
-        transactionValidator.validate(normalTransaction);
-      }
+      normalTransactions = extract.get(NORMAL);
+      validateNormalTransactions(normalTransactions);
       isBlockValid.setValid(true);
     } catch (BlockchainException e) {
       isBlockValid.setValid(false);
       isBlockValid.setReasonOfFailure(e.getMessage());
     }  
+    reportLatency(transactions.size(), isParallel(normalTransactions), isBlockValid.isValid(), 
+        System.nanoTime() - startTime);
   return isBlockValid;
   }
   
+  /**
+   * Normal transactions are independent of each other (their input public-keys <br>
+   * are unique in the block), so they can be validated in any order.
+   */
+  private void validateNormalTransactions(List<Transaction> normalTransactions) {
+    if(isParallel(normalTransactions)) {
+      validateInParallel(normalTransactions);
+    } else {
+      for(Transaction normalTransaction: normalTransactions) {
+        verifyTransactionAssessment(transactionValidator.validate(normalTransaction));
+      }
+    }
+  }
+  
+  private boolean isParallel(List<Transaction> normalTransactions) {
+    return validationPool != null && normalTransactions.size() >= parallelThreshold;
+  }
+  
+  /**
+   * Transaction validators report invalid transactions with their assessment <br>
+   * instead of throwing, so that has to be turned into a failure here.
+   */
+  private void verifyTransactionAssessment(Assessment assessment) {
+    if(assessment == null || !assessment.isValid()) {
+      throw new AssessmentFailedException(assessment != null 
+          ? assessment.getReasonOfFailure() : "Transaction validation returned no assessment!");
+    }
+  }
+  
+  /**
+   * Stops at the first failing transaction and cancels all not yet started validations, <br>
+   * running ones are not interrupted so their database reads finish cleanly.
+   */
+  private void validateInParallel(List<Transaction> normalTransactions) {
+    var completionService = new ExecutorCompletionService<Assessment>(validationPool);
+    var validations = new ArrayList<Future<Assessment>>();
+    try {
+      for(Transaction normalTransaction: normalTransactions) {
+        validations.add(completionService.submit(() -> transactionValidator.validate(normalTransaction)));
+      }
+      for(int doneCount=0; doneCount < validations.size(); doneCount++) {
+        verifyTransactionAssessment(completionService.take().get());
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new AssessmentFailedException("Transaction validation was interrupted!");
+    } catch (ExecutionException e) {
+      if(e.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) e.getCause();
+      }
+      throw new AssessmentFailedException("Transaction validation failed: " + e.getCause());
+    } finally {
+      validations.forEach(validation -> validation.cancel(false));
+    }
+  }
+  
+  @Override
+  public void bindTo(MeterRegistry registry) {
+    latencyTimers = new Timer[][] {
+      {latencyTimer(registry, "sequential", false), latencyTimer(registry, "sequential", true)},
+      {latencyTimer(registry, "parallel", false), latencyTimer(registry, "parallel", true)}};
+  }
+  
+  private Timer latencyTimer(MeterRegistry registry, String mode, boolean isValid) {
+    return Timer.builder(LATENCY_METRIC)
+        .tag("mode", mode)
+        .tag("valid", Boolean.toString(isValid))
+        .register(registry);
+  }
+  
+  private void reportLatency(int transactionCount, boolean isParallel, boolean isValid, long durationNanos) {
+    var timers = latencyTimers;
+    if(timers != null) {
+      timers[isParallel ? 1 : 0][isValid ? 1 : 0].record(durationNanos, TimeUnit.NANOSECONDS);
+    }
+    LOG.debug("Validated {} block transactions in {} ms, valid: {}", transactionCount, 
+        TimeUnit.NANOSECONDS.toMillis(durationNanos), isValid);
+  }
+  
   /**
    * Very important check that Transaction-Inputs are unique on the publicKey Level for one Block.
    * The only exception is the miner's publicKey which must be present, but can be listed 2 times
@@ -1,6 +1,5 @@
 package com.flockinger.groschn.blockchain.validation.impl;
 
-import com.flockinger.groschn.blockchain.blockworks.BlockMaker;
 import com.flockinger.groschn.blockchain.blockworks.BlockStorageService;
 import com.flockinger.groschn.blockchain.exception.validation.AssessmentFailedException;
 import com.flockinger.groschn.blockchain.model.Block;
@@ -52,9 +51,9 @@ abstract class BlockValidator implements Validator<Block> {
       // 5. check if timestamp is in the past but not too much (set limit for that maybe 2 hours like bitcoin or less)
       verifyTimestamp(value.getTimestamp());
       // 6. check if version is correct
-      verifyVersion(value.getVersion());
+      verifyVersion(value);
       // 7. check max transaction size
-      checkTransactionSize(value.getTransactions());
+      checkTransactionSize(value);
       // 8. call consent validation
       validateConsensus(value, lastBlock);
       // 9. call transaction validations
@@ -100,7 +99,8 @@ abstract class BlockValidator implements Validator<Block> {
   }
   
   private void verifyTransactionsMerkleRoot(Block value) {    
-    String rootHash = validationUtils.calculateMerkleRootHash(value.getTransactions());
+    String rootHash = validationUtils.calculateMerkleRootHash(value.getTransactions(), 
+        value.merkleRootAlgorithm());
     verifyAssessment(rootHash.equals(value.getTransactionMerkleRoot()), 
         "MerkleRoot-Hash of all transactions is wrong!");
   }
@@ -111,13 +111,18 @@ abstract class BlockValidator implements Validator<Block> {
         "Blocks cannot be dated in the future!");
   }
   
-  private void verifyVersion(Integer version) {
-    verifyAssessment(version != null && Objects.equals(BlockMaker.CURRENT_BLOCK_VERSION, version),
+  private void verifyVersion(Block block) {
+    var version = block.getVersion();
+    verifyAssessment(version != null && Objects.equals(Block.versionAt(block.getPosition()), version),
         "Version is not valid for this client: " + version);
+    verifyAssessment(block.isBinaryHashed() || block.getTransactions().stream()
+        .noneMatch(Transaction::isBinaryHashed), 
+        "Binary hashed transactions are only valid in binary hashed blocks!");
   }
   
-  private void checkTransactionSize(List<Transaction> transactions) {
-    int compressedSize = validationUtils.compressedByteSize(transactions);
+  private void checkTransactionSize(Block block) {
+    int compressedSize = validationUtils.compressedByteSize(block.getTransactions(), 
+        Block.sizeFormatAt(block.getPosition()));
     verifyAssessment(compressedSize <= Block.MAX_TRANSACTION_BYTE_SIZE, 
         "Max compressed transaction size exceeded: " + compressedSize);
   }
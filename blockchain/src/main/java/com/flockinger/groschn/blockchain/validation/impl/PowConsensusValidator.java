@@ -1,6 +1,5 @@
 package com.flockinger.groschn.blockchain.validation.impl;
 
-import static com.flockinger.groschn.blockchain.consensus.impl.ProofOfWorkAlgorithm.LEADING_ZERO;
 import static com.flockinger.groschn.blockchain.consensus.impl.ProofOfWorkAlgorithm.MINING_RATE_MILLISECONDS;
 
 import com.flockinger.groschn.blockchain.consensus.model.ConsensusType;
@@ -10,8 +9,8 @@ import com.flockinger.groschn.blockchain.model.Block;
 import com.flockinger.groschn.blockchain.validation.Assessment;
 import com.flockinger.groschn.blockchain.validation.ConsentValidator;
 import com.flockinger.groschn.commons.exception.BlockchainException;
+import com.flockinger.groschn.commons.hash.DifficultyTarget;
 import java.util.Date;
-import org.apache.commons.lang3.StringUtils;
 import org.springframework.stereotype.Component;
 
 @Component("ProofOfWork_Validator")
@@ -42,8 +41,7 @@ class PowConsensusValidator implements ConsentValidator {
     if(consent.getDifficulty() < 0) {
       throw new AssessmentFailedException("Block difficulty must not be negative!");
     }
-    String wantedHashPrefix = StringUtils.repeat(LEADING_ZERO, consent.getDifficulty());
-    if(!StringUtils.startsWith(block.getHash(), wantedHashPrefix)) {
+    if(!new DifficultyTarget(consent.getDifficulty()).isMetBy(block.getHash())) {
       throw new AssessmentFailedException("Block hash is invalid, "
           + "difficulty target was not applied correctly!");
     }
@@ -0,0 +1,43 @@
+package com.flockinger.groschn.blockchain.wallet;
+
+import com.flockinger.groschn.blockchain.repository.model.StoredBlock;
+import java.math.BigDecimal;
+import java.util.Optional;
+
+/**
+ * Per public key balances, incrementally maintained for each stored <br>
+ * or removed block, so a balance lookup is a single indexed read. <br>
+ * <br>
+ * Until the ledger is initialized (verified or rebuilt from the chain) <br>
+ * balances are calculated from the blockchain itself.
+ */
+public interface BalanceLedger {
+
+  BigDecimal getBalance(String publicKey);
+
+  /**
+   * Applies a block that was just stored in the blockchain.
+   *
+   * @param block freshly stored block
+   * @param replacedBlock block previously stored at the same position (if any)
+   */
+  void blockStored(StoredBlock block, Optional<StoredBlock> replacedBlock);
+
+  /**
+   * Rolls back a block that was just removed from the blockchain.
+   *
+   * @param block removed block
+   */
+  void blockRemoved(StoredBlock block);
+
+  /**
+   * Activates the ledger, rebuilds it if it doesn't match the blockchain <br>
+   * (e.g. because an update was interrupted).
+   */
+  void initialize();
+
+  /**
+   * Recalculates all balances from the whole blockchain.
+   */
+  void rebuild();
+}
@@ -0,0 +1,76 @@
+package com.flockinger.groschn.blockchain.wallet.impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Bounded cache of ledger balances for frequently requested public keys <br>
+ * (e.g. the node's own key used for every block reward). <br>
+ * <br>
+ * Entries stay valid until a stored or removed block touches their key. <br>
+ * Balances loaded while the ledger changed aren't cached, because they <br>
+ * might be read before the change was written.
+ */
+@Component
+public class BalanceCache implements MeterBinder {
+
+  private final Cache<String, BigDecimal> balances;
+  private final AtomicLong ledgerVersion = new AtomicLong();
+
+  public BalanceCache(@Value("${blockchain.balance-ledger.cache-size:10000}") long cacheSize) {
+    balances = Caffeine.newBuilder().maximumSize(cacheSize).recordStats().build();
+  }
+
+  public BigDecimal get(String publicKey, Function<String, BigDecimal> loader) {
+    var balance = balances.getIfPresent(publicKey);
+    if (balance == null) {
+      long loadedAtVersion = ledgerVersion.get();
+      balance = loader.apply(publicKey);
+      synchronized (this) {
+        if (loadedAtVersion == ledgerVersion.get()) {
+          balances.put(publicKey, balance);
+        }
+      }
+    }
+    return balance;
+  }
+
+  /**
+   * Must be called after the ledger changed the balances of the public keys.
+   *
+   * @param publicKeys keys touched by a stored or removed block
+   */
+  public synchronized void invalidate(Collection<String> publicKeys) {
+    ledgerVersion.incrementAndGet();
+    balances.invalidateAll(publicKeys);
+  }
+
+  public synchronized void invalidateAll() {
+    ledgerVersion.incrementAndGet();
+    balances.invalidateAll();
+  }
+
+  @Override
+  public void bindTo(MeterRegistry registry) {
+    FunctionCounter.builder("groschn.balance.cache.hits", balances, cache -> cache.stats().hitCount())
+      .description("Balances served from the cache")
+      .register(registry);
+    FunctionCounter.builder("groschn.balance.cache.misses", balances, cache -> cache.stats().missCount())
+      .description("Balances that had to be read from the ledger")
+      .register(registry);
+    Gauge.builder("groschn.balance.cache.hit-rate", balances, cache -> cache.stats().hitRate())
+      .register(registry);
+    Gauge.builder("groschn.balance.cache.size", balances, Cache::estimatedSize)
+      .register(registry);
+  }
+}
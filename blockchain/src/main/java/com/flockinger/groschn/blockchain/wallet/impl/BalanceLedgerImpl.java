@@ -0,0 +1,259 @@
+package com.flockinger.groschn.blockchain.wallet.impl;
+
+import com.flockinger.groschn.blockchain.repository.BalanceRepository;
+import com.flockinger.groschn.blockchain.repository.BlockchainRepository;
+import com.flockinger.groschn.blockchain.repository.model.StoredBalance;
+import com.flockinger.groschn.blockchain.repository.model.StoredBalanceLedgerState;
+import com.flockinger.groschn.blockchain.repository.model.StoredBlock;
+import com.flockinger.groschn.blockchain.repository.model.StoredTransaction;
+import com.flockinger.groschn.blockchain.repository.model.StoredTransactionInput;
+import com.flockinger.groschn.blockchain.repository.model.StoredTransactionOutput;
+import com.flockinger.groschn.blockchain.repository.model.StoredTransactionStatement;
+import com.flockinger.groschn.blockchain.wallet.BalanceLedger;
+import com.google.common.collect.Iterables;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Sort.Direction;
+import org.springframework.data.mongodb.MongoDbFactory;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+/**
+ * Balance of a public key is the sum of all it's outputs starting from <br>
+ * the last block where it spent funds (every expense spends the whole <br>
+ * balance and sends the change back as output). <br>
+ * <br>
+ * So applying a block only needs the previous balance: an expense block <br>
+ * resets it to the block's outputs, any other adds them. Blocks that are <br>
+ * not appended after the last change of a key (replaced or re-applied ones) <br>
+ * and removed blocks are recalculated from the blockchain for their keys.
+ */
+@Component
+public class BalanceLedgerImpl implements BalanceLedger {
+
+  private final static int SAVE_BATCH_SIZE = 1000;
+  private final static String POSITION_NAME = "position";
+
+  @Autowired
+  private BalanceRepository balanceDao;
+  @Autowired
+  private BlockchainRepository blockDao;
+  @Autowired
+  private BalanceCache cache;
+  private final MongoTemplate template;
+
+  private volatile boolean ready = false;
+
+  private final static Logger LOG = LoggerFactory.getLogger(BalanceLedgerImpl.class);
+
+  @Autowired
+  public BalanceLedgerImpl(MongoDbFactory factory) {
+    template = new MongoTemplate(factory);
+  }
+
+  @Override
+  public BigDecimal getBalance(String publicKey) {
+    if (!ready) {
+      return calculateFromChain(publicKey).getBalance();
+    }
+    return cache.get(publicKey, key -> balanceDao.findByPublicKey(key)
+        .map(StoredBalance::getBalance).orElse(BigDecimal.ZERO));
+  }
+
+  @Override
+  public synchronized void blockStored(StoredBlock block, Optional<StoredBlock> replacedBlock) {
+    if (!ready) {
+      return;
+    }
+    var state = markInconsistent();
+    var changes = new BalanceChanges(block);
+    var recalculatedKeys = new HashSet<String>();
+    replacedBlock.map(BalanceChanges::new).ifPresent(replaced -> recalculatedKeys.addAll(replaced.keys()));
+    var allKeys = new HashSet<>(changes.keys());
+    allKeys.addAll(recalculatedKeys);
+    var balances = findBalances(allKeys);
+
+    var changedBalances = new ArrayList<StoredBalance>();
+    for (String publicKey : changes.keys()) {
+      var balance = balances.get(publicKey);
+      if (balance != null && balance.getLastChangePosition() >= block.getPosition()) {
+        recalculatedKeys.add(publicKey);
+      } else if (!recalculatedKeys.contains(publicKey)) {
+        changedBalances.add(changes.applyTo(
+            Optional.ofNullable(balance).orElseGet(() -> new StoredBalance(publicKey)),
+            block.getPosition()));
+      }
+    }
+    recalculatedKeys.forEach(publicKey -> changedBalances.add(recalculate(publicKey, balances)));
+    balanceDao.saveAll(changedBalances);
+    cache.invalidate(allKeys);
+
+    if (block.getPosition() >= state.getPosition()) {
+      state.setPosition(block.getPosition());
+      state.setBlockHash(block.getHash());
+    }
+    markConsistent(state);
+  }
+
+  @Override
+  public synchronized void blockRemoved(StoredBlock block) {
+    if (!ready) {
+      return;
+    }
+    var state = markInconsistent();
+    var keys = new BalanceChanges(block).keys();
+    var balances = findBalances(keys);
+    balanceDao.saveAll(keys.stream().map(publicKey -> recalculate(publicKey, balances))
+        .collect(Collectors.toList()));
+    cache.invalidate(keys);
+
+    if (Objects.equals(block.getPosition(), state.getPosition())) {
+      var latestBlock = blockDao.findFirstByOrderByPositionDesc();
+      state.setPosition(latestBlock.map(StoredBlock::getPosition).orElse(0l));
+      state.setBlockHash(latestBlock.map(StoredBlock::getHash).orElse(null));
+    }
+    markConsistent(state);
+  }
+
+  @Override
+  public synchronized void initialize() {
+    var state = template.findById(StoredBalanceLedgerState.LEDGER_ID, StoredBalanceLedgerState.class);
+    var latestBlock = blockDao.findFirstByOrderByPositionDesc();
+    boolean isLedgerUpToDate = state != null && state.isConsistent() && latestBlock.isPresent()
+        && Objects.equals(state.getPosition(), latestBlock.get().getPosition())
+        && Objects.equals(state.getBlockHash(), latestBlock.get().getHash());
+    if (isLedgerUpToDate) {
+      ready = true;
+      LOG.info("Balance ledger is up to date with block {}", state.getPosition());
+    } else {
+      LOG.warn("Balance ledger doesn't match the blockchain, rebuilding it.");
+      rebuild();
+    }
+  }
+
+  @Override
+  public synchronized void rebuild() {
+    ready = false;
+    var state = markInconsistent();
+    var balances = new HashMap<String, StoredBalance>();
+    var query = new Query().with(Sort.by(Direction.ASC, POSITION_NAME));
+    try (var blocks = template.stream(query, StoredBlock.class)) {
+      blocks.forEachRemaining(block -> {
+        var changes = new BalanceChanges(block);
+        changes.keys().forEach(publicKey -> changes.applyTo(
+            balances.computeIfAbsent(publicKey, StoredBalance::new), block.getPosition()));
+        state.setPosition(block.getPosition());
+        state.setBlockHash(block.getHash());
+      });
+    }
+    balanceDao.deleteAll();
+    Iterables.partition(balances.values(), SAVE_BATCH_SIZE).forEach(balanceDao::saveAll);
+    cache.invalidateAll();
+    markConsistent(state);
+    ready = true;
+    LOG.info("Balance ledger rebuilt for {} public keys up to block {}", balances.size(),
+        state.getPosition());
+  }
+
+  private Map<String, StoredBalance> findBalances(Set<String> publicKeys) {
+    return balanceDao.findByPublicKeyIn(publicKeys).stream()
+        .collect(Collectors.toMap(StoredBalance::getPublicKey, Function.identity()));
+  }
+
+  private StoredBalance recalculate(String publicKey, Map<String, StoredBalance> balances) {
+    var balance = calculateFromChain(publicKey);
+    Optional.ofNullable(balances.get(publicKey)).map(StoredBalance::getId).ifPresent(balance::setId);
+    return balance;
+  }
+
+  private StoredBalance calculateFromChain(String publicKey) {
+    var balance = new StoredBalance(publicKey);
+    long lastExpensePosition = blockDao.findLastExpensePosition(publicKey).orElse(0l);
+    var incomes = blockDao.findOutputStatements(publicKey, lastExpensePosition);
+    balance.setBalance(incomes.stream().map(StoredTransactionStatement::getTransaction)
+        .flatMap(transaction -> nullSafe(transaction.getOutputs()).stream())
+        .map(StoredTransactionOutput::getAmount).filter(Objects::nonNull)
+        .reduce(BigDecimal::add).orElse(BigDecimal.ZERO));
+    balance.setLastExpensePosition(lastExpensePosition);
+    balance.setLastChangePosition(incomes.stream().map(StoredTransactionStatement::getPosition)
+        .reduce(lastExpensePosition, Long::max));
+    return balance;
+  }
+
+  private StoredBalanceLedgerState markInconsistent() {
+    var state = Optional.ofNullable(template.findById(StoredBalanceLedgerState.LEDGER_ID,
+        StoredBalanceLedgerState.class)).orElseGet(StoredBalanceLedgerState::new);
+    state.setConsistent(false);
+    template.save(state);
+    return state;
+  }
+
+  private void markConsistent(StoredBalanceLedgerState state) {
+    state.setConsistent(true);
+    template.save(state);
+  }
+
+  private static <T> List<T> nullSafe(List<T> values) {
+    return values != null ? values : List.of();
+  }
+
+  /**
+   * Incomes and spending public keys of one block.
+   */
+  private static class BalanceChanges {
+    private final Map<String, BigDecimal> incomes = new HashMap<>();
+    private final Set<String> spenders = new HashSet<>();
+    private final Set<String> keys = new LinkedHashSet<>();
+
+    BalanceChanges(StoredBlock block) {
+      for (StoredTransaction transaction : nullSafe(block.getTransactions())) {
+        for (StoredTransactionInput input : nullSafe(transaction.getInputs())) {
+          if (input.getPublicKey() != null) {
+            spenders.add(input.getPublicKey());
+            keys.add(input.getPublicKey());
+          }
+        }
+        for (StoredTransactionOutput output : nullSafe(transaction.getOutputs())) {
+          if (output.getPublicKey() != null && output.getAmount() != null) {
+            incomes.merge(output.getPublicKey(), output.getAmount(), BigDecimal::add);
+            keys.add(output.getPublicKey());
+          }
+        }
+      }
+    }
+
+    Set<String> keys() {
+      return keys;
+    }
+
+    BigDecimal incomeOf(String publicKey) {
+      return incomes.getOrDefault(publicKey, BigDecimal.ZERO);
+    }
+
+    StoredBalance applyTo(StoredBalance balance, Long position) {
+      if (spenders.contains(balance.getPublicKey())) {
+        balance.setBalance(incomeOf(balance.getPublicKey()));
+        balance.setLastExpensePosition(position);
+      } else {
+        balance.setBalance(balance.getBalance().add(incomeOf(balance.getPublicKey())));
+      }
+      balance.setLastChangePosition(position);
+      return balance;
+    }
+  }
+}
@@ -0,0 +1,32 @@
+package com.flockinger.groschn.blockchain.wallet.impl;
+
+import com.flockinger.groschn.blockchain.wallet.BalanceLedger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+/**
+ * Activates the balance ledger once the node is started, <br>
+ * start the node with --blockchain.balance-ledger.rebuild-on-startup=true <br>
+ * to force rebuilding it from the whole blockchain.
+ */
+@Component
+public class BalanceLedgerInitializer implements ApplicationRunner {
+
+  @Autowired
+  private BalanceLedger ledger;
+  
+  @Value("${blockchain.balance-ledger.rebuild-on-startup:false}")
+  private boolean rebuildOnStartup;
+  
+  @Override
+  public void run(ApplicationArguments args) {
+    if (rebuildOnStartup) {
+      ledger.rebuild();
+    } else {
+      ledger.initialize();
+    }
+  }
+}
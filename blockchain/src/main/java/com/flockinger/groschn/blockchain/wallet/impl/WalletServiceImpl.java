@@ -2,13 +2,9 @@ package com.flockinger.groschn.blockchain.wallet.impl;
 
 import com.flockinger.groschn.blockchain.dto.WalletDto;
 import com.flockinger.groschn.blockchain.exception.wallet.WalletNotFoundException;
-import com.flockinger.groschn.blockchain.model.Block;
-import com.flockinger.groschn.blockchain.model.Transaction;
-import com.flockinger.groschn.blockchain.model.TransactionOutput;
-import com.flockinger.groschn.blockchain.repository.BlockchainRepository;
 import com.flockinger.groschn.blockchain.repository.WalletRepository;
-import com.flockinger.groschn.blockchain.repository.model.StoredBlock;
 import com.flockinger.groschn.blockchain.repository.model.StoredWallet;
+import com.flockinger.groschn.blockchain.wallet.BalanceLedger;
 import com.flockinger.groschn.blockchain.wallet.WalletService;
 import com.flockinger.groschn.commons.crypto.EncryptedKey;
 import com.flockinger.groschn.commons.crypto.KeyCipher;
@@ -16,13 +12,7 @@ import com.flockinger.groschn.commons.hash.Base58;
 import com.flockinger.groschn.commons.sign.Signer;
 import java.math.BigDecimal;
 import java.security.KeyPair;
-import java.util.Collection;
-import java.util.List;
 import java.util.Optional;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
-import org.apache.commons.lang3.StringUtils;
-import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
@@ -31,9 +21,7 @@ import org.springframework.stereotype.Component;
 public class WalletServiceImpl implements WalletService {
 
   @Autowired
-  private BlockchainRepository blockDao;
-  @Autowired
-  private ModelMapper mapper;
+  private BalanceLedger ledger;
   @Autowired
   private KeyCipher cipher;
   @Autowired
@@ -93,34 +81,6 @@ public class WalletServiceImpl implements WalletService {
 
   @Override
   public BigDecimal calculateBalance(String publicKey) {
-    long outputScannerStartPosition = getLastExpenseBlockPosition(publicKey);
-    var incomeBlocks = findIncomeBlocks(outputScannerStartPosition, publicKey);
-    var incomeTransactions = incomeBlocks.stream().map(Block::getTransactions).flatMap(Collection::stream);
-    return totalAmount(incomeTransactions, publicKey);
-  }
-  
-  private Long getLastExpenseBlockPosition(String publicKey) {
-    Optional<Block> lastExpense = blockDao.findFirstByTransactionsInputsPublicKeyOrderByPositionDesc(publicKey).stream()
-        .map(this::mapToBlock).findFirst();
-    return lastExpense.stream().map(Block::getPosition)
-        .findFirst().orElse(0l);
-  }
-  private List<Block> findIncomeBlocks(long outputScannerStartPosition, String publicKey) {
-    return blockDao.findByPositionGreaterThanEqualAndTransactionsOutputsPublicKey(
-        outputScannerStartPosition, publicKey).stream()
-        .map(this::mapToBlock).collect(Collectors.toList());
-  }
-  
-  private BigDecimal totalAmount(Stream<Transaction> transactions, String publicKey) {
-    return transactions
-        .map(Transaction::getOutputs)
-        .flatMap(Collection::stream)
-        .filter(output -> StringUtils.equals(output.getPublicKey(), publicKey))
-        .map(TransactionOutput::getAmount)
-        .reduce(BigDecimal::add).orElse(BigDecimal.ZERO);
-  }
-  
-  private Block mapToBlock(StoredBlock storedBlock) {
-    return mapper.map(storedBlock, Block.class);
+    return ledger.getBalance(publicKey);
   }
 }
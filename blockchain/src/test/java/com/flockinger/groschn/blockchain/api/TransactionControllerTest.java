@@ -3,22 +3,34 @@ package com.flockinger.groschn.blockchain.api;
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.notNullValue;
+import static org.junit.Assert.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.ArgumentMatchers.matches;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.flockinger.groschn.blockchain.TestConfig;
 import com.flockinger.groschn.blockchain.TestDataFactory;
 import com.flockinger.groschn.blockchain.api.dto.CreateTransactionDto;
+import com.flockinger.groschn.blockchain.api.dto.MerkleProofDto;
+import com.flockinger.groschn.blockchain.api.dto.MerkleProofStepDto;
 import com.flockinger.groschn.blockchain.api.dto.TransactionIdDto;
 import com.flockinger.groschn.blockchain.api.dto.TransactionStatusDto;
 import com.flockinger.groschn.blockchain.api.dto.ViewTransactionDto;
+import com.flockinger.groschn.blockchain.api.dto.ViewTransactionPageDto;
 import com.flockinger.groschn.blockchain.api.impl.TransactionControllerImpl;
 import com.flockinger.groschn.blockchain.exception.TransactionAlreadyClearedException;
 import com.flockinger.groschn.blockchain.exception.TransactionNotFoundException;
@@ -28,6 +40,7 @@ import com.flockinger.groschn.messaging.outbound.Broadcaster;
 import com.google.common.collect.ImmutableList;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.function.Consumer;
 import org.junit.Test;
 import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -36,6 +49,7 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.context.annotation.Import;
 import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 @WebMvcTest(controllers = {TransactionControllerImpl.class})
 @Import(TestConfig.class)
@@ -46,6 +60,8 @@ public class TransactionControllerTest extends BaseControllerTest {
   private MockMvc mockMvc;
   @Autowired
   private ModelMapper mapper;
+  @Autowired
+  private ObjectMapper objectMapper;
   @MockBean
   private TransactionManager manager;
   @MockBean
@@ -73,28 +89,104 @@ public class TransactionControllerTest extends BaseControllerTest {
   }
 
 
+  @Test
+  public void testGetTransactionMerkleProof_withValidTxId_shouldReturnCorrect() throws Exception {
+    when(manager.getMerkleProofOfTransaction(any())).thenReturn(new MerkleProofDto()
+        .transactionHash("1234").leafHash("leaf")
+        .addStepsItem(new MerkleProofStepDto().siblingHash("sibling").siblingOnLeft(true)));
+
+    mockMvc.perform(get("/api/v1/groschn/transaction/proof/1234").contentType(jsonContentType))
+        .andExpect(status().isOk()).andExpect(jsonPath("$.leafHash", is("leaf")))
+        .andExpect(jsonPath("$.steps", hasSize(1)))
+        .andExpect(jsonPath("$.steps[0].siblingOnLeft", is(true)));
+
+    verify(manager).getMerkleProofOfTransaction(matches("1234"));
+  }
+
+  @Test
+  public void testGetTransactionMerkleProof_withInalidTxId_shouldReturnNotFound() throws Exception {
+    when(manager.getMerkleProofOfTransaction(any())).thenThrow(TransactionNotFoundException.class);
+
+    mockMvc
+        .perform(
+            get("/api/v1/groschn/transaction/proof/nonExistante").contentType(jsonContentType))
+        .andExpect(status().isNotFound());
+  }
+
+
   @Test
   public void testGetTransactionsFromPublicKey_withValidPublicKey_shouldReturnCorrect()
       throws Exception {
-    when(manager.getTransactionsFromPublicKey(anyString()))
+    when(manager.getTransactionsFromPublicKey(anyString(), anyInt(), anyInt()))
     .thenReturn(ImmutableList.of(new ViewTransactionDto(), new ViewTransactionDto()));
 
-    mockMvc.perform(get("/api/v1/groschn/transaction/1234").contentType(jsonContentType))
+    mockMvc.perform(get("/api/v1/groschn/transaction/1234?page=2&size=20").contentType(jsonContentType))
         .andExpect(status().isOk()).andExpect(jsonPath("$", hasSize(2)));
 
-    verify(manager).getTransactionsFromPublicKey(matches("1234"));
+    verify(manager).getTransactionsFromPublicKey(matches("1234"), eq(2), eq(20));
   }
 
   @Test
   public void testGetTransactionsFromPublicKey_withInalidPublicKey_shouldReturnEmpty()
       throws Exception {
-    when(manager.getTransactionsFromPublicKey(anyString()))
+    when(manager.getTransactionsFromPublicKey(anyString(), anyInt(), anyInt()))
     .thenReturn(new ArrayList<>());
 
     mockMvc.perform(get("/api/v1/groschn/transaction/nonExistante").contentType(jsonContentType))
         .andExpect(status().isOk()).andExpect(jsonPath("$", hasSize(0)));
 
-    verify(manager).getTransactionsFromPublicKey(matches("nonExistante"));
+    verify(manager).getTransactionsFromPublicKey(matches("nonExistante"), eq(0), eq(50));
+  }
+  
+  @Test
+  public void testGetTransactionPageFromPublicKey_withCursor_shouldReturnPage() throws Exception {
+    when(manager.getTransactionsFromPublicKeyAfter(anyString(), any(), anyInt()))
+    .thenReturn(new ViewTransactionPageDto().nextCursor("1000:abc")
+        .addTransactionsItem(new ViewTransactionDto().id("abc")));
+
+    mockMvc.perform(get("/api/v1/groschn/transaction/history/1234?cursor=2000:def&size=20")
+        .contentType(jsonContentType))
+        .andExpect(status().isOk()).andExpect(jsonPath("$.transactions", hasSize(1)))
+        .andExpect(jsonPath("$.transactions[0].id", is("abc")))
+        .andExpect(jsonPath("$.nextCursor", is("1000:abc")));
+
+    verify(manager).getTransactionsFromPublicKeyAfter(matches("1234"), eq("2000:def"), eq(20));
+  }
+
+  @Test
+  public void testGetTransactionPageFromPublicKey_withoutCursor_shouldFetchFirstPage() throws Exception {
+    when(manager.getTransactionsFromPublicKeyAfter(anyString(), any(), anyInt()))
+    .thenReturn(new ViewTransactionPageDto().transactions(new ArrayList<>()));
+
+    mockMvc.perform(get("/api/v1/groschn/transaction/history/1234").contentType(jsonContentType))
+        .andExpect(status().isOk()).andExpect(jsonPath("$.transactions", hasSize(0)));
+
+    verify(manager).getTransactionsFromPublicKeyAfter(matches("1234"), isNull(), eq(50));
+  }
+
+  @Test
+  public void testStreamTransactionsFromPublicKey_withTransactions_shouldWriteOneJsonPerLine() throws Exception {
+    doAnswer(invocation -> {
+      Consumer<ViewTransactionDto> consumer = invocation.getArgument(1);
+      consumer.accept(new ViewTransactionDto().id("new"));
+      consumer.accept(new ViewTransactionDto().id("old"));
+      return null;
+    }).when(manager).streamTransactionsFromPublicKey(anyString(), any());
+
+    MvcResult result = mockMvc.perform(get("/api/v1/groschn/transaction/history/1234/stream"))
+        .andExpect(request().asyncStarted()).andReturn();
+    String body = mockMvc.perform(asyncDispatch(result))
+        .andExpect(status().isOk())
+        .andExpect(content().contentType("application/x-ndjson"))
+        .andReturn().getResponse().getContentAsString();
+
+    String[] lines = body.split("\n");
+    assertEquals("verify one line per transaction", 2, lines.length);
+    assertEquals("verify newest transaction is in the first line", "new", 
+        objectMapper.readValue(lines[0], ViewTransactionDto.class).getId());
+    assertEquals("verify oldest transaction is in the last line", "old", 
+        objectMapper.readValue(lines[1], ViewTransactionDto.class).getId());
+    verify(manager).streamTransactionsFromPublicKey(matches("1234"), any());
   }
   
   @Test
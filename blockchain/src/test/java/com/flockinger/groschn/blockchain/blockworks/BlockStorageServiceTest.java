@@ -19,12 +19,17 @@ import com.flockinger.groschn.blockchain.consensus.model.Consent;
 import com.flockinger.groschn.blockchain.exception.validation.AssessmentFailedException;
 import com.flockinger.groschn.blockchain.model.Block;
 import com.flockinger.groschn.blockchain.model.Transaction;
+import com.flockinger.groschn.blockchain.repository.AddressTransactionRepository;
+import com.flockinger.groschn.blockchain.repository.BalanceRepository;
 import com.flockinger.groschn.blockchain.repository.BlockchainRepository;
 import com.flockinger.groschn.blockchain.repository.model.StoredBlock;
 import com.flockinger.groschn.blockchain.repository.model.StoredTransaction;
 import com.flockinger.groschn.blockchain.repository.model.TransactionStatus;
 import com.flockinger.groschn.blockchain.transaction.TransactionManager;
+import com.flockinger.groschn.blockchain.transaction.impl.AddressTransactionIndex;
 import com.flockinger.groschn.blockchain.validation.impl.InnerBlockValidator;
+import com.flockinger.groschn.blockchain.wallet.impl.BalanceCache;
+import com.flockinger.groschn.blockchain.wallet.impl.BalanceLedgerImpl;
 import com.google.common.collect.ImmutableList;
 import java.util.List;
 import java.util.Optional;
@@ -37,7 +42,9 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.test.context.ContextConfiguration;
 
-@ContextConfiguration(classes = {BlockchainRepository.class, BlockStorageServiceImpl.class})
+@ContextConfiguration(classes = {BlockchainRepository.class, BlockStorageServiceImpl.class,
+    BalanceLedgerImpl.class, BalanceCache.class, BalanceRepository.class,
+    AddressTransactionIndex.class, AddressTransactionRepository.class})
 public class BlockStorageServiceTest extends BaseDbTest {
 
   @Autowired
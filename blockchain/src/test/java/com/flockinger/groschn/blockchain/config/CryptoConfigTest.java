@@ -0,0 +1,32 @@
+package com.flockinger.groschn.blockchain.config;
+
+import static org.junit.Assert.assertTrue;
+
+import com.flockinger.groschn.commons.exception.crypto.CantConfigureSigningAlgorithmException;
+import com.flockinger.groschn.commons.sign.EcdsaSecpSigner;
+import com.flockinger.groschn.commons.sign.Secp256k1Signer;
+import java.security.Provider;
+import org.junit.Test;
+
+public class CryptoConfigTest {
+
+  private CryptoConfig config = new CryptoConfig();
+  private Provider provider = config.getDefaultProvider();
+  
+  @Test
+  public void testSigner_withJca_shouldCreateJcaSigner() {
+    assertTrue("verify jca signer is created", 
+        config.signer(provider, "jca", 100l) instanceof EcdsaSecpSigner);
+  }
+  
+  @Test
+  public void testSigner_withSecp256k1_shouldCreateSecp256k1Signer() {
+    assertTrue("verify secp256k1 signer is created", 
+        config.signer(provider, "secp256k1", 100l) instanceof Secp256k1Signer);
+  }
+  
+  @Test(expected = CantConfigureSigningAlgorithmException.class)
+  public void testSigner_withUnknownSigner_shouldThrowException() {
+    config.signer(provider, "secp256r1", 100l);
+  }
+}
@@ -17,6 +17,7 @@ import com.flockinger.groschn.blockchain.model.Block;
 import com.flockinger.groschn.blockchain.model.Transaction;
 import com.flockinger.groschn.blockchain.model.TransactionInput;
 import com.flockinger.groschn.blockchain.model.TransactionOutput;
+import com.flockinger.groschn.commons.hash.HashGenerator;
 import com.google.common.collect.ImmutableList;
 import java.math.BigDecimal;
 import java.util.ArrayList;
@@ -49,6 +50,9 @@ public class ProofOfWorkAlgorithmTest {
   @Autowired
   private ProofOfWorkAlgorithm powAlgo;
 
+  @Autowired
+  private HashGenerator hasher;
+
   @MockBean
   private BlockStorageService mockStorage;
 
@@ -117,6 +121,81 @@ public class ProofOfWorkAlgorithmTest {
         block.getHash(), secondBlock.getLastHash());
   }
 
+  @Test
+  public void testReachConsensus_withMinedToStringHashedBlock_shouldHaveHashOfWholeBlock() {
+    when(mockStorage.getLatestProofOfWorkBlock()).thenReturn(fakeBlock(29999l, 2));
+    mockOverallLastPosition();
+
+    var forgedBlock = powAlgo.reachConsensus(fakeTransactions(9, false)).get();
+    String minedHash = forgedBlock.getHash();
+    forgedBlock.setHash(null);
+
+    assertFalse("verify block is hashed by toString", forgedBlock.isBinaryHashed());
+    assertTrue("verify mined hash is the same as the hash of the whole block", 
+        hasher.isHashCorrect(minedHash, forgedBlock));
+  }
+
+  @Test
+  public void testReachConsensus_withMinedBinaryHashedBlock_shouldHaveHashOfWholeBlock() {
+    when(mockStorage.getLatestProofOfWorkBlock()).thenReturn(fakeBlock(29999l, 2));
+    Block lastBlock = new Block();
+    lastBlock.setPosition(Block.BINARY_HASHING_POSITION - 1);
+    when(mockStorage.getLatestBlock()).thenReturn(lastBlock);
+
+    var forgedBlock = powAlgo.reachConsensus(fakeTransactions(9, false)).get();
+    String minedHash = forgedBlock.getHash();
+    forgedBlock.setHash(null);
+
+    assertTrue("verify block is binary hashed", forgedBlock.isBinaryHashed());
+    assertTrue("verify mined hash is the same as the hash of the whole block", 
+        hasher.isHashCorrect(minedHash, forgedBlock));
+  }
+
+  @Test
+  public void testReachConsensus_withMultipleMiningThreads_shouldHaveHashOfWholeBlock() {
+    when(mockStorage.getLatestProofOfWorkBlock()).thenReturn(fakeBlock(29999l, 3));
+    mockOverallLastPosition();
+    useMiningThreads(4);
+
+    try {
+      var forgedBlock = powAlgo.reachConsensus(fakeTransactions(9, false)).get();
+      String minedHash = forgedBlock.getHash();
+      forgedBlock.setHash(null);
+
+      assertTrue("verify mined hash starts with enough zeros", minedHash.startsWith("0000"));
+      assertTrue("verify parallel mined hash is the same as the hash of the whole block", 
+          hasher.isHashCorrect(minedHash, forgedBlock));
+    } finally {
+      useMiningThreads(1);
+    }
+  }
+  
+  @Test
+  public void testStopFindingConsensus_withMultipleMiningThreads_shouldStop()
+      throws InterruptedException, ExecutionException, TimeoutException {
+    when(mockStorage.getLatestProofOfWorkBlock()).thenReturn(fakeBlock(30000l, 12));
+    mockOverallLastPosition();
+    useMiningThreads(4);
+    
+    try {
+      ExecutorService executorService = Executors.newSingleThreadExecutor();
+      var block = executorService.submit(() -> powAlgo.reachConsensus(fakeTransactions(9, false)));
+      Thread.sleep(200);
+      powAlgo.stopFindingConsensus();
+    
+      var generatedBlock = block.get(1, TimeUnit.SECONDS);
+      assertFalse("verify block of stopped parallel consensus is empty", generatedBlock.isPresent());
+    } finally {
+      useMiningThreads(1);
+    }
+  }
+  
+  private void useMiningThreads(int threads) {
+    powAlgo.shutdownMiningPool();
+    Whitebox.setInternalState((ProofOfWorkAlgorithm) powAlgo, "miningThreads", threads);
+    powAlgo.setupMiningPool();
+  }
+
   private void mockOverallLastPosition() {
     Block lastBlock = new Block();
     lastBlock.setPosition(100l);
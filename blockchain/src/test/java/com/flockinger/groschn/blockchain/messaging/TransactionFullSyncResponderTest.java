@@ -11,15 +11,18 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.flockinger.groschn.blockchain.BaseCachingTest;
+import com.flockinger.groschn.blockchain.dto.TransactionPoolPage;
 import com.flockinger.groschn.blockchain.messaging.respond.TransactionFullSyncResponder;
 import com.flockinger.groschn.blockchain.model.Transaction;
 import com.flockinger.groschn.blockchain.transaction.TransactionManager;
 import com.flockinger.groschn.messaging.config.MainTopics;
 import com.flockinger.groschn.messaging.inbound.MessagePackageHelper;
 import com.flockinger.groschn.messaging.model.Message;
+import com.flockinger.groschn.messaging.model.RequestHeader;
 import com.flockinger.groschn.messaging.model.SyncRequest;
 import com.flockinger.groschn.messaging.model.SyncResponse;
 import com.github.benmanes.caffeine.cache.Cache;
+import com.google.common.collect.ImmutableList;
 import java.util.Optional;
 import org.junit.Test;
 import org.mockito.ArgumentCaptor;
@@ -48,7 +51,8 @@ public class TransactionFullSyncResponderTest extends BaseCachingTest {
     SyncRequest request = new SyncRequest();
     request.setStartingPosition(1l);
     request.setRequestPackageSize(100l);
-    when(transactionManager.fetchTransactionsPaginated(anyInt(), anyInt())).thenReturn(createBlockTransactions(false, false));
+    when(transactionManager.fetchTransactionsAfter(any(), anyInt()))
+        .thenReturn(new TransactionPoolPage(createBlockTransactions(false, false), "1000:hash"));
     when(helper.verifyAndUnpackRequest(any(),any())).thenReturn(Optional.of(request));
     when(helper.packageResponse(any(SyncResponse.class), anyString())).thenReturn(new Message());
 
@@ -64,13 +68,81 @@ public class TransactionFullSyncResponderTest extends BaseCachingTest {
     assertEquals("verify that response entity size is correct", 12l, response.getEntities().size());
     assertTrue("verify that response entity is correct class", Transaction.class.isInstance(response.getEntities().get(0)));
     assertEquals("verify that response is the last sync", true, response.isLastPositionReached());
+    assertEquals("verify that response contains next cursor", "1000:hash", response.getNextCursor());
+    assertEquals("verify that response contains own node id", "groschn-master-123", response.getNodeId());
     
-    var pageCaptor = ArgumentCaptor.forClass(Integer.class);
+    var cursorCaptor = ArgumentCaptor.forClass(String.class);
     var sizeCaptor = ArgumentCaptor.forClass(Integer.class);
-    verify(transactionManager).fetchTransactionsPaginated(pageCaptor.capture(), sizeCaptor.capture());
-    assertEquals("verify that transactionManager is called with correct page", 0, pageCaptor.getValue().intValue());
+    verify(transactionManager).fetchTransactionsAfter(cursorCaptor.capture(), sizeCaptor.capture());
+    assertEquals("verify that transactionManager is called without cursor for first batch", null, cursorCaptor.getValue());
     assertEquals("verify that transactionManager is called with correct page-size", 100, sizeCaptor.getValue().intValue());
   }
+  
+  @Test
+  public void testRespond_withCursorRequest_shouldContinueAfterCursor() {
+    SyncRequest request = new SyncRequest();
+    request.setStartingPosition(3l);
+    request.setRequestPackageSize(10l);
+    request.setCursor("1000:hash");
+    when(transactionManager.fetchTransactionsAfter(any(), anyInt()))
+        .thenReturn(new TransactionPoolPage(createBlockTransactions(false, false), "2000:hash2"));
+    when(helper.verifyAndUnpackRequest(any(),any())).thenReturn(Optional.of(request));
+    when(helper.packageResponse(any(SyncResponse.class), anyString())).thenReturn(new Message());
+
+    responder.respond(new Message<>());
+
+    var responseCaptor = ArgumentCaptor.forClass(SyncResponse.class);
+    verify(helper).packageResponse(responseCaptor.capture(),anyString());
+    SyncResponse response = responseCaptor.getValue();
+    verify(transactionManager).fetchTransactionsAfter("1000:hash", 10);
+    assertEquals("verify that response is not the last one with full batch", false, response.isLastPositionReached());
+    assertEquals("verify that response contains next cursor", "2000:hash2", response.getNextCursor());
+  }
+  
+  @Test
+  public void testRespond_withPositionRequestWithoutCursor_shouldPageByOffsetOnlyOnePackage() {
+    SyncRequest request = new SyncRequest();
+    request.setStartingPosition(3l);
+    request.setRequestPackageSize(100l);
+    when(transactionManager.fetchTransactionsPaginated(anyInt(), anyInt())).thenReturn(createBlockTransactions(false, false));
+    when(helper.verifyAndUnpackRequest(any(),any())).thenReturn(Optional.of(request));
+    when(helper.packageResponse(any(SyncResponse.class), anyString())).thenReturn(new Message());
+
+    responder.respond(new Message<>());
+
+    verify(transactionManager).fetchTransactionsPaginated(2, 100);
+  }
+
+  @Test
+  public void testRespond_withWantedHeaders_shouldOnlyRespondWantedTransactionsOfPage() {
+    var transactions = createBlockTransactions(false, false);
+    transactions.get(2).setTransactionHash("abcdef0123456789abcdef");
+    transactions.get(5).setTransactionHash("0123456789abcdef0123");
+    SyncRequest request = new SyncRequest();
+    request.setStartingPosition(1l);
+    request.setRequestPackageSize(12l);
+    request.setCursor("1000:hash");
+    request.setWantedHeaders(ImmutableList.of(header("abcdef0123456789"), header("0123456789abcdef")));
+    when(transactionManager.fetchTransactionsAfter(any(), anyInt()))
+        .thenReturn(new TransactionPoolPage(transactions, "2000:hash2"));
+    when(helper.verifyAndUnpackRequest(any(),any())).thenReturn(Optional.of(request));
+    when(helper.packageResponse(any(SyncResponse.class), anyString())).thenReturn(new Message());
+
+    responder.respond(new Message<>());
+
+    var responseCaptor = ArgumentCaptor.forClass(SyncResponse.class);
+    verify(helper).packageResponse(responseCaptor.capture(),anyString());
+    SyncResponse response = responseCaptor.getValue();
+    assertEquals("verify only wanted transactions are responded", 2, response.getEntities().size());
+    assertEquals("verify page is not the last one since it was full", false, response.isLastPositionReached());
+    assertEquals("verify that response contains next cursor", "2000:hash2", response.getNextCursor());
+  }
+  
+  private RequestHeader header(String shortId) {
+    var header = new RequestHeader();
+    header.setHash(shortId);
+    return header;
+  }
 
   @Test
   public void testGetSubscribedTopic_shouldReturnCorrect() {
@@ -0,0 +1,87 @@
+package com.flockinger.groschn.blockchain.messaging;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.flockinger.groschn.blockchain.BaseCachingTest;
+import com.flockinger.groschn.blockchain.dto.TransactionHashPage;
+import com.flockinger.groschn.blockchain.messaging.dto.TransactionHashSummary;
+import com.flockinger.groschn.blockchain.messaging.respond.TransactionHashSyncResponder;
+import com.flockinger.groschn.blockchain.transaction.TransactionManager;
+import com.flockinger.groschn.messaging.config.MainTopics;
+import com.flockinger.groschn.messaging.inbound.MessagePackageHelper;
+import com.flockinger.groschn.messaging.model.Message;
+import com.flockinger.groschn.messaging.model.SyncRequest;
+import com.flockinger.groschn.messaging.model.SyncResponse;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.google.common.collect.ImmutableList;
+import java.util.Optional;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.context.ContextConfiguration;
+
+@ContextConfiguration(classes = {TransactionHashSyncResponder.class})
+public class TransactionHashSyncResponderTest extends BaseCachingTest {
+
+  @MockBean
+  private TransactionManager transactionManager;
+  @MockBean
+  @Qualifier("SyncTransactionHashId_Cache")
+  private Cache<String, String> syncTransactionHashIdCache;
+  @MockBean
+  private MessagePackageHelper helper;
+  
+  @Autowired
+  private TransactionHashSyncResponder responder;
+
+  @Test
+  public void testRespond_withValidRequest_shouldRespondShortIdSummary() {
+    SyncRequest request = new SyncRequest();
+    request.setStartingPosition(2l);
+    request.setRequestPackageSize(3l);
+    request.setCursor("1000:abc");
+    when(transactionManager.fetchTransactionHashesAfter(any(), anyInt())).thenReturn(new TransactionHashPage(
+        ImmutableList.of("0123456789abcdef0123456789abcdef", "fedcba9876543210fedcba9876543210"), "2000:fed"));
+    when(helper.verifyAndUnpackRequest(any(),any())).thenReturn(Optional.of(request));
+    when(helper.packageResponse(any(SyncResponse.class), anyString())).thenReturn(new Message());
+
+    var responseMessage = responder.respond(new Message<>());
+
+    assertNotNull("verify response is not null", responseMessage);
+    var responseCaptor = ArgumentCaptor.forClass(SyncResponse.class);
+    verify(helper).packageResponse(responseCaptor.capture(),anyString());
+    verify(transactionManager).fetchTransactionHashesAfter("1000:abc", 3);
+    
+    SyncResponse response = responseCaptor.getValue();
+    assertEquals("verify that response contains exactly one summary", 1, response.getEntities().size());
+    var summary = (TransactionHashSummary)response.getEntities().get(0);
+    assertEquals("verify that summary contains short ids", ImmutableList.of("0123456789abcdef", "fedcba9876543210"), 
+        summary.getShortIds());
+    assertEquals("verify that response contains next cursor", "2000:fed", response.getNextCursor());
+    assertEquals("verify that response is the last one", true, response.isLastPositionReached());
+    assertEquals("verify that response contains own node id", "groschn-master-123", response.getNodeId());
+  }
+  
+  @Test
+  public void testRespond_withInvalidRequest_shouldRespondEmptyMessage() {
+    when(helper.verifyAndUnpackRequest(any(),any())).thenReturn(Optional.empty());
+
+    var responseMessage = responder.respond(new Message<>());
+
+    assertNotNull("verify response is not null", responseMessage);
+    assertEquals("verify response is empty", null, responseMessage.getPayload());
+  }
+
+  @Test
+  public void testGetSubscribedTopic_shouldReturnCorrect() {
+    assertEquals("verify correct set topic", MainTopics.SYNC_TRANSACTION_HASHES, responder.getSubscribedTopic());
+  }
+}
@@ -1,12 +1,16 @@
 package com.flockinger.groschn.blockchain.messaging;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.Collectors;
 import org.apache.commons.collections4.ListUtils;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -14,21 +18,26 @@ import org.mockito.ArgumentCaptor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.context.junit4.SpringRunner;
-import com.flockinger.groschn.blockchain.api.dto.TransactionIdDto;
-import com.flockinger.groschn.blockchain.exception.TransactionAlreadyClearedException;
-import com.flockinger.groschn.blockchain.exception.validation.AssessmentFailedException;
+import com.flockinger.groschn.blockchain.dto.StoreTransactionResult;
+import com.flockinger.groschn.blockchain.dto.StoreTransactionResult.Outcome;
+import com.flockinger.groschn.blockchain.messaging.dto.TransactionHashSummary;
 import com.flockinger.groschn.blockchain.messaging.sync.impl.TransactionPoolFullSynchronizer;
 import com.flockinger.groschn.blockchain.model.Transaction;
 import com.flockinger.groschn.blockchain.transaction.TransactionManager;
+import com.flockinger.groschn.blockchain.transaction.impl.TransactionPoolReaper;
 import com.flockinger.groschn.messaging.config.MainTopics;
+import com.flockinger.groschn.messaging.model.RequestHeader;
 import com.flockinger.groschn.messaging.model.SyncBatchRequest;
 import com.flockinger.groschn.messaging.model.SyncResponse;
 import com.flockinger.groschn.messaging.sync.SyncInquirer;
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
 
 @RunWith(SpringRunner.class)
 @ContextConfiguration(classes = {TransactionPoolFullSynchronizer.class})
+@TestPropertySource(properties = "blockchain.transaction-pool.sync.reconciliation-enabled=true")
 @SuppressWarnings("unchecked")
 public class TransactionPoolFullSynchronizerTest {
   
@@ -36,6 +45,8 @@ public class TransactionPoolFullSynchronizerTest {
   private TransactionManager transactionManager;
   @MockBean
   private SyncInquirer inquirer;
+  @MockBean
+  private TransactionPoolReaper poolReaper;
   
   @Autowired
   private TransactionPoolFullSynchronizer synchronizer;
@@ -43,15 +54,16 @@ public class TransactionPoolFullSynchronizerTest {
   
   @Test
   public void testSynchronize_shouldDoFullSynchronization() {
-    when(inquirer.fetchNextBatch(any(), any(Class.class))).thenReturn(getFakeResponse(false,1))
+    when(inquirer.fetchNextBatch(any(), eq(Transaction.class))).thenReturn(getFakeResponse(false,1))
     .thenReturn(getFakeResponse(false,2)).thenReturn(getFakeResponse(false,3))
     .thenReturn(getFakeResponse(true,4));
     
     synchronizer.fullSynchronization();
     
-    verify(transactionManager, times(380)).storeTransaction(any(Transaction.class));
+    verify(poolReaper).reap();
+    verifyStoredTransactions(380, 4);
     ArgumentCaptor<SyncBatchRequest> batchCaptor = ArgumentCaptor.forClass(SyncBatchRequest.class);
-    verify(inquirer, times(1 * 4)).fetchNextBatch(batchCaptor.capture(), any(Class.class));
+    verify(inquirer, times(1 * 4)).fetchNextBatch(batchCaptor.capture(), eq(Transaction.class));
     var batchRequests = batchCaptor.getAllValues();
     assertEquals("verify first requests batch size", 100, batchRequests.get(0).getBatchSize());
     assertEquals("verify first requests fetch retry count", 2, batchRequests.get(0).getMaxFetchRetries());
@@ -65,15 +77,15 @@ public class TransactionPoolFullSynchronizerTest {
   
   @Test
   public void testSynchronize_withEmptyEndResponse_shouldDoFullSynchronization() {
-    when(inquirer.fetchNextBatch(any(), any(Class.class))).thenReturn(getFakeResponse(false,1))
+    when(inquirer.fetchNextBatch(any(), eq(Transaction.class))).thenReturn(getFakeResponse(false,1))
     .thenReturn(getFakeResponse(false,2)).thenReturn(getFakeResponse(false,3))
     .thenReturn(getFakeResponse(false,4, new ArrayList<>()));
     
     synchronizer.fullSynchronization();
     
-    verify(transactionManager, times(300)).storeTransaction(any(Transaction.class));
+    verifyStoredTransactions(300, 3);
     ArgumentCaptor<SyncBatchRequest> batchCaptor = ArgumentCaptor.forClass(SyncBatchRequest.class);
-    verify(inquirer, times(1 * 4)).fetchNextBatch(batchCaptor.capture(), any(Class.class));
+    verify(inquirer, times(1 * 4)).fetchNextBatch(batchCaptor.capture(), eq(Transaction.class));
     var batchRequests = batchCaptor.getAllValues();
     assertEquals("verify first requests batch size", 100, batchRequests.get(0).getBatchSize());
     assertEquals("verify first requests fetch retry count", 2, batchRequests.get(0).getMaxFetchRetries());
@@ -87,59 +99,160 @@ public class TransactionPoolFullSynchronizerTest {
   
   @Test
   public void testSynchronize_withNullEndResponse_shouldDoFullSynchronization() {
-    when(inquirer.fetchNextBatch(any(), any(Class.class))).thenReturn(getFakeResponse(false,1))
+    when(inquirer.fetchNextBatch(any(), eq(Transaction.class))).thenReturn(getFakeResponse(false,1))
     .thenReturn(getFakeResponse(false,2)).thenReturn(getFakeResponse(false,3))
     .thenReturn(getFakeResponse(false,4, null));
     
     synchronizer.fullSynchronization();
     
-    verify(transactionManager, times(300)).storeTransaction(any(Transaction.class));
-    verify(inquirer, times(1 * 4)).fetchNextBatch(any(), any(Class.class));
+    verifyStoredTransactions(300, 3);
+    verify(inquirer, times(1 * 4)).fetchNextBatch(any(), eq(Transaction.class));
   }
   
   @Test
   public void testSynchronize_withTotallyEmptyLastResponse_shouldDoFullSynchronization() {
-    when(inquirer.fetchNextBatch(any(), any(Class.class))).thenReturn(getFakeResponse(false,1))
+    when(inquirer.fetchNextBatch(any(), eq(Transaction.class))).thenReturn(getFakeResponse(false,1))
     .thenReturn(getFakeResponse(false,2)).thenReturn(getFakeResponse(false,3))
     .thenReturn(new ArrayList<>());
     
     synchronizer.fullSynchronization();
     
-    verify(transactionManager, times(300)).storeTransaction(any(Transaction.class));
-    verify(inquirer, times(1 * 4)).fetchNextBatch(any(), any(Class.class));
+    verifyStoredTransactions(300, 3);
+    verify(inquirer, times(1 * 4)).fetchNextBatch(any(), eq(Transaction.class));
   }
   
   @Test
   public void testSynchronize_withStorageReturningInvalid_shouldStopSyncing() {
-    when(inquirer.fetchNextBatch(any(), any(Class.class))).thenReturn(getFakeResponse(false,1))
+    when(inquirer.fetchNextBatch(any(), eq(Transaction.class))).thenReturn(getFakeResponse(false,1))
     .thenReturn(getFakeResponse(true, 2));;
-    when(transactionManager.storeTransaction(any()))
-    .thenReturn(new TransactionIdDto())
-    .thenReturn(new TransactionIdDto())
-    .thenThrow(AssessmentFailedException.class);
+    when(transactionManager.storeTransactions(any()))
+    .thenReturn(fakeResults(Outcome.STORED, Outcome.INVALID));
     
     synchronizer.fullSynchronization();
     
-    verify(transactionManager, times(180)).storeTransaction(any(Transaction.class));
-    verify(inquirer, times(2)).fetchNextBatch(any(), any(Class.class));
+    verifyStoredTransactions(180, 2);
+    verify(inquirer, times(2)).fetchNextBatch(any(), eq(Transaction.class));
   }
   
   @Test
   public void testSynchronize_withStorageReturningAlreadyCleared_shouldStopSyncing() {
-    when(inquirer.fetchNextBatch(any(), any(Class.class))).thenReturn(getFakeResponse(false,1))
+    when(inquirer.fetchNextBatch(any(), eq(Transaction.class))).thenReturn(getFakeResponse(false,1))
     .thenReturn(getFakeResponse(true, 2));
-    when(transactionManager.storeTransaction(any()))
-    .thenReturn(new TransactionIdDto())
-    .thenReturn(new TransactionIdDto())
-    .thenThrow(TransactionAlreadyClearedException.class);
+    when(transactionManager.storeTransactions(any()))
+    .thenReturn(fakeResults(Outcome.STORED, Outcome.ALREADY_EXISTING));
     
     synchronizer.fullSynchronization();
     
-    verify(transactionManager, times(180)).storeTransaction(any(Transaction.class));
-    verify(inquirer, times(2)).fetchNextBatch(any(), any(Class.class));
+    verifyStoredTransactions(180, 2);
+    verify(inquirer, times(2)).fetchNextBatch(any(), eq(Transaction.class));
+  }
+  
+  
+  @Test
+  public void testSynchronize_withCursorResponses_shouldContinueCursorOnRespondingNode() {
+    var firstResponse = getFakeResponse(false, 1);
+    firstResponse.get(0).setNextCursor("1000:abc");
+    firstResponse.get(0).setNodeId("groschn-node-7");
+    var secondResponse = getFakeResponse(false, 2);
+    secondResponse.get(0).setNextCursor("2000:def");
+    secondResponse.get(0).setNodeId("groschn-node-7");
+    when(inquirer.fetchNextBatch(any(), eq(Transaction.class))).thenReturn(firstResponse)
+    .thenReturn(secondResponse).thenReturn(getFakeResponse(true, 3));
+    
+    synchronizer.fullSynchronization();
+    
+    verifyStoredTransactions(280, 3);
+    ArgumentCaptor<SyncBatchRequest> batchCaptor = ArgumentCaptor.forClass(SyncBatchRequest.class);
+    verify(inquirer, times(3)).fetchNextBatch(batchCaptor.capture(), eq(Transaction.class));
+    var batchRequests = batchCaptor.getAllValues();
+    assertNull("verify first request has no cursor", batchRequests.get(0).getCursor());
+    assertEquals("verify first requests ideal node count", 3, batchRequests.get(0).getIdealReceiveNodeCount());
+    assertEquals("verify second request continues after first cursor", "1000:abc", batchRequests.get(1).getCursor());
+    assertEquals("verify third request continues after second cursor", "2000:def", batchRequests.get(2).getCursor());
+    assertEquals("verify second request only asks the cursors node", 1, batchRequests.get(1).getIdealReceiveNodeCount());
+    assertEquals("verify second request selects the cursors node", ImmutableList.of("groschn-node-7"), 
+        batchRequests.get(1).getSelectedNodeIds());
   }
   
   
+  @Test
+  public void testSynchronize_withHashSummaries_shouldOnlyFetchMissingTransactions() {
+    when(transactionManager.fetchPoolTransactionHashes()).thenReturn(ImmutableSet.of(fakeHash("a"), fakeHash("c")));
+    when(inquirer.fetchNextBatch(any(), eq(TransactionHashSummary.class)))
+    .thenReturn(getFakeSummary(false, "1000:c", fakeHash("a"), fakeHash("b"), fakeHash("c")))
+    .thenReturn(getFakeSummary(true, "2000:d", fakeHash("d")));
+    when(inquirer.fetchNextBatch(any(), eq(Transaction.class))).thenReturn(getFakeResponse(true, 1, 
+        ImmutableList.of(new Transaction())));
+    
+    synchronizer.fullSynchronization();
+    
+    verifyStoredTransactions(2, 2);
+    ArgumentCaptor<SyncBatchRequest> hashBatchCaptor = ArgumentCaptor.forClass(SyncBatchRequest.class);
+    verify(inquirer, times(2)).fetchNextBatch(hashBatchCaptor.capture(), eq(TransactionHashSummary.class));
+    var hashRequests = hashBatchCaptor.getAllValues();
+    assertEquals("verify hash requests target topic", MainTopics.SYNC_TRANSACTION_HASHES, hashRequests.get(0).getTopic());
+    assertNull("verify first hash request has no cursor", hashRequests.get(0).getCursor());
+    assertEquals("verify second hash request continues after cursor", "1000:c", hashRequests.get(1).getCursor());
+    assertEquals("verify second hash request sticks to summarizing node", ImmutableList.of("groschn-node-7"), 
+        hashRequests.get(1).getSelectedNodeIds());
+    
+    ArgumentCaptor<SyncBatchRequest> batchCaptor = ArgumentCaptor.forClass(SyncBatchRequest.class);
+    verify(inquirer, times(2)).fetchNextBatch(batchCaptor.capture(), eq(Transaction.class));
+    var transactionRequests = batchCaptor.getAllValues();
+    assertEquals("verify first page only fetches missing transaction", ImmutableList.of(fakeHash("b").substring(0, 16)), 
+        transactionRequests.get(0).getWantedHeaders().stream().map(RequestHeader::getHash).collect(Collectors.toList()));
+    assertNull("verify first page missing ones are fetched from summarized page", transactionRequests.get(0).getCursor());
+    assertEquals("verify second page only fetches missing transaction", ImmutableList.of(fakeHash("d").substring(0, 16)), 
+        transactionRequests.get(1).getWantedHeaders().stream().map(RequestHeader::getHash).collect(Collectors.toList()));
+    assertEquals("verify second page missing ones are fetched from summarized page", "1000:c", 
+        transactionRequests.get(1).getCursor());
+    assertEquals("verify missing ones are fetched from summarizing node", ImmutableList.of("groschn-node-7"), 
+        transactionRequests.get(1).getSelectedNodeIds());
+    assertEquals("verify missing ones are fetched with hash page size", 1000, transactionRequests.get(1).getBatchSize());
+  }
+  
+  @Test
+  public void testSynchronize_withNothingMissing_shouldNotFetchTransactions() {
+    when(transactionManager.fetchPoolTransactionHashes()).thenReturn(ImmutableSet.of(fakeHash("a"), fakeHash("b")));
+    when(inquirer.fetchNextBatch(any(), eq(TransactionHashSummary.class)))
+    .thenReturn(getFakeSummary(true, "1000:b", fakeHash("a"), fakeHash("b")));
+    
+    synchronizer.fullSynchronization();
+    
+    verify(transactionManager, never()).storeTransactions(any());
+    verify(inquirer, never()).fetchNextBatch(any(), eq(Transaction.class));
+  }
+  
+  @Test
+  public void testSynchronize_withNoHashSummaryResponse_shouldFallBackToFullSync() {
+    when(inquirer.fetchNextBatch(any(), eq(TransactionHashSummary.class))).thenReturn(new ArrayList<>());
+    when(inquirer.fetchNextBatch(any(), eq(Transaction.class))).thenReturn(getFakeResponse(false,1))
+    .thenReturn(getFakeResponse(true,2));
+    
+    synchronizer.fullSynchronization();
+    
+    verifyStoredTransactions(180, 2);
+    ArgumentCaptor<SyncBatchRequest> batchCaptor = ArgumentCaptor.forClass(SyncBatchRequest.class);
+    verify(inquirer, times(2)).fetchNextBatch(batchCaptor.capture(), eq(Transaction.class));
+    assertNull("verify full sync requests all transactions", batchCaptor.getAllValues().get(0).getWantedHeaders());
+  }
+  
+  
+  private void verifyStoredTransactions(int transactionCount, int batchCount) {
+    ArgumentCaptor<List<Transaction>> transactionsCaptor = ArgumentCaptor.forClass(List.class);
+    verify(transactionManager, times(batchCount)).storeTransactions(transactionsCaptor.capture());
+    assertEquals("verify all synced transactions were stored", transactionCount, 
+        transactionsCaptor.getAllValues().stream().mapToInt(List::size).sum());
+  }
+  
+  private List<StoreTransactionResult> fakeResults(Outcome... outcomes) {
+    var results = new ArrayList<StoreTransactionResult>();
+    for (Outcome outcome : outcomes) {
+      results.add(new StoreTransactionResult("hash", outcome, null));
+    }
+    return results;
+  }
+  
   List<SyncResponse<Transaction>> getFakeResponse(boolean isLast, long startPos) {
     int txCount = isLast ? 80 : 100;
     var transactions = new ArrayList<Transaction>();
@@ -156,4 +269,17 @@ public class TransactionPoolFullSynchronizerTest {
     response.setStartingPosition(startPos);
     return ListUtils.emptyIfNull(ImmutableList.of(response));
   }
+  
+  List<SyncResponse<TransactionHashSummary>> getFakeSummary(boolean isLast, String nextCursor, String... hashes) {
+    var response = new SyncResponse<TransactionHashSummary>();
+    response.setEntities(ImmutableList.of(TransactionHashSummary.of(ImmutableList.copyOf(hashes))));
+    response.setLastPositionReached(isLast);
+    response.setNextCursor(nextCursor);
+    response.setNodeId("groschn-node-7");
+    return ImmutableList.of(response);
+  }
+  
+  private String fakeHash(String character) {
+    return character.repeat(128);
+  }
 }
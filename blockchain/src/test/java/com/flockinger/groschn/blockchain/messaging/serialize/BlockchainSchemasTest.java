@@ -0,0 +1,170 @@
+package com.flockinger.groschn.blockchain.messaging.serialize;
+
+import static com.flockinger.groschn.blockchain.TestDataFactory.fifthBlock;
+import static com.flockinger.groschn.blockchain.TestDataFactory.fourthBlock;
+import static com.flockinger.groschn.blockchain.TestDataFactory.jsonMapper;
+import static com.flockinger.groschn.blockchain.TestDataFactory.mapper;
+import static com.flockinger.groschn.blockchain.TestDataFactory.secondBlock;
+import static com.flockinger.groschn.blockchain.TestDataFactory.thirdBlock;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import com.flockinger.groschn.blockchain.TestDataFactory;
+import com.flockinger.groschn.blockchain.consensus.model.ConsensusType;
+import com.flockinger.groschn.blockchain.consensus.model.Consent;
+import com.flockinger.groschn.blockchain.messaging.dto.BlockInfo;
+import com.flockinger.groschn.blockchain.messaging.dto.TransactionHashSummary;
+import com.flockinger.groschn.blockchain.model.Block;
+import com.flockinger.groschn.blockchain.model.Transaction;
+import com.flockinger.groschn.blockchain.model.TransactionInput;
+import com.flockinger.groschn.blockchain.model.TransactionOutput;
+import com.flockinger.groschn.blockchain.repository.model.StoredBlock;
+import com.flockinger.groschn.commons.compress.Compressor;
+import com.flockinger.groschn.commons.serialize.BlockSerializer;
+import com.flockinger.groschn.commons.serialize.EntitySchema;
+import com.flockinger.groschn.commons.serialize.FstSerializer;
+import com.flockinger.groschn.commons.serialize.SchemaSerializer;
+import com.flockinger.groschn.messaging.model.Message;
+import com.flockinger.groschn.messaging.model.MessagePayload;
+import com.flockinger.groschn.messaging.model.SyncResponse;
+import com.flockinger.groschn.messaging.serialize.MessagingSchemas;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.junit.Before;
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+public class BlockchainSchemasTest {
+
+  private final static Logger LOG = LoggerFactory.getLogger(BlockchainSchemasTest.class);
+
+  private BlockSerializer fstSerializer;
+  private SchemaSerializer schemaSerializer;
+  private List<Block> blocks;
+
+  @Before
+  public void setup() throws IOException {
+    var registered = new ArrayList<Class<?>>();
+    registered.add(Block.class);
+    registered.add(Transaction.class);
+    registered.add(TransactionInput.class);
+    registered.add(TransactionOutput.class);
+    registered.add(Consent.class);
+    registered.add(ConsensusType.class);
+    fstSerializer = new FstSerializer(registered);
+    var schemas = new ArrayList<EntitySchema<?>>(MessagingSchemas.schemas());
+    schemas.addAll(BlockchainSchemas.schemas());
+    schemaSerializer = new SchemaSerializer(schemas, fstSerializer);
+
+    blocks = new ArrayList<>();
+    for (String block : List.of(secondBlock, thirdBlock, fourthBlock, fifthBlock)) {
+      blocks.add(mapper.map(jsonMapper.readValue(block, StoredBlock.class), Block.class));
+    }
+  }
+
+  @Test
+  public void testSerializeDeserialize_withRealBlocks_shouldRestoreThemExactly() {
+    for (Block block : blocks) {
+      Block result = schemaSerializer.deserialize(schemaSerializer.serialize(block), Block.class);
+
+      assertEquals("verify block is restored exactly", block.toString(), result.toString());
+      assertEquals("verify block hash is restored", block.getHash(), result.getHash());
+      assertEquals("verify first input signature is restored",
+          block.getTransactions().get(0).getInputs().get(0).getSignature(),
+          result.getTransactions().get(0).getInputs().get(0).getSignature());
+    }
+  }
+
+  @Test
+  public void testSerializeDeserialize_withFakeBlockWithNonBase58Keys_shouldRestoreExactly() {
+    Block block = TestDataFactory.getFakeBlock();
+
+    Block result = schemaSerializer.deserialize(schemaSerializer.serialize(block), Block.class);
+
+    assertEquals("verify block with text fallbacks is restored", block.toString(),
+        result.toString());
+  }
+
+  @Test
+  public void testSerializeDeserialize_withSyncResponseMessage_shouldWorkWell() {
+    var compressor = new Compressor(schemaSerializer);
+    var response = new SyncResponse<BlockInfo>();
+    response.setStartingPosition(2L);
+    response.setEntities(blocks.stream().map(TestDataFactory::mapToInfo)
+        .collect(Collectors.toList()));
+    response.setNodeId("groschn-master-123");
+    response.setLastPosition(5L);
+    response.setLastPositionReached(true);
+    response.setNextCursor("1546300800000:abc");
+    Message<MessagePayload> message = TestDataFactory.validMessage();
+    message.getPayload().setEntity(compressor.compress(response));
+
+    @SuppressWarnings("unchecked")
+    Message<MessagePayload> resultMessage =
+        schemaSerializer.deserialize(schemaSerializer.serialize(message), Message.class);
+    var entity = resultMessage.getPayload().getEntity();
+    @SuppressWarnings("unchecked")
+    SyncResponse<BlockInfo> result = compressor
+        .decompress(entity.getEntity(), entity.getOriginalSize(), SyncResponse.class).get();
+
+    assertEquals("verify message id is restored", message.getId(), resultMessage.getId());
+    assertEquals("verify sender is restored", message.getPayload().getSenderId(),
+        resultMessage.getPayload().getSenderId());
+    assertEquals("verify block infos are restored", response.getEntities(), result.getEntities());
+    assertEquals("verify node id is restored", "groschn-master-123", result.getNodeId());
+    assertEquals("verify last position is restored", 5L, result.getLastPosition().longValue());
+    assertTrue("verify last position reached is restored", result.isLastPositionReached());
+    assertEquals("verify next cursor is restored", "1546300800000:abc", result.getNextCursor());
+  }
+
+  @Test
+  public void testSerializeDeserialize_withTransactionHashSummary_shouldRestoreShortIds() {
+    var hashes = blocks.stream().flatMap(block -> block.getTransactions().stream())
+        .map(Transaction::getTransactionHash).collect(Collectors.toList());
+    hashes.add("no-hex");
+    var summary = TransactionHashSummary.of(hashes);
+
+    byte[] serialized = schemaSerializer.serialize(summary);
+    var result = schemaSerializer.deserialize(serialized, TransactionHashSummary.class);
+
+    assertEquals("verify short ids are restored", summary.getShortIds(), result.getShortIds());
+    assertTrue("verify hex short ids are written as raw bytes", 
+        serialized.length < hashes.size() * TransactionHashSummary.SHORT_ID_LENGTH);
+  }
+
+  /**
+   * Rough size and throughput comparison with FST, logged instead of asserted <br>
+   * (except the size) since timings depend on the machine.
+   */
+  @Test
+  public void testSerialize_comparedToFst_shouldBeSmaller() {
+    List<Block> manyBlocks = Stream.generate(() -> blocks).limit(25)
+        .flatMap(List::stream).collect(Collectors.toList());
+    int rounds = 200;
+
+    byte[] fstBytes = fstSerializer.serialize(manyBlocks);
+    byte[] schemaBytes = schemaSerializer.serialize(manyBlocks);
+    long fstNanos = measureRoundTrips(fstSerializer, manyBlocks, rounds);
+    long schemaNanos = measureRoundTrips(schemaSerializer, manyBlocks, rounds);
+    LOG.info("{} blocks: fst {} bytes / {} us per round trip, schema {} bytes / {} us per round trip",
+        manyBlocks.size(), fstBytes.length, fstNanos / rounds / 1000, schemaBytes.length,
+        schemaNanos / rounds / 1000);
+
+    assertTrue("verify schema format is smaller than fst", schemaBytes.length < fstBytes.length);
+    assertTrue("verify single block is smaller than fst",
+        schemaSerializer.serialize(blocks.get(3)).length < fstSerializer
+            .serialize(blocks.get(3)).length);
+  }
+
+  private long measureRoundTrips(BlockSerializer serializer, List<Block> blocks, int rounds) {
+    long start = System.nanoTime();
+    for (int round = 0; round < rounds; round++) {
+      serializer.deserialize(serializer.serialize(blocks), List.class);
+    }
+    return System.nanoTime() - start;
+  }
+}
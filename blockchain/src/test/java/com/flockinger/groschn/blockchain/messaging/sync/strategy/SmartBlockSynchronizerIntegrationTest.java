@@ -20,11 +20,16 @@ import com.flockinger.groschn.blockchain.messaging.sync.SmartBlockSynchronizer;
 import com.flockinger.groschn.blockchain.messaging.sync.impl.BlockSynchronizer;
 import com.flockinger.groschn.blockchain.messaging.sync.impl.SmartBlockSynchronizerImpl;
 import com.flockinger.groschn.blockchain.model.Block;
+import com.flockinger.groschn.blockchain.repository.AddressTransactionRepository;
+import com.flockinger.groschn.blockchain.repository.BalanceRepository;
 import com.flockinger.groschn.blockchain.repository.BlockchainRepository;
 import com.flockinger.groschn.blockchain.repository.model.StoredBlock;
 import com.flockinger.groschn.blockchain.transaction.TransactionManager;
+import com.flockinger.groschn.blockchain.transaction.impl.AddressTransactionIndex;
 import com.flockinger.groschn.blockchain.validation.Assessment;
 import com.flockinger.groschn.blockchain.validation.impl.InnerBlockValidator;
+import com.flockinger.groschn.blockchain.wallet.impl.BalanceCache;
+import com.flockinger.groschn.blockchain.wallet.impl.BalanceLedgerImpl;
 import com.flockinger.groschn.messaging.inbound.MessagePackageHelper;
 import com.flockinger.groschn.messaging.members.NetworkStatistics;
 import com.flockinger.groschn.messaging.model.Message;
@@ -63,7 +68,8 @@ import org.springframework.test.context.junit4.SpringRunner;
     ScanResultMatcher.class, BlockInfoResultProvider.class, BlockChainSelector.class,
     BlockSyncResponder.class, BlockSyncInfoResponder.class, MessagingContext.class,
     MessagePackageHelper.class, BeanValidator.class,
-    BlockStorageServiceImpl.class})
+    BlockStorageServiceImpl.class, BalanceLedgerImpl.class, BalanceCache.class, BalanceRepository.class,
+    AddressTransactionIndex.class, AddressTransactionRepository.class})
 @Import(CacheConfig.class)
 @TestPropertySource(properties = "atomix.node-id=bla123")
 public class SmartBlockSynchronizerIntegrationTest extends BaseDbTest {
@@ -1,11 +1,34 @@
 package com.flockinger.groschn.blockchain.model;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.security.Security;
+import java.util.Arrays;
+import java.util.Collections;
+import org.bouncycastle.jce.provider.BouncyCastleProvider;
+import org.bouncycastle.util.encoders.Hex;
+import org.junit.BeforeClass;
 import org.junit.Test;
 import com.flockinger.groschn.blockchain.TestDataFactory;
+import com.flockinger.groschn.commons.hash.HashEncoder;
+import com.flockinger.groschn.commons.hash.HashGenerator;
+import com.flockinger.groschn.commons.hash.MerkleRootCalculator;
+import com.flockinger.groschn.commons.hash.MidstateHasher;
+import com.flockinger.groschn.commons.hash.MultiHashGenerator;
+import com.flockinger.groschn.commons.serialize.SerializationFormat;
 
 public class BlockTest {
   
+  @BeforeClass
+  public static void setup() {
+    Security.addProvider(new BouncyCastleProvider());
+  }
+  
   @Test
   public void testToString() {
     Block block = TestDataFactory.getFakeBlock();
@@ -49,4 +72,160 @@ public class BlockTest {
     
     assertEquals("verify same position blocks compare 0", -1, block1.compareTo(block2));
   }
+  
+  @Test
+  public void testIsBinaryHashed_withCurrentVersion_shouldStillHashToString() {
+    Block block = TestDataFactory.getFakeBlock();
+    
+    assertFalse("verify version 1 blocks are hashed the old way", block.isBinaryHashed());
+    assertFalse("verify unversioned transactions are hashed the old way", 
+        block.getTransactions().get(0).isBinaryHashed());
+  }
+  
+  @Test
+  public void testGenerateHash_withBinaryVersion_shouldHashEncodingInsteadOfToString() {
+    HashGenerator hasher = new MultiHashGenerator(new MerkleRootCalculator());
+    Block block = TestDataFactory.getFakeBlock();
+    String legacyHash = hasher.generateHash(block);
+    
+    block.setVersion(Block.BINARY_HASHING_VERSION);
+    String binaryHash = hasher.generateHash(block);
+    
+    assertTrue("verify version 2 blocks are hashed binary", block.isBinaryHashed());
+    assertNotEquals("verify binary hash differs from string hash", legacyHash, binaryHash);
+    assertEquals("verify binary hash is stable", binaryHash, hasher.generateHash(block));
+    block.getConsent().setNonce(124l);
+    assertNotEquals("verify nonce change changes the binary hash", binaryHash, hasher.generateHash(block));
+  }
+  
+  @Test
+  public void testEncode_withShuffledTransactions_shouldEncodeSame() {
+    Block block = TestDataFactory.getFakeBlock();
+    block.getTransactions().get(0).setTransactionHash("Thash1");
+    block.getTransactions().get(1).setTransactionHash("Thash2");
+    byte[] encoded = new HashEncoder().write(block).toByteArray();
+    
+    Collections.reverse(block.getTransactions());
+    
+    assertArrayEquals("verify transaction order doesn't change the encoding", 
+        encoded, new HashEncoder().write(block).toByteArray());
+  }
+  
+  @Test
+  public void testEncode_withSlightlyDifferentTransaction_shouldEncodeDifferently() {
+    Block block = TestDataFactory.getFakeBlock();
+    byte[] encoded = new HashEncoder().write(block).toByteArray();
+    
+    block.getTransactions().get(0).getOutputs().get(0).setPublicKey("keykez");
+    
+    assertFalse("verify transaction content is part of the encoding", 
+        Arrays.equals(encoded, new HashEncoder().write(block).toByteArray()));
+  }
+  
+  @Test
+  public void testToStringBeforeAndAfterConsent_withMidstateHashing_shouldHashSameAsWholeBlock() {
+    HashGenerator hasher = new MultiHashGenerator(new MerkleRootCalculator());
+    Block block = TestDataFactory.getFakeBlock();
+    
+    MidstateHasher midstateHasher = hasher.createMidstateHasher(
+        block.toStringBeforeConsent().getBytes(StandardCharsets.UTF_8), 
+        block.toStringAfterConsent().getBytes(StandardCharsets.UTF_8));
+    byte[] midstateHash = midstateHasher.hash(block.getConsent().toString().getBytes(StandardCharsets.UTF_8));
+    
+    assertEquals("verify split up string is the same as toString", block.toString(), 
+        block.toStringBeforeConsent() + block.getConsent() + block.toStringAfterConsent());
+    assertEquals("verify midstate hash equals normal hash", hasher.generateHash(block), Hex.toHexString(midstateHash));
+  }
+  
+  @Test
+  public void testEncodeWithoutConsent_withMidstateHashing_shouldHashSameAsWholeBlock() {
+    HashGenerator hasher = new MultiHashGenerator(new MerkleRootCalculator());
+    Block block = TestDataFactory.getFakeBlock();
+    block.setVersion(Block.BINARY_HASHING_VERSION);
+    HashEncoder headerEncoder = new HashEncoder();
+    block.encodeWithoutConsent(headerEncoder);
+    
+    MidstateHasher midstateHasher = hasher.createMidstateHasher(headerEncoder.toByteArray(), new byte[0]);
+    block.getConsent().setNonce(999l);
+    byte[] midstateHash = midstateHasher.hash(new HashEncoder().write(block.getConsent()).toByteArray());
+    
+    assertEquals("verify midstate hash equals normal hash", hasher.generateHash(block), Hex.toHexString(midstateHash));
+  }
+  
+  @Test
+  public void testGenerateHash_withUnmodifiedBlockAndToggledHash_shouldReuseMemoizedHashes() {
+    HashGenerator hasher = new MultiHashGenerator(new MerkleRootCalculator());
+    Block block = TestDataFactory.getFakeBlock();
+    String blockHash = block.getHash();
+    
+    block.setHash(null);
+    String contentHash = hasher.generateHash(block);
+    block.setHash(blockHash);
+    String fullHash = hasher.generateHash(block);
+    block.setHash(null);
+    assertEquals("verify memoized content hash is re-used", contentHash, hasher.generateHash(block));
+    block.setHash(blockHash);
+    assertEquals("verify memoized full hash is re-used", fullHash, hasher.generateHash(block));
+    
+    assertNotEquals("verify content and full hash differ", contentHash, fullHash);
+    assertEquals("verify correct cache misses", 2, hasher.getCacheStatistics().misses());
+    assertEquals("verify correct cache hits", 2, hasher.getCacheStatistics().hits());
+    assertEquals("verify correct hit rate", 0.5d, hasher.getCacheStatistics().hitRate(), 0.0001d);
+  }
+  
+  @Test
+  public void testGenerateHash_withNestedModifications_shouldNotReuseStaleHash() {
+    HashGenerator hasher = new MultiHashGenerator(new MerkleRootCalculator());
+    Block block = TestDataFactory.getFakeBlock();
+    String initialHash = hasher.generateHash(block);
+    
+    block.getTransactions().get(0).getOutputs().get(0).setAmount(new BigDecimal("12.5"));
+    assertEquals("verify output change is hashed", uncachedHash(hasher, block), hasher.generateHash(block));
+    block.getConsent().setNonce(999l);
+    assertEquals("verify consent change is hashed", uncachedHash(hasher, block), hasher.generateHash(block));
+    block.getTransactions().get(1).setTransactionHash("changed");
+    assertEquals("verify transaction hash change is hashed", uncachedHash(hasher, block), hasher.generateHash(block));
+    block.getTransactions().get(1).getInputs().set(0, TestDataFactory.fakeTransactions().get(0).getInputs().get(0));
+    assertEquals("verify replaced input is hashed", uncachedHash(hasher, block), hasher.generateHash(block));
+    block.getTransactions().remove(0);
+    assertEquals("verify removed transaction is hashed", uncachedHash(hasher, block), hasher.generateHash(block));
+    
+    assertNotEquals("verify hash changed", initialHash, hasher.generateHash(block));
+    assertEquals("verify only last hash was a cache hit", 1, hasher.getCacheStatistics().hits());
+  }
+  
+  @Test
+  public void testGenerateHash_withReorderedTransactions_shouldNotReuseStaleHash() {
+    HashGenerator hasher = new MultiHashGenerator(new MerkleRootCalculator());
+    Block block = TestDataFactory.getFakeBlock();
+    String initialHash = hasher.generateHash(block);
+    
+    Collections.swap(block.getTransactions(), 0, 1);
+    String reorderedHash = hasher.generateHash(block);
+    assertNotEquals("verify reordered transactions change the hash", initialHash, reorderedHash);
+    assertEquals("verify reordered transactions are hashed", uncachedHash(hasher, block), reorderedHash);
+    Collections.swap(block.getTransactions().get(0).getOutputs(), 0, 1);
+    assertEquals("verify reordered outputs are hashed", uncachedHash(hasher, block), hasher.generateHash(block));
+    Collections.swap(block.getTransactions(), 0, 1);
+    assertEquals("verify swapped back transactions are hashed", uncachedHash(hasher, block), hasher.generateHash(block));
+    
+    assertEquals("verify no hash was a cache hit", 0, hasher.getCacheStatistics().hits());
+  }
+  
+  @Test
+  public void testSizeFormatAt_aroundForkPosition_shouldSwitchFromFstToSchema() {
+    assertEquals("verify genesis size is measured with fst", SerializationFormat.FST, 
+        Block.sizeFormatAt(1l));
+    assertEquals("verify size before the fork is measured with fst", SerializationFormat.FST, 
+        Block.sizeFormatAt(Block.SCHEMA_SIZE_LIMIT_POSITION - 1));
+    assertEquals("verify size on the fork is measured with schema", SerializationFormat.SCHEMA, 
+        Block.sizeFormatAt(Block.SCHEMA_SIZE_LIMIT_POSITION));
+    assertEquals("verify size after the fork is measured with schema", SerializationFormat.SCHEMA, 
+        Block.sizeFormatAt(Block.SCHEMA_SIZE_LIMIT_POSITION + 1));
+  }
+  
+  private String uncachedHash(HashGenerator hasher, Block block) {
+    byte[] blockBytes = block.toString().getBytes(StandardCharsets.UTF_8);
+    return Hex.toHexString(hasher.createMidstateHasher(new byte[0], new byte[0]).hash(blockBytes));
+  }
 }
@@ -0,0 +1,123 @@
+package com.flockinger.groschn.blockchain.transaction;
+
+import static com.flockinger.groschn.blockchain.TestDataFactory.createRandomTransactionInputWith;
+import static com.flockinger.groschn.blockchain.TestDataFactory.createRandomTransactionOutputWith;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import com.flockinger.groschn.blockchain.BaseDbTest;
+import com.flockinger.groschn.blockchain.repository.TransactionPoolRepository;
+import com.flockinger.groschn.blockchain.repository.model.StoredPoolTransaction;
+import com.flockinger.groschn.blockchain.repository.model.TransactionStatus;
+import com.flockinger.groschn.blockchain.transaction.impl.MempoolIndex;
+import com.flockinger.groschn.blockchain.transaction.impl.TransactionPacker;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.ContextConfiguration;
+
+@ContextConfiguration(classes = {MempoolIndex.class, TransactionPacker.class,
+    TransactionPoolRepository.class})
+public class MempoolIndexTest extends BaseDbTest {
+
+  @Autowired
+  private MempoolIndex mempool;
+  @Autowired
+  private TransactionPoolRepository poolDao;
+
+  @Before
+  public void setup() {
+    poolDao.deleteAll();
+    mempool.rebuild();
+  }
+
+  @Test
+  public void testRebuild_withMixedPool_shouldIndexOnlyRawOnesByFeePerByte() {
+    poolDao.saveAll(ImmutableList.of(
+        fakePoolTransaction("small-fee", 110, 100, 100, 1, TransactionStatus.RAW),
+        fakePoolTransaction("big-fee-but-huge", 200, 100, 2000, 2, TransactionStatus.RAW),
+        fakePoolTransaction("big-fee-per-byte", 150, 100, 100, 3, TransactionStatus.RAW),
+        fakePoolTransaction("embedded", 900, 100, 10, 4, TransactionStatus.EMBEDDED_IN_BLOCK)));
+
+    mempool.rebuild();
+
+    assertEquals("verify only raw transactions are indexed", 3, mempool.size());
+    assertEquals("verify transactions are ordered by fee per byte",
+        ImmutableList.of("big-fee-per-byte", "small-fee", "big-fee-but-huge"),
+        Lists.newArrayList(mempool.hashesByPriority()));
+  }
+
+  @Test
+  public void testHashesByPriority_withSameFeePerByte_shouldReturnOldestFirst() {
+    mempool.add(fakePoolTransaction("newer", 110, 100, 100, 20, TransactionStatus.RAW));
+    mempool.add(fakePoolTransaction("older", 110, 100, 100, 10, TransactionStatus.RAW));
+
+    assertEquals("verify equally valuable transactions are ordered by age",
+        ImmutableList.of("older", "newer"), Lists.newArrayList(mempool.hashesByPriority()));
+  }
+
+  @Test
+  public void testAdd_withExistingHash_shouldReplacePriority() {
+    mempool.add(fakePoolTransaction("first", 110, 100, 100, 1, TransactionStatus.RAW));
+    mempool.add(fakePoolTransaction("second", 120, 100, 100, 2, TransactionStatus.RAW));
+
+    mempool.add(fakePoolTransaction("first", 150, 100, 100, 1, TransactionStatus.RAW));
+
+    assertEquals("verify re-added transaction is indexed only once", 2, mempool.size());
+    assertEquals("verify re-added transaction has the updated priority",
+        ImmutableList.of("first", "second"), Lists.newArrayList(mempool.hashesByPriority()));
+  }
+
+  @Test
+  public void testAdd_withNonRawTransaction_shouldRemoveIt() {
+    mempool.add(fakePoolTransaction("tx", 110, 100, 100, 1, TransactionStatus.RAW));
+
+    mempool.add(fakePoolTransaction("tx", 110, 100, 100, 1, TransactionStatus.EMBEDDED_IN_BLOCK));
+
+    assertFalse("verify non raw transaction is not indexed", mempool.contains("tx"));
+    assertFalse("verify priorities are empty", mempool.hashesByPriority().hasNext());
+  }
+
+  @Test
+  public void testRemove_withIndexedAndUnknownHash_shouldRemoveOnlyIndexedOne() {
+    mempool.add(fakePoolTransaction("tx1", 110, 100, 100, 1, TransactionStatus.RAW));
+    mempool.add(fakePoolTransaction("tx2", 110, 100, 100, 2, TransactionStatus.RAW));
+
+    mempool.remove("tx1");
+    mempool.remove("unknown");
+
+    assertFalse("verify removed transaction is not indexed", mempool.contains("tx1"));
+    assertTrue("verify other transaction is still indexed", mempool.contains("tx2"));
+    assertEquals("verify priorities contain only remaining one", ImmutableList.of("tx2"),
+        Lists.newArrayList(mempool.hashesByPriority()));
+  }
+
+  @Test
+  public void testAdd_withoutStoredByteSize_shouldEstimateAndIndex() {
+    var transaction = fakePoolTransaction("legacy", 110, 100, 100, 1, TransactionStatus.RAW);
+    transaction.setByteSize(null);
+
+    mempool.add(transaction);
+
+    assertTrue("verify transaction without byte size is indexed", mempool.contains("legacy"));
+  }
+
+  private StoredPoolTransaction fakePoolTransaction(String hash, long inputAmount,
+      long outputAmount, int byteSize, long createdAt, TransactionStatus status) {
+    var transaction = new StoredPoolTransaction();
+    transaction.setId(UUID.randomUUID().toString());
+    transaction.setTransactionHash(hash);
+    transaction.setCreatedAt(new Date(createdAt));
+    transaction.setStatus(status);
+    transaction.setByteSize(byteSize);
+    transaction.setInputs(List.of(createRandomTransactionInputWith(1, "in", inputAmount)));
+    transaction.setOutputs(List.of(createRandomTransactionOutputWith(1, "out", outputAmount)));
+    return transaction;
+  }
+}
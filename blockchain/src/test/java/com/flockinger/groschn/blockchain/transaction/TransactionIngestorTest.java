@@ -0,0 +1,102 @@
+package com.flockinger.groschn.blockchain.transaction;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.when;
+
+import com.flockinger.groschn.blockchain.BaseCachingTest;
+import com.flockinger.groschn.blockchain.TestDataFactory;
+import com.flockinger.groschn.blockchain.model.Transaction;
+import com.flockinger.groschn.blockchain.transaction.impl.TransactionIngestor;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import org.junit.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.mock.mockito.MockReset;
+import org.springframework.test.context.ContextConfiguration;
+
+@ContextConfiguration(classes = {TransactionIngestor.class})
+public class TransactionIngestorTest extends BaseCachingTest {
+
+  @MockBean(reset = MockReset.BEFORE)
+  private TransactionManager transactionManager;
+
+  @Autowired
+  private TransactionIngestor ingestor;
+
+  private final List<List<Transaction>> storedBatches =
+      Collections.synchronizedList(new ArrayList<>());
+
+  @Test
+  public void testSubmit_withManyTransactions_shouldStoreThemInOrderedBatches() throws Exception {
+    var allStored = new CountDownLatch(25);
+    when(transactionManager.storeTransactions(anyList())).thenAnswer(invocation -> {
+      List<Transaction> batch = invocation.getArgument(0);
+      var orderedBatch = batch.stream().filter(transaction -> 
+          transaction.getTransactionHash().startsWith("ordered")).collect(Collectors.toList());
+      storedBatches.add(orderedBatch);
+      orderedBatch.forEach(transaction -> allStored.countDown());
+      return new ArrayList<>();
+    });
+    var transactions = fakeTransactions("ordered", 25);
+
+    transactions.forEach(transaction -> 
+        assertTrue("verify transaction is accepted", ingestor.submit(transaction)));
+
+    assertTrue("verify all transactions were stored", allStored.await(5, TimeUnit.SECONDS));
+    assertTrue("verify transactions were stored in batches",
+        storedBatches.stream().filter(batch -> !batch.isEmpty()).count() < 25);
+    assertTrue("verify no batch is bigger than max batch size",
+        storedBatches.stream().allMatch(batch -> batch.size() <= 10));
+    assertEquals("verify transactions were stored in received order", transactions,
+        storedBatches.stream().flatMap(List::stream).collect(Collectors.toList()));
+  }
+
+  @Test
+  public void testSubmit_withStoringTooSlow_shouldRejectWhenQueueIsFull() throws Exception {
+    var release = new CountDownLatch(1);
+    when(transactionManager.storeTransactions(anyList())).thenAnswer(invocation -> {
+      release.await(5, TimeUnit.SECONDS);
+      return new ArrayList<>();
+    });
+
+    long rejected = fakeTransactions("flood", 100).stream().filter(transaction -> !ingestor.submit(transaction))
+        .count();
+    release.countDown();
+
+    assertTrue("verify transactions exceeding queue and batch are rejected", rejected >= 100 - 50 - 10);
+  }
+
+  @Test
+  public void testSubmit_withStoringFailingOnce_shouldContinueIngesting() throws Exception {
+    var stored = new CountDownLatch(1);
+    when(transactionManager.storeTransactions(anyList()))
+        .thenThrow(new RuntimeException("mongo down"))
+        .thenAnswer(invocation -> {
+          stored.countDown();
+          return new ArrayList<>();
+        });
+
+    ingestor.submit(fakeTransactions("failing", 1).get(0));
+    Thread.sleep(100);
+    ingestor.submit(fakeTransactions("failing", 1).get(0));
+
+    assertTrue("verify ingestion continues after a failed batch", stored.await(5, TimeUnit.SECONDS));
+  }
+
+  private List<Transaction> fakeTransactions(String hashPrefix, int count) {
+    var transactions = new ArrayList<Transaction>();
+    for (int i = 0; i < count; i++) {
+      var transaction = TestDataFactory.createValidTransaction("ex1", "ex2", "ex3", "in" + i);
+      transaction.setTransactionHash(hashPrefix + i);
+      transactions.add(transaction);
+    }
+    return transactions;
+  }
+}
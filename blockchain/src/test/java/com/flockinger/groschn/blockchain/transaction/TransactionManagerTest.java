@@ -6,24 +6,33 @@ import static com.flockinger.groschn.blockchain.TestDataFactory.createRandomTran
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.when;
 
 import com.flockinger.groschn.blockchain.BaseDbTest;
 import com.flockinger.groschn.blockchain.TestDataFactory;
+import com.flockinger.groschn.blockchain.api.dto.MerkleProofDto;
 import com.flockinger.groschn.blockchain.api.dto.TransactionIdDto;
 import com.flockinger.groschn.blockchain.api.dto.TransactionStatusDto;
+import com.flockinger.groschn.blockchain.api.dto.ViewTransactionDto;
+import com.flockinger.groschn.blockchain.dto.StoreTransactionResult;
+import com.flockinger.groschn.blockchain.dto.StoreTransactionResult.Outcome;
 import com.flockinger.groschn.blockchain.dto.TransactionDto;
+import com.flockinger.groschn.blockchain.dto.TransactionHashPage;
+import com.flockinger.groschn.blockchain.dto.TransactionPoolPage;
 import com.flockinger.groschn.blockchain.dto.TransactionStatementDto;
 import com.flockinger.groschn.blockchain.exception.HashingException;
 import com.flockinger.groschn.blockchain.exception.TransactionAlreadyClearedException;
 import com.flockinger.groschn.blockchain.exception.TransactionNotFoundException;
 import com.flockinger.groschn.blockchain.exception.validation.AssessmentFailedException;
+import com.flockinger.groschn.blockchain.model.Block;
 import com.flockinger.groschn.blockchain.model.Transaction;
 import com.flockinger.groschn.blockchain.model.TransactionInput;
 import com.flockinger.groschn.blockchain.model.TransactionOutput;
 import com.flockinger.groschn.blockchain.repository.BlockchainRepository;
+import com.flockinger.groschn.blockchain.repository.AddressTransactionRepository;
 import com.flockinger.groschn.blockchain.repository.TransactionPoolRepository;
 import com.flockinger.groschn.blockchain.repository.model.StoredBlock;
 import com.flockinger.groschn.blockchain.repository.model.StoredPoolTransaction;
@@ -31,19 +40,30 @@ import com.flockinger.groschn.blockchain.repository.model.StoredTransaction;
 import com.flockinger.groschn.blockchain.repository.model.StoredTransactionInput;
 import com.flockinger.groschn.blockchain.repository.model.StoredTransactionOutput;
 import com.flockinger.groschn.blockchain.repository.model.TransactionStatus;
+import com.flockinger.groschn.blockchain.transaction.impl.AddressTransactionIndex;
+import com.flockinger.groschn.blockchain.transaction.impl.MempoolIndex;
 import com.flockinger.groschn.blockchain.transaction.impl.TransactionManagerImpl;
+import com.flockinger.groschn.blockchain.transaction.impl.TransactionPacker;
+import com.flockinger.groschn.blockchain.transaction.impl.TransactionPoolIndexInitializer;
+import com.flockinger.groschn.blockchain.transaction.impl.TransactionPoolReaper;
 import com.flockinger.groschn.blockchain.validation.Assessment;
 import com.flockinger.groschn.blockchain.validation.Validator;
 import com.flockinger.groschn.blockchain.wallet.WalletService;
 import com.flockinger.groschn.commons.TransactionUtils;
 import com.flockinger.groschn.commons.compress.Compressor;
 import com.flockinger.groschn.commons.exception.crypto.CantConfigureSigningAlgorithmException;
+import com.flockinger.groschn.commons.hash.HashGenerator;
+import com.flockinger.groschn.commons.hash.MerkleProof;
+import com.flockinger.groschn.commons.hash.MerkleProofStep;
+import com.flockinger.groschn.commons.hash.MerkleRootAlgorithm;
 import com.google.common.collect.ImmutableList;
 import java.math.BigDecimal;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.Date;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -59,8 +79,9 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.data.mongodb.MongoDbFactory;
 import org.springframework.test.context.ContextConfiguration;
 
-@ContextConfiguration(classes = {TransactionManagerImpl.class, TransactionPoolRepository.class, MongoDbFactory.class,
-    BlockchainRepository.class})
+@ContextConfiguration(classes = {TransactionManagerImpl.class, TransactionPacker.class, MempoolIndex.class, TransactionPoolReaper.class, TransactionPoolRepository.class, MongoDbFactory.class,
+    BlockchainRepository.class, AddressTransactionIndex.class, AddressTransactionRepository.class,
+    TransactionPoolIndexInitializer.class})
 public class TransactionManagerTest extends BaseDbTest {
 
   @Autowired
@@ -79,11 +100,19 @@ public class TransactionManagerTest extends BaseDbTest {
   private BlockchainRepository blockDao;
   @Autowired
   private TransactionPoolRepository poolDao;
+  @Autowired
+  private MempoolIndex mempool;
+  @Autowired
+  private AddressTransactionIndex transactionIndex;
+  @Autowired
+  private TransactionPoolIndexInitializer indexInitializer;
   
   private List<StoredPoolTransaction> fakePoolTransactions = createFakePooledTransactions();
   
   @Autowired 
   private ModelMapper mapper;
+  @Autowired
+  private HashGenerator hasher;
   
   
   @Before
@@ -91,11 +120,21 @@ public class TransactionManagerTest extends BaseDbTest {
     when(walletMock.getNodePublicKey()).thenReturn("masta-key");
     poolDao.deleteAll();
     blockDao.deleteAll();
+    indexInitializer.run(null);
+    mempool.rebuild();
+    transactionIndex.rebuild();
   }
   
   @Test
-  public void testFetchTransactionsFromPool_withSomeByteSize_shouldReturnCorrect() {
+  public void testFetchTransactionsFromPool_withSomeByteSize_shouldReturnHighestFeesFirst() {
     poolDao.saveAll(fakePoolTransactions);
+    mempool.rebuild();
+    List<String> expectedOrder = fakePoolTransactions.stream()
+        .filter(tx -> TransactionStatus.RAW.equals(tx.getStatus()))
+        .sorted(Comparator.comparing(this::fee).reversed()
+            .thenComparing(StoredPoolTransaction::getCreatedAt))
+        .map(StoredPoolTransaction::getTransactionHash).collect(Collectors.toList());
+    
     List<Transaction> transactions = manager.fetchTransactionsBySize(5000);
     long size = transactions.stream()
         .map(compressor::compress)
@@ -104,11 +143,20 @@ public class TransactionManagerTest extends BaseDbTest {
     assertNotNull("verify returned transactions are not null", transactions);
     assertFalse("verify returned transactions are not empty", transactions.isEmpty());
     assertTrue("verify that returned transactions are smaller than the limit", size < 5000);
-    assertEquals("verify first returned transaction should be oldest raw one", "993", transactions.get(0).getTransactionHash());
-    assertEquals("verify second returned transaction should be 2nd oldest raw one", "995", transactions.get(1).getTransactionHash());
-    assertEquals("verify third returned transaction should be 3rd oldest raw one", "998", transactions.get(2).getTransactionHash());
-    assertEquals("verify fourth returned transaction should be 4th oldest raw one", "999", transactions.get(3).getTransactionHash());
+    assertEquals("verify all raw transactions are returned highest fee per byte first", expectedOrder, 
+        transactions.stream().map(Transaction::getTransactionHash).collect(Collectors.toList()));
+  }
+  
+  @Test
+  public void testFetchTransactionsFromPool_withIndexedTransactionGoneFromPool_shouldSkipAndUnindexIt() {
+    poolDao.saveAll(fakePoolTransactions);
+    mempool.rebuild();
+    poolDao.delete(poolDao.findByTransactionHash("995").get());
+    
+    List<Transaction> transactions = manager.fetchTransactionsBySize(5000);
     
+    assertEquals("verify only still existing raw transactions are returned", 3, transactions.size());
+    assertFalse("verify removed transaction is not in the index anymore", mempool.contains("995"));
   }
   
   @Test
@@ -154,6 +202,80 @@ public class TransactionManagerTest extends BaseDbTest {
     assertEquals("verify that returned transaction size is correct", 0, transactions.size());
   }
   
+  @Test
+  public void testFetchTransactionsAfter_withFollowingCursors_shouldPageThroughAllRawOnes() {
+    poolDao.saveAll(fakePoolTransactions);
+    
+    TransactionPoolPage firstPage = manager.fetchTransactionsAfter(null, 3);
+    TransactionPoolPage secondPage = manager.fetchTransactionsAfter(firstPage.getNextCursor(), 3);
+    TransactionPoolPage lastPage = manager.fetchTransactionsAfter(secondPage.getNextCursor(), 3);
+    
+    assertEquals("verify first page contains oldest raw ones", ImmutableList.of("993", "995", "998"), 
+        firstPage.getTransactions().stream().map(Transaction::getTransactionHash).collect(Collectors.toList()));
+    assertEquals("verify first page cursor points to it's last transaction", "998:998", firstPage.getNextCursor());
+    assertEquals("verify second page contains the rest", ImmutableList.of("999"), 
+        secondPage.getTransactions().stream().map(Transaction::getTransactionHash).collect(Collectors.toList()));
+    assertTrue("verify page after the last one is empty", lastPage.getTransactions().isEmpty());
+    assertEquals("verify empty page has no next cursor", null, lastPage.getNextCursor());
+  }
+  
+  @Test
+  public void testFetchTransactionsAfter_withSameCreationTimes_shouldPageByHashWithoutGaps() {
+    var sameTimeTransactions = createFakePooledTransactions();
+    sameTimeTransactions.forEach(transaction -> {
+      transaction.setStatus(TransactionStatus.RAW);
+      transaction.setCreatedAt(new Date(5000));
+    });
+    poolDao.saveAll(sameTimeTransactions);
+    
+    var pagedHashes = new ArrayList<String>();
+    var page = manager.fetchTransactionsAfter(null, 3);
+    for (int pageCount = 0; pageCount < 10 && page.getNextCursor() != null; pageCount++) {
+      page.getTransactions().forEach(transaction -> pagedHashes.add(transaction.getTransactionHash()));
+      page = manager.fetchTransactionsAfter(page.getNextCursor(), 3);
+    }
+    
+    assertEquals("verify each transaction was paged exactly once in hash order", sameTimeTransactions.stream()
+        .map(StoredPoolTransaction::getTransactionHash).sorted().collect(Collectors.toList()), pagedHashes);
+  }
+  
+  @Test
+  public void testFetchTransactionHashesAfter_withFollowingCursors_shouldPageSameAsTransactions() {
+    poolDao.saveAll(fakePoolTransactions);
+    
+    TransactionHashPage firstPage = manager.fetchTransactionHashesAfter(null, 3);
+    TransactionHashPage secondPage = manager.fetchTransactionHashesAfter(firstPage.getNextCursor(), 3);
+    TransactionHashPage lastPage = manager.fetchTransactionHashesAfter(secondPage.getNextCursor(), 3);
+    
+    assertEquals("verify first page contains oldest raw hashes", ImmutableList.of("993", "995", "998"), 
+        firstPage.getTransactionHashes());
+    assertEquals("verify hash page cursor equals the transaction page one", 
+        manager.fetchTransactionsAfter(null, 3).getNextCursor(), firstPage.getNextCursor());
+    assertEquals("verify second page contains the rest", ImmutableList.of("999"), secondPage.getTransactionHashes());
+    assertTrue("verify page after the last one is empty", lastPage.getTransactionHashes().isEmpty());
+    assertEquals("verify empty page has no next cursor", null, lastPage.getNextCursor());
+  }
+  
+  @Test
+  public void testFetchPoolTransactionHashes_withAllStatuses_shouldReturnAllHashes() {
+    poolDao.saveAll(fakePoolTransactions);
+    
+    var hashes = manager.fetchPoolTransactionHashes();
+    
+    assertEquals("verify all pool transaction hashes are returned", fakePoolTransactions.stream()
+        .map(StoredPoolTransaction::getTransactionHash).collect(Collectors.toSet()), hashes);
+  }
+  
+  @Test
+  public void testFetchTransactionsAfter_withInvalidCursor_shouldReturnEmptyPage() {
+    poolDao.saveAll(fakePoolTransactions);
+    
+    for (String invalidCursor : ImmutableList.of("nope", ":999", "999:", "abc:999", "99999999999999999999:9")) {
+      TransactionPoolPage page = manager.fetchTransactionsAfter(invalidCursor, 3);
+      assertTrue("verify invalid cursor returns empty page", page.getTransactions().isEmpty());
+    }
+  }
+  
   
   @Test
   public void testCreateSignedTransaction_withValidRequest_shouldCreateSignedTransactionCorrectly() {
@@ -327,6 +449,7 @@ public class TransactionManagerTest extends BaseDbTest {
     storedTx.addAll(fakePoolTransactions);
     storedTx.forEach(tx -> tx.setStatus(TransactionStatus.RAW));
     poolDao.saveAll(storedTx);
+    mempool.rebuild();
     long before = poolDao.findAll().stream()
         .filter(tx -> TransactionStatus.RAW.equals(tx.getStatus())).count();
     assertEquals("verify all are unmodified before", 10l, before);
@@ -345,6 +468,10 @@ public class TransactionManagerTest extends BaseDbTest {
         .filter(tx -> TransactionStatus.RAW.equals(tx.getStatus())).count();
     assertEquals("verify correct amount of transactions was updated to EMBEDDED_IN_BLOCK", 4l, modifiedTransactions);
     assertEquals("verify correct rest of the transactions was untouched", 6l, unmodifiedTransactions);
+    assertEquals("verify embedded transactions were removed from mempool index", 6, mempool.size());
+    
+    manager.updateTransactionStatuses(freshTranasctions, TransactionStatus.RAW);
+    assertEquals("verify transactions set back to RAW are indexed again", 10, mempool.size());
   }
   
   @Test
@@ -385,6 +512,7 @@ public class TransactionManagerTest extends BaseDbTest {
     assertEquals("verify correct status", TransactionStatus.RAW, storedTx.get().getStatus());
     assertNotNull("verify it has a createdAt date", storedTx.get().getCreatedAt());
     assertEquals("verify transaction hash", transaction.getTransactionHash(), storedTx.get().getTransactionHash());
+    assertTrue("verify stored transaction is in the mempool index", mempool.contains(transaction.getTransactionHash()));
     assertEquals("verify transaction input count", transaction.getInputs().size(), storedTx.get().getInputs().size());
     TransactionInput input = transaction.getInputs().get(0);
     StoredTransactionInput storedInput = storedTx.get().getInputs().get(0);
@@ -420,6 +548,83 @@ public class TransactionManagerTest extends BaseDbTest {
     manager.storeTransaction(transaction);
   }
   
+  @Test
+  public void testStoreTransactions_withDuplicatesExistingAndInvalid_shouldStoreOnlyNewValidOnes() {
+    Transaction existing = TestDataFactory.createValidTransaction("ex1", "ex2", "ex3", "in1");
+    existing.setTransactionHash("existing");
+    Transaction fresh = TestDataFactory.createValidTransaction("ex1", "ex2", "ex3", "in2");
+    fresh.setTransactionHash("fresh");
+    Transaction invalid = TestDataFactory.createValidTransaction("ex1", "ex2", "ex3", "in3");
+    invalid.setTransactionHash("invalid");
+    when(validator.validate(any())).thenAnswer(invocation -> Assessment.build()
+        .valid(!"invalid".equals(invocation.<Transaction>getArgument(0).getTransactionHash())));
+    manager.storeTransaction(existing);
+    
+    List<StoreTransactionResult> results = manager.storeTransactions(
+        ImmutableList.of(existing, fresh, invalid, fresh));
+    
+    assertEquals("verify one result per given transaction", 4, results.size());
+    assertEquals("verify result hashes are in given order", ImmutableList.of("existing", "fresh", "invalid", "fresh"), 
+        results.stream().map(StoreTransactionResult::getTransactionHash).collect(Collectors.toList()));
+    assertEquals("verify correct outcomes", ImmutableList.of(Outcome.ALREADY_EXISTING, Outcome.STORED, 
+        Outcome.INVALID, Outcome.ALREADY_EXISTING), 
+        results.stream().map(StoreTransactionResult::getOutcome).collect(Collectors.toList()));
+    assertNotNull("verify skipped transaction has a reason", results.get(2).getReason());
+    assertEquals("verify pool contains only existing and fresh transaction", 2l, poolDao.count());
+    var storedFresh = poolDao.findByTransactionHash("fresh");
+    assertTrue("verify fresh transaction is stored", storedFresh.isPresent());
+    assertEquals("verify fresh transaction is raw", TransactionStatus.RAW, storedFresh.get().getStatus());
+    assertNotNull("verify fresh transaction has a createdAt date", storedFresh.get().getCreatedAt());
+    assertTrue("verify fresh transaction is in the mempool index", mempool.contains("fresh"));
+  }
+  
+  @Test
+  public void testStoreTransactions_withValidatorThrowingAndMissingHash_shouldReturnInvalid() {
+    Transaction failing = TestDataFactory.createValidTransaction("ex1", "ex2", "ex3", "in1");
+    failing.setTransactionHash("failing");
+    Transaction hashless = TestDataFactory.createValidTransaction("ex1", "ex2", "ex3", "in2");
+    hashless.setTransactionHash(null);
+    when(validator.validate(any())).thenThrow(new HashingException("broken"));
+    
+    List<StoreTransactionResult> results = manager.storeTransactions(ImmutableList.of(failing, hashless));
+    
+    assertEquals("verify failing validation results invalid", Outcome.INVALID, results.get(0).getOutcome());
+    assertEquals("verify validation failure is the reason", "broken", results.get(0).getReason());
+    assertEquals("verify missing hash results invalid", Outcome.INVALID, results.get(1).getOutcome());
+    assertEquals("verify nothing was stored", 0l, poolDao.count());
+  }
+  
+  @Test
+  public void testStoreTransactions_withManyTransactions_shouldNotValidateOnCommonPool() {
+    var validatingThreads = Collections.synchronizedSet(new HashSet<String>());
+    when(validator.validate(any())).thenAnswer(invocation -> {
+      validatingThreads.add(Thread.currentThread().getName());
+      return Assessment.build().valid(true);
+    });
+    var transactions = new ArrayList<Transaction>();
+    for (int i = 0; i < 20; i++) {
+      Transaction transaction = TestDataFactory.createValidTransaction("ex1", "ex2", "ex3", "in" + i);
+      transaction.setTransactionHash("hash" + i);
+      transactions.add(transaction);
+    }
+    
+    List<StoreTransactionResult> results = manager.storeTransactions(transactions);
+    
+    assertTrue("verify all transactions are stored", results.stream()
+        .allMatch(result -> Outcome.STORED.equals(result.getOutcome())));
+    assertEquals("verify pool contains all transactions", 20l, poolDao.count());
+    assertTrue("verify no validation ran on the common fork join pool", validatingThreads.stream()
+        .noneMatch(name -> name.startsWith("ForkJoinPool.commonPool")));
+  }
+  
+  @Test
+  public void testStoreTransactions_withEmptyList_shouldStoreNothing() {
+    List<StoreTransactionResult> results = manager.storeTransactions(new ArrayList<>());
+    
+    assertTrue("verify nothing was stored", results.isEmpty());
+    assertEquals("verify pool is still empty", 0l, poolDao.count());
+  }
+  
   @Test
   public void testGetStatusOfTransaction_withTxInPool_shouldReturnCorrect() {
     var transactions = createFakePooledTransactions();
@@ -456,6 +661,42 @@ public class TransactionManagerTest extends BaseDbTest {
   }
   
   
+  @Test
+  public void testGetMerkleProofOfTransaction_withTxInBlockchain_shouldReturnVerifiableProof() {
+    blockDao.saveAll(fakeBlocks(new StoredTransactionOutput(),"1234"));
+    var storedBlock = blockDao.findByTransactionsTransactionHash("1234").get();
+    var blockTransactions = mapper.map(storedBlock, Block.class).getTransactions();
+    String merkleRoot = hasher.calculateMerkleRootHash(blockTransactions, MerkleRootAlgorithm.LEGACY);
+    
+    MerkleProofDto proof = manager.getMerkleProofOfTransaction("1234");
+    
+    assertNotNull("verify returned proof is not null", proof);
+    assertEquals("verify correct transaction hash", "1234", proof.getTransactionHash());
+    assertEquals("verify correct block hash", "I'm the one", proof.getBlockHash());
+    assertEquals("verify correct block position", 4L, proof.getBlockPosition().longValue());
+    assertEquals("verify correct algorithm", MerkleRootAlgorithm.LEGACY.name(), proof.getAlgorithm());
+    assertEquals("verify proof has a step for each tree level", 4, proof.getSteps().size());
+    
+    var commonsProof = new MerkleProof();
+    commonsProof.setAlgorithm(MerkleRootAlgorithm.valueOf(proof.getAlgorithm()));
+    commonsProof.setLeafHash(proof.getLeafHash());
+    proof.getSteps().forEach(step -> commonsProof.getSteps()
+        .add(new MerkleProofStep(step.getSiblingHash(), step.isSiblingOnLeft())));
+    assertTrue("verify proof leads to the blocks merkle root", 
+        hasher.isMerkleProofCorrect(commonsProof, merkleRoot));
+  }
+  
+  @Test(expected = TransactionNotFoundException.class)
+  public void testGetMerkleProofOfTransaction_withTxOnlyInPool_shouldThrowException() {
+    var transactions = createFakePooledTransactions();
+    transactions.get(0).setTransactionHash("1234");
+    poolDao.saveAll(transactions);
+    blockDao.saveAll(fakeBlocks(null, null));
+    
+    manager.getMerkleProofOfTransaction("1234");
+  }
+  
+  
   @Test
   public void testgetTransactionsFromPublicKey_withTransactionsAndBlockTxs_shouldReturnCorrect() {
     final String pubKey = "monsterOfDesaster";
@@ -475,8 +716,9 @@ public class TransactionManagerTest extends BaseDbTest {
     blocks.get(1).getTransactions().get(1).setTransactionHash("789");
     blocks.get(1).getTransactions().get(1).getOutputs().get(0).setPublicKey(pubKey);
     blockDao.saveAll(blocks);
+    transactionIndex.rebuild();
     
-    var pubKeyTxs = manager.getTransactionsFromPublicKey(pubKey);
+    var pubKeyTxs = manager.getTransactionsFromPublicKey(pubKey, 0, 50);
     assertNotNull("verify returned transactions are not null", pubKeyTxs);
     assertEquals("verify correct transaction count for pub key", 4, pubKeyTxs.size());
     assertNotNull("verify transaction id is not null", pubKeyTxs.get(0).getId());
@@ -506,11 +748,128 @@ public class TransactionManagerTest extends BaseDbTest {
   public void testgetTransactionsFromPublicKey_withNoTransactionsDone_shouldReturnCorrect() {
     final String pubKey = "masterOfDesaster";
     
-    var pubKeyTxs = manager.getTransactionsFromPublicKey(pubKey);
+    var pubKeyTxs = manager.getTransactionsFromPublicKey(pubKey, 0, 50);
     assertNotNull("verify returned transactions are not null", pubKeyTxs);
     assertEquals("verify correct transaction count for pub key", 0, pubKeyTxs.size());
   }
   
+  @Test
+  public void testGetTransactionsFromPublicKey_withStoredAndEmbeddedTransactions_shouldPageNewestFirst() {
+    Transaction transaction = TestDataFactory.createValidTransaction("ex1", "ex2", "ex3", "in1");
+    when(validator.validate(any())).thenReturn(Assessment.build().valid(true));
+    manager.storeTransaction(transaction);
+    var blocks = fakeBlocks(null, null);
+    for (int index = 0; index < blocks.size(); index++) {
+      blocks.get(index).setTimestamp(1000l + index);
+      blocks.get(index).getTransactions().get(0).getOutputs().get(0).setPublicKey("in1");
+      transactionIndex.blockStored(blockDao.save(blocks.get(index)));
+    }
+    
+    var firstPage = manager.getTransactionsFromPublicKey("in1", 0, 2);
+    var secondPage = manager.getTransactionsFromPublicKey("in1", 1, 2);
+    
+    assertEquals("verify page size is respected", 2, firstPage.size());
+    assertEquals("verify fresh pool transaction is newest", transaction.getTransactionHash(), 
+        firstPage.get(0).getId());
+    assertEquals("verify latest block transaction follows", 
+        blocks.get(blocks.size() - 1).getTransactions().get(0).getTransactionHash(), firstPage.get(1).getId());
+    assertEquals("verify second page continues with older block transaction", 
+        blocks.get(blocks.size() - 2).getTransactions().get(0).getTransactionHash(), secondPage.get(0).getId());
+    assertEquals("verify large page contains all transactions", blocks.size() + 1, 
+        manager.getTransactionsFromPublicKey("in1", 0, 10000).size());
+  }
+  
+  @Test
+  public void testGetTransactionsFromPublicKey_withRemovedBlockAndPoolTransaction_shouldNotReturnThem() {
+    final String pubKey = "monsterOfDesaster";
+    var transactions = createFakePooledTransactions();
+    transactions.get(1).getOutputs().get(0).setPublicKey(pubKey);
+    poolDao.saveAll(transactions);
+    var blocks = fakeBlocks(null, null);
+    blocks.get(0).getTransactions().get(0).getInputs().get(0).setPublicKey(pubKey);
+    blockDao.saveAll(blocks);
+    transactionIndex.rebuild();
+    
+    transactionIndex.blockRemoved(blocks.get(0));
+    transactionIndex.poolTransactionsRemoved(ImmutableList.of(transactions.get(1).getTransactionHash()));
+    
+    assertEquals("verify removed transactions are not in the history", 0, 
+        manager.getTransactionsFromPublicKey(pubKey, 0, 50).size());
+  }
+  
+  @Test
+  public void testGetTransactionsFromPublicKeyAfter_withFollowingCursors_shouldPageSameAsOffsetPages() {
+    final String pubKey = "monsterOfDesaster";
+    var blocks = fakeBlocks(null, null);
+    for (int index = 0; index < blocks.size(); index++) {
+      blocks.get(index).setTimestamp(1000l + (index / 2));
+      blocks.get(index).getTransactions().get(0).getOutputs().get(0).setPublicKey(pubKey);
+      transactionIndex.blockStored(blockDao.save(blocks.get(index)));
+    }
+    var expectedIds = manager.getTransactionsFromPublicKey(pubKey, 0, 100).stream()
+        .map(ViewTransactionDto::getId).collect(Collectors.toList());
+    
+    List<String> pagedIds = new ArrayList<>();
+    var page = manager.getTransactionsFromPublicKeyAfter(pubKey, null, 3);
+    while (!page.getTransactions().isEmpty()) {
+      assertTrue("verify page size is respected", page.getTransactions().size() <= 3);
+      page.getTransactions().forEach(transaction -> pagedIds.add(transaction.getId()));
+      page = manager.getTransactionsFromPublicKeyAfter(pubKey, page.getNextCursor(), 3);
+    }
+    
+    assertEquals("verify each transaction was paged exactly once newest first", expectedIds, pagedIds);
+    assertEquals("verify all block transactions are paged", blocks.size(), pagedIds.size());
+    assertNull("verify empty page has no next cursor", page.getNextCursor());
+  }
+  
+  @Test
+  public void testGetTransactionsFromPublicKeyAfter_withInvalidCursor_shouldReturnEmptyPage() {
+    final String pubKey = "monsterOfDesaster";
+    var blocks = fakeBlocks(null, null);
+    blocks.get(0).getTransactions().get(0).getInputs().get(0).setPublicKey(pubKey);
+    blockDao.saveAll(blocks);
+    transactionIndex.rebuild();
+    
+    for (String invalidCursor : ImmutableList.of("nonsense", ":1234", "1234:", "12a4:1234")) {
+      var page = manager.getTransactionsFromPublicKeyAfter(pubKey, invalidCursor, 3);
+      assertTrue("verify invalid cursor returns empty page", page.getTransactions().isEmpty());
+    }
+    assertEquals("verify empty cursor returns first page", 1, 
+        manager.getTransactionsFromPublicKeyAfter(pubKey, "", 3).getTransactions().size());
+  }
+  
+  @Test
+  public void testStreamTransactionsFromPublicKey_withStoredAndEmbeddedTransactions_shouldStreamAllNewestFirst() {
+    Transaction transaction = TestDataFactory.createValidTransaction("ex1", "ex2", "ex3", "in1");
+    when(validator.validate(any())).thenReturn(Assessment.build().valid(true));
+    manager.storeTransaction(transaction);
+    var blocks = fakeBlocks(null, null);
+    for (int index = 0; index < blocks.size(); index++) {
+      blocks.get(index).setTimestamp(1000l + index);
+      blocks.get(index).getTransactions().get(0).getOutputs().get(0).setPublicKey("in1");
+      transactionIndex.blockStored(blockDao.save(blocks.get(index)));
+    }
+    
+    List<ViewTransactionDto> streamed = new ArrayList<>();
+    manager.streamTransactionsFromPublicKey("in1", streamed::add);
+    
+    assertEquals("verify all transactions are streamed in history order", 
+        manager.getTransactionsFromPublicKey("in1", 0, 100).stream().map(ViewTransactionDto::getId)
+        .collect(Collectors.toList()), 
+        streamed.stream().map(ViewTransactionDto::getId).collect(Collectors.toList()));
+    assertEquals("verify fresh pool transaction is streamed first", transaction.getTransactionHash(), 
+        streamed.get(0).getId());
+    assertEquals("verify all transactions are streamed", blocks.size() + 1, streamed.size());
+  }
+  
+  @Test
+  public void testStreamTransactionsFromPublicKey_withNoTransactionsDone_shouldStreamNothing() {
+    List<ViewTransactionDto> streamed = new ArrayList<>();
+    manager.streamTransactionsFromPublicKey("masterOfDesaster", streamed::add);
+    
+    assertTrue("verify nothing is streamed", streamed.isEmpty());
+  }
+  
   
   
   private List<StoredPoolTransaction> createFakePooledTransactions() {
@@ -527,6 +886,11 @@ public class TransactionManagerTest extends BaseDbTest {
     return poolTransactions;
   }
   
+  private BigDecimal fee(StoredPoolTransaction transaction) {
+    return transaction.getInputs().stream().map(StoredTransactionInput::getAmount).reduce(BigDecimal.ZERO, BigDecimal::add)
+        .subtract(transaction.getOutputs().stream().map(StoredTransactionOutput::getAmount).reduce(BigDecimal.ZERO, BigDecimal::add));
+  }
+  
   private StoredPoolTransaction fakePooledTransaction(long createdAt, TransactionStatus status) {
     StoredPoolTransaction tr = new StoredPoolTransaction();
     tr.setCreatedAt(new Date(createdAt));
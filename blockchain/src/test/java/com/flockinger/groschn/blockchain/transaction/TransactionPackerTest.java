@@ -0,0 +1,101 @@
+package com.flockinger.groschn.blockchain.transaction;
+
+import static com.flockinger.groschn.blockchain.TestDataFactory.createRandomTransactionWith;
+import static com.flockinger.groschn.blockchain.TestDataFactory.mapToTransaction;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import com.flockinger.groschn.blockchain.BaseCachingTest;
+import com.flockinger.groschn.blockchain.model.Block;
+import com.flockinger.groschn.blockchain.model.Transaction;
+import com.flockinger.groschn.blockchain.transaction.impl.TransactionPacker;
+import com.flockinger.groschn.commons.TransactionUtils;
+import com.flockinger.groschn.commons.serialize.SerializationFormat;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.ContextConfiguration;
+
+@ContextConfiguration(classes = {TransactionPacker.class})
+public class TransactionPackerTest extends BaseCachingTest {
+
+  private final static Logger LOG = LoggerFactory.getLogger(TransactionPackerTest.class);
+  private final static int POOL_SIZE = 100000;
+
+  @Autowired
+  private TransactionPacker packer;
+  @Autowired
+  private TransactionUtils transactionUtils;
+
+  private final AtomicInteger pulledCandidates = new AtomicInteger();
+
+  @Test
+  public void testPack_withHugePoolAndBlockSize_shouldFillBlockAccuratelyAndOnlyPullNeeded() {
+    long start = System.currentTimeMillis();
+
+    List<Transaction> transactions = packer.pack(randomPool(POOL_SIZE), Function.identity(),
+        packer::estimateByteSize, Block.MAX_TRANSACTION_BYTE_SIZE, SerializationFormat.FST);
+
+    LOG.info("Packed {} of {} pool transactions in {} ms", transactions.size(), POOL_SIZE,
+        System.currentTimeMillis() - start);
+    long compressedSize = transactionUtils.compressedByteSize(transactions);
+    assertTrue("verify packed transactions are below max size",
+        compressedSize < Block.MAX_TRANSACTION_BYTE_SIZE);
+    assertTrue("verify block is filled almost completely",
+        compressedSize > Block.MAX_TRANSACTION_BYTE_SIZE * 0.9);
+    assertEquals("verify only one more candidate than needed was pulled from the pool",
+        transactions.size() + 1, pulledCandidates.get());
+  }
+
+  @Test
+  public void testPack_withTooLowEstimates_shouldTrimToFit() {
+    long maxByteSize = 5000;
+
+    List<Transaction> transactions = packer.pack(randomPool(POOL_SIZE), Function.identity(),
+        transaction -> 1l, maxByteSize, SerializationFormat.FST);
+
+    assertTrue("verify some transactions are packed", transactions.size() > 1);
+    assertTrue("verify packed transactions are trimmed below max size",
+        transactionUtils.compressedByteSize(transactions) < maxByteSize);
+    assertTrue("verify transactions are trimmed", transactions.size() < 4999);
+  }
+
+  @Test
+  public void testPack_withTooSmallMaxSize_shouldReturnEmpty() {
+    List<Transaction> transactions = packer.pack(randomPool(10), Function.identity(),
+        packer::estimateByteSize, 10, SerializationFormat.FST);
+
+    assertTrue("verify nothing is packed", transactions.isEmpty());
+  }
+
+  @Test
+  public void testPack_withSmallPool_shouldPackAll() {
+    List<Transaction> transactions = packer.pack(randomPool(10), Function.identity(),
+        packer::estimateByteSize, Block.MAX_TRANSACTION_BYTE_SIZE, SerializationFormat.FST);
+
+    assertEquals("verify whole pool is packed", 10, transactions.size());
+  }
+
+  @Test
+  public void testPack_withSchemaFormat_shouldFillBlockMeasuredInSchemaFormat() {
+    List<Transaction> transactions = packer.pack(randomPool(POOL_SIZE), Function.identity(),
+        packer::estimateByteSize, Block.MAX_TRANSACTION_BYTE_SIZE, SerializationFormat.SCHEMA);
+
+    long compressedSize = transactionUtils.compressedByteSize(transactions, SerializationFormat.SCHEMA);
+    assertTrue("verify packed transactions are below max size in schema format",
+        compressedSize < Block.MAX_TRANSACTION_BYTE_SIZE);
+    assertTrue("verify block is filled almost completely in schema format",
+        compressedSize > Block.MAX_TRANSACTION_BYTE_SIZE * 0.9);
+  }
+
+  private Iterator<Transaction> randomPool(int size) {
+    return Stream.generate(() -> mapToTransaction(createRandomTransactionWith(null, null, null)))
+        .limit(size).peek(transaction -> pulledCandidates.incrementAndGet()).iterator();
+  }
+}
@@ -0,0 +1,104 @@
+package com.flockinger.groschn.blockchain.transaction;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import com.flockinger.groschn.blockchain.BaseDbTest;
+import com.flockinger.groschn.blockchain.repository.TransactionPoolRepository;
+import com.flockinger.groschn.blockchain.repository.model.StoredPoolTransaction;
+import com.flockinger.groschn.blockchain.repository.model.TransactionStatus;
+import com.flockinger.groschn.blockchain.transaction.impl.TransactionPoolIndexMigration;
+import com.google.common.collect.ImmutableList;
+import java.util.Date;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Sort.Direction;
+import org.springframework.data.mongodb.MongoDbFactory;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.index.IndexInfo;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.test.context.ContextConfiguration;
+
+@ContextConfiguration(classes = {TransactionPoolRepository.class})
+public class TransactionPoolIndexMigrationTest extends BaseDbTest {
+
+  @Autowired
+  private TransactionPoolRepository poolDao;
+  @Autowired
+  private MongoDbFactory factory;
+
+  private MongoTemplate template;
+  private IndexOperations indexOps;
+
+  @Before
+  public void setup() {
+    template = new MongoTemplate(factory);
+    indexOps = template.indexOps(StoredPoolTransaction.class);
+    poolDao.deleteAll();
+    if (indexNames().contains(TransactionPoolIndexMigration.UNIQUE_INDEX_NAME)) {
+      indexOps.dropIndex(TransactionPoolIndexMigration.UNIQUE_INDEX_NAME);
+    }
+  }
+
+  @Test
+  public void testMigrate_withOldIndexAndDuplicates_shouldRemoveDuplicatesAndCreateUniqueIndex() {
+    indexOps.ensureIndex(new Index().on(StoredPoolTransaction.TX_HASH_NAME, Direction.ASC)
+        .named(TransactionPoolIndexMigration.OLD_INDEX_NAME).background());
+    poolDao.saveAll(ImmutableList.of(fakePoolTransaction("first"), fakePoolTransaction("double"),
+        fakePoolTransaction("double"), fakePoolTransaction("triple"), fakePoolTransaction("triple"),
+        fakePoolTransaction("triple")));
+
+    new TransactionPoolIndexMigration(template).migrate();
+
+    assertEquals("verify duplicates are removed", 3, poolDao.count());
+    assertTrue("verify each transaction is kept once", 
+        poolDao.existsByTransactionHash("first") && poolDao.existsByTransactionHash("double")
+        && poolDao.existsByTransactionHash("triple"));
+    assertFalse("verify old index is dropped", 
+        indexNames().contains(TransactionPoolIndexMigration.OLD_INDEX_NAME));
+    assertTrue("verify unique index is created", 
+        indexNames().contains(TransactionPoolIndexMigration.UNIQUE_INDEX_NAME));
+  }
+
+  @Test(expected = DuplicateKeyException.class)
+  public void testMigrate_withFreshPool_shouldRejectDuplicates() {
+    new TransactionPoolIndexMigration(template).migrate();
+    new TransactionPoolIndexMigration(template).migrate();
+    
+    poolDao.save(fakePoolTransaction("double"));
+    poolDao.save(fakePoolTransaction("double"));
+  }
+
+  @Test
+  public void testMigrate_withUniqueIndexExisting_shouldDoNothing() {
+    new TransactionPoolIndexMigration(template).migrate();
+    indexOps.ensureIndex(new Index().on(StoredPoolTransaction.CREATED_AT_NAME, Direction.ASC)
+        .named(TransactionPoolIndexMigration.OLD_INDEX_NAME).background());
+    
+    new TransactionPoolIndexMigration(template).migrate();
+    
+    assertTrue("verify old index is not touched again", 
+        indexNames().contains(TransactionPoolIndexMigration.OLD_INDEX_NAME));
+    assertTrue("verify unique index still exists", 
+        indexNames().contains(TransactionPoolIndexMigration.UNIQUE_INDEX_NAME));
+    indexOps.dropIndex(TransactionPoolIndexMigration.OLD_INDEX_NAME);
+  }
+
+  private List<String> indexNames() {
+    return indexOps.getIndexInfo().stream().map(IndexInfo::getName).collect(Collectors.toList());
+  }
+
+  private StoredPoolTransaction fakePoolTransaction(String hash) {
+    var transaction = new StoredPoolTransaction();
+    transaction.setTransactionHash(hash);
+    transaction.setCreatedAt(new Date());
+    transaction.setStatus(TransactionStatus.RAW);
+    return transaction;
+  }
+}
@@ -3,15 +3,14 @@ package com.flockinger.groschn.blockchain.transaction;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.flockinger.groschn.blockchain.BaseCachingTest;
 import com.flockinger.groschn.blockchain.TestDataFactory;
-import com.flockinger.groschn.blockchain.exception.validation.AssessmentFailedException;
 import com.flockinger.groschn.blockchain.model.Transaction;
+import com.flockinger.groschn.blockchain.transaction.impl.TransactionIngestor;
 import com.flockinger.groschn.blockchain.transaction.impl.TransactionPoolListener;
 import com.flockinger.groschn.messaging.config.MainTopics;
 import com.flockinger.groschn.messaging.inbound.MessagePackageHelper;
@@ -33,7 +32,7 @@ import org.springframework.test.context.ContextConfiguration;
 public class TransactionPoolListenerTest extends BaseCachingTest {
 
   @MockBean(reset=MockReset.BEFORE)
-  private TransactionManager transactionManager;
+  private TransactionIngestor ingestor;
   @MockBean
   @Qualifier("TransactionId_Cache")
   private Cache<String, String> transactionIdCache;
@@ -53,14 +52,15 @@ public class TransactionPoolListenerTest extends BaseCachingTest {
   }
     
   @Test
-  public void testReceiveMessage_withValidBlockAndData_shouldStore() {
+  public void testReceiveMessage_withValidBlockAndData_shouldSubmitForStoring() {
     when(helper.verifyAndUnpackMessage(any(),any(),any(Class.class))).thenReturn(Optional.of(freshTransaction));
+    when(ingestor.submit(any())).thenReturn(true);
     Message<MessagePayload> message = TestDataFactory.validMessage();
     
     listener.receiveMessage(message);
     
     ArgumentCaptor<Transaction> txCaptor = ArgumentCaptor.forClass(Transaction.class);
-    verify(transactionManager).storeTransaction(txCaptor.capture());
+    verify(ingestor).submit(txCaptor.capture());
     Transaction transactionToStore = txCaptor.getValue();
     assertNotNull("verify that to store transaction is not null", transactionToStore);
     assertEquals("verify that the to stored transaction is exactly the decompressed one", freshTransaction, transactionToStore);
@@ -73,7 +73,7 @@ public class TransactionPoolListenerTest extends BaseCachingTest {
     
     listener.receiveMessage(message);
     
-    verify(transactionManager,times(0)).storeTransaction(any());
+    verify(ingestor,times(0)).submit(any());
   }
   
   
@@ -87,7 +87,7 @@ public class TransactionPoolListenerTest extends BaseCachingTest {
       listener.receiveMessage(message);
     }
     ArgumentCaptor<Transaction> txCaptor = ArgumentCaptor.forClass(Transaction.class);
-    verify(transactionManager,times(30)).storeTransaction(txCaptor.capture());
+    verify(ingestor,times(30)).submit(txCaptor.capture());
     Transaction toStoreTransaction = txCaptor.getValue();
     assertNotNull("verify that to store transaction is not null", toStoreTransaction);
     assertEquals("verify that the to stored transaction is exactly the decompressed one", freshTransaction, toStoreTransaction);
@@ -96,12 +96,14 @@ public class TransactionPoolListenerTest extends BaseCachingTest {
 
   
   @Test
-  public void testReceiveMessage_withStorageValidationFailed_shouldDoNothing() {
+  public void testReceiveMessage_withIngestionQueueFull_shouldDropIt() {
     when(helper.verifyAndUnpackMessage(any(),any(),any(Class.class))).thenReturn(Optional.of(freshTransaction));
+    when(ingestor.submit(any())).thenReturn(false);
     Message<MessagePayload> message = TestDataFactory.validMessage();
-    doThrow(AssessmentFailedException.class).when(transactionManager).storeTransaction(any());
     
     listener.receiveMessage(message);
+    
+    verify(ingestor).submit(any());
   }
   
   @Test
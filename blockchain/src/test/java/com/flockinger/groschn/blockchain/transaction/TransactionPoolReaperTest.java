@@ -0,0 +1,137 @@
+package com.flockinger.groschn.blockchain.transaction;
+
+import static com.flockinger.groschn.blockchain.TestDataFactory.createRandomTransactionInputWith;
+import static com.flockinger.groschn.blockchain.TestDataFactory.createRandomTransactionOutputWith;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import com.flockinger.groschn.blockchain.BaseDbTest;
+import com.flockinger.groschn.blockchain.repository.AddressTransactionRepository;
+import com.flockinger.groschn.blockchain.repository.TransactionPoolRepository;
+import com.flockinger.groschn.blockchain.repository.model.StoredPoolTransaction;
+import com.flockinger.groschn.blockchain.repository.model.TransactionStatus;
+import com.flockinger.groschn.blockchain.transaction.impl.AddressTransactionIndex;
+import com.flockinger.groschn.blockchain.transaction.impl.MempoolIndex;
+import com.flockinger.groschn.blockchain.transaction.impl.TransactionPacker;
+import com.flockinger.groschn.blockchain.transaction.impl.TransactionPoolReaper;
+import com.google.common.collect.ImmutableList;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.MongoDbFactory;
+import org.springframework.test.context.ContextConfiguration;
+
+@ContextConfiguration(classes = {TransactionPoolReaper.class, MempoolIndex.class,
+    TransactionPacker.class, TransactionPoolRepository.class, MongoDbFactory.class,
+    AddressTransactionIndex.class, AddressTransactionRepository.class})
+public class TransactionPoolReaperTest extends BaseDbTest {
+
+  @Autowired
+  private TransactionPoolReaper reaper;
+  @Autowired
+  private MempoolIndex mempool;
+  @Autowired
+  private TransactionPoolRepository poolDao;
+
+  @Before
+  public void setup() {
+    poolDao.deleteAll();
+    mempool.rebuild();
+  }
+
+  @Test
+  public void testExpireOldTransactions_withMixedAges_shouldDeleteOnlyExpiredOnes() {
+    var legacyRaw = fakePoolTransaction("old-legacy-raw", 110, 1, TransactionStatus.RAW, 120);
+    legacyRaw.setStatusChangedAt(null);
+    poolDao.saveAll(ImmutableList.of(
+        fakePoolTransaction("old-raw", 110, 1, TransactionStatus.RAW, 61),
+        fakePoolTransaction("fresh-raw", 110, 1, TransactionStatus.RAW, 59),
+        legacyRaw,
+        fakePoolTransaction("old-embedded", 110, 1, TransactionStatus.EMBEDDED_IN_BLOCK, 11),
+        fakePoolTransaction("fresh-embedded", 110, 1, TransactionStatus.EMBEDDED_IN_BLOCK, 9)));
+    mempool.rebuild();
+
+    reaper.expireOldTransactions();
+
+    assertEquals("verify only fresh transactions are left in pool", 
+        ImmutableList.of("fresh-embedded", "fresh-raw"), remainingHashes());
+    assertEquals("verify only fresh raw transaction is left in index", 1, mempool.size());
+    assertTrue("verify fresh raw transaction is indexed", mempool.contains("fresh-raw"));
+  }
+
+  @Test
+  public void testEvictOverflow_withTooManyEntries_shouldEvictLowestFeesFirst() {
+    var transactions = new ArrayList<StoredPoolTransaction>();
+    for (int i = 0; i < 1005; i++) {
+      transactions.add(fakePoolTransaction("tx" + i, 100 + i, 1, TransactionStatus.RAW, 0));
+    }
+    poolDao.saveAll(transactions);
+    mempool.rebuild();
+
+    reaper.evictOverflow();
+
+    assertEquals("verify pool is shrunk to max entries", 1000l, poolDao.count());
+    assertEquals("verify index is shrunk to max entries", 1000, mempool.size());
+    for (int i = 0; i < 5; i++) {
+      assertFalse("verify lowest fee transaction was evicted", poolDao.existsByTransactionHash("tx" + i));
+      assertFalse("verify lowest fee transaction was unindexed", mempool.contains("tx" + i));
+    }
+    assertTrue("verify next lowest fee transaction is kept", poolDao.existsByTransactionHash("tx5"));
+  }
+
+  @Test
+  public void testEvictOverflow_withTooManyBytes_shouldEvictLowestFeePerByte() {
+    poolDao.saveAll(ImmutableList.of(
+        fakePoolTransaction("cheap", 400100, 400000, TransactionStatus.RAW, 0),
+        fakePoolTransaction("pricy", 800100, 400000, TransactionStatus.RAW, 0),
+        fakePoolTransaction("medium", 400200, 400000, TransactionStatus.RAW, 0)));
+    mempool.rebuild();
+
+    reaper.evictOverflow();
+
+    assertEquals("verify lowest fee per byte transaction was evicted",
+        ImmutableList.of("medium", "pricy"), remainingHashes());
+    assertEquals("verify index byte size is within limits", 800000l, mempool.byteSize());
+  }
+
+  @Test
+  public void testEvictOverflow_withPoolWithinLimits_shouldDoNothing() {
+    poolDao.saveAll(ImmutableList.of(
+        fakePoolTransaction("tx1", 110, 1, TransactionStatus.RAW, 0),
+        fakePoolTransaction("tx2", 120, 1, TransactionStatus.RAW, 0)));
+    mempool.rebuild();
+
+    reaper.evictOverflow();
+
+    assertEquals("verify nothing was evicted", 2l, poolDao.count());
+    assertEquals("verify index is untouched", 2, mempool.size());
+  }
+
+  private List<String> remainingHashes() {
+    return poolDao.findAll().stream().map(StoredPoolTransaction::getTransactionHash).sorted()
+        .collect(Collectors.toList());
+  }
+
+  private StoredPoolTransaction fakePoolTransaction(String hash, long inputAmount, int byteSize,
+      TransactionStatus status, long statusAgeMinutes) {
+    var statusChangedAt = new Date(System.currentTimeMillis() 
+        - TimeUnit.MINUTES.toMillis(statusAgeMinutes));
+    var transaction = new StoredPoolTransaction();
+    transaction.setId(UUID.randomUUID().toString());
+    transaction.setTransactionHash(hash);
+    transaction.setCreatedAt(statusChangedAt);
+    transaction.setStatusChangedAt(statusChangedAt);
+    transaction.setStatus(status);
+    transaction.setByteSize(byteSize);
+    transaction.setInputs(List.of(createRandomTransactionInputWith(1, "in", inputAmount)));
+    transaction.setOutputs(List.of(createRandomTransactionOutputWith(1, "out", 100l)));
+    return transaction;
+  }
+}
@@ -5,6 +5,7 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mockingDetails;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -15,21 +16,27 @@ import com.flockinger.groschn.blockchain.model.Transaction;
 import com.flockinger.groschn.blockchain.model.TransactionInput;
 import com.flockinger.groschn.blockchain.validation.Assessment;
 import com.flockinger.groschn.blockchain.validation.Validator;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.math.BigDecimal;
 import java.util.Date;
 import java.util.List;
 import org.apache.commons.lang3.StringUtils;
+import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.ArgumentCaptor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.util.ReflectionTestUtils;
 
 
 @RunWith(SpringRunner.class)
 @ContextConfiguration(classes = {BlockTransactionsValidator.class, TransactionValidationHelper.class})
+@TestPropertySource(properties = {"blockchain.validation.transactions.threads=4", 
+    "blockchain.validation.transactions.parallel-threshold=2"})
 public class BlockTransactionsValidatorTest {
   
   @MockBean(name = "Transaction_Validator")
@@ -40,6 +47,12 @@ public class BlockTransactionsValidatorTest {
   @Autowired
   private BlockTransactionsValidator validator;
   
+  @Before
+  public void setup() {
+    when(transactionValidator.validate(any())).thenReturn(Assessment.build().valid(true));
+    when(rewardTransactionValidator.validate(any())).thenReturn(Assessment.build().valid(true));
+  }
+  
   @Test
   public void testValidate_withLotsOfTransactionsAndARewardWithNormalTransaction_shouldValidateTrue() {
     List<Transaction> transactions = createBlockTransactions(false, false);
@@ -57,6 +70,21 @@ public class BlockTransactionsValidatorTest {
     assertEquals("verify that to validate reward is correct", "minerKey", reward.getInputs().get(0).getPublicKey());
   }
   
+  @Test
+  public void testValidate_withBoundMeterRegistry_shouldRecordLatencyOfModeAndValidity() {
+    var registry = new SimpleMeterRegistry();
+    validator.bindTo(registry);
+    
+    validator.validate(createBlockTransactions(false, false));
+    validator.validate(createBlockTransactions(false, false));
+    
+    assertEquals("verify valid parallel validations are timed", 2l, registry
+        .get("blockchain.validation.block-transactions").tag("mode", "parallel").tag("valid", "true")
+        .timer().count());
+    assertEquals("verify timers are registered once per mode and validity", 4, registry
+        .find("blockchain.validation.block-transactions").timers().size());
+  }
+  
   @Test
   public void testValidate_withRewardTxOnlyAndARewardWithNormalTransaction_shouldValidateTrue() {
     List<Transaction> transactions = createBlockTransactions(false, true);
@@ -189,6 +217,84 @@ public class BlockTransactionsValidatorTest {
     assertEquals("verify that validation resulted correct", false, result.isValid());
   }
   
+  @Test
+  public void testValidate_withFirstParallelValidationFailing_shouldCancelRemainingOnes() {
+    List<Transaction> transactions = createBlockTransactions(false, false);
+    Transaction failingTransaction = transactions.stream()
+        .filter(transaction -> !"minerKey".equals(transaction.getInputs().get(0).getPublicKey()))
+        .findFirst().get();
+    when(transactionValidator.validate(any())).thenAnswer(invocation -> {
+      if (invocation.getArgument(0) == failingTransaction) {
+        throw new AssessmentFailedException("Transaction signature is invalid!");
+      }
+      Thread.sleep(200);
+      return Assessment.build().valid(true);
+    });
+
+    Assessment result = validator.validate(transactions);
+    
+    assertEquals("verify that validation resulted correct", false, result.isValid());
+    assertEquals("verify that error message is the failing transactions one", 
+        "Transaction signature is invalid!", result.getReasonOfFailure());
+    assertTrue("verify that not yet started validations were cancelled", 
+        mockingDetails(transactionValidator).getInvocations().size() < 11);
+  }
+  
+  @Test
+  public void testValidate_withOneInvalidTransactionSequentially_shouldValidateFalse() {
+    List<Transaction> transactions = createBlockTransactions(false, false);
+    Transaction invalidTransaction = transactions.get(2);
+    when(transactionValidator.validate(any())).thenAnswer(invocation -> 
+      (invocation.getArgument(0) == invalidTransaction) 
+        ? Assessment.build().valid(false).reason("Transaction hash is invalid!") 
+        : Assessment.build().valid(true));
+    ReflectionTestUtils.setField(validator, "parallelThreshold", 100);
+    try {
+      Assessment result = validator.validate(transactions);
+      
+      assertEquals("verify that validation resulted correct", false, result.isValid());
+      assertEquals("verify that error message is the invalid transactions one", 
+          "Transaction hash is invalid!", result.getReasonOfFailure());
+      verify(transactionValidator, times(3)).validate(any());
+    } finally {
+      ReflectionTestUtils.setField(validator, "parallelThreshold", 2);
+    }
+  }
+  
+  @Test
+  public void testValidate_withOneInvalidTransactionInParallel_shouldValidateFalseAndCancelRemainingOnes() {
+    List<Transaction> transactions = createBlockTransactions(false, false);
+    Transaction invalidTransaction = transactions.get(0);
+    when(transactionValidator.validate(any())).thenAnswer(invocation -> {
+      if (invocation.getArgument(0) == invalidTransaction) {
+        return Assessment.build().valid(false).reason("Transaction hash is invalid!");
+      }
+      Thread.sleep(200);
+      return Assessment.build().valid(true);
+    });
+
+    Assessment result = validator.validate(transactions);
+    
+    assertEquals("verify that validation resulted correct", false, result.isValid());
+    assertEquals("verify that error message is the invalid transactions one", 
+        "Transaction hash is invalid!", result.getReasonOfFailure());
+    assertTrue("verify that not yet started validations were cancelled", 
+        mockingDetails(transactionValidator).getInvocations().size() < 11);
+  }
+  
+  @Test
+  public void testValidate_withInvalidRewardTransaction_shouldValidateFalse() {
+    List<Transaction> transactions = createBlockTransactions(false, false);
+    when(rewardTransactionValidator.validate(any()))
+        .thenReturn(Assessment.build().valid(false).reason("Reward is invalid!"));
+
+    Assessment result = validator.validate(transactions);
+    
+    assertEquals("verify that validation resulted correct", false, result.isValid());
+    assertEquals("verify that error message is the reward ones", 
+        "Reward is invalid!", result.getReasonOfFailure());
+  }
+  
   @Test
   public void testValidate_withRewardTransactionValidationFailing_shouldValidateFalse() {
     List<Transaction> transactions = createBlockTransactions(false, false);
@@ -10,11 +10,16 @@ import static org.junit.Assert.assertTrue;
 import com.flockinger.groschn.blockchain.BaseDbTest;
 import com.flockinger.groschn.blockchain.blockworks.impl.BlockStorageServiceImpl;
 import com.flockinger.groschn.blockchain.model.Block;
+import com.flockinger.groschn.blockchain.repository.AddressTransactionRepository;
+import com.flockinger.groschn.blockchain.repository.BalanceRepository;
 import com.flockinger.groschn.blockchain.repository.BlockchainRepository;
 import com.flockinger.groschn.blockchain.repository.model.StoredBlock;
 import com.flockinger.groschn.blockchain.transaction.TransactionManager;
+import com.flockinger.groschn.blockchain.transaction.impl.AddressTransactionIndex;
 import com.flockinger.groschn.blockchain.transaction.impl.BookkeeperImpl;
 import com.flockinger.groschn.blockchain.validation.Validator;
+import com.flockinger.groschn.blockchain.wallet.impl.BalanceCache;
+import com.flockinger.groschn.blockchain.wallet.impl.BalanceLedgerImpl;
 import com.flockinger.groschn.blockchain.wallet.impl.WalletServiceImpl;
 import com.flockinger.groschn.commons.hash.MerkleRootCalculator;
 import com.flockinger.groschn.commons.hash.MultiHashGenerator;
@@ -34,7 +39,9 @@ import org.springframework.test.context.junit4.SpringRunner;
     classes = {InnerBlockValidator.class, BlockchainRepository.class, MultiHashGenerator.class,
         MerkleRootCalculator.class,  BlockStorageServiceImpl.class, PowConsensusValidator.class,
         BlockTransactionsValidator.class, TransactionValidator.class, RewardTransactionValidator.class, 
-        TransactionValidationHelper.class, WalletServiceImpl.class, BookkeeperImpl.class})
+        TransactionValidationHelper.class, WalletServiceImpl.class, BookkeeperImpl.class,
+        BalanceLedgerImpl.class, BalanceCache.class, BalanceRepository.class,
+    AddressTransactionIndex.class, AddressTransactionRepository.class})
 public class InnerBlockValidatorTest extends BaseDbTest {
 
   @MockBean
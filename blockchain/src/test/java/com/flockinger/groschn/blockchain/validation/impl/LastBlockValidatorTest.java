@@ -3,6 +3,9 @@ package com.flockinger.groschn.blockchain.validation.impl;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -18,21 +21,33 @@ import com.flockinger.groschn.blockchain.consensus.impl.ProofOfMajorityAlgorithm
 import com.flockinger.groschn.blockchain.consensus.impl.ProofOfWorkAlgorithm;
 import com.flockinger.groschn.blockchain.messaging.sync.GlobalBlockchainStatistics;
 import com.flockinger.groschn.blockchain.model.Block;
+import com.flockinger.groschn.blockchain.model.Transaction;
 import com.flockinger.groschn.blockchain.repository.BlockProcessRepository;
 import com.flockinger.groschn.blockchain.repository.BlockchainRepository;
 import com.flockinger.groschn.blockchain.repository.TransactionPoolRepository;
 import com.flockinger.groschn.blockchain.repository.WalletRepository;
+import com.flockinger.groschn.blockchain.repository.model.StoredBlock;
+import com.flockinger.groschn.blockchain.transaction.impl.AddressTransactionIndex;
 import com.flockinger.groschn.blockchain.transaction.impl.BookkeeperImpl;
 import com.flockinger.groschn.blockchain.transaction.impl.TransactionManagerImpl;
+import com.flockinger.groschn.blockchain.transaction.impl.MempoolIndex;
+import com.flockinger.groschn.blockchain.transaction.impl.TransactionPacker;
+import com.flockinger.groschn.blockchain.transaction.impl.TransactionPoolReaper;
 import com.flockinger.groschn.blockchain.transaction.impl.TransactionPoolListener;
 import com.flockinger.groschn.blockchain.validation.Assessment;
 import com.flockinger.groschn.blockchain.validation.AssessmentFailure;
 import com.flockinger.groschn.blockchain.wallet.impl.WalletServiceImpl;
 import com.flockinger.groschn.commons.compress.Compressor;
 import com.flockinger.groschn.commons.hash.HashGenerator;
+import com.flockinger.groschn.commons.hash.MerkleRootAlgorithm;
+import com.flockinger.groschn.commons.serialize.SerializationFormat;
 import com.flockinger.groschn.commons.sign.Signer;
 import com.flockinger.groschn.messaging.members.NetworkStatistics;
 import com.flockinger.groschn.messaging.outbound.Broadcaster;
+import com.flockinger.groschn.blockchain.repository.AddressTransactionRepository;
+import com.flockinger.groschn.blockchain.repository.BalanceRepository;
+import com.flockinger.groschn.blockchain.wallet.impl.BalanceCache;
+import com.flockinger.groschn.blockchain.wallet.impl.BalanceLedgerImpl;
 import com.google.common.collect.ImmutableList;
 import java.math.BigDecimal;
 import java.util.ArrayList;
@@ -57,8 +72,9 @@ import org.springframework.test.context.TestPropertySource;
     // those are all needed to create a somewhat real block to verify:
     BlockMakerImpl.class,
     ConsensusFactory.class, ProofOfWorkAlgorithm.class, ProofOfMajorityAlgorithm.class, RewardGeneratorImpl.class,
-    TransactionManagerImpl.class, TransactionPoolRepository.class, BlockProcessRepository.class, 
-    BookkeeperImpl.class, WalletServiceImpl.class, WalletRepository.class}, initializers = ConfigFileApplicationContextInitializer.class)
+    TransactionManagerImpl.class, TransactionPacker.class, MempoolIndex.class, TransactionPoolReaper.class, TransactionPoolRepository.class, BlockProcessRepository.class, 
+    BookkeeperImpl.class, WalletServiceImpl.class, WalletRepository.class, BalanceLedgerImpl.class, BalanceCache.class, BalanceRepository.class,
+    AddressTransactionIndex.class, AddressTransactionRepository.class}, initializers = ConfigFileApplicationContextInitializer.class)
 @TestPropertySource(locations="classpath:application.yml")
 public class LastBlockValidatorTest extends BaseDbTest {
 
@@ -82,6 +98,9 @@ public class LastBlockValidatorTest extends BaseDbTest {
   @MockBean
   private Compressor mockPressor;
 
+  @Autowired
+  private BlockchainRepository blockDao;
+
   @Autowired
   @Qualifier("lastBlockValidator")
   private LastBlockValidator validator;
@@ -125,16 +144,18 @@ public class LastBlockValidatorTest extends BaseDbTest {
   
   @Test
   public void testValidate_withValidBigBlock_shouldValidateSuccess() {
-    when(mockPressor.compressedByteSize(any())).thenReturn(Block.MAX_TRANSACTION_BYTE_SIZE.intValue() - 1);
+    when(mockPressor.compressedByteSize(any(), any())).thenReturn(Block.MAX_TRANSACTION_BYTE_SIZE.intValue() - 1);
 
     Assessment result = validator.validate(freshBlock);
     
     assertEquals("verify that correct mined reward block is VALID", true, result.isValid());
+    verify(mockPressor, atLeastOnce()).compressedByteSize(any(), eq(SerializationFormat.FST));
+    verify(mockPressor, never()).compressedByteSize(any(), eq(SerializationFormat.SCHEMA));
   }
   
   @Test
   public void testValidate_withTooLowPosition_shouldValidateFail() {
-    when(mockPressor.compressedByteSize(any())).thenReturn(Block.MAX_TRANSACTION_BYTE_SIZE.intValue() - 1);
+    when(mockPressor.compressedByteSize(any(), any())).thenReturn(Block.MAX_TRANSACTION_BYTE_SIZE.intValue() - 1);
     freshBlock.setPosition(1l);
     
     Assessment result = validator.validate(freshBlock);
@@ -146,7 +167,7 @@ public class LastBlockValidatorTest extends BaseDbTest {
   
   @Test
   public void testValidate_withTooHighPosition_shouldValidateFail() {
-    when(mockPressor.compressedByteSize(any())).thenReturn(Block.MAX_TRANSACTION_BYTE_SIZE.intValue() - 1);
+    when(mockPressor.compressedByteSize(any(), any())).thenReturn(Block.MAX_TRANSACTION_BYTE_SIZE.intValue() - 1);
     freshBlock.setPosition(3l);
     
     Assessment result = validator.validate(freshBlock);
@@ -159,7 +180,7 @@ public class LastBlockValidatorTest extends BaseDbTest {
   
   @Test
   public void testValidate_withWayTooHighPosition_shouldValidateFail() {
-    when(mockPressor.compressedByteSize(any())).thenReturn(Block.MAX_TRANSACTION_BYTE_SIZE.intValue() - 1);
+    when(mockPressor.compressedByteSize(any(), any())).thenReturn(Block.MAX_TRANSACTION_BYTE_SIZE.intValue() - 1);
     freshBlock.setPosition(30l);
     
     Assessment result = validator.validate(freshBlock);
@@ -172,7 +193,7 @@ public class LastBlockValidatorTest extends BaseDbTest {
   
   @Test
   public void testValidate_withWrongLastHash_shouldValidateFail() {
-    when(mockPressor.compressedByteSize(any())).thenReturn(Block.MAX_TRANSACTION_BYTE_SIZE.intValue() - 1);
+    when(mockPressor.compressedByteSize(any(), any())).thenReturn(Block.MAX_TRANSACTION_BYTE_SIZE.intValue() - 1);
     String lastHash = freshBlock.getLastHash();
     freshBlock.setLastHash("A" + lastHash.substring(1, lastHash.length()));
     
@@ -185,7 +206,7 @@ public class LastBlockValidatorTest extends BaseDbTest {
   
   @Test
   public void testValidate_withWrongCurrentBlockHash_shouldValidateFail() {
-    when(mockPressor.compressedByteSize(any())).thenReturn(Block.MAX_TRANSACTION_BYTE_SIZE.intValue() - 1);
+    when(mockPressor.compressedByteSize(any(), any())).thenReturn(Block.MAX_TRANSACTION_BYTE_SIZE.intValue() - 1);
     String blockHash = freshBlock.getHash();
     freshBlock.setHash("A" + blockHash.substring(1, blockHash.length()));
     
@@ -198,7 +219,7 @@ public class LastBlockValidatorTest extends BaseDbTest {
   
   @Test
   public void testValidate_withWrongMerkleRootHash_shouldValidateFail() {
-    when(mockPressor.compressedByteSize(any())).thenReturn(Block.MAX_TRANSACTION_BYTE_SIZE.intValue() - 1);
+    when(mockPressor.compressedByteSize(any(), any())).thenReturn(Block.MAX_TRANSACTION_BYTE_SIZE.intValue() - 1);
     String merkleRoot = freshBlock.getTransactionMerkleRoot();
     freshBlock.setTransactionMerkleRoot("A" + merkleRoot.substring(1, merkleRoot.length()));
     
@@ -211,7 +232,7 @@ public class LastBlockValidatorTest extends BaseDbTest {
   
   @Test
   public void testValidate_withFutureTimestamp_shouldValidateFail() {
-    when(mockPressor.compressedByteSize(any())).thenReturn(Block.MAX_TRANSACTION_BYTE_SIZE.intValue() - 1);
+    when(mockPressor.compressedByteSize(any(), any())).thenReturn(Block.MAX_TRANSACTION_BYTE_SIZE.intValue() - 1);
     long timeStamp = freshBlock.getTimestamp();
     freshBlock.setTimestamp(new Date().getTime() + 10000);
     
@@ -224,19 +245,70 @@ public class LastBlockValidatorTest extends BaseDbTest {
   
   @Test
   public void testValidate_withWrongVersion_shouldValidateFail() {
-    when(mockPressor.compressedByteSize(any())).thenReturn(Block.MAX_TRANSACTION_BYTE_SIZE.intValue() - 1);
+    when(mockPressor.compressedByteSize(any(), any())).thenReturn(Block.MAX_TRANSACTION_BYTE_SIZE.intValue() - 1);
     freshBlock.setVersion(2);
     
     Assessment result = validator.validate(freshBlock);
     
-    freshBlock.setVersion(BlockMaker.CURRENT_BLOCK_VERSION);
+    freshBlock.setVersion(Block.TO_STRING_HASHING_VERSION);
     assertEquals("verify that block with wrong version is NOT valid", false, result.isValid());
     assertTrue("verify that error message is correct", StringUtils.containsIgnoreCase(result.getReasonOfFailure(),"version"));
   }
   
+  @Test
+  public void testValidate_withBinaryHashedTransactionBeforeFork_shouldValidateFail() {
+    when(mockPressor.compressedByteSize(any(), any())).thenReturn(Block.MAX_TRANSACTION_BYTE_SIZE.intValue() - 1);
+    String merkleRoot = freshBlock.getTransactionMerkleRoot();
+    freshBlock.getTransactions().get(0).setVersion(Transaction.BINARY_HASHING_VERSION);
+    freshBlock.setTransactionMerkleRoot(hasher.calculateMerkleRootHash(freshBlock.getTransactions(), 
+        freshBlock.merkleRootAlgorithm()));
+    
+    Assessment result = validator.validate(freshBlock);
+    
+    freshBlock.getTransactions().get(0).setVersion(null);
+    freshBlock.setTransactionMerkleRoot(merkleRoot);
+    assertEquals("verify that block with binary hashed transaction is NOT valid", false, result.isValid());
+    assertTrue("verify that error message is correct", StringUtils.containsIgnoreCase(result.getReasonOfFailure(),"binary hashed"));
+  }
+  
+  @Test
+  public void testValidate_withMinedBlockAfterBinaryHashingFork_shouldValidateSuccess() {
+    when(mockPressor.compressedByteSize(any(), any())).thenReturn(Block.MAX_TRANSACTION_BYTE_SIZE.intValue() - 1);
+    Block lastBlock = Block.GENESIS_BLOCK();
+    lastBlock.setPosition(Block.BINARY_HASHING_POSITION - 1);
+    lastBlock.setHash(null);
+    lastBlock.setHash(hasher.generateHash(lastBlock));
+    when(storageService.getLatestBlock()).thenReturn(lastBlock);
+    when(storageService.getLatestProofOfWorkBlock()).thenReturn(lastBlock);
+    StoredBlock storedLastBlock = new StoredBlock();
+    storedLastBlock.setPosition(lastBlock.getPosition());
+    storedLastBlock.setHash(lastBlock.getHash());
+    blockDao.save(storedLastBlock);
+    
+    maker.generation(BlockMakerCommand.RESTART);
+    Awaitility.await().atMost(Duration.ONE_MINUTE).until(() -> maker.status().equals(BlockGenerationStatus.COMPLETE));
+    ArgumentCaptor<Block> blockCaptor = ArgumentCaptor.forClass(Block.class);
+    verify(storageService, atLeastOnce()).saveInBlockchain(blockCaptor.capture());
+    Block forkBlock = blockCaptor.getValue();
+    when(blockchainStatistics.overallBlockHashes(any()))
+        .thenReturn(ImmutableList.of(forkBlock.getHash()));
+    
+    Assessment result = validator.validate(forkBlock);
+    
+    blockDao.deleteAll();
+    assertEquals("verify block is mined on the fork position", Block.BINARY_HASHING_POSITION, forkBlock.getPosition());
+    assertEquals("verify block has binary hashing version", Block.BINARY_HASHING_VERSION, forkBlock.getVersion());
+    assertEquals("verify block uses binary merkle root", MerkleRootAlgorithm.BINARY, forkBlock.merkleRootAlgorithm());
+    assertTrue("verify reward transaction is binary hashed", forkBlock.getTransactions().stream()
+        .allMatch(Transaction::isBinaryHashed));
+    assertEquals("verify that correct mined binary hashed block is VALID", true, result.isValid());
+    verify(mockPressor, atLeastOnce()).compressedByteSize(any(), eq(SerializationFormat.SCHEMA));
+    verify(mockPressor, never()).compressedByteSize(any(), eq(SerializationFormat.FST));
+  }
+  
   @Test
   public void testValidate_withTooHighTransactionSize_shouldValidateFail() {
-    when(mockPressor.compressedByteSize(any())).thenReturn(Block.MAX_TRANSACTION_BYTE_SIZE.intValue() + 1);
+    when(mockPressor.compressedByteSize(any(), any())).thenReturn(Block.MAX_TRANSACTION_BYTE_SIZE.intValue() + 1);
     
     Assessment result = validator.validate(freshBlock);
     
@@ -246,7 +318,7 @@ public class LastBlockValidatorTest extends BaseDbTest {
   
   @Test
   public void testValidate_withFailedConsensusValidation_shouldValidateFail() {
-    when(mockPressor.compressedByteSize(any())).thenReturn(Block.MAX_TRANSACTION_BYTE_SIZE.intValue() - 1);
+    when(mockPressor.compressedByteSize(any(), any())).thenReturn(Block.MAX_TRANSACTION_BYTE_SIZE.intValue() - 1);
     long realNonce = freshBlock.getConsent().getNonce();
     String oldHash = freshBlock.getHash();
     freshBlock.getConsent().setNonce(realNonce + 1);
@@ -265,7 +337,7 @@ public class LastBlockValidatorTest extends BaseDbTest {
   
   @Test
   public void testValidate_withFailedTransactionValidation_shouldValidateFail() {
-    when(mockPressor.compressedByteSize(any())).thenReturn(Block.MAX_TRANSACTION_BYTE_SIZE.intValue() - 1);
+    when(mockPressor.compressedByteSize(any(), any())).thenReturn(Block.MAX_TRANSACTION_BYTE_SIZE.intValue() - 1);
     BigDecimal oldAmount = freshBlock.getTransactions().get(0).getOutputs().get(0).getAmount();
     freshBlock.getTransactions().get(0).getOutputs().get(0).setAmount(new BigDecimal("1000"));
     
@@ -278,7 +350,7 @@ public class LastBlockValidatorTest extends BaseDbTest {
 
   @Test
   public void testValidate_withMajorityIsCorrectHash_shouldValidateTrue() {
-    when(mockPressor.compressedByteSize(any())).thenReturn(Block.MAX_TRANSACTION_BYTE_SIZE.intValue() - 1);
+    when(mockPressor.compressedByteSize(any(), any())).thenReturn(Block.MAX_TRANSACTION_BYTE_SIZE.intValue() - 1);
     when(blockchainStatistics.overallBlockHashes(any()))
         .thenReturn(ImmutableList.of(freshBlock.getHash(), freshBlock.getHash(), freshBlock.getHash(),
             freshBlock.getHash() + "1", freshBlock.getHash() + "1"));
@@ -290,7 +362,7 @@ public class LastBlockValidatorTest extends BaseDbTest {
 
   @Test
   public void testValidate_withMajorityIsOtherHash_shouldValidateFalse() {
-    when(mockPressor.compressedByteSize(any())).thenReturn(Block.MAX_TRANSACTION_BYTE_SIZE.intValue() - 1);
+    when(mockPressor.compressedByteSize(any(), any())).thenReturn(Block.MAX_TRANSACTION_BYTE_SIZE.intValue() - 1);
     when(blockchainStatistics.overallBlockHashes(any()))
         .thenReturn(ImmutableList.of(freshBlock.getHash(),
             freshBlock.getHash() + "1", freshBlock.getHash() + "1"));
@@ -305,7 +377,7 @@ public class LastBlockValidatorTest extends BaseDbTest {
 
   @Test
   public void testValidate_withNoMajorityResults_shouldValidateFalse() {
-    when(mockPressor.compressedByteSize(any())).thenReturn(Block.MAX_TRANSACTION_BYTE_SIZE.intValue() - 1);
+    when(mockPressor.compressedByteSize(any(), any())).thenReturn(Block.MAX_TRANSACTION_BYTE_SIZE.intValue() - 1);
     when(blockchainStatistics.overallBlockHashes(any())).thenReturn(new ArrayList<>());
 
     Assessment result = validator.validate(freshBlock);
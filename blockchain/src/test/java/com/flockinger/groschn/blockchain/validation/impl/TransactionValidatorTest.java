@@ -120,6 +120,23 @@ public class TransactionValidatorTest {
     assertTrue("verify correct error message", StringUtils.containsIgnoreCase(result.getReasonOfFailure(), "signature"));
   }
   
+  @Test
+  public void testValidate_withOneWrongSignature_shouldReturnFalseForThatPublicKey() {
+    Transaction transaction = createValidTransaction();
+    when(validationUtils.isHashCorrect(matches("0FABDD34578"), any())).thenReturn(true);
+    when(validationUtils.generateListHash(any())).thenReturn(new byte[0]);
+    when(validationUtils.isSignatureValid(any(), any(), any())).thenReturn(true, false, true);
+    when(wallet.calculateBalance(matches("very-secret1"))).thenReturn(new BigDecimal("100"));
+    when(wallet.calculateBalance(matches("very-secret4"))).thenReturn(new BigDecimal("200"));
+    when(wallet.calculateBalance(matches("very-secret3"))).thenReturn(new BigDecimal("300"));
+    
+    Assessment result = validator.validate(transaction);
+    assertNotNull("verify assessment is not null", result);
+    assertEquals("verify transaction validated false", false, result.isValid());
+    assertTrue("verify error message names the wrongly signed input", 
+        StringUtils.contains(result.getReasonOfFailure(), transaction.getInputs().get(1).getPublicKey()));
+  }
+  
   @Test
   public void testValidate_withInvalidInputPublicKey_shouldReturnFalse() {
     Transaction transaction = createValidTransaction();
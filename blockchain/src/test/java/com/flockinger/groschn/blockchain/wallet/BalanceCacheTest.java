@@ -0,0 +1,70 @@
+package com.flockinger.groschn.blockchain.wallet;
+
+import static org.junit.Assert.assertEquals;
+
+import com.flockinger.groschn.blockchain.wallet.impl.BalanceCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Before;
+import org.junit.Test;
+
+public class BalanceCacheTest {
+
+  private BalanceCache cache = new BalanceCache(10);
+  private SimpleMeterRegistry registry = new SimpleMeterRegistry();
+  private AtomicInteger loads = new AtomicInteger();
+
+  @Before
+  public void setup() {
+    cache.bindTo(registry);
+  }
+
+  @Test
+  public void testGet_withSameKeyTwice_shouldLoadOnlyOnce() {
+    cache.get("alice", this::load);
+    BigDecimal balance = cache.get("alice", this::load);
+
+    assertEquals("verify cached balance is returned", 1, balance.intValue());
+    assertEquals("verify balance is loaded once", 1, loads.get());
+    assertEquals("verify hit is counted", 1d, registry.get("groschn.balance.cache.hits").functionCounter().count(), 0d);
+    assertEquals("verify miss is counted", 1d, registry.get("groschn.balance.cache.misses").functionCounter().count(), 0d);
+  }
+
+  @Test
+  public void testInvalidate_withTouchedKey_shouldOnlyReloadTouchedKey() {
+    cache.get("alice", this::load);
+    cache.get("bob", this::load);
+
+    cache.invalidate(List.of("alice"));
+
+    assertEquals("verify touched key is reloaded", 3, cache.get("alice", this::load).intValue());
+    assertEquals("verify untouched key stays cached", 2, cache.get("bob", this::load).intValue());
+  }
+
+  @Test
+  public void testGet_withLedgerChangedWhileLoading_shouldNotCacheBalance() {
+    cache.get("alice", key -> {
+      cache.invalidate(List.of("bob"));
+      return load(key);
+    });
+
+    assertEquals("verify balance loaded during change is reloaded", 2, cache.get("alice", this::load).intValue());
+  }
+
+  @Test
+  public void testInvalidateAll_withCachedKeys_shouldReloadAll() {
+    cache.get("alice", this::load);
+    cache.get("bob", this::load);
+
+    cache.invalidateAll();
+
+    assertEquals("verify first key is reloaded", 3, cache.get("alice", this::load).intValue());
+    assertEquals("verify second key is reloaded", 4, cache.get("bob", this::load).intValue());
+  }
+
+  private BigDecimal load(String publicKey) {
+    return BigDecimal.valueOf(loads.incrementAndGet());
+  }
+}
@@ -0,0 +1,177 @@
+package com.flockinger.groschn.blockchain.wallet;
+
+import static com.flockinger.groschn.blockchain.TestDataFactory.createRandomTransactionInputWith;
+import static com.flockinger.groschn.blockchain.TestDataFactory.createRandomTransactionOutputWith;
+import static com.flockinger.groschn.blockchain.TestDataFactory.createRandomTransactionWith;
+import static com.flockinger.groschn.blockchain.TestDataFactory.createRandomTransactionWiths;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import com.flockinger.groschn.blockchain.BaseDbTest;
+import com.flockinger.groschn.blockchain.repository.BalanceRepository;
+import com.flockinger.groschn.blockchain.repository.BlockchainRepository;
+import com.flockinger.groschn.blockchain.repository.model.StoredBalanceLedgerState;
+import com.flockinger.groschn.blockchain.repository.model.StoredBlock;
+import com.flockinger.groschn.blockchain.repository.model.StoredTransaction;
+import com.flockinger.groschn.blockchain.wallet.impl.BalanceCache;
+import com.flockinger.groschn.blockchain.wallet.impl.BalanceLedgerImpl;
+import com.google.common.collect.ImmutableList;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import java.util.UUID;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.util.ReflectionTestUtils;
+
+@ContextConfiguration(classes = {BalanceLedgerImpl.class, BalanceCache.class, BalanceRepository.class, BlockchainRepository.class})
+public class BalanceLedgerTest extends BaseDbTest {
+
+  @Autowired
+  private BalanceLedger ledger;
+  @Autowired
+  private BlockchainRepository blockDao;
+  @Autowired
+  private BalanceRepository balanceDao;
+  @Autowired
+  private MongoTemplate template;
+
+  @Before
+  public void setup() {
+    blockDao.deleteAll();
+    balanceDao.deleteAll();
+    template.dropCollection(StoredBalanceLedgerState.class);
+    blockDao.save(block(1, income("genesis-key", 1000)));
+    ledger.initialize();
+  }
+
+  @Test
+  public void testBlockStored_withIncomesAndExpenses_shouldMaintainBalances() {
+    store(block(2, income("alice", 100), income("bob", 20)));
+    store(block(3, income("alice", 50)));
+    assertEquals("verify incomes are added up", 150, ledger.getBalance("alice").intValue());
+
+    store(block(4, expense("alice", 150, "bob", 120, 30)));
+    assertEquals("verify expense resets balance to change", 30, ledger.getBalance("alice").intValue());
+    assertEquals("verify receiver got the funds", 140, ledger.getBalance("bob").intValue());
+
+    store(block(5, income("alice", 5)));
+    assertEquals("verify income after expense is added", 35, ledger.getBalance("alice").intValue());
+    assertEquals("verify unknown key has zero balance", 0, ledger.getBalance("nobody").intValue());
+    assertTrue("verify balance is stored in ledger", balanceDao.findByPublicKey("alice").isPresent());
+  }
+
+  @Test
+  public void testBlockRemoved_withExpenseBlock_shouldRollBackBalances() {
+    store(block(2, income("alice", 100)));
+    store(block(3, expense("alice", 100, "bob", 70, 30)));
+
+    remove(3);
+
+    assertEquals("verify expense is rolled back", 100, ledger.getBalance("alice").intValue());
+    assertEquals("verify income is rolled back", 0, ledger.getBalance("bob").intValue());
+  }
+
+  @Test
+  public void testBlockStored_withReplacedBlock_shouldRecalculateBalancesOfBothBlocks() {
+    store(block(2, income("alice", 100)));
+    store(block(3, expense("alice", 100, "bob", 70, 30)));
+
+    var replacement = block(3, income("alice", 10), income("carol", 5));
+    var replaced = blockDao.findByPosition(3l);
+    replacement.setId(replaced.get().getId());
+    ledger.blockStored(blockDao.save(replacement), replaced);
+
+    assertEquals("verify replaced expense is recalculated", 110, ledger.getBalance("alice").intValue());
+    assertEquals("verify replaced income is recalculated", 0, ledger.getBalance("bob").intValue());
+    assertEquals("verify new income is applied", 5, ledger.getBalance("carol").intValue());
+  }
+
+  @Test
+  public void testBlockStored_withAlreadyAppliedBlock_shouldNotApplyTwice() {
+    var block = store(block(2, income("alice", 100)));
+
+    ledger.blockStored(block, Optional.empty());
+
+    assertEquals("verify block is only counted once", 100, ledger.getBalance("alice").intValue());
+  }
+
+  @Test
+  public void testInitialize_withBlocksStoredBehindLedger_shouldRebuild() {
+    store(block(2, income("alice", 100)));
+    blockDao.save(block(3, income("alice", 50)));
+    blockDao.save(block(4, expense("alice", 150, "bob", 140, 10), income("alice", 1)));
+
+    ledger.initialize();
+
+    assertEquals("verify missed blocks are in rebuilt ledger", 11, ledger.getBalance("alice").intValue());
+    assertEquals("verify missed receiver is in rebuilt ledger", 140, ledger.getBalance("bob").intValue());
+    assertEquals("verify genesis is in rebuilt ledger", 1000, ledger.getBalance("genesis-key").intValue());
+  }
+
+  @Test
+  public void testRebuild_withRandomChain_shouldMatchBalancesCalculatedFromChain() {
+    var keys = ImmutableList.of("alice", "bob", "carol");
+    var random = new Random(7);
+    for (long position = 2; position < 40; position++) {
+      var transactions = new ArrayList<StoredTransaction>();
+      for (String key : keys) {
+        int choice = random.nextInt(3);
+        if (choice == 0) {
+          transactions.add(income(key, random.nextInt(100) + 1));
+        } else if (choice == 1) {
+          transactions.add(expense(key, 1, "someone-" + UUID.randomUUID(), 1, random.nextInt(50) + 1));
+        }
+      }
+      blockDao.save(block(position, transactions.toArray(new StoredTransaction[0])));
+    }
+    template.dropCollection(StoredBalanceLedgerState.class);
+    var ledgerFromChain = new BalanceLedgerImpl(template.getMongoDbFactory());
+    ReflectionTestUtils.setField(ledgerFromChain, "blockDao", blockDao);
+    ReflectionTestUtils.setField(ledgerFromChain, "balanceDao", balanceDao);
+
+    ledger.rebuild();
+
+    for (String key : keys) {
+      assertEquals("verify rebuilt balance matches chain calculation for " + key, 0,
+          ledgerFromChain.getBalance(key).compareTo(ledger.getBalance(key)));
+    }
+  }
+
+  private StoredBlock store(StoredBlock block) {
+    var storedBlock = blockDao.save(block);
+    ledger.blockStored(storedBlock, Optional.empty());
+    return storedBlock;
+  }
+
+  private void remove(long position) {
+    var block = blockDao.findByPosition(position).get();
+    blockDao.removeByPosition(position);
+    ledger.blockRemoved(block);
+  }
+
+  private StoredBlock block(long position, StoredTransaction... transactions) {
+    var block = new StoredBlock();
+    block.setPosition(position);
+    block.setHash(UUID.randomUUID().toString());
+    block.setTransactions(new ArrayList<>(List.of(transactions)));
+    return block;
+  }
+
+  private StoredTransaction income(String publicKey, long amount) {
+    return createRandomTransactionWith(null,
+        createRandomTransactionOutputWith(2, publicKey, amount), null);
+  }
+
+  private StoredTransaction expense(String publicKey, long amount, String receiver,
+      long receivedAmount, long change) {
+    return createRandomTransactionWiths(
+        ImmutableList.of(createRandomTransactionInputWith(1, publicKey, amount)),
+        ImmutableList.of(createRandomTransactionOutputWith(1, receiver, receivedAmount),
+            createRandomTransactionOutputWith(2, publicKey, change)));
+  }
+}
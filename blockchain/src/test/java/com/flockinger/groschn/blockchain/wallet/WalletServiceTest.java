@@ -11,12 +11,15 @@ import static org.junit.Assert.assertTrue;
 
 import com.flockinger.groschn.blockchain.BaseDbTest;
 import com.flockinger.groschn.blockchain.dto.WalletDto;
+import com.flockinger.groschn.blockchain.repository.BalanceRepository;
 import com.flockinger.groschn.blockchain.repository.BlockchainRepository;
 import com.flockinger.groschn.blockchain.repository.WalletRepository;
 import com.flockinger.groschn.blockchain.repository.model.StoredBlock;
 import com.flockinger.groschn.blockchain.repository.model.StoredTransaction;
 import com.flockinger.groschn.blockchain.repository.model.StoredTransactionOutput;
 import com.flockinger.groschn.blockchain.repository.model.StoredWallet;
+import com.flockinger.groschn.blockchain.wallet.impl.BalanceCache;
+import com.flockinger.groschn.blockchain.wallet.impl.BalanceLedgerImpl;
 import com.flockinger.groschn.blockchain.wallet.impl.WalletServiceImpl;
 import com.flockinger.groschn.commons.exception.crypto.CantConfigureSigningAlgorithmException;
 import com.flockinger.groschn.commons.exception.crypto.CipherConfigurationException;
@@ -33,7 +36,8 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.context.TestPropertySource;
 
-@ContextConfiguration(classes = {WalletServiceImpl.class, BlockchainRepository.class, WalletRepository.class})
+@ContextConfiguration(classes = {WalletServiceImpl.class, BlockchainRepository.class, WalletRepository.class,
+    BalanceLedgerImpl.class, BalanceCache.class, BalanceRepository.class})
 @TestPropertySource(properties = {"blockchain.node.credentials.public-key=master-pub-key",
     "blockchain.node.credentials.private-key=master-private-key"})
 public class WalletServiceTest extends BaseDbTest {
@@ -3,11 +3,15 @@ package com.flockinger.groschn.commons;
 import com.flockinger.groschn.commons.compress.Compressor;
 import com.flockinger.groschn.commons.crypto.KeyAESCipher;
 import com.flockinger.groschn.commons.crypto.KeyCipher;
+import com.flockinger.groschn.commons.hash.BinaryMerkleRootCalculator;
 import com.flockinger.groschn.commons.hash.HashGenerator;
 import com.flockinger.groschn.commons.hash.MerkleRootCalculator;
 import com.flockinger.groschn.commons.hash.MultiHashGenerator;
+import com.flockinger.groschn.commons.serialize.EntitySchema;
 import com.flockinger.groschn.commons.serialize.FstSerializer;
+import com.flockinger.groschn.commons.serialize.SchemaSerializer;
 import com.flockinger.groschn.commons.sign.EcdsaSecpSigner;
+import com.flockinger.groschn.commons.sign.Secp256k1Signer;
 import com.flockinger.groschn.commons.sign.Signer;
 import java.security.Provider;
 import java.util.List;
@@ -15,17 +19,31 @@ import java.util.List;
 public class BlockchainUtilsFactory {
 
   public static HashGenerator createHashGenerator(Provider provider) {
-    return new MultiHashGenerator(new MerkleRootCalculator());
+    return new MultiHashGenerator(new MerkleRootCalculator(), new BinaryMerkleRootCalculator());
   }
 
   public static Compressor createCompressor(List<Class<?>> registeredClasses) {
     return new Compressor(new FstSerializer(registeredClasses));
   }
 
+  public static Compressor createCompressor(List<Class<?>> registeredClasses,
+      List<EntitySchema<?>> schemas, boolean writeSchemaFormat) {
+    return new Compressor(new SchemaSerializer(schemas, new FstSerializer(registeredClasses),
+        writeSchemaFormat));
+  }
+
   public static Signer createSigner(Provider provider) {
     return  new EcdsaSecpSigner(provider);
   }
 
+  public static Signer createSigner(Provider provider, long publicKeyCacheSize) {
+    return new EcdsaSecpSigner(provider, publicKeyCacheSize);
+  }
+
+  public static Signer createSecp256k1Signer(Provider provider, long publicKeyCacheSize) {
+    return new Secp256k1Signer(provider, publicKeyCacheSize);
+  }
+
   public static KeyCipher createCipher(Provider provider) {
     return new KeyAESCipher(provider);
   }
@@ -4,6 +4,7 @@ import com.flockinger.groschn.blockchain.model.Hashable;
 import com.flockinger.groschn.commons.compress.Compressor;
 import com.flockinger.groschn.commons.exception.HashingException;
 import com.flockinger.groschn.commons.hash.HashGenerator;
+import com.flockinger.groschn.commons.serialize.SerializationFormat;
 import com.flockinger.groschn.commons.sign.Signer;
 import java.util.List;
 
@@ -26,6 +27,10 @@ public class TransactionUtils {
     return compressor.compressedByteSize(entities);
   }
 
+  public <T extends Hashable<T>> int compressedByteSize(List<T> entities, SerializationFormat format) {
+    return compressor.compressedByteSize(entities, format);
+  }
+
   public String sign(byte[] transactionHash, byte[] privateKey) {
     return signer.sign(transactionHash, privateKey);
   }
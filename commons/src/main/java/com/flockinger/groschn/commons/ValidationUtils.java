@@ -5,6 +5,8 @@ import com.flockinger.groschn.blockchain.model.Sequential;
 import com.flockinger.groschn.commons.compress.Compressor;
 import com.flockinger.groschn.commons.exception.HashingException;
 import com.flockinger.groschn.commons.hash.HashGenerator;
+import com.flockinger.groschn.commons.hash.MerkleRootAlgorithm;
+import com.flockinger.groschn.commons.serialize.SerializationFormat;
 import com.flockinger.groschn.commons.sign.Signer;
 import java.util.List;
 
@@ -33,6 +35,10 @@ public class ValidationUtils {
     return hasher.calculateMerkleRootHash(entities);
   }
 
+  public <T extends Hashable<T>> String calculateMerkleRootHash(List<T> entities, MerkleRootAlgorithm algorithm) {
+    return hasher.calculateMerkleRootHash(entities, algorithm);
+  }
+
   public boolean isSignatureValid(byte[] transactionHash, String publicKey, String signature) {
     return signer.isSignatureValid(transactionHash, publicKey, signature);
   }
@@ -40,4 +46,8 @@ public class ValidationUtils {
   public <T extends Hashable<T>> int compressedByteSize(List<T> entities) {
     return compressor.compressedByteSize(entities);
   }
+
+  public <T extends Hashable<T>> int compressedByteSize(List<T> entities, SerializationFormat format) {
+    return compressor.compressedByteSize(entities, format);
+  }
 }
@@ -3,6 +3,8 @@ package com.flockinger.groschn.commons.compress;
 import com.flockinger.groschn.blockchain.model.Hashable;
 import com.flockinger.groschn.commons.exception.SerializationException;
 import com.flockinger.groschn.commons.serialize.BlockSerializer;
+import com.flockinger.groschn.commons.serialize.SerializationFormat;
+import java.nio.ByteBuffer;
 import java.util.List;
 import java.util.Optional;
 import net.jpountz.lz4.LZ4Compressor;
@@ -13,12 +15,28 @@ import org.apache.commons.collections4.ListUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+/**
+ * Serializes and LZ4 compresses entities. <br>
+ * <br>
+ * Serializing, compressing and decompressing works on per thread pooled <br>
+ * buffers, so only the resulting compressed bytes (and the entity itself <br>
+ * when decompressing) are allocated. Buffers above the max pooled size <br>
+ * are allocated for one use only, so rare huge entities aren't kept around.
+ *
+ */
 public class Compressor {
 
+  private final static int INITIAL_BUFFER_SIZE = 4 * 1024;
+  private final static int MAX_POOLED_BUFFER_SIZE = 4 * 1024 * 1024;
+
   private final BlockSerializer serializer;
   private final LZ4Factory compressorFactory = LZ4Factory.fastestJavaInstance();
   private final LZ4Compressor compressor = compressorFactory.fastCompressor();
   private final LZ4FastDecompressor decompressor = compressorFactory.fastDecompressor();
+  private final ThreadLocal<ByteBuffer> compressBuffers =
+      ThreadLocal.withInitial(() -> ByteBuffer.allocate(INITIAL_BUFFER_SIZE));
+  private final ThreadLocal<ByteBuffer> decompressBuffers =
+      ThreadLocal.withInitial(() -> ByteBuffer.allocate(INITIAL_BUFFER_SIZE));
   private static final Logger LOGGER = LoggerFactory.getLogger(Compressor.class);
 
   public Compressor(BlockSerializer serializer) {
@@ -26,17 +44,27 @@ public class Compressor {
   }
 
   public <T extends Hashable<T>> CompressedEntity compress(T entity) {
-    byte[] originalEntity = serializer.serialize(entity);
-    byte[] compressedEntity = compressor.compress(originalEntity);
-    return CompressedEntity.build().originalSize(originalEntity.length).entity(compressedEntity);
+    ByteBuffer originalEntity = serializer.serializeShared(entity);
+    int originalSize = originalEntity.remaining();
+    ByteBuffer compressBuffer = compressToBuffer(originalEntity);
+    int compressedSize = compressBuffer.limit();
+    byte[] compressedEntity = new byte[compressedSize];
+    System.arraycopy(compressBuffer.array(), 0, compressedEntity, 0, compressedSize);
+    return CompressedEntity.build().originalSize(originalSize).entity(compressedEntity);
   }
 
 
   public <T extends Hashable<T>> Optional<T> decompress(byte[] compressedEntity, int uncompressedSize,
       Class<T> type) {
     try {
-      byte[] uncompressedEntityBytes = decompressor.decompress(compressedEntity, uncompressedSize);
-      return Optional.ofNullable(serializer.deserialize(uncompressedEntityBytes, type));
+      if (uncompressedSize < 0) {
+        throw new LZ4Exception("Negative uncompressed size " + uncompressedSize);
+      }
+      ByteBuffer decompressBuffer = pooledBuffer(decompressBuffers, uncompressedSize);
+      decompressor.decompress(ByteBuffer.wrap(compressedEntity), 0, decompressBuffer, 0,
+          uncompressedSize);
+      return Optional.ofNullable(
+          serializer.deserialize(decompressBuffer.array(), uncompressedSize, type));
     } catch (SerializationException e) {
       LOGGER.error("Can't deserialize entity back to original!", e);
     } catch (LZ4Exception e) {
@@ -46,11 +74,44 @@ public class Compressor {
   }
   
   public <T extends Hashable<T>> int compressedByteSize(List<T> entities) {
+    return compressedByteSize(entities, SerializationFormat.FST);
+  }
+
+  /**
+   * Measures in the given serialization format, so the result doesn't <br>
+   * depend on the configured wire format (it's used for the block size limit).
+   */
+  public <T extends Hashable<T>> int compressedByteSize(List<T> entities, SerializationFormat format) {
     if(ListUtils.emptyIfNull(entities).isEmpty()) {
       return 0;
     }
-    byte[] entityBytes = serializer.serialize(entities);
-    return compressor.compress(entityBytes, new byte[entityBytes.length]);
+    return compressToBuffer(serializer.serializeShared(entities, format)).limit();
+  }
+
+  /**
+   * @return pooled buffer containing the compressed bytes from 0 until it's limit
+   */
+  private ByteBuffer compressToBuffer(ByteBuffer originalEntity) {
+    int originalSize = originalEntity.remaining();
+    ByteBuffer compressBuffer =
+        pooledBuffer(compressBuffers, compressor.maxCompressedLength(originalSize));
+    int compressedSize = compressor.compress(originalEntity, originalEntity.position(),
+        originalSize, compressBuffer, 0, compressBuffer.capacity());
+    compressBuffer.clear().limit(compressedSize);
+    return compressBuffer;
+  }
+
+  private ByteBuffer pooledBuffer(ThreadLocal<ByteBuffer> pool, int minimumSize) {
+    if (minimumSize > MAX_POOLED_BUFFER_SIZE) {
+      return ByteBuffer.allocate(minimumSize);
+    }
+    ByteBuffer buffer = pool.get();
+    if (buffer.capacity() < minimumSize) {
+      buffer = ByteBuffer.allocate(Math.min(Math.max(buffer.capacity() * 2, minimumSize),
+          MAX_POOLED_BUFFER_SIZE));
+      pool.set(buffer);
+    }
+    return buffer;
   }
 
   public BlockSerializer serializer() {
@@ -0,0 +1,17 @@
+package com.flockinger.groschn.commons.hash;
+
+/**
+ * Hashable entity that can be hashed by it's binary encoding <br>
+ * instead of it's toString() representation. <br>
+ * Which one is used is decided per entity (e.g. by it's version), <br>
+ * so entities hashed the old way stay verifiable.
+ *
+ */
+public interface BinaryHashable extends HashEncodable {
+
+  /**
+   * @return true if the binary encoding should be hashed, <br>
+   *         false to hash the toString() representation
+   */
+  boolean isBinaryHashed();
+}
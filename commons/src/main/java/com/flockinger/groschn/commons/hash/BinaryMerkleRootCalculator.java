@@ -0,0 +1,139 @@
+package com.flockinger.groschn.commons.hash;
+
+import com.flockinger.groschn.blockchain.model.Hashable;
+import com.flockinger.groschn.commons.exception.HashingException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.IntConsumer;
+import org.apache.commons.lang3.StringUtils;
+import org.bouncycastle.util.encoders.DecoderException;
+import org.bouncycastle.util.encoders.Hex;
+
+/**
+ * Array based Merkle root calculator. <br>
+ * <br>
+ * Keeps every tree level as an array of raw digests and hashes each <br>
+ * pair of nodes directly over their bytes (no node objects or Strings). <br>
+ * Levels with many nodes are hashed in parallel on a fork-join pool. <br>
+ * An odd node at the end of a level is paired with itself.
+ *
+ */
+public class BinaryMerkleRootCalculator {
+
+  /**
+   * Levels with less hashes than that are hashed on the calling thread.
+   */
+  private final static int PARALLEL_THRESHOLD = 64;
+
+  private final ForkJoinPool pool;
+
+  public BinaryMerkleRootCalculator() {
+    this(ForkJoinPool.commonPool());
+  }
+
+  public BinaryMerkleRootCalculator(ForkJoinPool pool) {
+    this.pool = pool;
+  }
+
+  <T extends Hashable<T>> String calculateMerkleRootHash(MultiHashGenerator hasher, List<T> entities) {
+    if (entities.isEmpty()) {
+      throw new HashingException("Cannot build hash of empty list!");
+    }
+    Collections.sort(entities);
+    var sortedEntities = new ArrayList<>(entities);
+    byte[][] leaves = new byte[sortedEntities.size()][];
+    forEachIndex(leaves.length,
+        index -> leaves[index] = hasher.generateRawHash(sortedEntities.get(index)));
+
+    byte[][] level = leaves;
+    do {
+      level = createNextUpperLevel(hasher, level);
+    } while (level.length > 1);
+    return Hex.toHexString(level[0]);
+  }
+
+  <T extends Hashable<T>> MerkleProof createMerkleProof(MultiHashGenerator hasher, List<T> entities, T entity) {
+    Collections.sort(entities);
+    int index = MerkleRootCalculator.indexOf(entities, entity);
+    var sortedEntities = new ArrayList<>(entities);
+    byte[][] level = new byte[sortedEntities.size()][];
+    forEachIndex(level.length,
+        leafIndex -> level[leafIndex] = hasher.generateRawHash(sortedEntities.get(leafIndex)));
+
+    MerkleProof proof = new MerkleProof();
+    proof.setAlgorithm(MerkleRootAlgorithm.BINARY);
+    proof.setLeafHash(Hex.toHexString(level[index]));
+    byte[][] currentLevel = level;
+    do {
+      int siblingIndex = (index % 2 == 1) ? index - 1 : Math.min(index + 1, currentLevel.length - 1);
+      proof.getSteps().add(new MerkleProofStep(Hex.toHexString(currentLevel[siblingIndex]), index % 2 == 1));
+      currentLevel = createNextUpperLevel(hasher, currentLevel);
+      index = index / 2;
+    } while (currentLevel.length > 1);
+    return proof;
+  }
+
+  boolean isMerkleProofCorrect(MultiHashGenerator hasher, MerkleProof proof, String rootHash) {
+    try {
+      byte[] currentHash = Hex.decode(proof.getLeafHash());
+      for (MerkleProofStep step : proof.getSteps()) {
+        byte[] siblingHash = Hex.decode(step.getSiblingHash());
+        currentHash = step.isSiblingOnLeft() ? hasher.hashNodePair(siblingHash, currentHash)
+            : hasher.hashNodePair(currentHash, siblingHash);
+      }
+      return StringUtils.equalsIgnoreCase(Hex.toHexString(currentHash), rootHash);
+    } catch (DecoderException invalidHex) {
+      return false;
+    }
+  }
+
+  private byte[][] createNextUpperLevel(MultiHashGenerator hasher, byte[][] level) {
+    byte[][] upperLevel = new byte[(level.length + 1) / 2][];
+    forEachIndex(upperLevel.length, index -> {
+      byte[] leftNode = level[2 * index];
+      byte[] rightNode = (2 * index + 1 < level.length) ? level[2 * index + 1] : leftNode;
+      upperLevel[index] = hasher.hashNodePair(leftNode, rightNode);
+    });
+    return upperLevel;
+  }
+
+  private void forEachIndex(int count, IntConsumer action) {
+    if (count < PARALLEL_THRESHOLD) {
+      for (int index = 0; index < count; index++) {
+        action.accept(index);
+      }
+    } else {
+      pool.invoke(new IndexRangeAction(0, count, action));
+    }
+  }
+
+  private final static class IndexRangeAction extends RecursiveAction {
+    private static final long serialVersionUID = -2395218796374129164L;
+
+    private final int from;
+    private final int to;
+    private final IntConsumer action;
+
+    private IndexRangeAction(int from, int to, IntConsumer action) {
+      this.from = from;
+      this.to = to;
+      this.action = action;
+    }
+
+    @Override
+    protected void compute() {
+      if (to - from <= PARALLEL_THRESHOLD) {
+        for (int index = from; index < to; index++) {
+          action.accept(index);
+        }
+      } else {
+        int middle = (from + to) >>> 1;
+        invokeAll(new IndexRangeAction(from, middle, action),
+            new IndexRangeAction(middle, to, action));
+      }
+    }
+  }
+}
@@ -0,0 +1,66 @@
+package com.flockinger.groschn.commons.hash;
+
+import com.flockinger.groschn.commons.exception.HashingException;
+
+/**
+ * Proof of work difficulty target: a hash meets the target if it <br>
+ * starts with at least difficulty zero nibbles (so zero characters <br>
+ * in it's hex representation). <br>
+ * <br>
+ * Checks raw digest bytes directly, so a miner only has to hex <br>
+ * encode the one hash that actually met the target.
+ *
+ */
+public class DifficultyTarget {
+
+  private final static char ZERO_CHARACTER = '0';
+
+  private final int difficulty;
+  private final int zeroBytes;
+  private final boolean halfZeroByte;
+
+  public DifficultyTarget(int difficulty) {
+    if (difficulty < 0) {
+      throw new HashingException("Difficulty must not be negative!");
+    }
+    this.difficulty = difficulty;
+    this.zeroBytes = difficulty / 2;
+    this.halfZeroByte = difficulty % 2 == 1;
+  }
+
+  /**
+   * @param hash raw digest bytes
+   * @return true if the hash has enough leading zero nibbles
+   */
+  public boolean isMetBy(byte[] hash) {
+    if (hash == null || hash.length * 2 < difficulty) {
+      return false;
+    }
+    for (int i = 0; i < zeroBytes; i++) {
+      if (hash[i] != 0) {
+        return false;
+      }
+    }
+    return !halfZeroByte || (hash[zeroBytes] & 0xF0) == 0;
+  }
+
+  /**
+   * @param hexHash hex encoded hash
+   * @return true if the hash has enough leading zero characters
+   */
+  public boolean isMetBy(String hexHash) {
+    if (hexHash == null || hexHash.length() < difficulty) {
+      return false;
+    }
+    for (int i = 0; i < difficulty; i++) {
+      if (hexHash.charAt(i) != ZERO_CHARACTER) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  public int getDifficulty() {
+    return difficulty;
+  }
+}
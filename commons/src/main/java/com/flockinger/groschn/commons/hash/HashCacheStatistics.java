@@ -0,0 +1,45 @@
+package com.flockinger.groschn.commons.hash;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts how often a memoized hash could be re-used (hit) <br>
+ * and how often it had to be generated (miss).
+ *
+ */
+public class HashCacheStatistics {
+
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+
+  void hit() {
+    hits.increment();
+  }
+
+  void miss() {
+    misses.increment();
+  }
+
+  public long hits() {
+    return hits.sum();
+  }
+
+  public long misses() {
+    return misses.sum();
+  }
+
+  /**
+   * @return share of hits in all memoized hash lookups (0.0 to 1.0)
+   */
+  public double hitRate() {
+    long hitCount = hits();
+    long total = hitCount + misses();
+    return (total > 0) ? (double) hitCount / total : 0d;
+  }
+
+  @Override
+  public String toString() {
+    return "HashCacheStatistics [hits=" + hits() + ", misses=" + misses() + ", hitRate="
+        + hitRate() + "]";
+  }
+}
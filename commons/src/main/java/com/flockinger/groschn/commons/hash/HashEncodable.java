@@ -0,0 +1,11 @@
+package com.flockinger.groschn.commons.hash;
+
+/**
+ * Entity that can write itself in a canonical binary form <br>
+ * into a {@link HashEncoder}.
+ *
+ */
+public interface HashEncodable {
+
+  void encode(HashEncoder encoder);
+}
@@ -0,0 +1,181 @@
+package com.flockinger.groschn.commons.hash;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Canonical binary encoding of hashable entities. <br>
+ * Writes the values directly into a reusable growing byte buffer, <br>
+ * so a thread can encode entity after entity without allocating <br>
+ * transient Strings like the toString() based hashing does. <br>
+ * <br>
+ * Every nullable value is prefixed with a presence marker byte, <br>
+ * Strings and lists additionally with their length, so different <br>
+ * entities can never end up with the same encoding.
+ *
+ */
+public class HashEncoder {
+
+  private final static int DEFAULT_CAPACITY = 512;
+  private final static byte NULL_MARKER = 0;
+  private final static byte VALUE_MARKER = 1;
+
+  private byte[] buffer;
+  private int length = 0;
+
+  public HashEncoder() {
+    this(DEFAULT_CAPACITY);
+  }
+
+  public HashEncoder(int initialCapacity) {
+    buffer = new byte[Math.max(initialCapacity, 16)];
+  }
+
+  /**
+   * Empties the encoder for re-use, the buffer itself is kept.
+   *
+   * @return the emptied encoder
+   */
+  public HashEncoder reset() {
+    length = 0;
+    return this;
+  }
+
+  public HashEncoder writeInt(Integer value) {
+    if (writeMarker(value)) {
+      writeRawInt(value);
+    }
+    return this;
+  }
+
+  public HashEncoder writeLong(Long value) {
+    if (writeMarker(value)) {
+      writeRawLong(value);
+    }
+    return this;
+  }
+
+  public HashEncoder writeString(String value) {
+    if (writeMarker(value)) {
+      int lengthPosition = length;
+      writeRawInt(0);
+      int startPosition = length;
+      writeUtf8(value);
+      putInt(lengthPosition, length - startPosition);
+    }
+    return this;
+  }
+
+  public HashEncoder writeEnum(Enum<?> value) {
+    return writeString(value != null ? value.name() : null);
+  }
+
+  /**
+   * Writes numerically equal decimals (e.g. 1.50 and 1.5) always the same way.
+   *
+   * @param value decimal to encode
+   * @return the encoder
+   */
+  public HashEncoder writeDecimal(BigDecimal value) {
+    if (writeMarker(value)) {
+      var canonical = value.stripTrailingZeros();
+      writeRawInt(canonical.scale());
+      var unscaled = canonical.unscaledValue().toByteArray();
+      writeRawInt(unscaled.length);
+      ensureCapacity(unscaled.length);
+      System.arraycopy(unscaled, 0, buffer, length, unscaled.length);
+      length += unscaled.length;
+    }
+    return this;
+  }
+
+  public HashEncoder write(HashEncodable value) {
+    if (writeMarker(value)) {
+      value.encode(this);
+    }
+    return this;
+  }
+
+  public HashEncoder writeList(List<? extends HashEncodable> values) {
+    if (writeMarker(values)) {
+      writeRawInt(values.size());
+      for (int i = 0; i < values.size(); i++) {
+        write(values.get(i));
+      }
+    }
+    return this;
+  }
+
+  /**
+   * @return the internal buffer, only valid until {@link #length()}
+   */
+  public byte[] buffer() {
+    return buffer;
+  }
+
+  public int length() {
+    return length;
+  }
+
+  public byte[] toByteArray() {
+    return Arrays.copyOf(buffer, length);
+  }
+
+  private boolean writeMarker(Object value) {
+    ensureCapacity(1);
+    buffer[length++] = (value != null) ? VALUE_MARKER : NULL_MARKER;
+    return value != null;
+  }
+
+  private void writeRawInt(int value) {
+    ensureCapacity(4);
+    putInt(length, value);
+    length += 4;
+  }
+
+  private void putInt(int position, int value) {
+    buffer[position] = (byte) (value >>> 24);
+    buffer[position + 1] = (byte) (value >>> 16);
+    buffer[position + 2] = (byte) (value >>> 8);
+    buffer[position + 3] = (byte) value;
+  }
+
+  private void writeRawLong(long value) {
+    ensureCapacity(8);
+    for (int shift = 56; shift >= 0; shift -= 8) {
+      buffer[length++] = (byte) (value >>> shift);
+    }
+  }
+
+  private void writeUtf8(String value) {
+    ensureCapacity(value.length() * 3);
+    for (int i = 0; i < value.length(); i++) {
+      char character = value.charAt(i);
+      if (character < 0x80) {
+        buffer[length++] = (byte) character;
+      } else if (character < 0x800) {
+        buffer[length++] = (byte) (0xC0 | (character >> 6));
+        buffer[length++] = (byte) (0x80 | (character & 0x3F));
+      } else if (Character.isHighSurrogate(character) && i + 1 < value.length()
+          && Character.isLowSurrogate(value.charAt(i + 1))) {
+        int codePoint = Character.toCodePoint(character, value.charAt(++i));
+        buffer[length++] = (byte) (0xF0 | (codePoint >> 18));
+        buffer[length++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+        buffer[length++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+        buffer[length++] = (byte) (0x80 | (codePoint & 0x3F));
+      } else {
+        buffer[length++] = (byte) (0xE0 | (character >> 12));
+        buffer[length++] = (byte) (0x80 | ((character >> 6) & 0x3F));
+        buffer[length++] = (byte) (0x80 | (character & 0x3F));
+      }
+    }
+  }
+
+  private void ensureCapacity(int additionalBytes) {
+    int wantedCapacity = length + additionalBytes;
+    if (wantedCapacity > buffer.length) {
+      buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, wantedCapacity));
+    }
+  }
+}
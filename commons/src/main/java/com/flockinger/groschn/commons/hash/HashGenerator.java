@@ -14,4 +14,40 @@ public interface HashGenerator {
   boolean isHashCorrect(String hash, Hashable<?> hashable);
 
   <T extends Hashable<T>> String calculateMerkleRootHash(List<T> entities);
+  
+  <T extends Hashable<T>> String calculateMerkleRootHash(List<T> entities, MerkleRootAlgorithm algorithm);
+  
+  /**
+   * Creates a proof that the entity is part of the Merkle tree of the entities.
+   * 
+   * @param entities all entities of the Merkle tree
+   * @param entity the entity to prove (must be the same instance as in entities)
+   * @param algorithm Merkle root algorithm of the tree
+   * @return proof containing the sibling hashes from the entity up to the root
+   */
+  <T extends Hashable<T>> MerkleProof createMerkleProof(List<T> entities, T entity, MerkleRootAlgorithm algorithm);
+  
+  /**
+   * Verifies that the proofs leaf hash leads to the root hash.
+   * 
+   * @param proof Merkle proof of an entity
+   * @param rootHash Merkle root the entity should be part of
+   * @return true if the proof is correct
+   */
+  boolean isMerkleProofCorrect(MerkleProof proof, String rootHash);
+  
+  /**
+   * @return hit/miss counters of the hashes memoized by {@link MemoizedHashable}s
+   */
+  HashCacheStatistics getCacheStatistics();
+  
+  /**
+   * Creates a hasher generating the same hashes as this generator for <br>
+   * inputs consisting of a constant prefix, a changing part and a constant suffix.
+   * 
+   * @param prefix constant bytes before the changing part
+   * @param suffix constant bytes after the changing part (can be empty)
+   * @return new, not thread-safe, midstate hasher
+   */
+  MidstateHasher createMidstateHasher(byte[] prefix, byte[] suffix);
 }
@@ -0,0 +1,59 @@
+package com.flockinger.groschn.commons.hash;
+
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Remembers the hashes of a {@link MemoizedHashable} entity. <br>
+ * <br>
+ * Entities are hashed in two states: with their own hash field <br>
+ * emptied (to verify or generate that hash) and with it set (e.g. <br>
+ * as Merkle tree leaf), so there's one slot for each state.
+ *
+ */
+public final class HashMemo {
+
+  private final static AtomicLong MODIFICATION_SEQUENCE = new AtomicLong();
+
+  private volatile Entry withoutOwnHash;
+  private volatile Entry withOwnHash;
+
+  /**
+   * Entities use a globally unique stamp per modification, so replacing <br>
+   * a nested part with a different instance always changes the stamp.
+   *
+   * @return next unique modification stamp
+   */
+  public static long nextModificationStamp() {
+    return MODIFICATION_SEQUENCE.incrementAndGet();
+  }
+
+  byte[] lookup(String ownHash, long stamp) {
+    Entry entry = (ownHash == null) ? withoutOwnHash : withOwnHash;
+    if (entry != null && entry.stamp == stamp && Objects.equals(entry.ownHash, ownHash)) {
+      return entry.hash.clone();
+    }
+    return null;
+  }
+
+  void remember(String ownHash, long stamp, byte[] hash) {
+    Entry entry = new Entry(ownHash, stamp, hash.clone());
+    if (ownHash == null) {
+      withoutOwnHash = entry;
+    } else {
+      withOwnHash = entry;
+    }
+  }
+
+  private final static class Entry {
+    private final String ownHash;
+    private final long stamp;
+    private final byte[] hash;
+
+    private Entry(String ownHash, long stamp, byte[] hash) {
+      this.ownHash = ownHash;
+      this.stamp = stamp;
+      this.hash = hash;
+    }
+  }
+}
@@ -0,0 +1,30 @@
+package com.flockinger.groschn.commons.hash;
+
+/**
+ * Entity that remembers it's generated hashes in a {@link HashMemo}. <br>
+ * <br>
+ * A remembered hash is only re-used as long as the modification stamp <br>
+ * and the entities own hash field are unchanged, so every setter of the <br>
+ * entity (except the own hash one) and of all it's nested parts must <br>
+ * change the stamp. The own hash is compared separately, so emptying <br>
+ * and restoring it for verification doesn't invalidate the memo.
+ *
+ */
+public interface MemoizedHashable {
+
+  /**
+   * @return memo of the hashes of this entity, never null
+   */
+  HashMemo hashMemo();
+
+  /**
+   * @return stamp that changes whenever the entity (apart from it's own hash) <br>
+   *         or one of it's nested parts is modified
+   */
+  long modificationStamp();
+
+  /**
+   * @return the entities own hash field (which is part of the hashed content) or null
+   */
+  String ownHash();
+}
@@ -0,0 +1,52 @@
+package com.flockinger.groschn.commons.hash;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Proves that an entity (identified by it's leaf hash) is part of <br>
+ * a Merkle tree, by containing only the sibling hashes on the path <br>
+ * from the leaf up to the root (so log(n) hashes for n entities).
+ *
+ */
+public class MerkleProof implements Serializable {
+  /**
+   * 
+   */
+  private static final long serialVersionUID = -4818236415367207791L;
+
+  private MerkleRootAlgorithm algorithm = null;
+  private String leafHash = null;
+  private List<MerkleProofStep> steps = new ArrayList<>();
+
+  public MerkleRootAlgorithm getAlgorithm() {
+    return algorithm;
+  }
+
+  public void setAlgorithm(MerkleRootAlgorithm algorithm) {
+    this.algorithm = algorithm;
+  }
+
+  public String getLeafHash() {
+    return leafHash;
+  }
+
+  public void setLeafHash(String leafHash) {
+    this.leafHash = leafHash;
+  }
+
+  public List<MerkleProofStep> getSteps() {
+    return steps;
+  }
+
+  public void setSteps(List<MerkleProofStep> steps) {
+    this.steps = steps;
+  }
+
+  @Override
+  public String toString() {
+    return "MerkleProof [algorithm=" + algorithm + ", leafHash=" + leafHash + ", steps=" + steps
+        + "]";
+  }
+}
@@ -0,0 +1,47 @@
+package com.flockinger.groschn.commons.hash;
+
+import java.io.Serializable;
+
+/**
+ * One level of a {@link MerkleProof}: the hash of the sibling node <br>
+ * and whether it's the left or the right node of the pair.
+ *
+ */
+public class MerkleProofStep implements Serializable {
+  /**
+   * 
+   */
+  private static final long serialVersionUID = 3264069735497614723L;
+
+  private String siblingHash = null;
+  private boolean siblingOnLeft = false;
+
+  public MerkleProofStep() {}
+
+  public MerkleProofStep(String siblingHash, boolean siblingOnLeft) {
+    this.siblingHash = siblingHash;
+    this.siblingOnLeft = siblingOnLeft;
+  }
+
+  public String getSiblingHash() {
+    return siblingHash;
+  }
+
+  public void setSiblingHash(String siblingHash) {
+    this.siblingHash = siblingHash;
+  }
+
+  public boolean isSiblingOnLeft() {
+    return siblingOnLeft;
+  }
+
+  public void setSiblingOnLeft(boolean siblingOnLeft) {
+    this.siblingOnLeft = siblingOnLeft;
+  }
+
+  @Override
+  public String toString() {
+    return "MerkleProofStep [siblingHash=" + siblingHash + ", siblingOnLeft=" + siblingOnLeft
+        + "]";
+  }
+}
@@ -0,0 +1,17 @@
+package com.flockinger.groschn.commons.hash;
+
+/**
+ * Selects how a Merkle root is calculated, the resulting roots differ, <br>
+ * so the algorithm must stay the same for already existing entities.
+ *
+ */
+public enum MerkleRootAlgorithm {
+  /**
+   * {@link MerkleRootCalculator} hashing the toString() of each node.
+   */
+  LEGACY,
+  /**
+   * {@link BinaryMerkleRootCalculator} hashing raw digest bytes, in parallel for large trees.
+   */
+  BINARY;
+}
@@ -23,6 +23,51 @@ public class MerkleRootCalculator {
     return hasher.generateHash(nodes.stream().findFirst().get());
   }
   
+  <T extends Hashable<T>> MerkleProof createMerkleProof(HashGenerator hasher, List<T> entities, T entity) {
+    Collections.sort(entities);
+    int index = indexOf(entities, entity);
+    List<String> levelHashes = entities.stream()
+        .map(hasher::generateHash).collect(Collectors.toList());
+    MerkleProof proof = new MerkleProof();
+    proof.setAlgorithm(MerkleRootAlgorithm.LEGACY);
+    proof.setLeafHash(levelHashes.get(index));
+    do {
+      proof.getSteps().add(createProofStep(levelHashes, index));
+      levelHashes = createHashPairs(levelHashes).stream()
+          .map(hasher::generateHash).collect(Collectors.toList());
+      index = index / 2;
+    } while(levelHashes.size() > 1);
+    return proof;
+  }
+  
+  static <T> int indexOf(List<T> entities, T entity) {
+    for(int index=0; index < entities.size(); index++) {
+      if(entities.get(index) == entity) {
+        return index;
+      }
+    }
+    throw new HashingException("Entity for Merkle proof is not part of the list!");
+  }
+  
+  static MerkleProofStep createProofStep(List<String> levelHashes, int index) {
+    if(index % 2 == 1) {
+      return new MerkleProofStep(levelHashes.get(index - 1), true);
+    }
+    int siblingIndex = (index + 1 < levelHashes.size()) ? index + 1 : index;
+    return new MerkleProofStep(levelHashes.get(siblingIndex), false);
+  }
+  
+  boolean isMerkleProofCorrect(HashGenerator hasher, MerkleProof proof, String rootHash) {
+    String currentHash = proof.getLeafHash();
+    for(MerkleProofStep step: proof.getSteps()) {
+      MerkleNode node = step.isSiblingOnLeft() 
+          ? MerkleNode.build().leftNode(step.getSiblingHash()).rightNode(currentHash)
+          : MerkleNode.build().leftNode(currentHash).rightNode(step.getSiblingHash());
+      currentHash = hasher.generateHash(node);
+    }
+    return StringUtils.equalsIgnoreCase(currentHash, rootHash);
+  }
+  
   private List<MerkleNode> createHashPairs(List<String> hashes) {
     return ListUtils.partition(hashes, 2)
         .stream()
@@ -0,0 +1,57 @@
+package com.flockinger.groschn.commons.hash;
+
+import org.bouncycastle.crypto.digests.SHA3Digest;
+import org.bouncycastle.crypto.digests.SHA512Digest;
+
+/**
+ * Creates the same double hash as the {@link MultiHashGenerator} for <br>
+ * entities that only differ in a small part (e.g. the nonce while mining). <br>
+ * <br>
+ * The constant prefix is fed into the SHA2 digest only once, every hash <br>
+ * restores that digest midstate and only feeds the changing bytes <br>
+ * followed by the (optional) constant suffix. <br>
+ * <br>
+ * Not thread-safe, every thread must use it's own instance!
+ *
+ */
+public class MidstateHasher {
+
+  private final static int SHA3_BIT_LENGTH = 512;
+
+  private final SHA512Digest primedSha2Digest = new SHA512Digest();
+  private final SHA512Digest sha2Digest;
+  private final SHA3Digest sha3Digest = new SHA3Digest(SHA3_BIT_LENGTH);
+  private final byte[] suffix;
+  private final byte[] sha2Hash;
+
+  MidstateHasher(byte[] prefix, byte[] suffix) {
+    primedSha2Digest.update(prefix, 0, prefix.length);
+    sha2Digest = new SHA512Digest(primedSha2Digest);
+    sha2Hash = new byte[sha2Digest.getDigestSize()];
+    this.suffix = suffix.clone();
+  }
+
+  public byte[] hash(byte[] changingPart) {
+    return hash(changingPart, 0, changingPart.length);
+  }
+
+  /**
+   * Hashes prefix + changing part + suffix.
+   *
+   * @param changingPart buffer containing the changing bytes
+   * @param offset where the changing bytes start
+   * @param length how many changing bytes there are
+   * @return raw bytes of the double hash
+   */
+  public byte[] hash(byte[] changingPart, int offset, int length) {
+    sha2Digest.reset(primedSha2Digest);
+    sha2Digest.update(changingPart, offset, length);
+    sha2Digest.update(suffix, 0, suffix.length);
+    sha2Digest.doFinal(sha2Hash, 0);
+
+    sha3Digest.update(sha2Hash, 0, sha2Hash.length);
+    var hash = new byte[sha3Digest.getDigestSize()];
+    sha3Digest.doFinal(hash, 0);
+    return hash;
+  }
+}
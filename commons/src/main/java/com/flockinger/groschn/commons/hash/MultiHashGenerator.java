@@ -22,6 +22,12 @@ import org.bouncycastle.util.encoders.Hex;
  * First it applies a SHA2-512 on the hashable String and <br>
  * on the resulting hash it finally applies a SHA3-512 which <br>
  * will be returned as final hash. <br>
+ * Each thread hashes with it's own pair of digests, so no <br>
+ * global lock is needed while hashing. <br>
+ * {@link BinaryHashable}s that opted in are hashed by their <br>
+ * binary {@link HashEncoder} encoding instead of their toString(). <br>
+ * {@link MemoizedHashable}s re-use their remembered hash as long as <br>
+ * they were not modified since. <br>
  *
  */
 public class MultiHashGenerator implements HashGenerator {
@@ -31,15 +37,42 @@ public class MultiHashGenerator implements HashGenerator {
   private final static String SHA2_DIGEST_NAME =
       MessageDigestUtils.getDigestName(NISTObjectIdentifiers.id_sha512);
 
-  private final MessageDigest sha3Digest;
-  private final MessageDigest sha2Digest;
+  /**
+   * Binary encodings always start with a {@link HashEncoder} presence marker (0 or 1) <br>
+   * and toString() encodings with a printable character, so no entity encoding <br>
+   * can start with this prefix.
+   */
+  private final static byte NODE_PAIR_PREFIX = 2;
+
+  private final ThreadLocal<MessageDigest> sha3Digest;
+  private final ThreadLocal<MessageDigest> sha2Digest;
+  private final ThreadLocal<HashEncoder> encoder = ThreadLocal.withInitial(HashEncoder::new);
   private final MerkleRootCalculator merkleRootCalculator;
+  private final BinaryMerkleRootCalculator binaryMerkleRootCalculator;
+  private final HashCacheStatistics cacheStatistics = new HashCacheStatistics();
 
   public MultiHashGenerator(MerkleRootCalculator merkleRootCalculator) {
+    this(merkleRootCalculator, new BinaryMerkleRootCalculator());
+  }
+
+  public MultiHashGenerator(MerkleRootCalculator merkleRootCalculator,
+      BinaryMerkleRootCalculator binaryMerkleRootCalculator) {
     this.merkleRootCalculator = merkleRootCalculator;
+    this.binaryMerkleRootCalculator = binaryMerkleRootCalculator;
+    sha3Digest = createThreadLocalDigest(SHA3_DIGEST_NAME);
+    sha2Digest = createThreadLocalDigest(SHA2_DIGEST_NAME);
+  }
+
+  private ThreadLocal<MessageDigest> createThreadLocalDigest(String digestName) {
+    // create one right away to fail fast on a missing algorithm/provider
+    var threadLocalDigest = ThreadLocal.withInitial(() -> createDigest(digestName));
+    threadLocalDigest.get();
+    return threadLocalDigest;
+  }
+
+  private MessageDigest createDigest(String digestName) {
     try {
-      sha3Digest = MessageDigest.getInstance(SHA3_DIGEST_NAME, DEFAULT_PROVIDER_NAME);
-      sha2Digest = MessageDigest.getInstance(SHA2_DIGEST_NAME, DEFAULT_PROVIDER_NAME);
+      return MessageDigest.getInstance(digestName, DEFAULT_PROVIDER_NAME);
     } catch (NoSuchAlgorithmException noAlgorithmException) {
       throw new HashingException("Essential hashing Algorithm not available!",
           noAlgorithmException);
@@ -50,20 +83,80 @@ public class MultiHashGenerator implements HashGenerator {
 
   @Override
   public String generateHash(Hashable<?> hashable) {
+    return Hex.toHexString(generateRawHash(hashable));
+  }
+
+  byte[] generateRawHash(Hashable<?> hashable) {
+    if (hashable instanceof MemoizedHashable) {
+      return generateMemoizedHash((MemoizedHashable) hashable, hashable);
+    }
+    return generateFreshHash(hashable);
+  }
+
+  private byte[] generateMemoizedHash(MemoizedHashable memoized, Hashable<?> hashable) {
+    // stamp and own hash are taken before hashing, which might sort nested lists
+    long stamp = memoized.modificationStamp();
+    String ownHash = memoized.ownHash();
+    var memo = memoized.hashMemo();
+    byte[] hash = memo.lookup(ownHash, stamp);
+    if (hash != null) {
+      cacheStatistics.hit();
+      return hash;
+    }
+    cacheStatistics.miss();
+    hash = generateFreshHash(hashable);
+    memo.remember(ownHash, stamp, hash);
+    return hash;
+  }
+
+  private byte[] generateFreshHash(Hashable<?> hashable) {
+    if (isBinaryHashed(hashable)) {
+      return generateBinaryHash((BinaryHashable) hashable);
+    }
     var hashableBytes = hashable.toString().getBytes(Charsets.UTF_8);
     assertHashable(hashableBytes);
-    return Hex.toHexString(doubleHash(hashableBytes));
+    return doubleHash(hashableBytes);
+  }
+
+  /**
+   * Double hashes two Merkle tree nodes, prefixed with a byte no entity <br>
+   * encoding starts with, so a node pair can't be mistaken for the hash <br>
+   * input of an entity.
+   */
+  byte[] hashNodePair(byte[] leftNode, byte[] rightNode) {
+    var sha2 = sha2Digest.get();
+    sha2.reset();
+    sha2.update(NODE_PAIR_PREFIX);
+    sha2.update(leftNode);
+    sha2.update(rightNode);
+    return hashWithDigest(sha2.digest(), sha3Digest.get());
+  }
+
+  private boolean isBinaryHashed(Hashable<?> hashable) {
+    return hashable instanceof BinaryHashable && ((BinaryHashable) hashable).isBinaryHashed();
+  }
+
+  private byte[] generateBinaryHash(BinaryHashable hashable) {
+    var hashEncoder = encoder.get().reset();
+    hashable.encode(hashEncoder);
+    if (hashEncoder.length() == 0) {
+      throw new HashingException("Hashable bytes must not be empty!");
+    }
+    var sha2 = sha2Digest.get();
+    sha2.reset();
+    sha2.update(hashEncoder.buffer(), 0, hashEncoder.length());
+    return hashWithDigest(sha2.digest(), sha3Digest.get());
   }
 
   /**
-   * Must be thread-safe, otherwise the hashing arises strange <br>
-   * exceptions (IllegalArgumentException, ArrayIndexOutOfBoundsException,...), <br>
-   * so only one thread a time can execute it!<br>
+   * MessageDigests are not thread-safe (sharing them arises strange <br>
+   * exceptions like IllegalArgumentException, ArrayIndexOutOfBoundsException,...), <br>
+   * so every thread uses it's own digests instead of locking shared ones.<br>
    *
    */
-  private synchronized byte[] doubleHash(byte[] hashableBytes) {
-    var sha2Hash = hashWithDigest(hashableBytes, sha2Digest);
-    return hashWithDigest(sha2Hash, sha3Digest);
+  private byte[] doubleHash(byte[] hashableBytes) {
+    var sha2Hash = hashWithDigest(hashableBytes, sha2Digest.get());
+    return hashWithDigest(sha2Hash, sha3Digest.get());
   }
 
   private void assertHashable(byte[] hashableBytes) {
@@ -73,6 +166,7 @@ public class MultiHashGenerator implements HashGenerator {
   }
 
   private byte[] hashWithDigest(byte[] hashableMessage, MessageDigest digest) {
+    digest.reset();
     digest.update(hashableMessage);
     return digest.digest();
   }
@@ -92,7 +186,46 @@ public class MultiHashGenerator implements HashGenerator {
 
   @Override
   public <T extends Hashable<T>> String calculateMerkleRootHash(List<T> entities) {
+    return calculateMerkleRootHash(entities, MerkleRootAlgorithm.LEGACY);
+  }
+
+  @Override
+  public <T extends Hashable<T>> String calculateMerkleRootHash(List<T> entities,
+      MerkleRootAlgorithm algorithm) {
+    if (algorithm == MerkleRootAlgorithm.BINARY) {
+      return binaryMerkleRootCalculator.calculateMerkleRootHash(this, entities);
+    }
     return merkleRootCalculator.calculateMerkleRootHash(this, entities);
   }
 
+  @Override
+  public <T extends Hashable<T>> MerkleProof createMerkleProof(List<T> entities, T entity,
+      MerkleRootAlgorithm algorithm) {
+    if (algorithm == MerkleRootAlgorithm.BINARY) {
+      return binaryMerkleRootCalculator.createMerkleProof(this, entities, entity);
+    }
+    return merkleRootCalculator.createMerkleProof(this, entities, entity);
+  }
+
+  @Override
+  public boolean isMerkleProofCorrect(MerkleProof proof, String rootHash) {
+    if (proof == null || proof.getLeafHash() == null || proof.getSteps() == null) {
+      return false;
+    }
+    if (proof.getAlgorithm() == MerkleRootAlgorithm.BINARY) {
+      return binaryMerkleRootCalculator.isMerkleProofCorrect(this, proof, rootHash);
+    }
+    return merkleRootCalculator.isMerkleProofCorrect(this, proof, rootHash);
+  }
+
+  @Override
+  public HashCacheStatistics getCacheStatistics() {
+    return cacheStatistics;
+  }
+
+  @Override
+  public MidstateHasher createMidstateHasher(byte[] prefix, byte[] suffix) {
+    return new MidstateHasher(prefix, suffix);
+  }
+
 }
@@ -1,8 +1,39 @@
 package com.flockinger.groschn.commons.serialize;
 
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
 public interface BlockSerializer {
 
   byte[] serialize(Object entity);
   
   <T> T deserialize(byte[] serializedEntity, Class<T> type);
+
+  /**
+   * Serializes into a buffer that is reused by the next call of the same thread, <br>
+   * so it must be consumed (e.g. compressed) before serializing anything else.
+   *
+   * @param entity entity to serialize
+   * @return buffer positioned at the start and limited to the end of the serialized bytes
+   */
+  default ByteBuffer serializeShared(Object entity) {
+    return ByteBuffer.wrap(serialize(entity));
+  }
+
+  /**
+   * Same as {@link #serializeShared(Object)}, but in the given format, regardless <br>
+   * of any wire format switch. Sizes measured with it (like the consensus block size <br>
+   * limit) are therefore the same on all nodes. Serializers that only write one <br>
+   * format ignore it.
+   */
+  default ByteBuffer serializeShared(Object entity, SerializationFormat format) {
+    return serializeShared(entity);
+  }
+
+  /**
+   * Deserializes only the first length bytes of the (e.g. pooled) buffer.
+   */
+  default <T> T deserialize(byte[] buffer, int length, Class<T> type) {
+    return deserialize(Arrays.copyOf(buffer, length), type);
+  }
 }
@@ -0,0 +1,28 @@
+package com.flockinger.groschn.commons.serialize;
+
+/**
+ * Schema defining the compact binary format of one entity type <br>
+ * for the {@link SchemaSerializer}. <br>
+ * <br>
+ * Type ids are part of the wire format and must never change: <br>
+ * 1-15 are reserved for the serializer itself, 16-31 for commons, <br>
+ * 32-63 for messaging and 64-127 for blockchain entities.
+ *
+ * @param <T> type of the entity
+ */
+public interface EntitySchema<T> {
+
+  /**
+   * @return unique and never changing id of the entity type on the wire
+   */
+  int typeId();
+
+  /**
+   * @return exact class of the entity (sub-classes need their own schema)
+   */
+  Class<T> type();
+
+  void write(T entity, SchemaWriter writer);
+
+  T read(SchemaReader reader);
+}
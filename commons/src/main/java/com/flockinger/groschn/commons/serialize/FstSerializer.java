@@ -1,5 +1,6 @@
 package com.flockinger.groschn.commons.serialize;
 
+import java.nio.ByteBuffer;
 import java.util.List;
 import org.apache.commons.collections4.ListUtils;
 import org.nustaq.serialization.FSTConfiguration;
@@ -30,6 +31,20 @@ public class FstSerializer implements BlockSerializer {
     return serializedEntity;
   }
 
+  /**
+   * Uses FST's thread local output buffer, so nothing is copied.
+   */
+  @Override
+  public ByteBuffer serializeShared(Object entity) {
+    int[] length = new int[1];
+    try {
+      byte[] sharedBuffer = conf.asSharedByteArray(entity, length);
+      return ByteBuffer.wrap(sharedBuffer, 0, length[0]);
+    } catch (Exception e) {
+      throw new SerializationException("Entity cannot be serialized!", e);
+    }
+  }
+
   @Override
   public <T> T deserialize(byte[] serializedEntity, Class<T> type) {
     Object deserializedEntity = null;
@@ -38,6 +53,21 @@ public class FstSerializer implements BlockSerializer {
     } catch (Exception e) {
       throw new SerializationException("Entity cannot be deserialized!", e);
     }
+    return checkType(deserializedEntity, type);
+  }
+
+  @Override
+  public <T> T deserialize(byte[] buffer, int length, Class<T> type) {
+    Object deserializedEntity = null;
+    try {
+      deserializedEntity = conf.getObjectInput(buffer, length).readObject();
+    } catch (Exception e) {
+      throw new SerializationException("Entity cannot be deserialized!", e);
+    }
+    return checkType(deserializedEntity, type);
+  }
+
+  private <T> T checkType(Object deserializedEntity, Class<T> type) {
     if(!type.isInstance(deserializedEntity)) {
       throw new SerializationException(String.format("Deserialized entity is not of type %s", 
           type.getSimpleName()));
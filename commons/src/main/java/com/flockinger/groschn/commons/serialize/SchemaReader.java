@@ -0,0 +1,168 @@
+package com.flockinger.groschn.commons.serialize;
+
+import static com.flockinger.groschn.commons.serialize.SchemaWriter.NULL;
+import static com.flockinger.groschn.commons.serialize.SchemaWriter.RAW;
+
+import com.flockinger.groschn.commons.exception.SerializationException;
+import com.flockinger.groschn.commons.hash.Base58;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.bouncycastle.util.encoders.Hex;
+
+/**
+ * Reads entities written by the {@link SchemaWriter}, <br>
+ * every malformed or truncated input results in a {@link SerializationException}.
+ *
+ */
+public class SchemaReader {
+
+  private final SchemaSerializer registry;
+  private final byte[] buffer;
+  private final int limit;
+  private int position;
+
+  SchemaReader(SchemaSerializer registry, byte[] buffer, int offset) {
+    this(registry, buffer, offset, buffer.length);
+  }
+
+  SchemaReader(SchemaSerializer registry, byte[] buffer, int offset, int limit) {
+    this.registry = registry;
+    this.buffer = buffer;
+    this.position = offset;
+    this.limit = limit;
+  }
+
+  public Long readLong() {
+    return isPresent() ? readSignedVarLong() : null;
+  }
+
+  public Integer readInt() {
+    return isPresent() ? Math.toIntExact(readSignedVarLong()) : null;
+  }
+
+  public boolean readBoolean() {
+    return readByte() != 0;
+  }
+
+  public String readString() {
+    byte[] bytes = readBytes();
+    return (bytes != null) ? new String(bytes, StandardCharsets.UTF_8) : null;
+  }
+
+  public byte[] readBytes() {
+    long lengthAndOne = readVarLong();
+    if (lengthAndOne == NULL) {
+      return null;
+    }
+    int length = checkedLength(lengthAndOne - 1);
+    byte[] bytes = Arrays.copyOfRange(buffer, position, position + length);
+    position += length;
+    return bytes;
+  }
+
+  public String readBase58() {
+    int encoding = readByte();
+    if (encoding == NULL) {
+      return null;
+    }
+    return (encoding == RAW) ? Base58.encode(readBytes()) : readString();
+  }
+
+  public String readHex() {
+    int encoding = readByte();
+    if (encoding == NULL) {
+      return null;
+    }
+    return (encoding == RAW) ? Hex.toHexString(readBytes()) : readString();
+  }
+
+  public BigDecimal readDecimal() {
+    if (!isPresent()) {
+      return null;
+    }
+    int scale = Math.toIntExact(readSignedVarLong());
+    byte[] unscaled = readBytes();
+    if (unscaled == null || unscaled.length == 0) {
+      throw new SerializationException("Decimal without unscaled value!");
+    }
+    return new BigDecimal(new BigInteger(unscaled), scale);
+  }
+
+  public <E extends Enum<E>> E readEnum(Class<E> type) {
+    long ordinalAndOne = readVarLong();
+    if (ordinalAndOne == NULL) {
+      return null;
+    }
+    E[] constants = type.getEnumConstants();
+    if (ordinalAndOne > constants.length) {
+      throw new SerializationException("Unknown constant of enum " + type.getSimpleName());
+    }
+    return constants[(int) ordinalAndOne - 1];
+  }
+
+  public <T> T readEntity(Class<T> type) {
+    Object entity = registry.readEntity(this);
+    if (entity != null && !type.isInstance(entity)) {
+      throw new SerializationException(String.format("Deserialized entity is not of type %s",
+          type.getSimpleName()));
+    }
+    return type.cast(entity);
+  }
+
+  public <T> List<T> readList(Class<T> elementType) {
+    long sizeAndOne = readVarLong();
+    if (sizeAndOne == NULL) {
+      return null;
+    }
+    // every entry takes at least one byte, so a bogus size can't allocate too much
+    int size = checkedLength(sizeAndOne - 1);
+    var entities = new ArrayList<T>(size);
+    for (int index = 0; index < size; index++) {
+      entities.add(readEntity(elementType));
+    }
+    return entities;
+  }
+
+  long readVarLong() {
+    long value = 0;
+    for (int shift = 0; shift < 64; shift += 7) {
+      int nextByte = readByte();
+      value |= (long) (nextByte & 0x7F) << shift;
+      if ((nextByte & 0x80) == 0) {
+        return value;
+      }
+    }
+    throw new SerializationException("Variable length number is too long!");
+  }
+
+  private long readSignedVarLong() {
+    long zigZag = readVarLong();
+    return (zigZag >>> 1) ^ -(zigZag & 1);
+  }
+
+  private boolean isPresent() {
+    return readByte() != NULL;
+  }
+
+  int readByte() {
+    if (position >= limit) {
+      throw new SerializationException("Unexpected end of serialized entity!");
+    }
+    return buffer[position++] & 0xFF;
+  }
+
+  private int checkedLength(long length) {
+    if (length < 0 || length > limit - position) {
+      throw new SerializationException("Length exceeds the serialized entity!");
+    }
+    return (int) length;
+  }
+
+  boolean isFullyRead() {
+    return position == limit;
+  }
+}
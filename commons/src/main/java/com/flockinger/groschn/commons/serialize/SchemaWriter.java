@@ -0,0 +1,205 @@
+package com.flockinger.groschn.commons.serialize;
+
+import com.flockinger.groschn.commons.exception.AddressFormatException;
+import com.flockinger.groschn.commons.hash.Base58;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import org.bouncycastle.util.encoders.DecoderException;
+import org.bouncycastle.util.encoders.Hex;
+
+/**
+ * Writes entities in the compact binary format of the {@link SchemaSerializer}. <br>
+ * <br>
+ * Numbers are written as variable length integers (small numbers like <br>
+ * positions or sequence numbers take only one or two bytes), Base58 keys <br>
+ * and hex hashes as their raw bytes and decimals as unscaled value plus scale. <br>
+ * Nullable values are marked, so null never costs more than one byte.
+ *
+ */
+public class SchemaWriter {
+
+  final static int NULL = 0;
+  final static int RAW = 1;
+  final static int TEXT = 2;
+
+  private final SchemaSerializer registry;
+  private byte[] buffer;
+  private int length = 0;
+
+  SchemaWriter(SchemaSerializer registry, int initialCapacity) {
+    this.registry = registry;
+    this.buffer = new byte[Math.max(initialCapacity, 16)];
+  }
+
+  public SchemaWriter writeLong(Long value) {
+    if (writePresence(value)) {
+      writeSignedVarLong(value);
+    }
+    return this;
+  }
+
+  public SchemaWriter writeInt(Integer value) {
+    if (writePresence(value)) {
+      writeSignedVarLong(value);
+    }
+    return this;
+  }
+
+  public SchemaWriter writeBoolean(boolean value) {
+    writeByte(value ? 1 : 0);
+    return this;
+  }
+
+  /**
+   * Writes the length + 1 (0 is null) followed by the UTF-8 bytes.
+   */
+  public SchemaWriter writeString(String value) {
+    return writeBytes(value != null ? value.getBytes(StandardCharsets.UTF_8) : null);
+  }
+
+  public SchemaWriter writeBytes(byte[] value) {
+    if (value == null) {
+      writeVarLong(NULL);
+    } else {
+      writeVarLong(value.length + 1L);
+      writeRaw(value);
+    }
+    return this;
+  }
+
+  /**
+   * Writes Base58 encoded keys/signatures as their raw bytes <br>
+   * (falls back to the text if it's no canonical Base58).
+   */
+  public SchemaWriter writeBase58(String value) {
+    byte[] raw = null;
+    if (value != null) {
+      try {
+        raw = Base58.decode(value);
+        raw = value.equals(Base58.encode(raw)) ? raw : null;
+      } catch (AddressFormatException notBase58) {
+        raw = null;
+      }
+    }
+    return writeEncoded(value, raw);
+  }
+
+  /**
+   * Writes lower case hex encoded hashes as their raw bytes <br>
+   * (falls back to the text if it's no canonical hex).
+   */
+  public SchemaWriter writeHex(String value) {
+    byte[] raw = null;
+    if (value != null && value.length() % 2 == 0) {
+      try {
+        raw = Hex.decode(value);
+        raw = value.equals(Hex.toHexString(raw)) ? raw : null;
+      } catch (DecoderException notHex) {
+        raw = null;
+      }
+    }
+    return writeEncoded(value, raw);
+  }
+
+  private SchemaWriter writeEncoded(String value, byte[] raw) {
+    if (value == null) {
+      writeByte(NULL);
+    } else if (raw != null) {
+      writeByte(RAW);
+      writeBytes(raw);
+    } else {
+      writeByte(TEXT);
+      writeString(value);
+    }
+    return this;
+  }
+
+  public SchemaWriter writeDecimal(BigDecimal value) {
+    if (writePresence(value)) {
+      writeSignedVarLong(value.scale());
+      writeBytes(value.unscaledValue().toByteArray());
+    }
+    return this;
+  }
+
+  public SchemaWriter writeEnum(Enum<?> value) {
+    writeVarLong(value != null ? value.ordinal() + 1L : NULL);
+    return this;
+  }
+
+  /**
+   * Writes the type id followed by the entity, so the exact type <br>
+   * (e.g. TransactionInput instead of TransactionOutput) is kept.
+   */
+  public SchemaWriter writeEntity(Object entity) {
+    registry.writeEntity(entity, this);
+    return this;
+  }
+
+  public SchemaWriter writeList(List<?> entities) {
+    if (entities == null) {
+      writeVarLong(NULL);
+    } else {
+      writeVarLong(entities.size() + 1L);
+      for (int index = 0; index < entities.size(); index++) {
+        writeEntity(entities.get(index));
+      }
+    }
+    return this;
+  }
+
+  void writeVarLong(long value) {
+    ensureCapacity(10);
+    while ((value & ~0x7FL) != 0) {
+      buffer[length++] = (byte) ((value & 0x7F) | 0x80);
+      value >>>= 7;
+    }
+    buffer[length++] = (byte) value;
+  }
+
+  private void writeSignedVarLong(long value) {
+    writeVarLong((value << 1) ^ (value >> 63));
+  }
+
+  private boolean writePresence(Object value) {
+    writeByte(value != null ? RAW : NULL);
+    return value != null;
+  }
+
+  void writeByte(int value) {
+    ensureCapacity(1);
+    buffer[length++] = (byte) value;
+  }
+
+  void writeRaw(byte[] value) {
+    ensureCapacity(value.length);
+    System.arraycopy(value, 0, buffer, length, value.length);
+    length += value.length;
+  }
+
+  SchemaWriter reset() {
+    length = 0;
+    return this;
+  }
+
+  byte[] buffer() {
+    return buffer;
+  }
+
+  int length() {
+    return length;
+  }
+
+  byte[] toByteArray() {
+    return Arrays.copyOf(buffer, length);
+  }
+
+  private void ensureCapacity(int additionalBytes) {
+    int wantedCapacity = length + additionalBytes;
+    if (wantedCapacity > buffer.length) {
+      buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, wantedCapacity));
+    }
+  }
+}
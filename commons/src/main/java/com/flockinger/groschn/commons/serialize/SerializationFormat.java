@@ -0,0 +1,18 @@
+package com.flockinger.groschn.commons.serialize;
+
+/**
+ * Selects the format sizes are measured with (e.g. the block size limit), <br>
+ * the resulting sizes differ, so the format must stay the same for already <br>
+ * existing entities.
+ *
+ */
+public enum SerializationFormat {
+  /**
+   * {@link FstSerializer} object graph serialization.
+   */
+  FST,
+  /**
+   * {@link SchemaSerializer} format (version {@value SchemaSerializer#FORMAT_VERSION}).
+   */
+  SCHEMA;
+}
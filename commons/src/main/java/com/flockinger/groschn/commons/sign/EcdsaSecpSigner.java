@@ -2,6 +2,8 @@ package com.flockinger.groschn.commons.sign;
 
 import com.flockinger.groschn.commons.exception.crypto.CantConfigureSigningAlgorithmException;
 import com.flockinger.groschn.commons.hash.Base58;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import java.io.IOException;
 import java.security.InvalidAlgorithmParameterException;
 import java.security.InvalidKeyException;
@@ -28,6 +30,11 @@ import org.bouncycastle.jce.spec.ECPublicKeySpec;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+/**
+ * Verification keeps a bounded cache of already decoded public keys <br>
+ * and re-uses one verifying Signature instance per thread, so checking <br>
+ * many signatures of the same senders doesn't re-parse their keys.
+ */
 public class EcdsaSecpSigner implements Signer {
   /**
    * Elliptic Curve Digital Signature Algorithm
@@ -63,12 +70,24 @@ public class EcdsaSecpSigner implements Signer {
   
   private final static String SECURE_RANDOM_ALGORITHM = "SHA1PRNG";
   
+  public final static long DEFAULT_PUBLIC_KEY_CACHE_SIZE = 10000;
 
   private final Logger LOGGER = LoggerFactory.getLogger(this.getClass());
 
   private KeyFactory keyFactory;
+  private final Cache<String, PublicKey> publicKeyCache;
+  private final ThreadLocal<Signature> verifiers = ThreadLocal.withInitial(this::getSignature);
 
   public EcdsaSecpSigner(Provider defaultProvider) {
+    this(defaultProvider, DEFAULT_PUBLIC_KEY_CACHE_SIZE);
+  }
+
+  /**
+   * @param defaultProvider crypto provider
+   * @param publicKeyCacheSize maximum amount of decoded public keys to keep
+   */
+  public EcdsaSecpSigner(Provider defaultProvider, long publicKeyCacheSize) {
+    publicKeyCache = Caffeine.newBuilder().maximumSize(publicKeyCacheSize).build();
     try {
       Security.addProvider(defaultProvider);
       keyFactory = KeyFactory.getInstance(KEY_FACTORY_ALGORITHM, PROVIDER);
@@ -127,10 +146,10 @@ public class EcdsaSecpSigner implements Signer {
   }
 
   public boolean isSignatureValid(byte[] transactionHash, String publicKey, String signature) {
+    var verifier = verifiers.get();
     var isSignValid = false;
-    var verifier = getSignature();
     try {
-      verifier.initVerify(getPublicKeyFromBase58DecodedText(publicKey));
+      verifier.initVerify(publicKeyCache.get(publicKey, this::getPublicKeyFromBase58DecodedText));
       verifier.update(transactionHash);
       isSignValid = verifier.verify(Base58.decode(signature));
     } catch (InvalidKeyException e) {
@@ -141,6 +160,11 @@ public class EcdsaSecpSigner implements Signer {
     return isSignValid;
   }
 
+  long cachedPublicKeyCount() {
+    publicKeyCache.cleanUp();
+    return publicKeyCache.estimatedSize();
+  }
+
   private PublicKey getPublicKeyFromBase58DecodedText(String publicKeyBase58Decoded) {
     PublicKey key = null;
     try {
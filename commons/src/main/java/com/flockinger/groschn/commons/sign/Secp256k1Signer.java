@@ -0,0 +1,158 @@
+package com.flockinger.groschn.commons.sign;
+
+import com.flockinger.groschn.commons.exception.crypto.CantConfigureSigningAlgorithmException;
+import com.flockinger.groschn.commons.hash.Base58;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import java.io.IOException;
+import java.math.BigInteger;
+import java.security.KeyPair;
+import java.security.Provider;
+import java.util.Arrays;
+import org.bouncycastle.asn1.ASN1EncodableVector;
+import org.bouncycastle.asn1.ASN1Encoding;
+import org.bouncycastle.asn1.ASN1Integer;
+import org.bouncycastle.asn1.ASN1Sequence;
+import org.bouncycastle.asn1.DERSequence;
+import org.bouncycastle.asn1.x9.X9ECParameters;
+import org.bouncycastle.crypto.digests.SHA256Digest;
+import org.bouncycastle.crypto.ec.CustomNamedCurves;
+import org.bouncycastle.crypto.params.ECDomainParameters;
+import org.bouncycastle.crypto.params.ECPrivateKeyParameters;
+import org.bouncycastle.crypto.params.ECPublicKeyParameters;
+import org.bouncycastle.crypto.signers.ECDSASigner;
+import org.bouncycastle.crypto.signers.HMacDSAKCalculator;
+import org.bouncycastle.crypto.util.PrivateKeyFactory;
+import org.bouncycastle.crypto.util.PublicKeyFactory;
+
+/**
+ * ECDSA signer working directly on Bouncy Castle's optimized secp256k1 <br>
+ * curve instead of the generic EC implementation behind the JCA: <br>
+ * - specialized field arithmetic of the secp256k1 prime <br>
+ * - GLV endomorphism to halve the scalar multiplications when verifying <br>
+ * - precomputed tables for the generator point and for the cached <br>
+ * public keys, so senders that sign repeatedly get verified faster. <br>
+ * <br>
+ * Keys and signatures are fully compatible with the {@link EcdsaSecpSigner}, <br>
+ * keys of other curves are verified on their own (generic) curve, so <br>
+ * both signers always accept exactly the same signatures. <br>
+ * Signing uses deterministic nonces (RFC 6979).
+ *
+ */
+public class Secp256k1Signer implements Signer {
+
+  private final static X9ECParameters SECP256K1 =
+      CustomNamedCurves.getByName(EcdsaSecpSigner.EC_GEN_PARAMETER_SPEC);
+  private final static ECDomainParameters DOMAIN = new ECDomainParameters(SECP256K1.getCurve(),
+      SECP256K1.getG(), SECP256K1.getN(), SECP256K1.getH());
+
+  private final EcdsaSecpSigner keyGenerator;
+  private final Cache<String, ECPublicKeyParameters> publicKeyCache;
+
+  public Secp256k1Signer(Provider defaultProvider) {
+    this(defaultProvider, EcdsaSecpSigner.DEFAULT_PUBLIC_KEY_CACHE_SIZE);
+  }
+
+  /**
+   * @param defaultProvider crypto provider, only used for generating keys
+   * @param publicKeyCacheSize maximum amount of decoded public keys to keep
+   */
+  public Secp256k1Signer(Provider defaultProvider, long publicKeyCacheSize) {
+    keyGenerator = new EcdsaSecpSigner(defaultProvider, 0);
+    publicKeyCache = Caffeine.newBuilder().maximumSize(publicKeyCacheSize).build();
+  }
+
+  /**
+   * Generated by the JCA, so the encoding of stored keys doesn't change.
+   */
+  @Override
+  public KeyPair generateKeyPair() {
+    return keyGenerator.generateKeyPair();
+  }
+
+  @Override
+  public String sign(byte[] transactionHash, byte[] privateKey) {
+    var signer = new ECDSASigner(new HMacDSAKCalculator(new SHA256Digest()));
+    signer.init(true, getPrivateKey(privateKey));
+    BigInteger[] signature = signer.generateSignature(transactionHash);
+    return Base58.encode(encode(signature[0], signature[1]));
+  }
+
+  @Override
+  public boolean isSignatureValid(byte[] transactionHash, String publicKey, String signature) {
+    var verifier = new ECDSASigner();
+    verifier.init(false, publicKeyCache.get(publicKey, this::getPublicKey));
+    BigInteger[] rs = decode(Base58.decode(signature));
+    return verifier.verifySignature(transactionHash, rs[0], rs[1]);
+  }
+
+  long cachedPublicKeyCount() {
+    publicKeyCache.cleanUp();
+    return publicKeyCache.estimatedSize();
+  }
+
+  private ECPublicKeyParameters getPublicKey(String publicKeyBase58Decoded) {
+    ECPublicKeyParameters key;
+    try {
+      key = (ECPublicKeyParameters) PublicKeyFactory
+          .createKey(Base58.decode(publicKeyBase58Decoded));
+    } catch (IOException | RuntimeException e) {
+      throw new CantConfigureSigningAlgorithmException(
+          "Error reading publicKey text, maybe the encoded value is invalid and therefore null or empty!",e);
+    }
+    if (!isSecp256k1(key.getParameters())) {
+      return key;
+    }
+    var point = DOMAIN.getCurve().importPoint(key.getQ()).normalize();
+    return new ECPublicKeyParameters(point, DOMAIN);
+  }
+
+  private ECPrivateKeyParameters getPrivateKey(byte[] privateKey) {
+    ECPrivateKeyParameters key;
+    try {
+      key = (ECPrivateKeyParameters) PrivateKeyFactory.createKey(privateKey);
+    } catch (IOException | RuntimeException e) {
+      throw new CantConfigureSigningAlgorithmException("Signing didn't work out well!");
+    }
+    if (!isSecp256k1(key.getParameters())) {
+      return key;
+    }
+    return new ECPrivateKeyParameters(key.getD(), DOMAIN);
+  }
+
+  private boolean isSecp256k1(ECDomainParameters parameters) {
+    return DOMAIN.getCurve().equals(parameters.getCurve())
+        && DOMAIN.getN().equals(parameters.getN())
+        && DOMAIN.getG().equals(DOMAIN.getCurve().importPoint(parameters.getG()));
+  }
+
+  private byte[] encode(BigInteger r, BigInteger s) {
+    var vector = new ASN1EncodableVector();
+    vector.add(new ASN1Integer(r));
+    vector.add(new ASN1Integer(s));
+    try {
+      return new DERSequence(vector).getEncoded(ASN1Encoding.DER);
+    } catch (IOException e) {
+      throw new CantConfigureSigningAlgorithmException("Signing didn't work out well!");
+    }
+  }
+
+  /**
+   * Only accepts strict DER encoded signatures, same as the JCA does.
+   */
+  private BigInteger[] decode(byte[] signature) {
+    try {
+      var sequence = ASN1Sequence.getInstance(signature);
+      if (sequence.size() == 2) {
+        var r = ASN1Integer.getInstance(sequence.getObjectAt(0)).getValue();
+        var s = ASN1Integer.getInstance(sequence.getObjectAt(1)).getValue();
+        if (Arrays.equals(encode(r, s), signature)) {
+          return new BigInteger[] {r, s};
+        }
+      }
+    } catch (IllegalArgumentException | IllegalStateException e) {
+      // handled below
+    }
+    throw new CantConfigureSigningAlgorithmException("Something's wrong with the signature!");
+  }
+}
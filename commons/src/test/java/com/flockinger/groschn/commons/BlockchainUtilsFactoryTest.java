@@ -1,11 +1,14 @@
 package com.flockinger.groschn.commons;
 
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.mock;
 
 import com.flockinger.groschn.commons.compress.Compressor;
 import com.flockinger.groschn.commons.hash.HashGenerator;
 import com.flockinger.groschn.commons.model.TestBlock;
+import com.flockinger.groschn.commons.serialize.SchemaSerializer;
+import com.flockinger.groschn.commons.sign.Secp256k1Signer;
 import com.flockinger.groschn.commons.sign.Signer;
 import java.security.Provider;
 import java.security.Security;
@@ -32,11 +35,24 @@ public class BlockchainUtilsFactoryTest {
     assertNotNull("verify it returned a valid compressor", BlockchainUtilsFactory.createCompressor(new ArrayList<>()));
   }
 
+  @Test
+  public void createCompressor_withSchemas() {
+    var compressor = BlockchainUtilsFactory.createCompressor(new ArrayList<>(), new ArrayList<>(), true);
+
+    assertTrue("verify compressor uses schema serializer", compressor.serializer() instanceof SchemaSerializer);
+  }
+
   @Test
   public void createSigner() {
     assertNotNull("verify it returned a valid signer", BlockchainUtilsFactory.createSigner(getDefaultProvider()));
   }
 
+  @Test
+  public void createSecp256k1Signer() {
+    assertTrue("verify it returned the optimized signer",
+        BlockchainUtilsFactory.createSecp256k1Signer(getDefaultProvider(), 100) instanceof Secp256k1Signer);
+  }
+
   @Test
   public void createCipher() {
     assertNotNull("verify it returned a valid cipher", BlockchainUtilsFactory.createCipher(getDefaultProvider()));
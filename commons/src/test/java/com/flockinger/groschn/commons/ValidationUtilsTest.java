@@ -8,6 +8,7 @@ import com.flockinger.groschn.blockchain.model.Hashable;
 import com.flockinger.groschn.blockchain.model.Sequential;
 import com.flockinger.groschn.commons.compress.Compressor;
 import com.flockinger.groschn.commons.hash.HashGenerator;
+import com.flockinger.groschn.commons.hash.MerkleRootAlgorithm;
 import com.flockinger.groschn.commons.sign.Signer;
 import java.util.ArrayList;
 import org.junit.Test;
@@ -46,6 +47,15 @@ public class ValidationUtilsTest {
     verify(hasher).calculateMerkleRootHash(someList);
   }
 
+  @Test
+  public void calculateMerkleRootHashWithAlgorithm() {
+    var someList = new ArrayList<Hashable>();
+
+    utils.calculateMerkleRootHash(someList, MerkleRootAlgorithm.BINARY);
+
+    verify(hasher).calculateMerkleRootHash(someList, MerkleRootAlgorithm.BINARY);
+  }
+
   @Test
   public void isSignatureValid() {
     var sigBytes = new byte[10];
@@ -1,5 +1,6 @@
 package com.flockinger.groschn.commons.compress;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
@@ -158,6 +159,34 @@ public class CompressorTest {
     assertFalse("verify that returned entity of wrong type is empty", decompressedResult.isPresent());
   }
 
+  @Test
+  public void testCompress_withRepeatedCallsOnPooledBuffers_shouldReturnIndependentResults() {
+    TestBlock fakeBlock = TestDataFactory.getFakeBlock();
+
+    CompressedEntity first = compressor.compress(fakeBlock);
+    byte[] firstBytes = first.getEntity().clone();
+    CompressedEntity emptyBlock = compressor.compress(new TestBlock());
+    compressor.compressedByteSize(TestDataFactory.fakeTransactions());
+    CompressedEntity second = compressor.compress(fakeBlock);
+
+    assertArrayEquals("verify first result isn't overwritten by later calls", firstBytes,
+        first.getEntity());
+    assertArrayEquals("verify same entity compresses the same", first.getEntity(),
+        second.getEntity());
+    assertEquals("verify small entity has it's own size", 12, emptyBlock.getEntity().length);
+    assertTrue("verify decompressing after other calls still works", compressor
+        .decompress(first.getEntity(), first.getOriginalSize(), TestBlock.class).isPresent());
+  }
+
+  @Test
+  public void testUncompress_withNegativeSize_shouldReturnEmpty() {
+    CompressedEntity entity = compressor.compress(TestDataFactory.getFakeBlock());
+
+    var decompressedResult = compressor.decompress(entity.getEntity(), -1, TestBlock.class);
+
+    assertFalse("verify negative size returns empty", decompressedResult.isPresent());
+  }
+
   @Test
   public void testSerializer() {
     assertEquals("verify correct serializer is returned", serializer, compressor.serializer());
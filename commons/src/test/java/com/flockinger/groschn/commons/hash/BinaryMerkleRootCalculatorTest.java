@@ -0,0 +1,188 @@
+package com.flockinger.groschn.commons.hash;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import com.flockinger.groschn.blockchain.model.Hashable;
+import com.flockinger.groschn.commons.exception.HashingException;
+import com.flockinger.groschn.commons.model.TestTransaction;
+import com.flockinger.groschn.commons.model.TestTransactionInput;
+import com.google.common.collect.ImmutableList;
+import java.math.BigDecimal;
+import java.security.Provider;
+import java.security.Security;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import org.bouncycastle.jce.provider.BouncyCastleProvider;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+public class BinaryMerkleRootCalculatorTest {
+
+  private final BinaryMerkleRootCalculator calc = new BinaryMerkleRootCalculator();
+  private final MultiHashGenerator hasher = new MultiHashGenerator(new MerkleRootCalculator(), calc);
+
+  @BeforeClass
+  public static void setup() {
+    Provider bouncyCastle = new BouncyCastleProvider();
+    Security.addProvider(bouncyCastle);
+  }
+
+  @Test
+  public void testCalculateMerkleRootHash_withListOfObjects_shouldReturnCorrect() {
+    String rootHash = calc.calculateMerkleRootHash(hasher, fakeTransactions(9));
+
+    assertNotNull("verify root hash is not null", rootHash);
+    assertEquals("verify root hash is a hex encoded 512 bit hash", 128, rootHash.length());
+
+    String rootHashOneTransactionLess = calc.calculateMerkleRootHash(hasher, fakeTransactions(8));
+    assertNotEquals("verify with one transaction missing the root is different", 
+        rootHash, rootHashOneTransactionLess);
+
+    var modifiedTransactions = fakeTransactions(9);
+    modifiedTransactions.get(8).setLockTime(1l);
+    assertNotEquals("verify that with the slightest change the outcome is different", 
+        rootHash, calc.calculateMerkleRootHash(hasher, modifiedTransactions));
+  }
+
+  @Test
+  public void testCalculateMerkleRootHash_withShuffledEntities_shouldReturnSameResult() {
+    var transactions = fakeTransactions(300);
+    String rootHash = calc.calculateMerkleRootHash(hasher, transactions);
+
+    Collections.shuffle(transactions);
+
+    assertEquals("verify that shuffled list results in same root-hash", rootHash,
+        calc.calculateMerkleRootHash(hasher, transactions));
+  }
+
+  @Test
+  public void testCalculateMerkleRootHash_withManyEntitiesInParallel_shouldReturnSameAsSequential() {
+    var sequentialCalc = new BinaryMerkleRootCalculator(new ForkJoinPool(1));
+    var parallelCalc = new BinaryMerkleRootCalculator(new ForkJoinPool(4));
+
+    for (int size : new int[] {1, 2, 3, 63, 64, 65, 129, 1000}) {
+      assertEquals("verify parallel root equals sequential root for size " + size,
+          sequentialCalc.calculateMerkleRootHash(hasher, fakeTransactions(size)),
+          parallelCalc.calculateMerkleRootHash(hasher, fakeTransactions(size)));
+    }
+  }
+
+  @Test
+  public void testCalculateMerkleRootHash_withSelectedAlgorithm_shouldDifferFromLegacyRoot() {
+    var transactions = fakeTransactions(9);
+
+    String legacyRoot = hasher.calculateMerkleRootHash(transactions, MerkleRootAlgorithm.LEGACY);
+    String binaryRoot = hasher.calculateMerkleRootHash(transactions, MerkleRootAlgorithm.BINARY);
+
+    assertEquals("verify legacy root is still the default", legacyRoot, 
+        hasher.calculateMerkleRootHash(transactions));
+    assertEquals("verify binary algorithm uses the binary calculator", binaryRoot, 
+        calc.calculateMerkleRootHash(hasher, transactions));
+    assertNotEquals("verify binary root differs from legacy", legacyRoot, binaryRoot);
+  }
+
+  @Test(expected = HashingException.class)
+  public void testCalculateMerkleRootHash_withEmptyList_shouldThrowException() {
+    calc.calculateMerkleRootHash(hasher, new ArrayList<TestTransaction>());
+  }
+
+  @Test
+  public void testCreateMerkleProof_withEveryEntityOfDifferentSizes_shouldVerifyAgainstRoot() {
+    for (int size : new int[] {1, 2, 3, 7, 65}) {
+      var transactions = fakeTransactions(size);
+      String rootHash = calc.calculateMerkleRootHash(hasher, transactions);
+      for (TestTransaction transaction : new ArrayList<>(transactions)) {
+        MerkleProof proof = hasher.createMerkleProof(transactions, transaction, MerkleRootAlgorithm.BINARY);
+
+        assertEquals("verify proof is of binary algorithm", MerkleRootAlgorithm.BINARY, proof.getAlgorithm());
+        assertTrue("verify proof of size " + size + " is correct",
+            hasher.isMerkleProofCorrect(proof, rootHash));
+      }
+    }
+  }
+
+  @Test
+  public void testIsMerkleProofCorrect_withTamperedOrForeignProof_shouldReturnFalse() {
+    var transactions = fakeTransactions(9);
+    String binaryRoot = hasher.calculateMerkleRootHash(transactions, MerkleRootAlgorithm.BINARY);
+    String legacyRoot = hasher.calculateMerkleRootHash(transactions, MerkleRootAlgorithm.LEGACY);
+    MerkleProof proof = hasher.createMerkleProof(transactions, transactions.get(3), MerkleRootAlgorithm.BINARY);
+
+    assertFalse("verify binary proof is incorrect for legacy root",
+        hasher.isMerkleProofCorrect(proof, legacyRoot));
+
+    proof.getSteps().get(0).setSiblingHash(proof.getLeafHash());
+    assertFalse("verify proof with modified sibling is incorrect",
+        hasher.isMerkleProofCorrect(proof, binaryRoot));
+
+    proof.getSteps().get(0).setSiblingHash("not-hex");
+    assertFalse("verify proof with invalid sibling is incorrect",
+        hasher.isMerkleProofCorrect(proof, binaryRoot));
+  }
+
+  @Test
+  public void testHashNodePair_withEntityEncodingTheSameNodes_shouldDifferFromEntityHash() {
+    var entity = new RawEncodedEntity();
+    var encoder = new HashEncoder();
+    entity.encode(encoder);
+    byte[] encoding = encoder.toByteArray();
+    assertEquals("verify encoding is as long as prefix and two node hashes", 129, encoding.length);
+    byte[] leftNode = Arrays.copyOfRange(encoding, 1, 65);
+    byte[] rightNode = Arrays.copyOfRange(encoding, 65, 129);
+
+    assertFalse("verify node pair hash is different from the entity hash", Arrays.equals(
+        hasher.generateRawHash(entity), hasher.hashNodePair(leftNode, rightNode)));
+  }
+
+    private static List<TestTransaction> fakeTransactions(int size) {
+    var transactions = new ArrayList<TestTransaction>();
+    for (long count = 0; count < size; count++) {
+      TestTransaction transaction = new TestTransaction();
+      transaction.setInputs(ImmutableList.of(fakeInput(count + 1), fakeInput(count + 2)));
+      transaction.setOutputs(ImmutableList.of(fakeInput(count + 3)));
+      transaction.setLockTime(1000l + count);
+      transaction.setTransactionHash(Long.toString(count));
+      transactions.add(transaction);
+    }
+    return transactions;
+  }
+
+  private static TestTransactionInput fakeInput(long amount) {
+    TestTransactionInput input = new TestTransactionInput();
+    input.setAmount(new BigDecimal(amount));
+    input.setPublicKey("keykey");
+    input.setTimestamp(1234567L);
+    return input;
+  }
+
+  private static class RawEncodedEntity implements Hashable<RawEncodedEntity>, BinaryHashable {
+    private static final long serialVersionUID = 1L;
+
+    @Override
+    public void encode(HashEncoder encoder) {
+      for (long value = 0; value < 11; value++) {
+        encoder.writeLong(value);
+      }
+      for (int value = 0; value < 6; value++) {
+        encoder.writeInt(value);
+      }
+    }
+
+    @Override
+    public boolean isBinaryHashed() {
+      return true;
+    }
+
+    @Override
+    public int compareTo(RawEncodedEntity o) {
+      return 0;
+    }
+  }
+}
@@ -0,0 +1,93 @@
+package com.flockinger.groschn.commons.hash;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import com.flockinger.groschn.commons.exception.HashingException;
+import java.util.Random;
+import org.apache.commons.lang3.StringUtils;
+import org.bouncycastle.util.encoders.Hex;
+import org.junit.Test;
+
+public class DifficultyTargetTest {
+
+  @Test
+  public void testIsMetBy_withEvenDifficultyAndEnoughZeroBytes_shouldReturnTrue() {
+    var target = new DifficultyTarget(4);
+
+    assertTrue("verify hash with 4 zero nibbles meets target",
+        target.isMetBy(Hex.decode("0000ff12")));
+    assertTrue("verify hash with 5 zero nibbles meets target",
+        target.isMetBy(Hex.decode("00000f12")));
+    assertFalse("verify hash with 3 zero nibbles misses target",
+        target.isMetBy(Hex.decode("0001ff12")));
+  }
+
+  @Test
+  public void testIsMetBy_withOddDifficulty_shouldCheckHalfByte() {
+    var target = new DifficultyTarget(3);
+
+    assertTrue("verify hash with 3 zero nibbles meets target",
+        target.isMetBy(Hex.decode("000f12")));
+    assertFalse("verify hash with only 2 zero nibbles misses target",
+        target.isMetBy(Hex.decode("001f12")));
+    assertFalse("verify hash with zero nibble in wrong half misses target",
+        target.isMetBy(Hex.decode("00f012")));
+  }
+
+  @Test
+  public void testIsMetBy_withZeroDifficulty_shouldAlwaysReturnTrue() {
+    var target = new DifficultyTarget(0);
+
+    assertTrue("verify any bytes meet zero difficulty", target.isMetBy(Hex.decode("ff")));
+    assertTrue("verify any hex meets zero difficulty", target.isMetBy("ff"));
+  }
+
+  @Test
+  public void testIsMetBy_withTooShortOrNullHash_shouldReturnFalse() {
+    var target = new DifficultyTarget(5);
+
+    assertFalse("verify too short bytes miss target", target.isMetBy(new byte[2]));
+    assertFalse("verify too short hex misses target", target.isMetBy("0000"));
+    assertFalse("verify null bytes miss target", target.isMetBy((byte[]) null));
+    assertFalse("verify null hex misses target", target.isMetBy((String) null));
+  }
+
+  @Test
+  public void testIsMetBy_withHexHash_shouldCheckLeadingZeroCharacters() {
+    var target = new DifficultyTarget(5);
+
+    assertTrue("verify hex with 5 zeros meets target", target.isMetBy("00000cff71b999"));
+    assertFalse("verify hex with 4 zeros misses target", target.isMetBy("0000cff71b999"));
+  }
+
+  @Test(expected = HashingException.class)
+  public void testCreate_withNegativeDifficulty_shouldThrowException() {
+    new DifficultyTarget(-1);
+  }
+
+  /**
+   * Cross-checks the byte and hex checks against the old string prefix comparison.
+   */
+  @Test
+  public void testIsMetBy_withRandomHashes_shouldMatchHexPrefixComparison() {
+    var random = new Random(42);
+    for (int difficulty = 0; difficulty < 6; difficulty++) {
+      var target = new DifficultyTarget(difficulty);
+      String wantedPrefix = StringUtils.repeat("0", difficulty);
+      for (int i = 0; i < 20000; i++) {
+        byte[] hash = new byte[64];
+        random.nextBytes(hash);
+        hash[0] &= (byte) random.nextInt(256);
+        hash[1] &= (byte) random.nextInt(256);
+        String hexHash = Hex.toHexString(hash);
+        boolean expected = hexHash.startsWith(wantedPrefix);
+
+        assertEquals("verify byte check matches prefix comparison", expected, target.isMetBy(hash));
+        assertEquals("verify hex check matches prefix comparison", expected,
+            target.isMetBy(hexHash));
+      }
+    }
+  }
+}
@@ -0,0 +1,87 @@
+package com.flockinger.groschn.commons.hash;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import com.google.common.collect.ImmutableList;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import org.apache.commons.lang3.StringUtils;
+import org.junit.Test;
+
+public class HashEncoderTest {
+
+  private final HashEncoder encoder = new HashEncoder(16);
+
+  @Test
+  public void testWriteLong_withValue_shouldWriteMarkerAndBigEndianBytes() {
+    encoder.writeLong(258L);
+
+    assertArrayEquals("verify long is written with marker and 8 bytes",
+        new byte[] {1, 0, 0, 0, 0, 0, 0, 1, 2}, encoder.toByteArray());
+  }
+
+  @Test
+  public void testWriteLong_withNull_shouldOnlyWriteNullMarker() {
+    encoder.writeLong(null).writeInt(null).writeString(null).writeDecimal(null);
+
+    assertArrayEquals("verify nulls are only written as null markers", new byte[] {0, 0, 0, 0},
+        encoder.toByteArray());
+  }
+
+  @Test
+  public void testWriteString_withUnicode_shouldWriteSameAsUtf8() {
+    String value = "Groschn ä€😀";
+    byte[] expectedUtf8 = value.getBytes(StandardCharsets.UTF_8);
+
+    encoder.writeString(value);
+    byte[] encoded = encoder.toByteArray();
+
+    assertEquals("verify string length prefix is correct", expectedUtf8.length, encoded[4]);
+    assertArrayEquals("verify string bytes are valid utf-8", expectedUtf8,
+        Arrays.copyOfRange(encoded, 5, encoded.length));
+  }
+
+  @Test
+  public void testWriteString_withDifferentSplits_shouldEncodeDifferently() {
+    byte[] first = new HashEncoder().writeString("ab").writeString("c").toByteArray();
+    byte[] second = new HashEncoder().writeString("a").writeString("bc").toByteArray();
+
+    assertFalse("verify length prefix separates concatenated strings",
+        Arrays.equals(first, second));
+  }
+
+  @Test
+  public void testWriteDecimal_withTrailingZeros_shouldEncodeSame() {
+    byte[] first = new HashEncoder().writeDecimal(new BigDecimal("100.0")).toByteArray();
+    byte[] second = new HashEncoder().writeDecimal(new BigDecimal("100")).toByteArray();
+    byte[] different = new HashEncoder().writeDecimal(new BigDecimal("100.1")).toByteArray();
+
+    assertArrayEquals("verify numerically equal decimals encode the same", first, second);
+    assertFalse("verify different decimals encode differently", Arrays.equals(first, different));
+  }
+
+  @Test
+  public void testWriteList_withEntries_shouldWriteSizeAndEntries() {
+    HashEncodable entry = enc -> enc.writeInt(7);
+
+    encoder.writeList(ImmutableList.of(entry, entry));
+
+    assertArrayEquals("verify list is written with marker, size and entries",
+        new byte[] {1, 0, 0, 0, 2, 1, 1, 0, 0, 0, 7, 1, 1, 0, 0, 0, 7}, encoder.toByteArray());
+  }
+
+  @Test
+  public void testReset_withWrittenValues_shouldReuseBufferAndStartOver() {
+    encoder.writeString(StringUtils.repeat("x", 100));
+    byte[] grownBuffer = encoder.buffer();
+
+    encoder.reset().writeInt(1);
+
+    assertEquals("verify length starts over after reset", 5, encoder.length());
+    assertTrue("verify grown buffer is reused", grownBuffer == encoder.buffer());
+  }
+}
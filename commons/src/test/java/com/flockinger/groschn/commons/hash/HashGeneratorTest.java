@@ -18,6 +18,7 @@ import com.flockinger.groschn.commons.model.TestTransaction;
 import com.flockinger.groschn.commons.model.TestTransactionOutput;
 import com.google.common.collect.ImmutableList;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.security.Provider;
 import java.security.Security;
 import java.util.ArrayList;
@@ -29,8 +30,10 @@ import java.util.UUID;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
+import java.util.stream.LongStream;
 import org.apache.commons.text.similarity.LevenshteinDistance;
 import org.bouncycastle.jce.provider.BouncyCastleProvider;
 import org.bouncycastle.util.encoders.Hex;
@@ -115,6 +118,22 @@ public class HashGeneratorTest {
     assertEquals("verify that no thread threw an Exception during multi-threaded hashing", 0 ,exceptionalExecutions.size());
   }
   
+  @Test
+  public void testGenerateHash_withMultipleThreadsAndSameData_shouldCreateSameHashesAsSequential() throws Exception {
+    var blocks = LongStream.range(0, 200).mapToObj(this::createTestData).collect(Collectors.toList());
+    var sequentialHashes = blocks.stream().map(hasher::generateHash).collect(Collectors.toList());
+    ExecutorService service = Executors.newFixedThreadPool(8);
+
+    var parallelHashes = new ArrayList<String>();
+    for(Future<String> hash: service.invokeAll(blocks.stream()
+        .map(block -> (Callable<String>) () -> hasher.generateHash(block)).collect(Collectors.toList()))) {
+      parallelHashes.add(hash.get());
+    }
+    service.shutdown();
+
+    assertEquals("verify multi-threaded hashes equal the sequential ones", sequentialHashes, parallelHashes);
+  }
+
   private static class HashRunnable implements Callable<String> {
     private HashGenerator hasher;
     private int count;
@@ -247,6 +266,38 @@ public class HashGeneratorTest {
         hasher.isHashCorrect(hash, hashable));
   }
 
+  @Test
+  public void testCreateMidstateHasher_withSplitHashable_shouldCreateSameHashAsGenerateHash() {
+    TestBlock block = createTestData(123L);
+    byte[] hashableBytes = block.toString().getBytes(StandardCharsets.UTF_8);
+    byte[] prefix = Arrays.copyOfRange(hashableBytes, 0, 20);
+    byte[] suffix = Arrays.copyOfRange(hashableBytes, 30, hashableBytes.length);
+    
+    MidstateHasher midstateHasher = hasher.createMidstateHasher(prefix, suffix);
+    byte[] firstHash = midstateHasher.hash(Arrays.copyOfRange(hashableBytes, 20, 30));
+    byte[] secondHash = midstateHasher.hash(hashableBytes, 20, 10);
+    
+    assertEquals("verify midstate hash equals the normal hash", hasher.generateHash(block), 
+        Hex.toHexString(firstHash));
+    assertTrue("verify hashing again with same midstate still works", Arrays.equals(firstHash, secondHash));
+  }
+  
+  @Test
+  public void testCreateMidstateHasher_withChangingPartAndEmptySuffix_shouldCreateSameHashAsGenerateHash() {
+    TestBlock block = createTestData(123L);
+    byte[] hashableBytes = block.toString().getBytes(StandardCharsets.UTF_8);
+    MidstateHasher midstateHasher = hasher.createMidstateHasher(
+        Arrays.copyOfRange(hashableBytes, 0, 20), new byte[0]);
+    
+    for(long timestamp = 100L; timestamp < 110L; timestamp++) {
+      block.setTimestamp(timestamp);
+      byte[] changedBytes = block.toString().getBytes(StandardCharsets.UTF_8);
+      
+      assertEquals("verify midstate hash equals the normal hash for changed data", hasher.generateHash(block), 
+          Hex.toHexString(midstateHasher.hash(changedBytes, 20, changedBytes.length - 20)));
+    }
+  }
+
   @Test
   public void testCalculateMerkleRootHash_WithTransactions_shouldReturnCorrect() {
     when(mockMerkle.calculateMerkleRootHash(any(HashGenerator.class), anyListOf(TestTransaction.class))).thenReturn("hash");
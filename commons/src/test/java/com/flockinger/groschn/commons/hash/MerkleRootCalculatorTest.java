@@ -4,6 +4,7 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
 
 import com.flockinger.groschn.commons.exception.HashingException;
 import com.flockinger.groschn.commons.model.TestBlock;
@@ -104,6 +105,43 @@ public class MerkleRootCalculatorTest {
     calc.calculateMerkleRootHash(hasher,new ArrayList<TestBlock>());
   }
   
+  @Test
+  public void testCreateMerkleProof_withEveryEntityOfDifferentSizes_shouldVerifyAgainstRoot() {
+    for (int size = 1; size <= 9; size++) {
+      var transactions = fakeTransactions(size, false);
+      String rootHash = calc.calculateMerkleRootHash(hasher, transactions);
+      for (TestTransaction transaction : new ArrayList<>(transactions)) {
+        MerkleProof proof = calc.createMerkleProof(hasher, transactions, transaction);
+        
+        assertEquals("verify proof is of legacy algorithm", MerkleRootAlgorithm.LEGACY, proof.getAlgorithm());
+        assertEquals("verify proof leaf is the entity hash", hasher.generateHash(transaction), proof.getLeafHash());
+        assertTrue("verify proof of size " + size + " is correct", 
+            calc.isMerkleProofCorrect(hasher, proof, rootHash));
+      }
+    }
+  }
+  
+  @Test
+  public void testIsMerkleProofCorrect_withTamperedProof_shouldReturnFalse() {
+    var transactions = fakeTransactions(9, false);
+    String rootHash = calc.calculateMerkleRootHash(hasher, transactions);
+    MerkleProof proof = calc.createMerkleProof(hasher, transactions, transactions.get(4));
+    
+    proof.getSteps().get(1).setSiblingOnLeft(!proof.getSteps().get(1).isSiblingOnLeft());
+    assertFalse("verify proof with swapped sibling side is incorrect", 
+        calc.isMerkleProofCorrect(hasher, proof, rootHash));
+    
+    MerkleProof otherProof = calc.createMerkleProof(hasher, transactions, transactions.get(4));
+    otherProof.setLeafHash(hasher.generateHash(transactions.get(5)));
+    assertFalse("verify proof with other leaf is incorrect", 
+        calc.isMerkleProofCorrect(hasher, otherProof, rootHash));
+  }
+  
+  @Test(expected = HashingException.class)
+  public void testCreateMerkleProof_withEntityNotInList_shouldThrowException() {
+    calc.createMerkleProof(hasher, fakeTransactions(5, false), fakeTransactions(1, false).get(0));
+  }
+  
   private List<TestBlock> fakeBlocks() {
     var blocks = new ArrayList<TestBlock>();
     for(long count=0;count<20;count++) {
@@ -1,5 +1,6 @@
 package com.flockinger.groschn.commons.serialize;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
@@ -13,6 +14,7 @@ import com.flockinger.groschn.commons.model.TestConsensusType;
 import com.flockinger.groschn.commons.model.TestMessagePayload;
 import com.flockinger.groschn.commons.model.TestTransaction;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import org.junit.Test;
 
@@ -107,6 +109,29 @@ public class FstSerializerTest {
     assertEquals("verify reward transacton miner pub key", "minerKey", transactions.get(4).getInputs().get(0).getPublicKey());
   }
   
+  @Test
+  public void testSerializeShared_withBlock_shouldEqualSerializedBytes() {
+    TestBlock fakeBlock = TestDataFactory.getFakeBlock();
+    byte[] serializedBlock = fstSerializer.serialize(fakeBlock);
+
+    var sharedBlock = fstSerializer.serializeShared(fakeBlock);
+    byte[] sharedBytes = new byte[sharedBlock.remaining()];
+    sharedBlock.get(sharedBytes);
+
+    assertArrayEquals("verify shared serialization writes the same bytes", serializedBlock, sharedBytes);
+  }
+
+  @Test
+  public void testDeserialize_withLongerBufferAndLength_shouldOnlyReadLength() {
+    TestBlock fakeBlock = TestDataFactory.getFakeBlock();
+    byte[] serializedBlock = fstSerializer.serialize(fakeBlock);
+    byte[] buffer = Arrays.copyOf(serializedBlock, serializedBlock.length + 100);
+
+    TestBlock deserializedBlock = fstSerializer.deserialize(buffer, serializedBlock.length, TestBlock.class);
+
+    assertEquals("verify correct block hash", fakeBlock.getHash(), deserializedBlock.getHash());
+  }
+
   @Test(expected=SerializationException.class)
   public void testSerializeDeserialize_withNull_shouldThrowException() {
     byte[] serializedBlock = fstSerializer.serialize(null);
@@ -0,0 +1,290 @@
+package com.flockinger.groschn.commons.serialize;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import com.flockinger.groschn.commons.TestConfig;
+import com.flockinger.groschn.commons.TestDataFactory;
+import com.flockinger.groschn.commons.compress.CompressedEntity;
+import com.flockinger.groschn.commons.compress.Compressor;
+import com.flockinger.groschn.commons.exception.SerializationException;
+import com.flockinger.groschn.commons.model.TestBlock;
+import com.flockinger.groschn.commons.model.TestTransaction;
+import com.flockinger.groschn.commons.model.TestTransactionInput;
+import com.flockinger.groschn.commons.model.TestTransactionOutput;
+import com.google.common.collect.ImmutableList;
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.Test;
+
+public class SchemaSerializerTest {
+
+  private final BlockSerializer fstSerializer = TestConfig.serializer();
+  private final SchemaSerializer serializer = new SchemaSerializer(
+      ImmutableList.of(new OutputSchema(), new InputSchema(), new TransactionSchema()),
+      fstSerializer);
+
+  @Test
+  public void testSerializeDeserialize_withListOfTransactions_shouldWorkWell() {
+    List<TestTransaction> transactions = TestDataFactory.createBlockTransactions(false, false);
+
+    byte[] serialized = serializer.serialize(transactions);
+    @SuppressWarnings("unchecked")
+    List<TestTransaction> result = serializer.deserialize(serialized, List.class);
+
+    assertEquals("verify correct transaction size", transactions.size(), result.size());
+    for (int index = 0; index < transactions.size(); index++) {
+      assertEquals("verify transaction is deserialized completely",
+          transactions.get(index).toString(), result.get(index).toString());
+    }
+    assertTrue("verify input keeps it's exact type",
+        result.get(0).getInputs().get(0) instanceof TestTransactionInput);
+    assertTrue("verify schema format is smaller than fst",
+        serialized.length < fstSerializer.serialize(transactions).length);
+  }
+
+  @Test
+  public void testSerializeDeserialize_withEdgeValues_shouldKeepThemExactly() {
+    var output = new TestTransactionOutput();
+    output.setAmount(new BigDecimal("-123456789012345678901234567890.000100"));
+    output.setTimestamp(Long.MIN_VALUE);
+    output.setSequenceNumber(Long.MAX_VALUE);
+    output.setPublicKey(null);
+
+    var result = serializer.deserialize(serializer.serialize(output), TestTransactionOutput.class);
+
+    assertEquals("verify decimal keeps it's scale", output.getAmount(), result.getAmount());
+    assertEquals("verify min long is kept", Long.MIN_VALUE, result.getTimestamp().longValue());
+    assertEquals("verify max long is kept", Long.MAX_VALUE, result.getSequenceNumber().longValue());
+    assertNull("verify null key stays null", result.getPublicKey());
+  }
+
+  @Test
+  public void testWriteBase58AndHex_withValidAndInvalidEncodings_shouldRoundTrip() {
+    List<String> keys = Arrays.asList("PZ8Tyr4Nx8MHsRAGMpZmZ6TWY63dXWSCy7AEg3h9oYjeR74yj73q3gPxb"
+        + "xq9R3nxSZYk6P8rQPEkTntGNqN8ZFnw", "1112", "masta-key", "", "0OIl");
+    List<String> hashes = Arrays.asList("00ff10ab", "00FF10AB", "abc", "", "zz");
+    var writer = new SchemaWriter(serializer, 16);
+    keys.forEach(writer::writeBase58);
+    hashes.forEach(writer::writeHex);
+
+    var reader = new SchemaReader(serializer, writer.toByteArray(), 0);
+
+    keys.forEach(key -> assertEquals("verify base58 value is restored exactly", key,
+        reader.readBase58()));
+    hashes.forEach(hash -> assertEquals("verify hex value is restored exactly", hash,
+        reader.readHex()));
+    assertTrue("verify everything is read", reader.isFullyRead());
+  }
+
+  @Test
+  public void testWriteLong_withSmallNumbers_shouldOnlyTakeFewBytes() {
+    var writer = new SchemaWriter(serializer, 16);
+
+    writer.writeLong(1L).writeLong(-1L).writeLong(300L).writeLong(null);
+
+    assertArrayEquals("verify numbers are written as marker plus zigzag varint",
+        new byte[] {1, 2, 1, 1, 1, (byte) 0xD8, 4, 0}, writer.toByteArray());
+  }
+
+  @Test
+  public void testSerializeDeserialize_withCompressedEntity_shouldWorkWell() {
+    var entity = CompressedEntity.build().originalSize(1234).entity(new byte[] {1, 2, 3});
+
+    var result = serializer.deserialize(serializer.serialize(entity), CompressedEntity.class);
+
+    assertEquals("verify original size is kept", 1234, result.getOriginalSize());
+    assertArrayEquals("verify entity bytes are kept", entity.getEntity(), result.getEntity());
+  }
+
+  @Test
+  public void testSerialize_withTypeWithoutSchema_shouldFallbackToFst() {
+    TestBlock block = TestDataFactory.getFakeBlock();
+
+    byte[] serialized = serializer.serialize(block);
+    TestBlock result = serializer.deserialize(serialized, TestBlock.class);
+
+    assertArrayEquals("verify fallback serializer was used", fstSerializer.serialize(block),
+        serialized);
+    assertEquals("verify block is deserialized", block.getHash(), result.getHash());
+  }
+
+  @Test
+  public void testDeserialize_withFstSerializedEntity_shouldDeserializeWithFallback() {
+    List<TestTransaction> transactions = TestDataFactory.createBlockTransactions(false, false);
+
+    @SuppressWarnings("unchecked")
+    List<TestTransaction> result =
+        serializer.deserialize(fstSerializer.serialize(transactions), List.class);
+
+    assertEquals("verify fst serialized transactions are read", transactions.size(),
+        result.size());
+  }
+
+  @Test
+  public void testSerialize_withSchemaWritingDisabled_shouldWriteFstButReadBoth() {
+    var fstWritingSerializer = new SchemaSerializer(
+        ImmutableList.of(new OutputSchema(), new InputSchema(), new TransactionSchema()),
+        fstSerializer, false);
+    List<TestTransaction> transactions = TestDataFactory.createBlockTransactions(false, false);
+
+    byte[] serialized = fstWritingSerializer.serialize(transactions);
+    @SuppressWarnings("unchecked")
+    List<TestTransaction> result =
+        fstWritingSerializer.deserialize(serializer.serialize(transactions), List.class);
+
+    assertArrayEquals("verify fst format is written", fstSerializer.serialize(transactions),
+        serialized);
+    assertEquals("verify schema format is still read", transactions.size(), result.size());
+  }
+
+  @Test
+  public void testCompressedByteSize_withSchemaWritingDisabled_shouldMeasureSameAsEnabled() {
+    var fstWritingSerializer = new SchemaSerializer(
+        ImmutableList.of(new OutputSchema(), new InputSchema(), new TransactionSchema()),
+        fstSerializer, false);
+    List<TestTransaction> transactions = TestDataFactory.createBlockTransactions(false, false);
+
+    var schema = fstWritingSerializer.serializeShared(transactions, SerializationFormat.SCHEMA);
+    assertArrayEquals("verify schema format is written with schema writing disabled", 
+        serializer.serialize(transactions), Arrays.copyOfRange(schema.array(), 0, schema.limit()));
+    var fst = serializer.serializeShared(transactions, SerializationFormat.FST);
+    byte[] fstBytes = Arrays.copyOfRange(fst.array(), fst.position(), fst.limit());
+    assertArrayEquals("verify fst format is written with schema writing enabled", 
+        fstSerializer.serialize(transactions), fstBytes);
+    for (SerializationFormat format : SerializationFormat.values()) {
+      assertEquals("verify compressed size doesn't depend on the wire format",
+          new Compressor(serializer).compressedByteSize(transactions, format),
+          new Compressor(fstWritingSerializer).compressedByteSize(transactions, format));
+    }
+    assertNotEquals("verify formats are measured differently",
+        new Compressor(serializer).compressedByteSize(transactions, SerializationFormat.FST),
+        new Compressor(serializer).compressedByteSize(transactions, SerializationFormat.SCHEMA));
+  }
+
+  @Test
+  public void testSerializeShared_withRepeatedCalls_shouldReuseBufferAndReadWithLength() {
+    List<TestTransaction> transactions = TestDataFactory.createBlockTransactions(false, false);
+
+    var first = serializer.serializeShared(transactions);
+    byte[] firstBytes = Arrays.copyOfRange(first.array(), 0, first.limit());
+    var second = serializer.serializeShared(new TestTransactionOutput());
+    @SuppressWarnings("unchecked")
+    List<TestTransaction> result = serializer.deserialize(
+        Arrays.copyOf(firstBytes, firstBytes.length + 20), firstBytes.length, List.class);
+
+    assertArrayEquals("verify shared serialization writes the same bytes",
+        serializer.serialize(transactions), firstBytes);
+    assertTrue("verify buffer is reused", first.array() == second.array());
+    assertEquals("verify only the given length is read", transactions.size(), result.size());
+  }
+
+  @Test(expected = SerializationException.class)
+  public void testDeserialize_withTruncatedEntity_shouldThrowException() {
+    byte[] serialized = serializer.serialize(TestDataFactory.createBlockTransactions(false, false));
+
+    serializer.deserialize(Arrays.copyOf(serialized, serialized.length - 3), List.class);
+  }
+
+  @Test(expected = SerializationException.class)
+  public void testDeserialize_withWrongType_shouldThrowException() {
+    byte[] serialized = serializer.serialize(new TestTransactionOutput());
+
+    serializer.deserialize(serialized, TestTransaction.class);
+  }
+
+  @Test(expected = SerializationException.class)
+  public void testCreate_withDuplicateTypeId_shouldThrowException() {
+    new SchemaSerializer(ImmutableList.of(new OutputSchema(), new OutputSchema()), fstSerializer);
+  }
+
+  private static class OutputSchema implements EntitySchema<TestTransactionOutput> {
+    @Override
+    public int typeId() {
+      return 100;
+    }
+
+    @Override
+    public Class<TestTransactionOutput> type() {
+      return TestTransactionOutput.class;
+    }
+
+    @Override
+    public void write(TestTransactionOutput output, SchemaWriter writer) {
+      writer.writeDecimal(output.getAmount()).writeBase58(output.getPublicKey())
+          .writeLong(output.getTimestamp()).writeLong(output.getSequenceNumber());
+    }
+
+    @Override
+    public TestTransactionOutput read(SchemaReader reader) {
+      var output = new TestTransactionOutput();
+      output.setAmount(reader.readDecimal());
+      output.setPublicKey(reader.readBase58());
+      output.setTimestamp(reader.readLong());
+      output.setSequenceNumber(reader.readLong());
+      return output;
+    }
+  }
+
+  private static class InputSchema implements EntitySchema<TestTransactionInput> {
+    @Override
+    public int typeId() {
+      return 101;
+    }
+
+    @Override
+    public Class<TestTransactionInput> type() {
+      return TestTransactionInput.class;
+    }
+
+    @Override
+    public void write(TestTransactionInput input, SchemaWriter writer) {
+      writer.writeDecimal(input.getAmount()).writeBase58(input.getPublicKey())
+          .writeLong(input.getTimestamp()).writeLong(input.getSequenceNumber())
+          .writeBase58(input.getSignature());
+    }
+
+    @Override
+    public TestTransactionInput read(SchemaReader reader) {
+      var input = new TestTransactionInput();
+      input.setAmount(reader.readDecimal());
+      input.setPublicKey(reader.readBase58());
+      input.setTimestamp(reader.readLong());
+      input.setSequenceNumber(reader.readLong());
+      input.setSignature(reader.readBase58());
+      return input;
+    }
+  }
+
+  private static class TransactionSchema implements EntitySchema<TestTransaction> {
+    @Override
+    public int typeId() {
+      return 102;
+    }
+
+    @Override
+    public Class<TestTransaction> type() {
+      return TestTransaction.class;
+    }
+
+    @Override
+    public void write(TestTransaction transaction, SchemaWriter writer) {
+      writer.writeLong(transaction.getLockTime()).writeHex(transaction.getTransactionHash())
+          .writeList(transaction.getInputs()).writeList(transaction.getOutputs());
+    }
+
+    @Override
+    public TestTransaction read(SchemaReader reader) {
+      var transaction = new TestTransaction();
+      transaction.setLockTime(reader.readLong());
+      transaction.setTransactionHash(reader.readHex());
+      transaction.setInputs(reader.readList(TestTransactionInput.class));
+      transaction.setOutputs(reader.readList(TestTransactionOutput.class));
+      return transaction;
+    }
+  }
+}
@@ -146,4 +146,25 @@ public class EcdsaSecpSignerTest {
     
     assertEquals("verify that correct signature is valid", true, isValid);
   }
+  
+  @Test
+  public void testIsSignatureValid_withSameSenderMultipleTimes_shouldDecodePublicKeyOnlyOnce() throws Exception {
+    var cachingSigner = new EcdsaSecpSigner(TestConfig.getDefaultProvider(), 2);
+    final String someHash = "CCADD99B16CD3D200C22D6DB45D8B6630EF3D936767127347EC8A76AB992C2EA";
+    String publicKey = Base58.encode(pair.getPublic().getEncoded());
+    String signature = cachingSigner.sign(Hex.decode(someHash), pair.getPrivate().getEncoded());
+    
+    for (int i = 0; i < 3; i++) {
+      assertTrue("verify signature is valid", 
+          cachingSigner.isSignatureValid(Hex.decode(someHash), publicKey, signature));
+    }
+    assertEquals("verify public key is cached only once", 1, cachingSigner.cachedPublicKeyCount());
+    
+    for (int i = 0; i < 5; i++) {
+      KeyPair otherPair = cachingSigner.generateKeyPair();
+      cachingSigner.isSignatureValid(Hex.decode(someHash),
+          Base58.encode(otherPair.getPublic().getEncoded()), signature);
+    }
+    assertTrue("verify public key cache stays bounded", cachingSigner.cachedPublicKeyCount() <= 2);
+  }
 }
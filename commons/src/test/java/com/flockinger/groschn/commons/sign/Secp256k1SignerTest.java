@@ -0,0 +1,116 @@
+package com.flockinger.groschn.commons.sign;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import com.flockinger.groschn.commons.TestConfig;
+import com.flockinger.groschn.commons.exception.crypto.CantConfigureSigningAlgorithmException;
+import com.flockinger.groschn.commons.hash.Base58;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.spec.ECGenParameterSpec;
+import org.bouncycastle.util.encoders.Hex;
+import org.junit.Before;
+import org.junit.Test;
+
+public class Secp256k1SignerTest {
+
+  private final static String SOME_HASH = "CCADD99B16CD3D200C22D6DB45D8B6630EF3D936767127347EC8A76AB992C2EA";
+  private final static String SOME_OTHER_HASH = "CCADD99B16CD3D200C22D6DB45D8B6630EF3D936767127347EC8A76AB992C2EB";
+
+  private Secp256k1Signer signer = new Secp256k1Signer(TestConfig.getDefaultProvider(), 2);
+  private Signer jcaSigner = new EcdsaSecpSigner(TestConfig.getDefaultProvider());
+
+  private KeyPair pair;
+  private String publicKey;
+
+  @Before
+  public void setup() {
+    pair = signer.generateKeyPair();
+    publicKey = Base58.encode(pair.getPublic().getEncoded());
+  }
+
+  @Test
+  public void testSign_withAllSet_shouldBeValidForJcaSigner() {
+    String signature = signer.sign(Hex.decode(SOME_HASH), pair.getPrivate().getEncoded());
+
+    assertTrue("verify optimized signature is valid for the jca signer",
+        jcaSigner.isSignatureValid(Hex.decode(SOME_HASH), publicKey, signature));
+    assertTrue("verify optimized signature is valid for itself",
+        signer.isSignatureValid(Hex.decode(SOME_HASH), publicKey, signature));
+  }
+
+  @Test
+  public void testSign_withSameHashTwice_shouldSignDeterministically() {
+    String signature = signer.sign(Hex.decode(SOME_HASH), pair.getPrivate().getEncoded());
+    String sameSignature = signer.sign(Hex.decode(SOME_HASH), pair.getPrivate().getEncoded());
+
+    assertEquals("verify same hash and key produce the same signature", signature, sameSignature);
+  }
+
+  @Test
+  public void testIsSignatureValid_withJcaSignatures_shouldReturnSameAsJcaSigner() {
+    for (int i = 0; i < 20; i++) {
+      KeyPair otherPair = jcaSigner.generateKeyPair();
+      String otherPublicKey = Base58.encode(otherPair.getPublic().getEncoded());
+      String signature = jcaSigner.sign(Hex.decode(SOME_HASH), otherPair.getPrivate().getEncoded());
+
+      assertTrue("verify jca signature is valid",
+          signer.isSignatureValid(Hex.decode(SOME_HASH), otherPublicKey, signature));
+      assertEquals("verify signature of other hash is invalid", false,
+          signer.isSignatureValid(Hex.decode(SOME_OTHER_HASH), otherPublicKey, signature));
+      assertEquals("verify signature with other key is invalid", false,
+          signer.isSignatureValid(Hex.decode(SOME_HASH), publicKey, signature));
+    }
+  }
+
+  @Test
+  public void testIsSignatureValid_withKeyOfOtherCurve_shouldReturnSameAsJcaSigner() throws Exception {
+    var generator = KeyPairGenerator.getInstance(EcdsaSecpSigner.KEY_FACTORY_ALGORITHM,
+        EcdsaSecpSigner.PROVIDER);
+    generator.initialize(new ECGenParameterSpec("secp256r1"));
+    KeyPair otherCurvePair = generator.generateKeyPair();
+    String otherCurveKey = Base58.encode(otherCurvePair.getPublic().getEncoded());
+    String jcaSignature = jcaSigner.sign(Hex.decode(SOME_HASH), otherCurvePair.getPrivate().getEncoded());
+    String signature = signer.sign(Hex.decode(SOME_HASH), otherCurvePair.getPrivate().getEncoded());
+
+    assertTrue("verify jca signature of other curve is valid",
+        signer.isSignatureValid(Hex.decode(SOME_HASH), otherCurveKey, jcaSignature));
+    assertTrue("verify signature of other curve is valid for the jca signer",
+        jcaSigner.isSignatureValid(Hex.decode(SOME_HASH), otherCurveKey, signature));
+    assertEquals("verify signature of other hash is invalid", false,
+        signer.isSignatureValid(Hex.decode(SOME_OTHER_HASH), otherCurveKey, jcaSignature));
+  }
+
+  @Test
+  public void testIsSignatureValid_withSameSenderMultipleTimes_shouldDecodePublicKeyOnlyOnce() {
+    String signature = signer.sign(Hex.decode(SOME_HASH), pair.getPrivate().getEncoded());
+    String otherSignature = signer.sign(Hex.decode(SOME_OTHER_HASH), pair.getPrivate().getEncoded());
+
+    assertTrue("verify signature is valid",
+        signer.isSignatureValid(Hex.decode(SOME_HASH), publicKey, signature));
+    assertFalse("verify signature of other hash is invalid",
+        signer.isSignatureValid(Hex.decode(SOME_HASH), publicKey, otherSignature));
+    assertTrue("verify other signature is valid",
+        signer.isSignatureValid(Hex.decode(SOME_OTHER_HASH), publicKey, otherSignature));
+    assertEquals("verify public key is cached only once", 1, signer.cachedPublicKeyCount());
+  }
+
+  @Test(expected = CantConfigureSigningAlgorithmException.class)
+  public void testSign_withInvalidKeyPair_shouldThrowException() {
+    signer.sign(new byte[0], new byte[0]);
+  }
+
+  @Test(expected = CantConfigureSigningAlgorithmException.class)
+  public void testIsSignatureValid_withCompletlyWrongSignature_shouldThrowException() {
+    signer.isSignatureValid(Hex.decode(SOME_HASH), publicKey, "xoxoxo");
+  }
+
+  @Test(expected = CantConfigureSigningAlgorithmException.class)
+  public void testIsSignatureValid_withCompletlyWrongPubKey_shouldThrowException() {
+    String signature = signer.sign(Hex.decode(SOME_HASH), pair.getPrivate().getEncoded());
+
+    signer.isSignatureValid(Hex.decode(SOME_HASH), "sEcReT", signature);
+  }
+}
@@ -0,0 +1,47 @@
+package com.flockinger.groschn.commons.sign;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import com.flockinger.groschn.commons.TestConfig;
+import com.flockinger.groschn.commons.hash.Base58;
+import java.security.KeyPair;
+import org.bouncycastle.util.encoders.Hex;
+import org.junit.Test;
+
+public class SignerCompatibilityTest {
+
+  private final static String SOME_HASH = "CCADD99B16CD3D200C22D6DB45D8B6630EF3D936767127347EC8A76AB992C2EA";
+  private final static String SOME_OTHER_HASH = "CCADD99B16CD3D200C22D6DB45D8B6630EF3D936767127347EC8A76AB992C2EB";
+  private final static int KEY_PAIRS = 10;
+
+  private Signer jcaSigner = new EcdsaSecpSigner(TestConfig.getDefaultProvider());
+  private Signer secp256k1Signer = new Secp256k1Signer(TestConfig.getDefaultProvider());
+
+  @Test
+  public void testIsSignatureValid_withJcaSignatureVerifiedBySecp256k1Signer_shouldBeValid() {
+    assertSignaturesCompatible(jcaSigner, secp256k1Signer);
+  }
+
+  @Test
+  public void testIsSignatureValid_withSecp256k1SignatureVerifiedByJcaSigner_shouldBeValid() {
+    assertSignaturesCompatible(secp256k1Signer, jcaSigner);
+  }
+
+  private void assertSignaturesCompatible(Signer signingSigner, Signer verifyingSigner) {
+    KeyPair otherPair = signingSigner.generateKeyPair();
+    String otherPublicKey = Base58.encode(otherPair.getPublic().getEncoded());
+    for (int i = 0; i < KEY_PAIRS; i++) {
+      KeyPair pair = signingSigner.generateKeyPair();
+      String publicKey = Base58.encode(pair.getPublic().getEncoded());
+      String signature = signingSigner.sign(Hex.decode(SOME_HASH), pair.getPrivate().getEncoded());
+
+      assertTrue("verify signature is valid for the other signer",
+          verifyingSigner.isSignatureValid(Hex.decode(SOME_HASH), publicKey, signature));
+      assertFalse("verify signature of other hash is invalid for the other signer",
+          verifyingSigner.isSignatureValid(Hex.decode(SOME_OTHER_HASH), publicKey, signature));
+      assertFalse("verify signature with other key is invalid for the other signer",
+          verifyingSigner.isSignatureValid(Hex.decode(SOME_HASH), otherPublicKey, signature));
+    }
+  }
+}
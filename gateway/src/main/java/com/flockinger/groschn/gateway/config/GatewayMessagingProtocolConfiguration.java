@@ -4,6 +4,7 @@ import com.flockinger.groschn.commons.BlockchainUtilsFactory;
 import com.flockinger.groschn.commons.compress.Compressor;
 import com.flockinger.groschn.messaging.config.MessagingProtocolConfiguration;
 import com.flockinger.groschn.messaging.inbound.NoOpMessageListener;
+import com.flockinger.groschn.messaging.serialize.MessagingSchemas;
 import java.util.ArrayList;
 import java.util.concurrent.Executor;
 import java.util.concurrent.Executors;
@@ -16,10 +17,13 @@ public class GatewayMessagingProtocolConfiguration extends MessagingProtocolConf
 
   @Value("${blockchain.messaging.thread-pool.size}")
   private Integer threadPoolSize;
+  @Value("${blockchain.messaging.schema-serialization}")
+  private Boolean schemaSerialization;
 
   @Override
   protected Compressor messageCompressor() {
-    return BlockchainUtilsFactory.createCompressor(new ArrayList<>());
+    return BlockchainUtilsFactory.createCompressor(new ArrayList<>(), MessagingSchemas.schemas(),
+        schemaSerialization);
   }
 
   @Override
@@ -6,5 +6,6 @@ public enum MainTopics {
   SYNC_BLOCKCHAIN,
   BLOCK_INFO,
   SYNC_TRANSACTIONS,
+  SYNC_TRANSACTION_HASHES,
   NONE;
 }
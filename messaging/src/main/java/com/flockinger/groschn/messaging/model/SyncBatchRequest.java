@@ -23,6 +23,8 @@ public class SyncBatchRequest {
   
   private List<RequestHeader> wantedHeaders;
   
+  private String cursor;
+  
   public static SyncBatchRequest build() {
     return new SyncBatchRequest();
   }
@@ -84,6 +86,13 @@ public class SyncBatchRequest {
     this.wantedHeaders = wantedHeaders;
     return this;
   }
+  public String getCursor() {
+    return cursor;
+  }
+  public SyncBatchRequest cursor(String cursor) {
+    this.cursor = cursor;
+    return this;
+  }
   public List<String> getSelectedNodeIds() {
     return selectedNodeIds;
   }
@@ -21,6 +21,12 @@ public class SyncRequest implements Hashable<SyncRequest> {
   
   private List<RequestHeader> wantedHeaders;
   
+  /**
+   * Opaque position returned by the previous response (see {@link SyncResponse#getNextCursor()}), <br>
+   * responders supporting it continue right after it instead of using the starting position.
+   */
+  private String cursor;
+  
   public Long getStartingPosition() {
     return startingPosition;
   }
@@ -45,6 +51,14 @@ public class SyncRequest implements Hashable<SyncRequest> {
     this.wantedHeaders = wantedHeaders;
   }
 
+  public String getCursor() {
+    return cursor;
+  }
+
+  public void setCursor(String cursor) {
+    this.cursor = cursor;
+  }
+
   @Override
   public int compareTo(SyncRequest o) {
     if (this.getStartingPosition() == null && o.getStartingPosition() == null) {
@@ -19,6 +19,11 @@ public class SyncResponse<T extends Serializable> implements Hashable<SyncRespon
   private Long lastPosition;
   
   private boolean lastPositionReached = false;
+  
+  /**
+   * Cursor to request the next batch with, null if not supported.
+   */
+  private String nextCursor;
 
   public Long getStartingPosition() {
     return startingPosition;
@@ -60,6 +65,14 @@ public class SyncResponse<T extends Serializable> implements Hashable<SyncRespon
     this.nodeId = nodeId;
   }
 
+  public String getNextCursor() {
+    return nextCursor;
+  }
+
+  public void setNextCursor(String nextCursor) {
+    this.nextCursor = nextCursor;
+  }
+
   @Override
   public int compareTo(SyncResponse<T> o) {
     if (this.getStartingPosition() == null && o.getStartingPosition() == null) {
@@ -0,0 +1,166 @@
+package com.flockinger.groschn.messaging.serialize;
+
+import com.flockinger.groschn.commons.compress.CompressedEntity;
+import com.flockinger.groschn.commons.serialize.EntitySchema;
+import com.flockinger.groschn.commons.serialize.SchemaReader;
+import com.flockinger.groschn.commons.serialize.SchemaWriter;
+import com.flockinger.groschn.messaging.model.Message;
+import com.flockinger.groschn.messaging.model.MessagePayload;
+import com.flockinger.groschn.messaging.model.RequestHeader;
+import com.flockinger.groschn.messaging.model.SyncRequest;
+import com.flockinger.groschn.messaging.model.SyncResponse;
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * Compact wire schemas of the messaging models (type ids 32-63), <br>
+ * entities inside messages and responses need their own schemas.
+ *
+ */
+public class MessagingSchemas {
+
+  private MessagingSchemas() {}
+
+  public static List<EntitySchema<?>> schemas() {
+    return List.of(new MessageSchema(), new MessagePayloadSchema(),
+        new SyncRequestSchema(), new RequestHeaderSchema(), new SyncResponseSchema());
+  }
+
+  @SuppressWarnings("rawtypes")
+  private static class MessageSchema implements EntitySchema<Message> {
+    @Override
+    public int typeId() {
+      return 32;
+    }
+
+    @Override
+    public Class<Message> type() {
+      return Message.class;
+    }
+
+    @Override
+    public void write(Message message, SchemaWriter writer) {
+      writer.writeString(message.getId()).writeLong(message.getTimestamp())
+          .writeEntity(message.getPayload());
+    }
+
+    @Override
+    public Message read(SchemaReader reader) {
+      var message = new Message<Serializable>();
+      message.setId(reader.readString());
+      message.setTimestamp(reader.readLong());
+      message.setPayload(reader.readEntity(Serializable.class));
+      return message;
+    }
+  }
+
+  private static class MessagePayloadSchema implements EntitySchema<MessagePayload> {
+    @Override
+    public int typeId() {
+      return 33;
+    }
+
+    @Override
+    public Class<MessagePayload> type() {
+      return MessagePayload.class;
+    }
+
+    @Override
+    public void write(MessagePayload payload, SchemaWriter writer) {
+      writer.writeString(payload.getSenderId()).writeEntity(payload.getEntity());
+    }
+
+    @Override
+    public MessagePayload read(SchemaReader reader) {
+      var payload = new MessagePayload();
+      payload.setSenderId(reader.readString());
+      payload.setEntity(reader.readEntity(CompressedEntity.class));
+      return payload;
+    }
+  }
+
+  private static class SyncRequestSchema implements EntitySchema<SyncRequest> {
+    @Override
+    public int typeId() {
+      return 34;
+    }
+
+    @Override
+    public Class<SyncRequest> type() {
+      return SyncRequest.class;
+    }
+
+    @Override
+    public void write(SyncRequest request, SchemaWriter writer) {
+      writer.writeLong(request.getStartingPosition()).writeLong(request.getRequestPackageSize())
+          .writeList(request.getWantedHeaders()).writeString(request.getCursor());
+    }
+
+    @Override
+    public SyncRequest read(SchemaReader reader) {
+      var request = new SyncRequest();
+      request.setStartingPosition(reader.readLong());
+      request.setRequestPackageSize(reader.readLong());
+      request.setWantedHeaders(reader.readList(RequestHeader.class));
+      request.setCursor(reader.readString());
+      return request;
+    }
+  }
+
+  private static class RequestHeaderSchema implements EntitySchema<RequestHeader> {
+    @Override
+    public int typeId() {
+      return 35;
+    }
+
+    @Override
+    public Class<RequestHeader> type() {
+      return RequestHeader.class;
+    }
+
+    @Override
+    public void write(RequestHeader header, SchemaWriter writer) {
+      writer.writeHex(header.getHash()).writeLong(header.getPosition());
+    }
+
+    @Override
+    public RequestHeader read(SchemaReader reader) {
+      var header = new RequestHeader();
+      header.setHash(reader.readHex());
+      header.setPosition(reader.readLong());
+      return header;
+    }
+  }
+
+  @SuppressWarnings("rawtypes")
+  private static class SyncResponseSchema implements EntitySchema<SyncResponse> {
+    @Override
+    public int typeId() {
+      return 36;
+    }
+
+    @Override
+    public Class<SyncResponse> type() {
+      return SyncResponse.class;
+    }
+
+    @Override
+    public void write(SyncResponse response, SchemaWriter writer) {
+      writer.writeLong(response.getStartingPosition()).writeList(response.getEntities())
+          .writeString(response.getNodeId()).writeLong(response.getLastPosition())
+          .writeBoolean(response.isLastPositionReached()).writeString(response.getNextCursor());
+    }
+
+    @Override
+    public SyncResponse read(SchemaReader reader) {
+      var response = new SyncResponse<Serializable>();
+      response.setStartingPosition(reader.readLong());
+      response.setEntities(reader.readList(Serializable.class));
+      response.setNodeId(reader.readString());
+      response.setLastPosition(reader.readLong());
+      response.setLastPositionReached(reader.readBoolean());
+      response.setNextCursor(reader.readString());
+      return response;
+    }
+  }
+}
@@ -34,6 +34,7 @@ class SyncRequester {
     request.setStartingPosition(batchRequest.getFromPosition());
     request.setRequestPackageSize(Integer.toUnsignedLong(batchRequest.getBatchSize()));
     request.setWantedHeaders(batchRequest.getWantedHeaders());
+    request.setCursor(batchRequest.getCursor());
     return request;
   }
 }
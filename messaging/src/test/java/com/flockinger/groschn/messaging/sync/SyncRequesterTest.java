@@ -40,6 +40,7 @@ public class SyncRequesterTest {
     batchRequest.setWantedHeaders(ImmutableList.of(new RequestHeader()));
     batchRequest.topic(MainTopics.BLOCK_INFO);
     batchRequest.batchSize(12);
+    batchRequest.cursor("1000:abc");
     requester.doRequest(ImmutableMap.of("receiverId", batchRequest).entrySet().iterator().next());
 
 
@@ -54,5 +55,6 @@ public class SyncRequesterTest {
     assertEquals("verify sync request starting position", 10L, syncRequestEntity.getStartingPosition().longValue());
     assertEquals("verify sync request batch size" , 12L, syncRequestEntity.getRequestPackageSize().longValue());
     assertEquals("verify sync request wanted headers are present" , 1, syncRequestEntity.getWantedHeaders().size());
+    assertEquals("verify sync request cursor is passed on" , "1000:abc", syncRequestEntity.getCursor());
   }
 }
\ No newline at end of file